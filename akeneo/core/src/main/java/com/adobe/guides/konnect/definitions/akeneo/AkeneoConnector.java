@@ -11,7 +11,10 @@ governing permissions and limitations under the License.
 */
 package com.adobe.guides.konnect.definitions.akeneo;
 
+import com.adobe.guides.konnect.definitions.akeneo.cache.ReferenceDataCache;
+import com.adobe.guides.konnect.definitions.akeneo.cache.ReferenceDataFilter;
 import com.adobe.guides.konnect.definitions.akeneo.dto.AkeneoEmebeddedItems;
+import com.adobe.guides.konnect.definitions.akeneo.dto.AkeneoProductsByIdDto;
 import com.adobe.guides.konnect.definitions.akeneo.dto.AkeneoResponseDto;
 import com.adobe.guides.konnect.definitions.akeneo.dto.AkeneoTokenResponseDto;
 import com.adobe.guides.konnect.definitions.akeneo.dto.OuathAccessTokenRequestDto;
@@ -20,31 +23,38 @@ import com.adobe.guides.konnect.definitions.akeneo.utils.GsonUtils;
 import com.adobe.guides.konnect.definitions.core.config.Config;
 import com.adobe.guides.konnect.definitions.core.config.ConfigDto;
 import com.adobe.guides.konnect.definitions.core.config.RestConfig;
+import com.adobe.guides.konnect.definitions.core.config.RestRequestContext;
 import com.adobe.guides.konnect.definitions.core.connector.Connector;
 import com.adobe.guides.konnect.definitions.core.connector.RestConnector;
 import com.adobe.guides.konnect.definitions.core.exception.KonnectConnectionException;
 import com.adobe.guides.konnect.definitions.core.exception.KonnectException;
 import com.adobe.guides.konnect.definitions.core.exception.KonnectQueryException;
+import com.adobe.guides.konnect.definitions.core.metrics.KonnectMetricsProvider;
+import com.adobe.guides.konnect.definitions.core.metrics.RequestPhase;
+import com.adobe.guides.konnect.definitions.core.models.metadata.ConfigDescriptor;
+import com.adobe.guides.konnect.definitions.core.models.metadata.ConnectorMetadata;
 import com.adobe.guides.konnect.definitions.core.models.template.TemplateDto;
 import com.adobe.guides.konnect.definitions.core.query.QueryInfoDto;
 import com.adobe.guides.konnect.definitions.core.query.QueryResultDto;
 import com.adobe.guides.konnect.definitions.core.urlResource.RestResourceDao;
+import com.adobe.guides.konnect.definitions.core.util.FieldProjection;
 import com.adobe.guides.konnect.definitions.core.util.HttpClient;
 import com.adobe.guides.konnect.definitions.core.util.RestInvoker;
 import com.adobe.guides.konnect.definitions.core.util.UrlUtils;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.io.InputStream;
+import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -52,6 +62,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import static com.adobe.guides.konnect.definitions.akeneo.ResourceEnum.GET_ALL_ATTRIBUTES;
 import static com.adobe.guides.konnect.definitions.akeneo.ResourceEnum.GET_ALL_FAMILIES;
@@ -61,13 +72,23 @@ import static com.adobe.guides.konnect.definitions.akeneo.ResourceEnum.GET_A_PRO
 import static com.adobe.guides.konnect.definitions.akeneo.ResourceEnum.GET_LIST_CATEGORIES;
 import static com.adobe.guides.konnect.definitions.akeneo.ResourceEnum.GET_LIST_LOCALES;
 import static com.adobe.guides.konnect.definitions.akeneo.ResourceEnum.GET_OAUTH_TOKEN;
+import static com.adobe.guides.konnect.definitions.akeneo.ResourceEnum.GET_PRODUCTS_BY_IDENTIFIERS;
+import static com.adobe.guides.konnect.definitions.akeneo.ResourceEnum.GET_PRODUCTS_BY_UUIDS;
 import static com.adobe.guides.konnect.definitions.akeneo.ResourceEnum.GET_PRODUCT_BY_ID;
 import static com.adobe.guides.konnect.definitions.akeneo.ResourceEnum.GET_SYSTEM_INFO;
 import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.AKENEO;
 import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.AKENEO_DEFAULT_QUERY;
 import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.AKENEO_DESC;
+import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.AKENEO_EMBEDDED_KEY;
+import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.AKENEO_IDENTIFIER_KEY;
+import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.AKENEO_LINKS_KEY;
 import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.AKENEO_LOGO_SVG_PATH;
+import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.AKENEO_MAX_IDENTIFIERS_PER_SEARCH;
+import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.AKENEO_PAGE_LIMIT_PARAM;
+import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.AKENEO_SEARCH_PARAM;
 import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.AKENEO_TEMPLATE_PATH;
+import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.AKENEO_UPDATED_KEY;
+import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.AKENEO_UUID_KEY;
 import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.AKENEO_VALIDATION_QUERY;
 import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.APPLICATION_JSON;
 import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.CONTENT_TYPE_HEADER;
@@ -93,12 +114,17 @@ public class AkeneoConnector extends RestConnector {
 
     private static final Logger log = LoggerFactory.getLogger(AkeneoConnector.class);
 
+    private volatile ConnectorMetadata metadata;
+
     @Reference
     private AkeneoUtils akeneoUtils;
 
     @Reference
     private HttpClient httpClient;
 
+    @Reference
+    private ReferenceDataCache referenceDataCache;
+
     /**
      * Returns a {@link CloseableHttpClient} object to be used to execute the HTTP request.
      * <p>
@@ -130,6 +156,50 @@ public class AkeneoConnector extends RestConnector {
         return DEFAULT_TEMPLATE_PATH;
     }
 
+    /**
+     * Loads the templates, logo and config descriptors of this connector.
+     * <p>
+     * The component is activated on first use, so the metadata is not read
+     * during startup unless the connector is needed.
+     */
+    @Activate
+    protected void activate() {
+        metadata = loadMetadata();
+    }
+
+    /**
+     * Drops the metadata of this connector, so that it is loaded again from
+     * the bundle when the component is reactivated.
+     */
+    @Deactivate
+    protected void deactivate() {
+        metadata = null;
+    }
+
+    /**
+     * Returns the metadata of this connector, loading it if the component
+     * has not been activated.
+     *
+     * @return the {@link ConnectorMetadata} of this connector.
+     */
+    private ConnectorMetadata getMetadata() {
+        ConnectorMetadata current = metadata;
+        if (current == null) {
+            current = loadMetadata();
+            metadata = current;
+        }
+        return current;
+    }
+
+    /**
+     * Reads the metadata of this connector from its bundle.
+     *
+     * @return the {@link ConnectorMetadata} of this connector.
+     */
+    private ConnectorMetadata loadMetadata() {
+        return ConnectorMetadata.load(getClass(), AKENEO_LOGO_SVG_PATH, AKENEO_TEMPLATE_PATH, getConfigClass());
+    }
+
     /**
      * Returns the SVG of the logo of the connector as a string.
      *
@@ -137,14 +207,7 @@ public class AkeneoConnector extends RestConnector {
      */
     @Override
     public String getLogoSvg() {
-        String logoSvg = "";
-        try {
-            InputStream inStream = this.getClass().getClassLoader().getResourceAsStream(AKENEO_LOGO_SVG_PATH);
-            logoSvg = new String(IOUtils.toByteArray(inStream), StandardCharsets.UTF_8);
-        } catch (Exception e) {
-            log.error("[AkeneoConnector] Error in reading logo svg file", e);
-        }
-        return logoSvg;
+        return getMetadata().getLogoSvg();
     }
 
     /**
@@ -261,6 +324,8 @@ public class AkeneoConnector extends RestConnector {
         defaultUrlMapping.add(new RestResourceDao().setName(GET_PRODUCT_BY_ID.getValue()).setUrl(GET_PRODUCT_BY_ID.getUrl()).setSampleQuery(GET_PRODUCT_BY_ID.getSampleQuery()).setDefault(true).setEnabled(true));
         defaultUrlMapping.add(new RestResourceDao().setName(GET_ALL_PRODUCTS_UUID.getValue()).setUrl(GET_ALL_PRODUCTS_UUID.getUrl()).setSampleQuery(GET_ALL_PRODUCTS_UUID.getSampleQuery()).setDefault(true).setEnabled(true));
         defaultUrlMapping.add(new RestResourceDao().setName(GET_A_PRODUCT_UUID.getValue()).setUrl(GET_A_PRODUCT_UUID.getUrl()).setSampleQuery(GET_A_PRODUCT_UUID.getSampleQuery()).setDefault(true).setEnabled(true));
+        defaultUrlMapping.add(new RestResourceDao().setName(GET_PRODUCTS_BY_IDENTIFIERS.getValue()).setUrl(GET_PRODUCTS_BY_IDENTIFIERS.getUrl()).setSampleQuery(GET_PRODUCTS_BY_IDENTIFIERS.getSampleQuery()).setDefault(true).setEnabled(true));
+        defaultUrlMapping.add(new RestResourceDao().setName(GET_PRODUCTS_BY_UUIDS.getValue()).setUrl(GET_PRODUCTS_BY_UUIDS.getUrl()).setSampleQuery(GET_PRODUCTS_BY_UUIDS.getSampleQuery()).setDefault(true).setEnabled(true));
         defaultUrlMapping.add(new RestResourceDao().setName(GET_ALL_FAMILIES.getValue()).setUrl(GET_ALL_FAMILIES.getUrl()).setSampleQuery(GET_ALL_FAMILIES.getSampleQuery()).setDefault(true).setEnabled(true));
         defaultUrlMapping.add(new RestResourceDao().setName(GET_ALL_ATTRIBUTES.getValue()).setUrl(GET_ALL_ATTRIBUTES.getUrl()).setSampleQuery(GET_ALL_ATTRIBUTES.getSampleQuery()).setDefault(true).setEnabled(true));
         defaultUrlMapping.add(new RestResourceDao().setName(GET_LIST_CATEGORIES.getValue()).setUrl(GET_LIST_CATEGORIES.getUrl()).setSampleQuery(GET_LIST_CATEGORIES.getSampleQuery()).setDefault(true).setEnabled(true));
@@ -285,7 +350,7 @@ public class AkeneoConnector extends RestConnector {
         String url = UrlUtils.getAbsoluteURLFromBaseAndRelativeUrl(restConfig.getUrl(), GET_OAUTH_TOKEN.getUrl(), restConfig.getUrl());
         try {
             OuathAccessTokenRequestDto ouathAccessTokenRequestDto = new OuathAccessTokenRequestDto().setUsername(restConfig.getUsername()).setPassword(restConfig.getPassword());
-            RestInvoker invoker = new RestInvoker();
+            RestInvoker invoker = new RestInvoker(getName(), null);
             Map<String, String> headers = new HashMap<>();
             if (restConfig.getHeaders() != null) {
                 headers.putAll(restConfig.getHeaders(true));
@@ -321,23 +386,27 @@ public class AkeneoConnector extends RestConnector {
     public boolean validateConnection(ConfigDto configDto) {
         log.debug("[AkeneoConnector] validateConnection connection");
         RestConfig restConfig = getConfigForAkeneo(configDto.getConfig());
-        if (restConfig instanceof AppAccessTokenConfig) {
-            if (!getOauthToken(configDto)) {
-                return false;
-            }
-        }
-        String url = UrlUtils.getAbsoluteURLFromBaseAndRelativeUrl(restConfig.getUrl(), GET_SYSTEM_INFO.getUrl(), restConfig.getUrl());
+        long start = System.nanoTime();
+        boolean valid = false;
         try {
-            RestInvoker invoker = new RestInvoker();
+            if (restConfig instanceof AppAccessTokenConfig) {
+                if (!getOauthToken(configDto)) {
+                    return false;
+                }
+            }
+            String url = UrlUtils.getAbsoluteURLFromBaseAndRelativeUrl(restConfig.getUrl(), GET_SYSTEM_INFO.getUrl(), restConfig.getUrl());
+            RestInvoker invoker = new RestInvoker(getName(), null);
             HttpUriRequest uriRequest = invoker.prepareConnection(restConfig.getAuthenticationDetails(), url, restConfig.getRequestType(true), restConfig.getBody(true), "", restConfig.getHeaders(true));
             invoker.invokeRequest(uriRequest, getHttpClient());
-            return true;
+            valid = true;
         } catch (IOException | URISyntaxException | KonnectException e) {
             log.error("[AkeneoConnector] Error in connecting to client", e);
         } catch (Exception e) {
             log.error("[AkeneoConnector] Error in sending request", e);
+        } finally {
+            KonnectMetricsProvider.getMetrics().recordValidation(getName(), System.nanoTime() - start, valid);
         }
-        return false;
+        return valid;
     }
 
     /**
@@ -378,7 +447,20 @@ public class AkeneoConnector extends RestConnector {
      */
     @Override
     public String execute(ConfigDto configDto, List<QueryInfoDto> queryInfoList) throws KonnectException {
-        boolean isValidConnection = validateConnection(configDto);
+        return executeInFlight(configDto, queryInfoList, () -> executeQueries(configDto, queryInfoList));
+    }
+
+    /**
+     * Executes a list of queries which is not in flight.
+     *
+     * @param configDto     Connector config which needs to be executed.
+     * @param queryInfoList The {@code List} of queries which will be executed.
+     * @return A <tt>String</tt> which is a single JSON response of all query executions.
+     * @throws KonnectException if any exception or error occurs while connecting to
+     *                          the external data source.
+     */
+    private String executeQueries(ConfigDto configDto, List<QueryInfoDto> queryInfoList) throws KonnectException {
+        boolean isValidConnection = queryInfoList.stream().allMatch(queryInfo -> isCachedReferenceData(configDto, queryInfo)) || validateConnection(configDto);
         if (!isValidConnection) {
             throw new KonnectConnectionException("[AkeneoConnector] Error in connecting to client");
         }
@@ -387,11 +469,7 @@ public class AkeneoConnector extends RestConnector {
             for (QueryInfoDto queryInfo : queryInfoList) {
                 String query = getQueryWithDefaultLimit(queryInfo.getQuery());
                 queryInfo.setQuery(query);
-                RestInvoker invoker = new RestInvoker();
-                AkeneoResponseDto results = executeAndGetResultFromQuery(configDto, queryInfo, invoker, false);
-
-                String subQueryResult = GsonUtils.getInstance().getStringFromObject(results);
-                ;
+                String subQueryResult = executeAndGetResultFromQuery(configDto, queryInfo, false, getPageProjection(getFieldProjectionInList(queryInfo)));
                 JsonElement jsonElement = GsonUtils.getInstance().getObjectFromString(subQueryResult, JsonElement.class);
                 queryResult.add(queryInfo.getQueryName(), jsonElement);
             }
@@ -407,7 +485,9 @@ public class AkeneoConnector extends RestConnector {
      * Executes a single query for this connector and returns response after
      * parsing it to {@code JSON}.
      *
-     * <p>A query is an object of type {@link QueryInfoDto}.
+     * <p>A query is an object of type {@link QueryInfoDto}. If the query names
+     * the template it is rendered with, only the fields used by the template
+     * are kept from each page of results.
      *
      * @param configDto Connector config which needs to be executed.
      * @param queryInfo The query which will be executed.
@@ -417,16 +497,41 @@ public class AkeneoConnector extends RestConnector {
      */
     @Override
     public String execute(ConfigDto configDto, QueryInfoDto queryInfo) throws KonnectException {
-        boolean isValidConnection = validateConnection(configDto);
+        return executeInFlight(configDto, queryInfo, () -> executeQuery(configDto, queryInfo));
+    }
+
+    /**
+     * Executes a query which is not in flight.
+     *
+     * @param configDto Connector config which needs to be executed.
+     * @param queryInfo The query which will be executed.
+     * @return A <tt>String</tt> which is the JSON response of query execution.
+     * @throws KonnectException if any exception or error occurs while connecting to
+     *                          the external data source.
+     */
+    private String executeQuery(ConfigDto configDto, QueryInfoDto queryInfo) throws KonnectException {
+        boolean isValidConnection = isCachedReferenceData(configDto, queryInfo) || validateConnection(configDto);
         if (!isValidConnection) {
             throw new KonnectConnectionException("[AkeneoConnector] Error in connecting to client");
         }
         String query = getQueryWithDefaultLimit(queryInfo.getQuery());
         queryInfo.setQuery(query);
-        RestInvoker invoker = new RestInvoker();
-        AkeneoResponseDto results = executeAndGetResultFromQuery(configDto, queryInfo, invoker, false);
+        return executeAndGetResultFromQuery(configDto, queryInfo, false, getPageProjection(getFieldProjection(queryInfo)));
+    }
 
-        return GsonUtils.getInstance().getStringFromObject(results);
+    /**
+     * Helper function to get the projection applied to each page of results,
+     * which also keeps the paging links. A template which does not use the
+     * items of the pages keeps the pages as they are.
+     *
+     * @param projection - {@link FieldProjection} of the fields used by the template, or {@code null}.
+     * @return {@link FieldProjection} to be applied to each page, or {@code null}.
+     */
+    private FieldProjection getPageProjection(FieldProjection projection) {
+        if (projection == null || !projection.includes(AKENEO_EMBEDDED_KEY)) {
+            return null;
+        }
+        return projection.withFields(AKENEO_LINKS_KEY);
     }
 
     /**
@@ -444,7 +549,7 @@ public class AkeneoConnector extends RestConnector {
      */
     @Override
     public QueryResultDto executeWithLimit(ConfigDto configDto, QueryInfoDto queryInfo) throws KonnectException {
-        boolean isValidConnection = validateConnection(configDto);
+        boolean isValidConnection = isCachedReferenceData(configDto, queryInfo) || validateConnection(configDto);
         if (!isValidConnection) {
             throw new KonnectConnectionException("[AkeneoConnector] Error in connecting to client");
         }
@@ -452,46 +557,56 @@ public class AkeneoConnector extends RestConnector {
         queryInfo.setQuery(query);
         QueryResultDto queryResultDto = new QueryResultDto();
         queryResultDto.setQuery(query);
-        RestInvoker invoker = new RestInvoker();
-        AkeneoResponseDto results = executeAndGetResultFromQuery(configDto, queryInfo, invoker, true);
-
-        queryResultDto.setResponse(GsonUtils.getInstance().getStringFromObject(results));
+        queryResultDto.setResponse(executeAndGetResultFromQuery(configDto, queryInfo, true, null));
         return queryResultDto;
     }
 
     /**
      * Helper function to execute an Akeneo query and get the result
-     * as a {@link AkeneoResponseDto} object.
+     * as the JSON of a {@link AkeneoResponseDto} object.
+     * <p>
+     * A query on the <tt>Get products by identifiers</tt> or
+     * <tt>Get products by UUIDs</tt> resource lists the products to get, and
+     * its result is the JSON of a {@link AkeneoProductsByIdDto} object.
      * <p>
+     * Queries on families, attributes, categories and locales are answered
+     * from the {@link ReferenceDataCache}, unless their search cannot be
+     * applied to the cached items or they have parameters other than
+     * <tt>search</tt> and <tt>limit</tt>.
      *
      * @param configDto      - Connector config which needs to be executed.
      * @param queryInfo      - The query which will be executed.
-     * @param invoker        - {@link RestInvoker} object to execute the query.
      * @param skipPagination - {@code true} if pagination is to be skipped.
-     * @return {@link AkeneoResponseDto} which is the response of the query.
+     * @param projection     - {@link FieldProjection} applied to each page before it is
+     *                       parsed, or {@code null} to keep all fields.
+     * @return a {@code String} which is the JSON response of the query.
      */
-    private AkeneoResponseDto executeAndGetResultFromQuery(ConfigDto configDto, QueryInfoDto queryInfo, RestInvoker invoker, boolean skipPagination) throws KonnectException {
-        RestConfig restConfig = null;
-        AkeneoResponseDto allResponsesDto = new AkeneoResponseDto();
-        allResponsesDto.setEmbedded(new AkeneoEmebeddedItems());
-        String responseString = "";
+    private String executeAndGetResultFromQuery(ConfigDto configDto, QueryInfoDto queryInfo, boolean skipPagination, FieldProjection projection) throws KonnectException {
+        String resource = null;
+        long start = System.nanoTime();
+        boolean success = false;
         try {
-            restConfig = getConfigForAkeneo(configDto.getConfig(), queryInfo);
-            responseString = getResultFromUrl(restConfig.getUrl(), restConfig, queryInfo, invoker);
-            AkeneoResponseDto responseDto = GsonUtils.getInstance().getObjectFromString(responseString, AkeneoResponseDto.class);
-            allResponsesDto.getEmbedded().getItems().addAll(responseDto.getEmbedded().getItems());
-            if (skipPagination)
-                return allResponsesDto;
-            while (responseDto.getLinks() != null && responseDto.getLinks().getNext() != null && StringUtils.isNotBlank(responseDto.getLinks().getNext().getHref())) {
-                log.debug("[AkeneoConnector] fetching data for {}", responseDto.getLinks().getNext().getHref());
-                addBreatherForAkeneo();
-                responseString = getResultFromUrl(responseDto.getLinks().getNext().getHref(), restConfig, queryInfo, invoker);
-                responseDto = GsonUtils.getInstance().getObjectFromString(responseString, AkeneoResponseDto.class);
-                if (responseDto != null && responseDto.getEmbedded() != null && responseDto.getEmbedded().getItems() != null)
-                    allResponsesDto.getEmbedded().getItems().addAll(responseDto.getEmbedded().getItems());
+            RestRequestContext context = getRequestContext(configDto.getConfig(), queryInfo);
+            resource = context.getResourceName();
+            RestInvoker invoker = new RestInvoker(getName(), resource);
+            ResourceEnum referenceResource = getReferenceDataResource(resource);
+            ReferenceDataFilter filter = referenceResource != null ? getReferenceDataFilter(queryInfo.getQuery()) : null;
+            String result;
+            if (filter != null) {
+                result = getReferenceData(configDto, context, referenceResource, filter, skipPagination ? getLimit(queryInfo.getQuery()) : 0);
+            } else if (GET_PRODUCTS_BY_IDENTIFIERS.getValue().equalsIgnoreCase(resource)) {
+                result = getProductsById(context, queryInfo.getQuery(), AKENEO_IDENTIFIER_KEY, skipPagination ? getMaxNoRowsForPreviewQuery() : 0, invoker);
+            } else if (GET_PRODUCTS_BY_UUIDS.getValue().equalsIgnoreCase(resource)) {
+                result = getProductsById(context, queryInfo.getQuery(), AKENEO_UUID_KEY, skipPagination ? getMaxNoRowsForPreviewQuery() : 0, invoker);
+            } else {
+                AkeneoResponseDto allResponsesDto = new AkeneoResponseDto();
+                allResponsesDto.setEmbedded(new AkeneoEmebeddedItems());
+                addAllPages(context, queryInfo.getQuery(), skipPagination, projection, invoker, allResponsesDto.getEmbedded());
+                log.debug("[AkeneoConnector] returning all results ");
+                result = serialize(allResponsesDto, resource);
             }
-            log.debug("[AkeneoConnector] returning all results ");
-            return allResponsesDto;
+            success = true;
+            return result;
         } catch (IOException | URISyntaxException e) {
             throw new KonnectQueryException("[AkeneoConnector] Error in connecting to client", e);
         } catch (KonnectException e) {
@@ -499,10 +614,298 @@ public class AkeneoConnector extends RestConnector {
         } catch (Exception e) {
             throw new KonnectException("[AkeneoConnector] Error in sending request", e);
         } finally {
-            clearRestConfigOfResourceUrl(restConfig);
+            KonnectMetricsProvider.getMetrics().recordQuery(getName(), resource, System.nanoTime() - start, success);
+        }
+    }
+
+    /**
+     * Helper function to request the pages of results of a query and add
+     * their items to the given items.
+     * <p>
+     * Lists of products are paged with <tt>search_after</tt> pagination, whose
+     * pages do not get slower as they go, unless the query asks for a page, a
+     * pagination type or a count of the items. The next pages are then
+     * requested with the <tt>_links.next</tt> URL, which carries the
+     * <tt>search_after</tt> token and the filters of the query.
+     *
+     * @param context        - {@link RestRequestContext} of the resource requested.
+     * @param query          - {@code String} which is the query to be executed.
+     * @param skipPagination - {@code true} if only the first page is to be requested.
+     * @param projection     - {@link FieldProjection} applied to each page before it is
+     *                       parsed, or {@code null} to keep all fields.
+     * @param invoker        - {@link RestInvoker} sending the requests.
+     * @param items          - {@link AkeneoEmebeddedItems} to which the items are added.
+     */
+    private void addAllPages(RestRequestContext context, String query, boolean skipPagination, FieldProjection projection, RestInvoker invoker, AkeneoEmebeddedItems items) throws IOException, URISyntaxException, KonnectException {
+        String resource = context.getResourceName();
+        boolean searchAfter = !skipPagination && isSearchAfterResource(context.getUrl()) && akeneoUtils.canUseSearchAfterPagination(query);
+        if (searchAfter) {
+            query = akeneoUtils.useSearchAfterPagination(query);
+        }
+        String responseString = getResultFromUrl(context.getUrl(), context, query, invoker);
+        KonnectMetricsProvider.getMetrics().recordPage(getName(), resource);
+        AkeneoResponseDto responseDto = parsePage(responseString, projection, resource);
+        items.getItems().addAll(responseDto.getEmbedded().getItems());
+        if (skipPagination) {
+            return;
+        }
+        while (responseDto.getLinks() != null && responseDto.getLinks().getNext() != null && StringUtils.isNotBlank(responseDto.getLinks().getNext().getHref())) {
+            log.debug("[AkeneoConnector] fetching data for {}", responseDto.getLinks().getNext().getHref());
+            addBreatherForAkeneo();
+            // A search_after link carries the whole query with the token of the next page
+            responseString = getResultFromUrl(responseDto.getLinks().getNext().getHref(), context, searchAfter ? StringUtils.EMPTY : query, invoker);
+            KonnectMetricsProvider.getMetrics().recordPage(getName(), resource);
+            responseDto = parsePage(responseString, projection, resource);
+            if (responseDto != null && responseDto.getEmbedded() != null && responseDto.getEmbedded().getItems() != null)
+                items.getItems().addAll(responseDto.getEmbedded().getItems());
         }
     }
 
+    /**
+     * Helper function to get the products listed in a query by identifier or
+     * UUID and get the result as the JSON of a {@link AkeneoProductsByIdDto}
+     * object.
+     * <p>
+     * Rather than one request per product, the products are searched with an
+     * <tt>IN</tt> filter on the field, at most a hundred values at a
+     * time. The products found are keyed by the value requested,
+     * in the order of the query, and the values not found are listed as missing.
+     * A preview only gets the first values listed, up to its limit.
+     *
+     * @param context - {@link RestRequestContext} of the resource requested.
+     * @param query   - {@code String} which lists the identifiers or UUIDs.
+     * @param field   - {@code String} which is the field searched, <tt>identifier</tt> or <tt>uuid</tt>.
+     * @param limit   - maximum number of values to get, or 0 to get all of them.
+     * @param invoker - {@link RestInvoker} sending the requests.
+     * @return a {@code String} which is the JSON of the products found and missing.
+     */
+    private String getProductsById(RestRequestContext context, String query, String field, int limit, RestInvoker invoker) throws IOException, URISyntaxException, KonnectException {
+        List<String> identifiers = akeneoUtils.getIdentifiers(query);
+        if (limit > 0 && identifiers.size() > limit) {
+            identifiers = identifiers.subList(0, limit);
+        }
+        Map<String, Object> found = new HashMap<>();
+        for (int from = 0; from < identifiers.size(); from += AKENEO_MAX_IDENTIFIERS_PER_SEARCH) {
+            List<String> chunk = identifiers.subList(from, Math.min(from + AKENEO_MAX_IDENTIFIERS_PER_SEARCH, identifiers.size()));
+            AkeneoEmebeddedItems items = new AkeneoEmebeddedItems();
+            addAllPages(context, akeneoUtils.getSearchInQuery(field, chunk, DEFAULT_QUERY_LIMIT), limit > 0, null, invoker, items);
+            for (Object item : items.getItems()) {
+                Object value = item instanceof Map ? ((Map<?, ?>) item).get(field) : null;
+                if (value != null) {
+                    found.put(value.toString(), item);
+                }
+            }
+        }
+        AkeneoProductsByIdDto productsDto = new AkeneoProductsByIdDto();
+        for (String identifier : identifiers) {
+            if (found.containsKey(identifier)) {
+                productsDto.getProducts().put(identifier, found.get(identifier));
+            } else {
+                productsDto.getMissing().add(identifier);
+            }
+        }
+        log.debug("[AkeneoConnector] found {} of {} products", productsDto.getProducts().size(), identifiers.size());
+        return serialize(productsDto, context.getResourceName());
+    }
+
+    /**
+     * Helper function to get the reference data resource of a query.
+     *
+     * @param resource - {@code String} which is the name of the resource requested.
+     * @return {@link ResourceEnum} of the families, attributes, categories or
+     * locales, or {@code null} if the resource is not reference data.
+     */
+    private ResourceEnum getReferenceDataResource(String resource) {
+        for (ResourceEnum referenceResource : new ResourceEnum[]{GET_ALL_FAMILIES, GET_ALL_ATTRIBUTES, GET_LIST_CATEGORIES, GET_LIST_LOCALES}) {
+            if (referenceResource.getValue().equalsIgnoreCase(resource)) {
+                return referenceResource;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Helper function to get the filter applied to the cached reference data
+     * for a query.
+     *
+     * @param query - {@code String} which is the query to be executed.
+     * @return {@link ReferenceDataFilter} of the query, or {@code null} if the
+     * query has to be sent to Akeneo.
+     */
+    private ReferenceDataFilter getReferenceDataFilter(String query) {
+        if (!referenceDataCache.isEnabled() || !akeneoUtils.hasOnlyQueryParameters(query, AKENEO_SEARCH_PARAM, AKENEO_PAGE_LIMIT_PARAM)) {
+            return null;
+        }
+        return ReferenceDataFilter.parse(akeneoUtils.getSearchParameter(query));
+    }
+
+    /**
+     * Helper function to check if a query is answered from reference data
+     * which is already cached, so that the connection does not have to be
+     * validated before it is executed.
+     *
+     * @param configDto - Connector config which needs to be executed.
+     * @param queryInfo - The query which will be executed.
+     * @return {@code true} if the query is answered from cached reference data.
+     */
+    private boolean isCachedReferenceData(ConfigDto configDto, QueryInfoDto queryInfo) {
+        try {
+            ResourceEnum referenceResource = getReferenceDataResource(getRequestContext(configDto.getConfig(), queryInfo).getResourceName());
+            return referenceResource != null && getReferenceDataFilter(queryInfo.getQuery()) != null
+                    && referenceDataCache.isLoaded(getInstanceKey(getConfigForAkeneo(configDto.getConfig())), referenceResource.getValue());
+        } catch (KonnectException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Helper function to get the reference data matching a query from the
+     * {@link ReferenceDataCache}, and get the result as the JSON of a
+     * {@link AkeneoResponseDto} object.
+     * <p>
+     * The loader kept by the cache only reads the config of the query: each
+     * load works on its own copy of the config, so that renewing the OAuth
+     * token in the background does not change the config of a request.
+     *
+     * @param configDto         - Connector config which needs to be executed.
+     * @param context           - {@link RestRequestContext} of the resource requested.
+     * @param referenceResource - {@link ResourceEnum} of the reference data.
+     * @param filter            - {@link ReferenceDataFilter} of the query.
+     * @param limit             - the maximum number of items returned, or 0 for all of them.
+     * @return a {@code String} which is the JSON response of the query.
+     */
+    private String getReferenceData(ConfigDto configDto, RestRequestContext context, ResourceEnum referenceResource, ReferenceDataFilter filter, int limit) throws KonnectException {
+        String resourceId = context.getResource() != null ? context.getResource().getId() : null;
+        // Locales cannot be searched by updated date, so they are always loaded in full
+        List<Object> items = referenceDataCache.getItems(getInstanceKey(getConfigForAkeneo(configDto.getConfig())), referenceResource.getValue(),
+                referenceResource != GET_LIST_LOCALES, updatedSince -> loadReferenceData(copyConfig(configDto), resourceId, updatedSince));
+        AkeneoResponseDto responseDto = new AkeneoResponseDto().setEmbedded(new AkeneoEmebeddedItems().setItems(filter.filter(items, limit)));
+        log.debug("[AkeneoConnector] returning cached {} ", referenceResource.getValue());
+        return serialize(responseDto, context.getResourceName());
+    }
+
+    /**
+     * Helper function to load the items of a reference data resource. As it
+     * also runs in the background, the connection is validated first so that
+     * the OAuth token is renewed.
+     *
+     * @param configDto    - Copy of the connector config, owned by this load.
+     * @param resourceId   - the id of the resource requested, or {@code null}.
+     * @param updatedSince - the date after which the items loaded have been
+     *                     updated, or {@code null} to load all the items.
+     * @return a {@code List} of the items.
+     */
+    private List<Object> loadReferenceData(ConfigDto configDto, String resourceId, String updatedSince) throws KonnectException {
+        if (!validateConnection(configDto)) {
+            throw new KonnectConnectionException("[AkeneoConnector] Error in connecting to client");
+        }
+        RestRequestContext context = getConfigForAkeneo(configDto.getConfig()).getRequestContext(resourceId);
+        RestInvoker invoker = new RestInvoker(getName(), context.getResourceName());
+        String query = updatedSince == null ? AKENEO_PAGE_LIMIT_PARAM + "=" + DEFAULT_QUERY_LIMIT
+                : akeneoUtils.getSearchQuery(AKENEO_UPDATED_KEY, ">", updatedSince, DEFAULT_QUERY_LIMIT);
+        try {
+            AkeneoEmebeddedItems items = new AkeneoEmebeddedItems();
+            addAllPages(context, query, false, null, invoker, items);
+            log.debug("[AkeneoConnector] loaded {} items of {}", items.getItems().size(), context.getResourceName());
+            return items.getItems();
+        } catch (IOException | URISyntaxException e) {
+            throw new KonnectQueryException("[AkeneoConnector] Error in connecting to client", e);
+        }
+    }
+
+    /**
+     * Helper function to copy a config, so that the copy can be changed, for
+     * instance with a new OAuth token, without changing the config.
+     *
+     * @param configDto - Connector config to be copied.
+     * @return a {@link ConfigDto} which holds a copy of the config.
+     */
+    private ConfigDto copyConfig(ConfigDto configDto) {
+        Config config = configDto.getConfig();
+        ConfigDto copy = new ConfigDto();
+        copy.setConfigClazz(configDto.getConfigClazz());
+        copy.setConfig(GsonUtils.getInstance().getObjectFromString(GsonUtils.getInstance().getStringFromObject(config), config.getClass()));
+        return copy;
+    }
+
+    /**
+     * Helper function to get the key of the Akeneo instance of a config. It
+     * identifies the URL and the user of the config, without the OAuth token
+     * which changes as it is renewed.
+     *
+     * @param restConfig - {@link RestConfig} of the Akeneo instance.
+     * @return a {@code String} which is the key of the instance.
+     */
+    private String getInstanceKey(RestConfig restConfig) {
+        String user = restConfig instanceof AppAccessTokenConfig
+                ? ((AppAccessTokenConfig) restConfig).getUsername() + "\n" + ((AppAccessTokenConfig) restConfig).getAuthenticationDetailsForOauth().getHeader()
+                : String.valueOf(restConfig.getAuthenticationDetails().getHeader());
+        return UUID.nameUUIDFromBytes((restConfig.getUrl(true) + "\n" + user).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * Helper function to get the <tt>limit</tt> parameter of a query.
+     *
+     * @param query - {@code String} which is the query.
+     * @return the limit, or 0 if the query has no valid limit.
+     */
+    private int getLimit(String query) {
+        for (String parameter : StringUtils.defaultString(query).split("&")) {
+            if (parameter.startsWith(AKENEO_PAGE_LIMIT_PARAM + "=")) {
+                try {
+                    return Math.max(Integer.parseInt(parameter.substring(AKENEO_PAGE_LIMIT_PARAM.length() + 1).trim()), 0);
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Helper function to parse a page of results, after applying the
+     * projection, and record the time taken as the parse phase of the request
+     * of the page.
+     *
+     * @param responseString - {@code String} which is the page of results.
+     * @param projection     - {@link FieldProjection} to be applied, or {@code null}.
+     * @param resource       - {@code String} which is the name of the resource requested.
+     * @return {@link AkeneoResponseDto} which is the page of results.
+     */
+    private AkeneoResponseDto parsePage(String responseString, FieldProjection projection, String resource) throws IOException {
+        long start = System.nanoTime();
+        AkeneoResponseDto responseDto = GsonUtils.getInstance().getObjectFromString(project(responseString, projection), AkeneoResponseDto.class);
+        KonnectMetricsProvider.recordPhase(getName(), resource, RequestPhase.PARSE, System.nanoTime() - start);
+        return responseDto;
+    }
+
+    /**
+     * Helper function to serialize the results of a query and record the
+     * time taken as the serialize phase of the query.
+     *
+     * @param allResponsesDto - object which is the results of the query.
+     * @param resource        - {@code String} which is the name of the resource requested.
+     * @return a {@code String} which is the JSON of the results.
+     */
+    private String serialize(Object allResponsesDto, String resource) {
+        long start = System.nanoTime();
+        String result = GsonUtils.getInstance().getStringFromObject(allResponsesDto);
+        KonnectMetricsProvider.recordPhase(getName(), resource, RequestPhase.SERIALIZE, System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Helper function to apply a projection to a page of results, so that
+     * only the fields needed by the template are parsed and kept.
+     *
+     * @param responseString - {@code String} which is the page of results.
+     * @param projection     - {@link FieldProjection} to be applied, or {@code null}.
+     * @return a {@code String} which is the projected page of results.
+     */
+    private String project(String responseString, FieldProjection projection) throws IOException {
+        return projection == null ? responseString : projection.project(responseString);
+    }
+
     /**
      * Helper function which adds the breather time interval
      * in milliseconds.
@@ -515,16 +918,28 @@ public class AkeneoConnector extends RestConnector {
         }
     }
 
+    /**
+     * Helper function to check if the URL is a list of products, which
+     * can be paged with <tt>search_after</tt> pagination.
+     *
+     * @param url - {@code String} which is the URL of the resource.
+     * @return {@code true} if the URL is a list of products.
+     */
+    private boolean isSearchAfterResource(String url) throws URISyntaxException {
+        String path = new URI(url).getPath();
+        return path != null && (path.endsWith(GET_ALL_PRODUCTS.getUrl()) || path.endsWith(GET_ALL_PRODUCTS_UUID.getUrl()));
+    }
+
     /**
      * Helper function to execute a query and get the result as a
      * {@code String}.
      *
      * @return a {@code String} which is the response of the query.
      */
-    private String getResultFromUrl(String url, RestConfig restConfig, QueryInfoDto queryInfo, RestInvoker invoker) throws IOException, URISyntaxException, KonnectQueryException {
+    private String getResultFromUrl(String url, RestRequestContext context, String query, RestInvoker invoker) throws IOException, URISyntaxException, KonnectQueryException, KonnectConnectionException {
         HttpUriRequest uriRequest = null;
         log.debug("[AkeneoConnector] getting results for URL {} ", url);
-        uriRequest = invoker.prepareConnection(restConfig.getAuthenticationDetails(), url, restConfig.getRequestType(), restConfig.getBody(), queryInfo.getQuery(), restConfig.getHeaders());
+        uriRequest = invoker.prepareConnection(context.getAuthenticationDetails(), url, context.getRequestType(), context.getBody(), query, context.getHeaders());
         String responseString = invoker.invokeRequest(uriRequest, getHttpClient());
         return responseString;
     }
@@ -538,7 +953,7 @@ public class AkeneoConnector extends RestConnector {
      */
     private RestConfig getConfigForAkeneo(Config config) {
         try {
-            return getConfigForAkeneo(config, null);
+            return (RestConfig) config;
         } catch (Exception e) {
             log.error("[AkeneoConnector] Failed to get Remember me config from config ", e);
         }
@@ -546,27 +961,35 @@ public class AkeneoConnector extends RestConnector {
     }
 
     /**
-     * Returns a {@link RestConfig} object for the Config to be used to execute
-     * a query.
+     * Returns the {@link RestRequestContext} to be used to execute a query.
+     * The config itself is not changed, so queries on the same config can be
+     * executed concurrently.
+     *
+     * <p>Akeneo configs are used as they are, rather than through
+     * {@link #getRestConfig(Config)}.
      *
      * @param config       - Config object which needs to be executed.
      * @param queryInfoDto - QueryInfoDto object which contains additional resource info.
-     * @return {@link RestConfig} which is the Config to be used to execute a query.
+     * @return {@link RestRequestContext} which is the context to be used to execute a query.
+     * @throws KonnectException if the config is missing.
      */
-    private RestConfig getConfigForAkeneo(Config config, QueryInfoDto queryInfoDto) throws KonnectException {
-        log.debug("Setting resource {} for connector ", queryInfoDto != null ? queryInfoDto.getAdditionalResourceInfo() : "");
+    @Override
+    public RestRequestContext getRequestContext(Config config, QueryInfoDto queryInfoDto) throws KonnectException {
+        log.debug("Resolving resource {} for connector ", queryInfoDto.getAdditionalResourceInfo());
         RestConfig appAccessTokenConfig = (RestConfig) config;
-        if (appAccessTokenConfig != null && queryInfoDto != null && queryInfoDto.getAdditionalResourceInfo().containsKey(RESOURCE_ID) && StringUtils.isNotEmpty(queryInfoDto.getAdditionalResourceInfo().get(RESOURCE_ID))) {
-            appAccessTokenConfig.setCurrentResource(queryInfoDto.getAdditionalResourceInfo().get(RESOURCE_ID));
+        if (appAccessTokenConfig == null) {
+            throw new KonnectException("[AkeneoConnector] Config is missing");
         }
-        return appAccessTokenConfig;
+        return appAccessTokenConfig.getRequestContext(queryInfoDto.getAdditionalResourceInfo().get(RESOURCE_ID));
     }
 
     /**
      * Function to clear the resource URL from the {@link RestConfig} object.
      *
      * @param restConfig - {@link RestConfig} object which needs to be cleared.
+     * @deprecated queries no longer set the current resource of the config.
      */
+    @Deprecated
     public void clearRestConfigOfResourceUrl(RestConfig restConfig) throws KonnectException {
         if (restConfig != null) {
             restConfig.setCurrentResource(StringUtils.EMPTY);
@@ -580,16 +1003,16 @@ public class AkeneoConnector extends RestConnector {
      */
     @Override
     public List<TemplateDto> getTemplates() {
-        List<TemplateDto> templates = new ArrayList<>();
-        ClassLoader classLoader = this.getClass().getClassLoader();
-        for (int i = 0; i < AKENEO_TEMPLATE_PATH.length; i++) {
-            try {
-                InputStream inStream = classLoader.getResourceAsStream("templates/" + AKENEO_TEMPLATE_PATH[i]);
-                templates.add(new TemplateDto(AKENEO_TEMPLATE_PATH[i], new String(IOUtils.toByteArray(inStream), StandardCharsets.UTF_8)));
-            } catch (Exception e) {
-                log.error("[AzureDevopsConnector] error in reading template file", e);
-            }
-        }
-        return templates;
+        return getMetadata().getTemplates();
+    }
+
+    /**
+     * Returns the descriptors of the config classes supported by this connector.
+     *
+     * @return a {@code List} of {@link ConfigDescriptor} of the supported config classes.
+     */
+    @Override
+    public List<ConfigDescriptor> getConfigDescriptors() {
+        return getMetadata().getConfigDescriptors();
     }
 }
\ No newline at end of file
@@ -15,6 +15,7 @@ import com.adobe.guides.konnect.definitions.core.annotations.APIDefinition;
 import com.adobe.guides.konnect.definitions.core.annotations.CipherText;
 import com.adobe.guides.konnect.definitions.core.config.AuthenticationDetails;
 import com.adobe.guides.konnect.definitions.core.config.RestConfig;
+import com.adobe.guides.konnect.definitions.core.config.RestRequestContext;
 import com.adobe.guides.konnect.definitions.core.exception.KonnectException;
 import com.adobe.guides.konnect.definitions.core.urlResource.RestResourceDao;
 import org.apache.commons.lang3.StringUtils;
@@ -143,9 +144,23 @@ public class AppAccessTokenConfig extends RestConfig {
         }
         authHeader.put(this.authHeaderName, BEARER_TOKEN_AUTH_KEY + this.token);
         authDetails.setHeader(authHeader);
+        authDetails.setIdentity(getCredentialIdentity());
         return authDetails;
     }
 
+    /**
+     * Returns a stable identity of the credentials of this config, made of
+     * its base URL, client id and username, so that the responses cached
+     * with an access token are used again after the token is refreshed. Only
+     * a hash of them is kept.
+     *
+     * @return a {@code String} which is the identity of the credentials.
+     */
+    private String getCredentialIdentity() {
+        String key = getUrl(true) + "\n" + this.clientId + "\n" + this.username;
+        return UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
     /**
      * Returns a {@link AuthenticationDetails} object to be used to execute a
      * query using OAuth authentication.
@@ -199,17 +214,25 @@ public class AppAccessTokenConfig extends RestConfig {
      */
     @Override
     public void setCurrentResource(String id) {
-        List<RestResourceDao> resourceList = this.getResourceList();
-        if (!resourceList.isEmpty() && StringUtils.isNotBlank(id)) {
-            for (RestResourceDao resourceDao : resourceList) {
-                if (resourceDao.getId().equalsIgnoreCase(id)) {
-                    this.setCurrentResource(resourceDao);
-                    break;
-                }
-            }
+        RestResourceDao resourceDao = this.getResource(id);
+        if (resourceDao != null) {
+            this.setCurrentResource(resourceDao);
         }
     }
 
+    /**
+     * Returns the context of a request on a resource of this config. If no
+     * resource has the given id, the base URL of this config is used.
+     *
+     * @param id a {@code String} which is the id of the resource to be used.
+     * @return {@link RestRequestContext} of the request.
+     * @throws KonnectException never, as an unknown id selects the base URL.
+     */
+    @Override
+    public RestRequestContext getRequestContext(String id) throws KonnectException {
+        return super.getRequestContext(this.getResource(id) != null ? id : null);
+    }
+
     /**
      * Returns the username for this config.
      *
@@ -41,6 +41,16 @@ public enum ResourceEnum {
      */
     GET_A_PRODUCT_UUID("Get a product (UUID)", "/api/rest/v1/products-uuid/{code}", "25566245-55c3-42ce-86d9-8610ac459fa8"),
 
+    /**
+     * Get products by identifiers
+     */
+    GET_PRODUCTS_BY_IDENTIFIERS("Get products by identifiers", "/api/rest/v1/products", "10667767,10667768"),
+
+    /**
+     * Get products by UUIDs
+     */
+    GET_PRODUCTS_BY_UUIDS("Get products by UUIDs", "/api/rest/v1/products-uuid", "25566245-55c3-42ce-86d9-8610ac459fa8,fc24e6c3-933c-4a93-8a81-e5c703d134d5"),
+
     /**
      * Get list of families
      */
@@ -0,0 +1,184 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.akeneo.cache;
+
+import com.adobe.guides.konnect.definitions.core.exception.KonnectException;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.AKENEO_CODE_KEY;
+import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.REFERENCE_DATA_UPDATED_OVERLAP_MILLIS;
+
+/**
+ * The items of a reference data resource of an Akeneo instance.<p>
+ * The items are loaded on the first read and then only replaced, so reads
+ * after the first one do not wait. A refresh either loads all the items
+ * again or, if the resource can be searched by <tt>updated</tt> date, loads
+ * the items updated since the last refresh and merges them by code.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class ReferenceData {
+
+    private final String resource;
+    private final boolean incremental;
+    private volatile ReferenceDataLoader loader;
+    private volatile List<Object> items;
+    private volatile long loadedAt;
+    private volatile long refreshedAt;
+    private volatile long readAt;
+
+    /**
+     * Sole constructor.
+     *
+     * @param resource    the name of the resource.
+     * @param incremental {@code true} if the resource can be searched by
+     *                    <tt>updated</tt> date.
+     */
+    public ReferenceData(String resource, boolean incremental) {
+        this.resource = resource;
+        this.incremental = incremental;
+    }
+
+    /**
+     * Returns the name of the resource.
+     *
+     * @return the name of the resource.
+     */
+    public String getResource() {
+        return resource;
+    }
+
+    /**
+     * Returns the items, loading them if they have not been loaded yet. The
+     * loader is kept to refresh the items in the background, so the latest
+     * config of the instance is used; it must not change the config or any
+     * other state of the request it comes from.
+     *
+     * @param loader {@link ReferenceDataLoader} of the items.
+     * @return an unmodifiable {@code List} of the items.
+     * @throws KonnectException if the items cannot be loaded.
+     */
+    public List<Object> get(ReferenceDataLoader loader) throws KonnectException {
+        this.loader = loader;
+        readAt = System.currentTimeMillis();
+        List<Object> current = items;
+        if (current == null) {
+            synchronized (this) {
+                if (items == null) {
+                    load();
+                }
+                current = items;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Returns {@code true} if the items have been loaded.
+     *
+     * @return {@code true} if the items have been loaded.
+     */
+    public boolean isLoaded() {
+        return items != null;
+    }
+
+    /**
+     * Refreshes the items, if they have been loaded.
+     *
+     * @param full {@code true} if all the items have to be loaded again.
+     * @throws KonnectException if the items cannot be loaded.
+     */
+    public synchronized void refresh(boolean full) throws KonnectException {
+        if (items == null || loader == null) {
+            return;
+        }
+        if (full || !incremental) {
+            load();
+            return;
+        }
+        long start = System.currentTimeMillis();
+        String updatedSince = Instant.ofEpochMilli(refreshedAt - REFERENCE_DATA_UPDATED_OVERLAP_MILLIS).truncatedTo(ChronoUnit.SECONDS).toString();
+        List<Object> updated = loader.load(updatedSince);
+        if (!updated.isEmpty()) {
+            items = merge(items, updated);
+        }
+        refreshedAt = start;
+    }
+
+    /**
+     * Returns the time all the items were last loaded.
+     *
+     * @return the time in milliseconds.
+     */
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * Returns the time the items were last read.
+     *
+     * @return the time in milliseconds.
+     */
+    public long getReadAt() {
+        return readAt;
+    }
+
+    /**
+     * Loads all the items.
+     *
+     * @throws KonnectException if the items cannot be loaded.
+     */
+    private void load() throws KonnectException {
+        long start = System.currentTimeMillis();
+        items = Collections.unmodifiableList(new ArrayList<>(loader.load(null)));
+        loadedAt = start;
+        refreshedAt = start;
+    }
+
+    /**
+     * Returns the items with the updated items merged in. An updated item
+     * replaces the item with the same code, or is added after the others.
+     *
+     * @param current the current items.
+     * @param updated the updated items.
+     * @return an unmodifiable {@code List} of the merged items.
+     */
+    private static List<Object> merge(List<Object> current, List<Object> updated) {
+        Map<Object, Object> merged = new LinkedHashMap<>();
+        for (Object item : current) {
+            merged.put(getCode(item), item);
+        }
+        for (Object item : updated) {
+            merged.put(getCode(item), item);
+        }
+        return Collections.unmodifiableList(new ArrayList<>(merged.values()));
+    }
+
+    /**
+     * Returns the code of an item, or the item itself if it has no code.
+     *
+     * @param item the item.
+     * @return the code of the item.
+     */
+    private static Object getCode(Object item) {
+        Object code = item instanceof Map ? ((Map<?, ?>) item).get(AKENEO_CODE_KEY) : null;
+        return code != null ? code : item;
+    }
+}
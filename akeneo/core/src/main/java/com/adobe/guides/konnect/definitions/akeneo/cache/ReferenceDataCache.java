@@ -0,0 +1,209 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.akeneo.cache;
+
+import com.adobe.guides.konnect.definitions.core.exception.KonnectException;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.REFERENCE_DATA_CACHE_ENABLED_PROPERTY;
+import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.REFERENCE_DATA_FULL_REFRESH_INTERVAL;
+import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.REFERENCE_DATA_FULL_REFRESH_INTERVAL_PROPERTY;
+import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.REFERENCE_DATA_REFRESH_INTERVAL;
+import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.REFERENCE_DATA_REFRESH_INTERVAL_PROPERTY;
+
+/**
+ * In-memory cache of the reference data of Akeneo, such as families,
+ * attributes, categories and locales.<p>
+ * Reference data is cached per Akeneo instance and resource. It is loaded
+ * by the first query on the resource, and then refreshed in the background
+ * every <tt>refreshIntervalSeconds</tt>: with the items updated since the
+ * last refresh when the resource can be searched by <tt>updated</tt> date,
+ * else with all the items. All the items are loaded again every
+ * <tt>fullRefreshIntervalSeconds</tt>, so that deleted items are dropped.
+ * Reference data which has not been read for as long is evicted rather
+ * than refreshed.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+@Component(service = ReferenceDataCache.class,
+        property = {
+                REFERENCE_DATA_CACHE_ENABLED_PROPERTY + ":Boolean=true",
+                REFERENCE_DATA_REFRESH_INTERVAL_PROPERTY + ":Long=" + REFERENCE_DATA_REFRESH_INTERVAL,
+                REFERENCE_DATA_FULL_REFRESH_INTERVAL_PROPERTY + ":Long=" + REFERENCE_DATA_FULL_REFRESH_INTERVAL
+        })
+public class ReferenceDataCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceDataCache.class);
+
+    private final ConcurrentMap<String, ReferenceData> referenceData = new ConcurrentHashMap<>();
+    private volatile boolean enabled = true;
+    private volatile long fullRefreshIntervalMillis = TimeUnit.SECONDS.toMillis(REFERENCE_DATA_FULL_REFRESH_INTERVAL);
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Applies the properties of this component and schedules the refresh of
+     * the reference data.
+     *
+     * @param properties the properties of this component.
+     */
+    @Activate
+    @Modified
+    protected synchronized void activate(Map<String, Object> properties) {
+        Object enabledValue = properties != null ? properties.get(REFERENCE_DATA_CACHE_ENABLED_PROPERTY) : null;
+        enabled = enabledValue == null || Boolean.parseBoolean(enabledValue.toString().trim());
+        long refreshInterval = getLong(properties, REFERENCE_DATA_REFRESH_INTERVAL_PROPERTY, REFERENCE_DATA_REFRESH_INTERVAL);
+        fullRefreshIntervalMillis = TimeUnit.SECONDS.toMillis(getLong(properties, REFERENCE_DATA_FULL_REFRESH_INTERVAL_PROPERTY, REFERENCE_DATA_FULL_REFRESH_INTERVAL));
+        stopScheduler();
+        if (!enabled) {
+            referenceData.clear();
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "akeneo-reference-data-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, refreshInterval, refreshInterval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the refresh of the reference data and clears the cache.
+     */
+    @Deactivate
+    protected synchronized void deactivate() {
+        stopScheduler();
+        referenceData.clear();
+    }
+
+    /**
+     * Returns {@code true} if queries on reference data are to be answered
+     * from this cache.
+     *
+     * @return {@code true} if this cache is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns {@code true} if the items of a reference data resource of an
+     * Akeneo instance are cached.
+     *
+     * @param instance the key of the Akeneo instance.
+     * @param resource the name of the resource.
+     * @return {@code true} if the items are cached.
+     */
+    public boolean isLoaded(String instance, String resource) {
+        ReferenceData data = referenceData.get(getKey(instance, resource));
+        return data != null && data.isLoaded();
+    }
+
+    /**
+     * Returns the items of a reference data resource of an Akeneo instance,
+     * loading them if they are not cached yet.
+     *
+     * @param instance    the key of the Akeneo instance.
+     * @param resource    the name of the resource.
+     * @param incremental {@code true} if the resource can be searched by
+     *                    <tt>updated</tt> date.
+     * @param loader      {@link ReferenceDataLoader} of the items.
+     * @return an unmodifiable {@code List} of the items.
+     * @throws KonnectException if the items cannot be loaded.
+     */
+    public List<Object> getItems(String instance, String resource, boolean incremental, ReferenceDataLoader loader) throws KonnectException {
+        String key = getKey(instance, resource);
+        ReferenceData data = referenceData.computeIfAbsent(key, k -> new ReferenceData(resource, incremental));
+        try {
+            return data.get(loader);
+        } catch (KonnectException | RuntimeException e) {
+            referenceData.remove(key, data);
+            throw e;
+        }
+    }
+
+    /**
+     * Refreshes the cached reference data. Reference data which failed to
+     * refresh is kept as it was.
+     */
+    private void refresh() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, ReferenceData> entry : referenceData.entrySet()) {
+            ReferenceData data = entry.getValue();
+            if (now - data.getReadAt() > fullRefreshIntervalMillis) {
+                log.debug("[ReferenceDataCache] Evicting {} which has not been read", data.getResource());
+                referenceData.remove(entry.getKey(), data);
+                continue;
+            }
+            try {
+                data.refresh(now - data.getLoadedAt() > fullRefreshIntervalMillis);
+            } catch (KonnectException | RuntimeException e) {
+                log.warn("[ReferenceDataCache] Failed to refresh {}, keeping the cached items", data.getResource(), e);
+            }
+        }
+    }
+
+    /**
+     * Returns the key of the reference data of a resource of an Akeneo instance.
+     *
+     * @param instance the key of the Akeneo instance.
+     * @param resource the name of the resource.
+     * @return the key of the reference data.
+     */
+    private static String getKey(String instance, String resource) {
+        return instance + "\n" + resource;
+    }
+
+    /**
+     * Stops the refresh of the reference data, if it is scheduled.
+     */
+    private void stopScheduler() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Returns the value of a numeric property.
+     *
+     * @param properties   the properties of this component.
+     * @param name         the name of the property.
+     * @param defaultValue the value used if the property is missing or invalid.
+     * @return the value of the property, at least 1.
+     */
+    private static long getLong(Map<String, Object> properties, String name, long defaultValue) {
+        Object value = properties != null ? properties.get(name) : null;
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Math.max(Long.parseLong(value.toString().trim()), 1);
+        } catch (NumberFormatException e) {
+            log.warn("[ReferenceDataCache] Invalid {} {}, using {}", name, value, defaultValue);
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.akeneo.cache;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.AKENEO_UPDATED_KEY;
+
+/**
+ * The <tt>search</tt> filters of an Akeneo query, applied to cached items.<p>
+ * Filters are written as in the Akeneo API, such as
+ * <tt>{"code":[{"operator":"IN","value":["code1","code2"]}]}</tt>, and an
+ * item matches when it matches all of them. The operators supported are
+ * <tt>IN</tt>, <tt>NOT IN</tt>, <tt>=</tt>, <tt>!=</tt>, <tt>&lt;</tt>,
+ * <tt>&lt;=</tt>, <tt>&gt;</tt> and <tt>&gt;=</tt>, on the top level fields
+ * of the items and on <tt>is_root</tt> for categories. <tt>updated</tt>
+ * dates are compared as instants; a date without a time zone, such as
+ * <tt>2024-01-31 10:00:00</tt>, is read as UTC.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class ReferenceDataFilter {
+
+    private static final Set<String> OPERATORS = new HashSet<>(Arrays.asList("IN", "NOT IN", "=", "!=", "<", "<=", ">", ">="));
+    private static final String IS_ROOT = "is_root";
+    private static final String PARENT = "parent";
+
+    private final List<Condition> conditions;
+
+    /**
+     * Creates a filter from its conditions.
+     *
+     * @param conditions the conditions an item has to match.
+     */
+    private ReferenceDataFilter(List<Condition> conditions) {
+        this.conditions = conditions;
+    }
+
+    /**
+     * Returns the filter of a <tt>search</tt> parameter.
+     *
+     * @param search the JSON of the <tt>search</tt> parameter, or blank for
+     *               a filter which matches all the items.
+     * @return {@link ReferenceDataFilter} object, or {@code null} if the search
+     * cannot be applied to cached items.
+     */
+    public static ReferenceDataFilter parse(String search) {
+        List<Condition> conditions = new ArrayList<>();
+        if (StringUtils.isBlank(search)) {
+            return new ReferenceDataFilter(conditions);
+        }
+        try {
+            JsonObject filters = new JsonParser().parse(search).getAsJsonObject();
+            for (Map.Entry<String, JsonElement> filter : filters.entrySet()) {
+                for (JsonElement element : filter.getValue().getAsJsonArray()) {
+                    JsonObject condition = element.getAsJsonObject();
+                    String operator = condition.has("operator") ? condition.get("operator").getAsString() : null;
+                    if (!OPERATORS.contains(operator) || condition.size() != 2 || !condition.has("value")) {
+                        return null;
+                    }
+                    conditions.add(new Condition(filter.getKey(), operator, condition.get("value")));
+                }
+            }
+        } catch (JsonParseException | IllegalStateException | UnsupportedOperationException e) {
+            return null;
+        }
+        return new ReferenceDataFilter(conditions);
+    }
+
+    /**
+     * Returns the items which match this filter.
+     *
+     * @param items the items to be filtered.
+     * @param limit the maximum number of items returned, or 0 for all of them.
+     * @return a {@code List} of the matching items.
+     */
+    public List<Object> filter(List<Object> items, int limit) {
+        List<Object> matches = new ArrayList<>();
+        for (Object item : items) {
+            if (limit > 0 && matches.size() >= limit) {
+                break;
+            }
+            if (matches(item)) {
+                matches.add(item);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns {@code true} if an item matches all the conditions of this filter.
+     *
+     * @param item the item.
+     * @return {@code true} if the item matches.
+     */
+    public boolean matches(Object item) {
+        if (!(item instanceof Map)) {
+            return conditions.isEmpty();
+        }
+        for (Condition condition : conditions) {
+            if (!condition.matches((Map<?, ?>) item)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A condition of a filter on a field of the items.
+     */
+    private static final class Condition {
+
+        private final String field;
+        private final String operator;
+        private final JsonElement value;
+
+        /**
+         * Sole constructor.
+         *
+         * @param field    the field of the items.
+         * @param operator the operator of the condition.
+         * @param value    the value of the condition.
+         */
+        Condition(String field, String operator, JsonElement value) {
+            this.field = field;
+            this.operator = operator;
+            this.value = value;
+        }
+
+        /**
+         * Returns {@code true} if an item matches this condition.
+         *
+         * @param item the item.
+         * @return {@code true} if the item matches.
+         */
+        boolean matches(Map<?, ?> item) {
+            Object actual = IS_ROOT.equals(field) ? item.get(PARENT) == null : item.get(field);
+            switch (operator) {
+                case "IN":
+                    return isIn(actual);
+                case "NOT IN":
+                    return !isIn(actual);
+                case "=":
+                    return actual != null && compare(actual, value) == 0;
+                case "!=":
+                    return actual == null || compare(actual, value) != 0;
+                case "<":
+                    return actual != null && compare(actual, value) < 0;
+                case "<=":
+                    return actual != null && compare(actual, value) <= 0;
+                case ">":
+                    return actual != null && compare(actual, value) > 0;
+                default:
+                    return actual != null && compare(actual, value) >= 0;
+            }
+        }
+
+        /**
+         * Returns {@code true} if a value of an item is one of the values of
+         * this condition.
+         *
+         * @param actual the value of the item.
+         * @return {@code true} if the value is listed.
+         */
+        private boolean isIn(Object actual) {
+            if (actual == null) {
+                return false;
+            }
+            JsonArray values = value.isJsonArray() ? value.getAsJsonArray() : new JsonArray();
+            if (!value.isJsonArray()) {
+                values.add(value);
+            }
+            for (JsonElement listed : values) {
+                if (compare(actual, listed) == 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Compares a value of an item with a value of this condition, as
+         * numbers if both are numbers, else as strings.
+         *
+         * @param actual   the value of the item.
+         * @param expected the value of the condition.
+         * @return a negative number, zero or a positive number as the value of
+         * the item is less than, equal to or greater than the value of the condition.
+         */
+        private int compare(Object actual, JsonElement expected) {
+            String actualString = actual.toString();
+            String expectedString = expected.isJsonPrimitive() ? expected.getAsString() : expected.toString();
+            if (actual instanceof Number && expected.isJsonPrimitive() && expected.getAsJsonPrimitive().isNumber()) {
+                return Double.compare(((Number) actual).doubleValue(), expected.getAsDouble());
+            }
+            if (AKENEO_UPDATED_KEY.equals(field)) {
+                Instant actualDate = getDate(actualString);
+                Instant expectedDate = getDate(expectedString);
+                if (actualDate != null && expectedDate != null) {
+                    return actualDate.compareTo(expectedDate);
+                }
+            }
+            return actualString.compareTo(expectedString);
+        }
+
+        /**
+         * Returns the instant of a date in ISO-8601 format, such as
+         * <tt>2024-01-31T10:00:00+01:00</tt>, or in the
+         * <tt>yyyy-MM-dd HH:mm:ss</tt> format of the Akeneo filters. A date
+         * without a time zone is read as UTC.
+         *
+         * @param date the date.
+         * @return the instant of the date, or {@code null} if it is not a date.
+         */
+        private static Instant getDate(String date) {
+            String normalized = date.trim().replace(' ', 'T');
+            try {
+                return OffsetDateTime.parse(normalized).toInstant();
+            } catch (DateTimeParseException e) {
+                try {
+                    return LocalDateTime.parse(normalized).toInstant(ZoneOffset.UTC);
+                } catch (DateTimeParseException ex) {
+                    return null;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.akeneo.cache;
+
+import com.adobe.guides.konnect.definitions.core.exception.KonnectException;
+
+import java.util.List;
+
+/**
+ * Loads the items of a reference data resource of Akeneo.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface ReferenceDataLoader {
+
+    /**
+     * Returns the items of the resource.
+     *
+     * @param updatedSince the date, in ISO-8601 format, after which the items
+     *                     returned have been updated, or {@code null} to load
+     *                     all the items.
+     * @return a {@code List} of the items.
+     * @throws KonnectException if the items cannot be loaded.
+     */
+    List<Object> load(String updatedSince) throws KonnectException;
+}
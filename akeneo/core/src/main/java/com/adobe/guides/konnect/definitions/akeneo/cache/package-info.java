@@ -0,0 +1,5 @@
+/**
+ * This is the group of files for caching the reference data
+ * of Akeneo, such as families, attributes, categories and locales.
+ */
+package com.adobe.guides.konnect.definitions.akeneo.cache;
\ No newline at end of file
@@ -28,6 +28,25 @@ public class Constants {
     public static String PRODUCT_INFORMATION_MANAGEMENT = "Product Information Management";
     public static String AKENEO_DEFAULT_QUERY = "search={\"categories\":[{\"operator\":\"IN\",\"value\":[\"0001\"]}]}";
     public static String AKENEO_PAGE_LIMIT_PARAM = "limit";
+    public static final String AKENEO_PAGE_PARAM = "page";
+    public static final String AKENEO_WITH_COUNT_PARAM = "with_count";
+    public static final String AKENEO_PAGINATION_TYPE_PARAM = "pagination_type";
+    public static final String AKENEO_PAGINATION_TYPE_SEARCH_AFTER = "search_after";
+    public static final String AKENEO_SEARCH_PARAM = "search";
+    public static final String AKENEO_IN_OPERATOR = "IN";
+    public static final String AKENEO_IDENTIFIER_KEY = "identifier";
+    public static final String AKENEO_UUID_KEY = "uuid";
+    public static final int AKENEO_MAX_IDENTIFIERS_PER_SEARCH = 100;
+    public static final String AKENEO_CODE_KEY = "code";
+    public static final String AKENEO_UPDATED_KEY = "updated";
+    public static final String REFERENCE_DATA_CACHE_ENABLED_PROPERTY = "enabled";
+    public static final String REFERENCE_DATA_REFRESH_INTERVAL_PROPERTY = "refreshIntervalSeconds";
+    public static final String REFERENCE_DATA_FULL_REFRESH_INTERVAL_PROPERTY = "fullRefreshIntervalSeconds";
+    public static final long REFERENCE_DATA_REFRESH_INTERVAL = 900;
+    public static final long REFERENCE_DATA_FULL_REFRESH_INTERVAL = 86400;
+    public static final long REFERENCE_DATA_UPDATED_OVERLAP_MILLIS = 60000;
+    public static final String AKENEO_EMBEDDED_KEY = "_embedded";
+    public static final String AKENEO_LINKS_KEY = "_links";
     public static final String AKENEO_DESC = "AEM Guides Akeneo data source connector to query and visualize the data.";
     public static final String AKENEO_AUTH_CONFIG = "App username password authentication";
     public static final String AKENEO_AUTH_INFO = "App username password authentication";
@@ -0,0 +1,80 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.akeneo.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class provides the response object for the products requested by
+ * identifier or UUID. <p>
+ * It is used to store the products found, keyed by the identifier or UUID
+ * requested, and the identifiers or UUIDs which were not found.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class AkeneoProductsByIdDto {
+
+    private Map<String, Object> products;
+    private List<String> missing;
+
+    /**
+     * Sole constructor
+     */
+    public AkeneoProductsByIdDto() {
+        products = new LinkedHashMap<>();
+        missing = new ArrayList<>();
+    }
+
+    /**
+     * Returns the products found, keyed by identifier or UUID.
+     *
+     * @return a {@code Map} of identifier or UUID to product.
+     */
+    public Map<String, Object> getProducts() {
+        return products;
+    }
+
+    /**
+     * Sets the products found, keyed by identifier or UUID.
+     *
+     * @param products a {@code Map} of identifier or UUID to product.
+     * @return {@link AkeneoProductsByIdDto} object.
+     */
+    public AkeneoProductsByIdDto setProducts(Map<String, Object> products) {
+        this.products = products;
+        return this;
+    }
+
+    /**
+     * Returns the identifiers or UUIDs which were not found.
+     *
+     * @return a list of identifiers or UUIDs.
+     */
+    public List<String> getMissing() {
+        return missing;
+    }
+
+    /**
+     * Sets the identifiers or UUIDs which were not found.
+     *
+     * @param missing a list of identifiers or UUIDs.
+     * @return {@link AkeneoProductsByIdDto} object.
+     */
+    public AkeneoProductsByIdDto setMissing(List<String> missing) {
+        this.missing = missing;
+        return this;
+    }
+}
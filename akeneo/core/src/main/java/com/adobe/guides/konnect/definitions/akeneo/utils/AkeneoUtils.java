@@ -11,15 +11,31 @@ governing permissions and limitations under the License.
 */
 package com.adobe.guides.konnect.definitions.akeneo.utils;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
 import org.apache.commons.lang3.StringUtils;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.AKENEO_IN_OPERATOR;
 import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.AKENEO_PAGE_LIMIT_PARAM;
+import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.AKENEO_PAGE_PARAM;
+import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.AKENEO_PAGINATION_TYPE_PARAM;
+import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.AKENEO_PAGINATION_TYPE_SEARCH_AFTER;
+import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.AKENEO_SEARCH_PARAM;
+import static com.adobe.guides.konnect.definitions.akeneo.constants.Constants.AKENEO_WITH_COUNT_PARAM;
 
 /**
  * Utility class for the Akeneo Connector.<p>
@@ -65,6 +81,136 @@ public class AkeneoUtils {
         return query;
     }
 
+    /**
+     * Returns true if the query can be paged with <tt>search_after</tt>
+     * pagination, that is if it does not ask for a page, a pagination type or
+     * a count of the items, which need the offset pagination.
+     *
+     * @param query the query string
+     * @return true if the query can be paged with <tt>search_after</tt>
+     */
+    public boolean canUseSearchAfterPagination(String query) {
+        String withCount = urlUtilityClass.getQueryParams(query).get(AKENEO_WITH_COUNT_PARAM);
+        return !urlUtilityClass.doesQueryHaveQueryParameter(query, AKENEO_PAGE_PARAM)
+                && !urlUtilityClass.doesQueryHaveQueryParameter(query, AKENEO_PAGINATION_TYPE_PARAM)
+                && !(AKENEO_WITH_COUNT_PARAM + "=true").equalsIgnoreCase(withCount);
+    }
+
+    /**
+     * Returns the query paged with <tt>search_after</tt> pagination.
+     *
+     * @param query the query string
+     * @return the query string with the <tt>search_after</tt> pagination type
+     */
+    public String useSearchAfterPagination(String query) {
+        return updateQuery(query, AKENEO_PAGINATION_TYPE_PARAM, AKENEO_PAGINATION_TYPE_SEARCH_AFTER);
+    }
+
+    /**
+     * Returns the identifiers or UUIDs listed in a query, in the order they
+     * are listed and without duplicates.<p>
+     * They are separated by commas or new lines, and may be quoted or
+     * written as a JSON array. Query parameters such as the limit are
+     * ignored.
+     *
+     * @param query the query string
+     * @return the list of identifiers or UUIDs
+     */
+    public List<String> getIdentifiers(String query) {
+        Set<String> identifiers = new LinkedHashSet<>();
+        for (String part : StringUtils.defaultString(query).split("&")) {
+            if (part.contains("=")) {
+                continue;
+            }
+            for (String identifier : part.split("[,\\r\\n\\[\\]\"]")) {
+                if (StringUtils.isNotBlank(identifier)) {
+                    identifiers.add(identifier.trim());
+                }
+            }
+        }
+        return new ArrayList<>(identifiers);
+    }
+
+    /**
+     * Returns the query searching for the products whose field is one of the
+     * given values, such as
+     * <tt>search={"identifier":[{"operator":"IN","value":["sku1","sku2"]}]}&amp;limit=100</tt>.
+     *
+     * @param field  the field searched, <tt>identifier</tt> or <tt>uuid</tt>
+     * @param values the values searched
+     * @param limit  the number of items per page
+     * @return the query string
+     */
+    public String getSearchInQuery(String field, List<String> values, Integer limit) {
+        JsonArray valueArray = new JsonArray();
+        values.forEach(valueArray::add);
+        return getSearchQuery(field, AKENEO_IN_OPERATOR, valueArray, limit);
+    }
+
+    /**
+     * Returns the query searching for the items whose field compares to the
+     * given value, such as
+     * <tt>search={"updated":[{"operator":"&gt;","value":"2024-01-31T10:00:00Z"}]}&amp;limit=100</tt>.
+     *
+     * @param field    the field searched
+     * @param operator the operator of the search
+     * @param value    the value searched
+     * @param limit    the number of items per page
+     * @return the query string
+     */
+    public String getSearchQuery(String field, String operator, String value, Integer limit) {
+        return getSearchQuery(field, operator, new JsonPrimitive(value), limit);
+    }
+
+    /**
+     * Returns the value of the <tt>search</tt> parameter of a query.
+     *
+     * @param query the query string
+     * @return the value of the parameter, or an empty string if the query has none
+     */
+    public String getSearchParameter(String query) {
+        String search = urlUtilityClass.getQueryParams(removeSingleHashQuery(query)).get(AKENEO_SEARCH_PARAM);
+        return search == null || search.indexOf('=') < 0 ? "" : search.substring(search.indexOf('=') + 1);
+    }
+
+    /**
+     * Returns true if the query has no parameters other than the given ones.
+     *
+     * @param query the query string
+     * @param names the names of the parameters allowed
+     * @return true if the query has only the given parameters
+     */
+    public boolean hasOnlyQueryParameters(String query, String... names) {
+        Set<String> allowed = new HashSet<>(Arrays.asList(names));
+        for (String name : urlUtilityClass.getQueryParams(removeSingleHashQuery(query)).keySet()) {
+            if (StringUtils.isNotBlank(name) && !allowed.contains(name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the query searching for the items whose field compares to the
+     * given value.
+     *
+     * @param field    the field searched
+     * @param operator the operator of the search
+     * @param value    the value searched
+     * @param limit    the number of items per page
+     * @return the query string
+     */
+    private String getSearchQuery(String field, String operator, JsonElement value, Integer limit) {
+        JsonObject filter = new JsonObject();
+        filter.addProperty("operator", operator);
+        filter.add("value", value);
+        JsonArray filters = new JsonArray();
+        filters.add(filter);
+        JsonObject search = new JsonObject();
+        search.add(field, filters);
+        return AKENEO_SEARCH_PARAM + "=" + search + "&" + AKENEO_PAGE_LIMIT_PARAM + "=" + limit;
+    }
+
     /**
      * Updates the query with the given key and value.
      *
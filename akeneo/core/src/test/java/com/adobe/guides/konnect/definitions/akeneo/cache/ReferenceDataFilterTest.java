@@ -0,0 +1,135 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.akeneo.cache;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the <tt>search</tt> filters of Akeneo applied to cached reference
+ * data by the {@link ReferenceDataFilter}.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class ReferenceDataFilterTest {
+
+    private final List<Object> items = Arrays.asList(
+            item("master", null, 1.0, "2024-01-31T09:00:00+00:00"),
+            item("clothing", "master", 2.0, "2024-01-31T11:30:00+01:00"),
+            item("shoes", "clothing", 3.0, "2024-02-01T08:00:00+00:00"));
+
+    @Test
+    public void matchesAllItemsWithoutSearch() {
+        assertEquals(items, ReferenceDataFilter.parse("").filter(items, 0));
+        assertEquals(items.subList(0, 2), ReferenceDataFilter.parse(null).filter(items, 2));
+    }
+
+    @Test
+    public void filtersWithInAndNotIn() {
+        assertEquals(codes("master", "shoes"), codes(filter("{\"code\":[{\"operator\":\"IN\",\"value\":[\"shoes\",\"master\"]}]}")));
+        assertEquals(codes("clothing"), codes(filter("{\"code\":[{\"operator\":\"NOT IN\",\"value\":[\"shoes\",\"master\"]}]}")));
+    }
+
+    @Test
+    public void filtersWithEqualAndNotEqual() {
+        assertEquals(codes("clothing"), codes(filter("{\"code\":[{\"operator\":\"=\",\"value\":\"clothing\"}]}")));
+        assertEquals(codes("master", "shoes"), codes(filter("{\"code\":[{\"operator\":\"!=\",\"value\":\"clothing\"}]}")));
+        assertEquals(codes("master", "clothing", "shoes"), codes(filter("{\"missing\":[{\"operator\":\"!=\",\"value\":\"x\"}]}")));
+        assertEquals(codes(), codes(filter("{\"missing\":[{\"operator\":\"=\",\"value\":\"x\"}]}")));
+    }
+
+    @Test
+    public void comparesNumbersAsNumbers() {
+        assertEquals(codes("master"), codes(filter("{\"sort_order\":[{\"operator\":\"<\",\"value\":2}]}")));
+        assertEquals(codes("master", "clothing"), codes(filter("{\"sort_order\":[{\"operator\":\"<=\",\"value\":2}]}")));
+        assertEquals(codes("shoes"), codes(filter("{\"sort_order\":[{\"operator\":\">\",\"value\":2}]}")));
+        assertEquals(codes("clothing", "shoes"), codes(filter("{\"sort_order\":[{\"operator\":\">=\",\"value\":2}]}")));
+        assertEquals(codes("clothing"), codes(filter("{\"sort_order\":[{\"operator\":\"=\",\"value\":2}]}")));
+    }
+
+    @Test
+    public void comparesOtherValuesAsStrings() {
+        assertEquals(codes("clothing"), codes(filter("{\"code\":[{\"operator\":\"<\",\"value\":\"m\"}]}")));
+    }
+
+    @Test
+    public void filtersRootCategories() {
+        assertEquals(codes("master"), codes(filter("{\"is_root\":[{\"operator\":\"=\",\"value\":true}]}")));
+        assertEquals(codes("clothing", "shoes"), codes(filter("{\"is_root\":[{\"operator\":\"=\",\"value\":false}]}")));
+    }
+
+    @Test
+    public void comparesUpdatedDatesAsInstants() {
+        // clothing was updated at 10:30 UTC, written with a +01:00 offset
+        assertEquals(codes("clothing", "shoes"), codes(filter("{\"updated\":[{\"operator\":\">\",\"value\":\"2024-01-31 10:00:00\"}]}")));
+        assertEquals(codes("shoes"), codes(filter("{\"updated\":[{\"operator\":\">\",\"value\":\"2024-01-31T10:45:00Z\"}]}")));
+        assertEquals(codes("master", "clothing"), codes(filter("{\"updated\":[{\"operator\":\"<=\",\"value\":\"2024-01-31T11:30:00+01:00\"}]}")));
+    }
+
+    @Test
+    public void matchesAllConditions() {
+        assertEquals(codes("clothing"), codes(filter("{\"is_root\":[{\"operator\":\"=\",\"value\":false}],"
+                + "\"updated\":[{\"operator\":\"<\",\"value\":\"2024-02-01 00:00:00\"}]}")));
+        assertEquals(codes("clothing"), codes(filter("{\"sort_order\":[{\"operator\":\">\",\"value\":1},{\"operator\":\"<\",\"value\":3}]}")));
+    }
+
+    @Test
+    public void rejectsSearchesWhichCannotBeApplied() {
+        assertNull(ReferenceDataFilter.parse("{\"code\":[{\"operator\":\"CONTAINS\",\"value\":\"sh\"}]}"));
+        assertNull(ReferenceDataFilter.parse("{\"code\":[{\"operator\":\"=\",\"value\":\"shoes\",\"locale\":\"en_US\"}]}"));
+        assertNull(ReferenceDataFilter.parse("{\"code\":[{\"operator\":\"=\"}]}"));
+        assertNull(ReferenceDataFilter.parse("{\"code\":{\"operator\":\"=\",\"value\":\"shoes\"}}"));
+        assertNull(ReferenceDataFilter.parse("not json"));
+    }
+
+    @Test
+    public void matchesItemsWhichAreNotObjectsOnlyWithoutConditions() {
+        assertTrue(ReferenceDataFilter.parse("").matches("item"));
+        assertFalse(ReferenceDataFilter.parse("{\"code\":[{\"operator\":\"=\",\"value\":\"item\"}]}").matches("item"));
+    }
+
+    private List<Object> filter(String search) {
+        return ReferenceDataFilter.parse(search).filter(items, 0);
+    }
+
+    private static Map<String, Object> item(String code, String parent, double sortOrder, String updated) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("code", code);
+        item.put("parent", parent);
+        item.put("sort_order", sortOrder);
+        item.put("updated", updated);
+        return item;
+    }
+
+    private static List<Object> codes(String... codes) {
+        return new ArrayList<>(Arrays.asList(codes));
+    }
+
+    private static List<Object> codes(List<Object> items) {
+        List<Object> codes = new ArrayList<>();
+        for (Object item : items) {
+            codes.add(((Map<?, ?>) item).get("code"));
+        }
+        return codes;
+    }
+}
@@ -19,15 +19,15 @@ import com.adobe.guides.konnect.definitions.core.connector.RestConnector;
 import com.adobe.guides.konnect.definitions.core.exception.KonnectConnectionException;
 import com.adobe.guides.konnect.definitions.core.exception.KonnectException;
 import com.adobe.guides.konnect.definitions.core.exception.KonnectQueryException;
+import com.adobe.guides.konnect.definitions.core.metrics.KonnectMetricsProvider;
+import com.adobe.guides.konnect.definitions.core.models.metadata.ConfigDescriptor;
+import com.adobe.guides.konnect.definitions.core.models.metadata.ConnectorMetadata;
 import com.adobe.guides.konnect.definitions.core.models.template.TemplateDto;
 import com.adobe.guides.konnect.definitions.core.query.QueryInfoDto;
 import com.adobe.guides.konnect.definitions.core.query.QueryResultDto;
 import com.adobe.guides.konnect.definitions.core.urlResource.RestResourceDao;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import org.apache.commons.io.IOUtils;
+import com.adobe.guides.konnect.definitions.core.util.FieldProjection;
+import com.google.gson.stream.JsonWriter;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.client.HttpClient;
 import org.azd.enums.QueryExpand;
@@ -37,30 +37,54 @@ import org.azd.exceptions.AzDException;
 import org.azd.workitemtracking.WorkItemTrackingApi;
 import org.azd.workitemtracking.types.QueryHierarchyItem;
 import org.azd.workitemtracking.types.WorkItem;
-import org.azd.workitemtracking.types.WorkItemFieldReference;
 import org.azd.workitemtracking.types.WorkItemList;
 import org.azd.workitemtracking.types.WorkItemQueryResult;
-import org.azd.workitemtracking.types.WorkItemReference;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.adobe.guides.konnect.definitions.ado.Constants.ADO;
+import static com.adobe.guides.konnect.definitions.ado.Constants.ADO_DATA_KEY;
 import static com.adobe.guides.konnect.definitions.ado.Constants.ADO_DEFAULT_QUERY;
 import static com.adobe.guides.konnect.definitions.ado.Constants.ADO_DEFAULT_QUERY_BY_ID;
 import static com.adobe.guides.konnect.definitions.ado.Constants.ADO_DEFAULT_QUERY_BY_QUERY;
 import static com.adobe.guides.konnect.definitions.ado.Constants.ADO_DEFAULT_QUERY_BY_QUERY_ID;
 import static com.adobe.guides.konnect.definitions.ado.Constants.ADO_DESC;
+import static com.adobe.guides.konnect.definitions.ado.Constants.ADO_ID_FIELD;
 import static com.adobe.guides.konnect.definitions.ado.Constants.ADO_LOGO_SVG_PATH;
+import static com.adobe.guides.konnect.definitions.ado.Constants.ADO_MAX_CONCURRENT_PROJECTS;
+import static com.adobe.guides.konnect.definitions.ado.Constants.ADO_MAX_CONCURRENT_REQUESTS;
+import static com.adobe.guides.konnect.definitions.ado.Constants.ADO_MAX_WORK_ITEMS_PER_REQUEST;
+import static com.adobe.guides.konnect.definitions.ado.Constants.ADO_REQUEST_THREADS;
 import static com.adobe.guides.konnect.definitions.ado.Constants.ADO_TEMPLATES_PATH;
 import static com.adobe.guides.konnect.definitions.ado.Constants.ADO_VALIDATION_QUERY;
+import static com.adobe.guides.konnect.definitions.ado.Constants.ADO_WIQL_PARTITIONS;
+import static com.adobe.guides.konnect.definitions.ado.Constants.ADO_WIQL_RESULT_LIMIT;
 import static com.adobe.guides.konnect.definitions.ado.ResourceEnum.BY_ID;
 import static com.adobe.guides.konnect.definitions.ado.ResourceEnum.BY_QUERY;
 import static com.adobe.guides.konnect.definitions.ado.ResourceEnum.BY_QUERY_ID;
@@ -73,6 +97,9 @@ import static com.adobe.guides.konnect.definitions.core.constants.Constants.RESO
  * This connector will connect to Azure DevOps configured via a Personal
  * Access Token (PAT). The user can query the work items using the
  * work item ID, WIQL query, or WIQL query ID.<p>
+ * WIQL based queries can be synced incrementally against a {@link WorkItemStore},
+ * so that only the work items changed since the last sync are fetched.
+ * They can also be run concurrently across several projects.<p>
  *
  * @author Adobe
  * @since 1.0.0
@@ -81,11 +108,26 @@ import static com.adobe.guides.konnect.definitions.core.constants.Constants.RESO
 public class AzureDevopsConnector extends RestConnector {
 
     private static final Logger log = LoggerFactory.getLogger(AzureDevopsConnector.class);
-    private final transient Gson gson = new GsonBuilder().disableHtmlEscaping().create();
+
+    /**
+     * Set on the threads of {@link #executor}, so that tasks started from a
+     * task are run on the calling thread instead of waiting for the executor.
+     */
+    private static final ThreadLocal<Boolean> EXECUTOR_THREAD = new ThreadLocal<>();
+
+    private volatile ConnectorMetadata metadata;
 
     @Reference
     private AzureDevopsUtility azureDevopsUtility;
 
+    @Reference
+    private WorkItemStore workItemStore;
+
+    @Reference
+    private SavedQueryCache savedQueryCache;
+
+    private ExecutorService executor;
+
     /**
      * Returns {@code true} if this connector is enabled.
      *
@@ -246,23 +288,29 @@ public class AzureDevopsConnector extends RestConnector {
      */
     @Override
     public boolean validateConnection(ConfigDto configDto) {
+        long start = System.nanoTime();
+        boolean valid = false;
         try {
             WorkItemTrackingApi connection = azureDevopsUtility.getConnection(configDto.getConfig(), "");
             connection.getWorkItemField(getValidationQuery());
-            return true;
+            valid = true;
         } catch (AzDException e) {
             log.error("[AzureDevopsConnector] Error in connecting", e);
         } catch (Exception e) {
             log.error("[AzureDevopsConnector] Error in sending request", e);
+        } finally {
+            KonnectMetricsProvider.getMetrics().recordValidation(getName(), System.nanoTime() - start, valid);
         }
-        return false;
+        return valid;
     }
 
     /**
      * Executes a single query for this connector and returns response after
      * parsing it to {@code JSON}.
      *
-     * <p>A query is an object of type {@link QueryInfoDto}.
+     * <p>A query is an object of type {@link QueryInfoDto}. If the query names
+     * the template it is rendered with, only the fields used by the template
+     * are returned.
      *
      * @param configDto Connector config which needs to be executed.
      * @param queryInfo The query which will be executed.
@@ -272,6 +320,19 @@ public class AzureDevopsConnector extends RestConnector {
      */
     @Override
     public String execute(ConfigDto configDto, QueryInfoDto queryInfo) throws KonnectException {
+        return executeInFlight(configDto, queryInfo, () -> executeQuery(configDto, queryInfo));
+    }
+
+    /**
+     * Executes a query which is not in flight.
+     *
+     * @param configDto Connector config which needs to be executed.
+     * @param queryInfo The query which will be executed.
+     * @return A <tt>String</tt> which is the JSON response of query execution.
+     * @throws KonnectException if any exception or error occurs while connecting to
+     *                          the external data source.
+     */
+    private String executeQuery(ConfigDto configDto, QueryInfoDto queryInfo) throws KonnectException {
         boolean isValidConnection = validateConnection(configDto);
         if (!isValidConnection) {
             throw new KonnectConnectionException("[AzureDevopsConnector] Error in connecting to client");
@@ -280,10 +341,16 @@ public class AzureDevopsConnector extends RestConnector {
         String resourceId = queryInfo.getAdditionalResourceInfo().get(RESOURCE_ID);
         AzureDevopsQueryDto queryDto = azureDevopsUtility.getQueryDto(queryInfo.getQuery());
         WorkItemTrackingApi connection = azureDevopsUtility.getConnection(configDto.getConfig(), queryDto.getProject());
-        String result = execute(connection, configDto, queryDto, resourceId, false);
-        JsonObject jsonResult = new JsonObject();
-        jsonResult.add("data", gson.fromJson(result, JsonElement.class));
-        return jsonResult.toString();
+        String result = executeAsData(connection, configDto, queryDto, resourceId, false);
+        FieldProjection projection = getFieldProjection(queryInfo);
+        if (projection == null || !projection.includes(ADO_DATA_KEY)) {
+            return result;
+        }
+        try {
+            return projection.project(result);
+        } catch (IOException e) {
+            throw new KonnectException("[AzureDevopsConnector] Error in projecting response", e);
+        }
     }
 
     /**
@@ -300,26 +367,54 @@ public class AzureDevopsConnector extends RestConnector {
      */
     @Override
     public String execute(ConfigDto configDto, List<QueryInfoDto> queryInfoList) throws KonnectException {
+        return executeInFlight(configDto, queryInfoList, () -> executeQueries(configDto, queryInfoList));
+    }
+
+    /**
+     * Executes a list of queries which is not in flight.
+     *
+     * @param configDto     Connector config which needs to be executed.
+     * @param queryInfoList The {@code List} of queries which will be executed.
+     * @return A <tt>String</tt> which is a single JSON response of all query executions.
+     * @throws KonnectException if any exception or error occurs while connecting to
+     *                          the external data source.
+     */
+    private String executeQueries(ConfigDto configDto, List<QueryInfoDto> queryInfoList) throws KonnectException {
         boolean isValidConnection = validateConnection(configDto);
         if (!isValidConnection) {
             throw new KonnectConnectionException("[AzureDevopsConnector] Error in connecting to client");
         }
 
-        JsonObject queryResult = new JsonObject();
-        for (QueryInfoDto queryInfo : queryInfoList) {
-            String resourceId = queryInfo.getAdditionalResourceInfo().get(RESOURCE_ID);
-            AzureDevopsQueryDto queryDto;
-            try {
-                queryDto = azureDevopsUtility.getQueryDto(queryInfo.getQuery());
-            } catch (KonnectQueryException e) {
-                log.error("[AzureDevopsConnector] Query is not json ", e);
-                continue;
+        StringWriter out = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.beginObject();
+            for (QueryInfoDto queryInfo : queryInfoList) {
+                String resourceId = queryInfo.getAdditionalResourceInfo().get(RESOURCE_ID);
+                AzureDevopsQueryDto queryDto;
+                try {
+                    queryDto = azureDevopsUtility.getQueryDto(queryInfo.getQuery());
+                } catch (KonnectQueryException e) {
+                    log.error("[AzureDevopsConnector] Query is not json ", e);
+                    continue;
+                }
+                WorkItemTrackingApi connection = azureDevopsUtility.getConnection(configDto.getConfig(), queryDto.getProject());
+                FieldProjection projection = getFieldProjectionInList(queryInfo);
+                writer.name(queryInfo.getQueryName());
+                if (projection == null) {
+                    execute(connection, configDto, queryDto, resourceId, false, writer);
+                    continue;
+                }
+                StringWriter items = new StringWriter();
+                try (JsonWriter itemWriter = new JsonWriter(items)) {
+                    execute(connection, configDto, queryDto, resourceId, false, itemWriter);
+                }
+                writer.jsonValue(projection.project(items.toString()));
             }
-            WorkItemTrackingApi connection = azureDevopsUtility.getConnection(configDto.getConfig(), queryDto.getProject());
-            String result = execute(connection, configDto, queryDto, resourceId, false);
-            queryResult.add(queryInfo.getQueryName(), gson.fromJson(result, JsonElement.class));
+            writer.endObject();
+        } catch (IOException e) {
+            throw new KonnectException("[AzureDevopsConnector] Error in writing response", e);
         }
-        return queryResult.toString();
+        return out.toString();
     }
 
     /**
@@ -344,18 +439,16 @@ public class AzureDevopsConnector extends RestConnector {
         String resourceId = queryInfo.getAdditionalResourceInfo().get(RESOURCE_ID);
         AzureDevopsQueryDto queryDto = azureDevopsUtility.getQueryDto(queryInfo.getQuery());
         WorkItemTrackingApi connection = azureDevopsUtility.getConnection(configDto.getConfig(), queryDto.getProject());
-        String result = execute(connection, configDto, queryDto, resourceId, true);
-        JsonObject jsonResult = new JsonObject();
-        jsonResult.add("data", gson.fromJson(result, JsonElement.class));
 
         QueryResultDto queryResultDto = new QueryResultDto();
         queryResultDto.setQuery(queryInfo.getQuery());
-        queryResultDto.setResponse(jsonResult.toString());
+        queryResultDto.setResponse(executeAsData(connection, configDto, queryDto, resourceId, true));
         return queryResultDto;
     }
 
     /**
-     * Helper function to execute the query based on the type of resource.
+     * Helper function to execute the query and wrap the work items in a
+     * {@code data} object.
      *
      * @param connection Connection object to connect to Azure DevOps.
      * @param configDto  Connector config which needs to be executed.
@@ -366,51 +459,252 @@ public class AzureDevopsConnector extends RestConnector {
      * @throws KonnectException if any exception or error occurs while connecting to
      *                          the external data source.
      */
-    private String execute(WorkItemTrackingApi connection, ConfigDto configDto, AzureDevopsQueryDto queryDto, String resourceId, boolean limit) throws KonnectException {
+    private String executeAsData(WorkItemTrackingApi connection, ConfigDto configDto, AzureDevopsQueryDto queryDto, String resourceId, boolean limit) throws KonnectException {
+        StringWriter out = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.beginObject();
+            writer.name(ADO_DATA_KEY);
+            execute(connection, configDto, queryDto, resourceId, limit, writer);
+            writer.endObject();
+        } catch (IOException e) {
+            throw new KonnectException("[AzureDevopsConnector] Error in writing response", e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Helper function to execute the query based on the type of resource.
+     * The work items are written as a JSON array to the writer.
+     *
+     * @param connection Connection object to connect to Azure DevOps.
+     * @param configDto  Connector config which needs to be executed.
+     * @param queryDto   The query which will be executed.
+     * @param resourceId The resource ID to be used for the query.
+     * @param limit      {@code true} if the query should be limited.
+     * @param writer     The writer to which the work items are written.
+     * @throws KonnectException if any exception or error occurs while connecting to
+     *                          the external data source.
+     */
+    private void execute(WorkItemTrackingApi connection, ConfigDto configDto, AzureDevopsQueryDto queryDto, String resourceId, boolean limit, JsonWriter writer) throws KonnectException {
         PersonalAccessTokenConfig patConfig = (PersonalAccessTokenConfig) configDto.getConfig();
-        patConfig.setCurrentResource(resourceId);
-        RestResourceDao resourceDao = patConfig.getCurrentResource();
+        RestResourceDao resourceDao = patConfig.getResource(resourceId);
         if (resourceDao == null) {
             throw new KonnectQueryException("[AzureDevopsConnector] Resource not found");
         }
-        List<WorkItem> workItemList;
-        switch (ResourceEnum.getEnum(resourceDao.getName())) {
+        ResourceEnum resource = ResourceEnum.getEnum(resourceDao.getName());
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            if (queryDto.isMultiProject()) {
+                executeProjects(patConfig, queryDto, resource, limit, writer);
+            } else {
+                execute(connection, patConfig, queryDto, resource, limit, writer);
+            }
+            success = true;
+        } finally {
+            KonnectMetricsProvider.getMetrics().recordQuery(getName(), resourceDao.getName(), System.nanoTime() - start, success);
+        }
+    }
+
+    /**
+     * Helper function to execute the query for a resource.
+     * The work items are written as a JSON array to the writer.
+     *
+     * @param connection Connection object to connect to Azure DevOps.
+     * @param patConfig  Connector config which is being executed.
+     * @param queryDto   The query which will be executed.
+     * @param resource   The resource of the query.
+     * @param limit      {@code true} if the query should be limited.
+     * @param writer     The writer to which the work items are written.
+     * @throws KonnectException if any exception or error occurs while connecting to
+     *                          the external data source.
+     */
+    private void execute(WorkItemTrackingApi connection, PersonalAccessTokenConfig patConfig, AzureDevopsQueryDto queryDto, ResourceEnum resource, boolean limit, JsonWriter writer) throws KonnectException {
+        switch (resource) {
             case BY_ID:
-                workItemList = getById(connection, azureDevopsUtility.getIds(queryDto.getQuery()), new String[]{}, null, limit);
+                List<WorkItem> workItemList = getById(connection, azureDevopsUtility.getIds(queryDto.getQuery()), new String[]{}, null, limit, queryDto.isExpanded());
+                writeWorkItems(writer, workItemList, new String[]{}, queryDto);
                 break;
             case BY_QUERY:
-                workItemList = getByQuery(connection, queryDto.getQuery(), limit);
+                if (!limit && queryDto.isIncremental()) {
+                    getByQueryIncremental(connection, patConfig, queryDto, queryDto.getQuery(), writer);
+                } else {
+                    getByQuery(connection, queryDto.getQuery(), queryDto, limit, writer);
+                }
                 break;
             case BY_QUERY_ID:
                 if (StringUtils.isBlank(queryDto.getProject())) {
                     throw new KonnectQueryException("[AzureDevopsConnector] Project should not be empty for this resource");
                 }
-                workItemList = getByQueryId(connection, queryDto.getQuery(), limit);
+                if (!limit && queryDto.isIncremental()) {
+                    getByQueryIncremental(connection, patConfig, queryDto, getWiql(connection, patConfig, queryDto.getQuery()), writer);
+                } else {
+                    getByQueryId(connection, patConfig, queryDto.getQuery(), queryDto, limit, writer);
+                }
                 break;
             default:
                 throw new KonnectQueryException("[AzureDevopsConnector] Resource not found");
         }
-        return workItemList.toString();
+    }
+
+    /**
+     * Helper function to execute a WIQL query across several projects.
+     *
+     * <p>The query is restricted to each project and run concurrently on the
+     * cached connection of the project. The work items of each project are
+     * written directly to the writer through a {@link ProjectJsonWriter}, in the
+     * order of the projects, each with a {@code project} property naming its
+     * project. A limited query writes at most the preview row count in total.
+     *
+     * @param patConfig Connector config which is being executed.
+     * @param queryDto  The query which will be executed.
+     * @param resource  The resource of the query.
+     * @param limit     {@code true} if the query should be limited.
+     * @param writer    The writer to which the work items are written.
+     * @throws KonnectException if any exception or error occurs while connecting to
+     *                          the external data source.
+     */
+    private void executeProjects(PersonalAccessTokenConfig patConfig, AzureDevopsQueryDto queryDto, ResourceEnum resource, boolean limit, JsonWriter writer) throws KonnectException {
+        if (resource != BY_QUERY || !azureDevopsUtility.isWorkItemQuery(queryDto.getQuery())) {
+            throw new KonnectQueryException("[AzureDevopsConnector] Multiple projects are only supported for WIQL work item queries");
+        }
+        List<String> projects;
+        try {
+            projects = queryDto.isAllProjects() ? azureDevopsUtility.getProjects(patConfig) : queryDto.getProjects();
+        } catch (AzDException e) {
+            log.error("[AzureDevopsConnector] Error in listing projects", e);
+            throw new KonnectConnectionException("[AzureDevopsConnector] Error in listing projects", e);
+        }
+        String wiql = azureDevopsUtility.addProjectFilter(queryDto.getQuery());
+        AtomicInteger remaining = new AtomicInteger(limit ? getMaxNoRowsForPreviewQuery() : Integer.MAX_VALUE);
+        CountDownLatch previous = new CountDownLatch(0);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (String project : projects) {
+            AzureDevopsQueryDto projectQueryDto = queryDto.forProject(project, wiql);
+            CountDownLatch done = new CountDownLatch(1);
+            JsonWriter projectWriter = new ProjectJsonWriter(writer, project, previous, remaining);
+            tasks.add(() -> {
+                try {
+                    if (remaining.get() > 0) {
+                        execute(azureDevopsUtility.getConnection(patConfig, project), patConfig, projectQueryDto, resource, limit, projectWriter);
+                    }
+                    return null;
+                } finally {
+                    done.countDown();
+                }
+            });
+            previous = done;
+        }
+        try {
+            writer.beginArray();
+            List<Future<Void>> futures = invokeAll(tasks, ADO_MAX_CONCURRENT_PROJECTS);
+            for (int i = 0; i < projects.size(); i++) {
+                try {
+                    futures.get(i).get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof KonnectException) {
+                        throw (KonnectException) e.getCause();
+                    }
+                    throw new KonnectException("[AzureDevopsConnector] Error in executing query for project " + projects.get(i), e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new KonnectException("[AzureDevopsConnector] Interrupted while executing query for projects", e);
+                }
+            }
+            writer.endArray();
+        } catch (IOException e) {
+            throw new KonnectException("[AzureDevopsConnector] Error in writing response", e);
+        }
+    }
+
+    /**
+     * Helper function to write work items as a JSON array. Only the selected
+     * fields are written; relations and links only if the query requests them.
+     *
+     * @param writer       The writer to which the work items are written.
+     * @param workItemList The work items to be written.
+     * @param fields       The selected fields, or an empty array for all fields.
+     * @param queryDto     The query which is executed.
+     * @throws KonnectException if the work items could not be written.
+     */
+    private void writeWorkItems(JsonWriter writer, List<WorkItem> workItemList, String[] fields, AzureDevopsQueryDto queryDto) throws KonnectException {
+        try {
+            writer.beginArray();
+            for (WorkItem workItem : workItemList) {
+                if (workItem != null) {
+                    azureDevopsUtility.writeWorkItem(writer, workItem, fields, queryDto.isIncludeRelations(), queryDto.isIncludeLinks());
+                }
+            }
+            writer.endArray();
+        } catch (IOException e) {
+            throw new KonnectException("[AzureDevopsConnector] Error in writing response", e);
+        }
     }
 
     /**
      * Helper function to execute the query based on query ID.
+     * A failing query is evicted from the {@link SavedQueryCache}, so that it
+     * is fetched again on the next execution.
      *
      * @param connection Connection object to connect to Azure DevOps.
+     * @param patConfig  Connector config which is being executed.
      * @param queryId    The query ID to be used for the query.
+     * @param queryDto   The query which will be executed.
      * @param limit      {@code true} if the query should be limited.
-     * @return a {@code List} of {@link WorkItem} which list of work items from query.
+     * @param writer     The writer to which the work items are written.
+     * @throws KonnectException if any exception or error occurs while connecting to
+     *                          the external data source.
+     */
+    private void getByQueryId(WorkItemTrackingApi connection, PersonalAccessTokenConfig patConfig, String queryId, AzureDevopsQueryDto queryDto, boolean limit, JsonWriter writer) throws KonnectException {
+        String wiql = getWiql(connection, patConfig, queryId);
+        try {
+            getByQuery(connection, wiql, queryDto, limit, writer);
+        } catch (KonnectQueryException e) {
+            savedQueryCache.remove(patConfig.getConnectionKey(), queryId);
+            throw e;
+        }
+    }
+
+    /**
+     * Helper function to get the WIQL of a saved query.
+     *
+     * <p>The WIQL is served from the {@link SavedQueryCache}. Once an entry has
+     * expired, only the metadata of the query is fetched; the WIQL is fetched
+     * again only if the last modified date of the query has changed.
+     *
+     * @param connection Connection object to connect to Azure DevOps.
+     * @param patConfig  Connector config which is being executed.
+     * @param queryId    The query ID of the saved query.
+     * @return a {@code String} which is the WIQL of the saved query.
      * @throws KonnectException if any exception or error occurs while connecting to
      *                          the external data source.
      */
-    private List<WorkItem> getByQueryId(WorkItemTrackingApi connection, String queryId, boolean limit) throws KonnectException {
+    private String getWiql(WorkItemTrackingApi connection, PersonalAccessTokenConfig patConfig, String queryId) throws KonnectException {
+        String connectionKey = patConfig.getConnectionKey();
+        SavedQuery savedQuery = savedQueryCache.get(connectionKey, queryId);
+        if (savedQuery != null && !savedQueryCache.isExpired(savedQuery)) {
+            return savedQuery.getWiql();
+        }
         try {
+            if (savedQuery != null && savedQuery.getLastModifiedDate() != null) {
+                QueryHierarchyItem queryHierarchyItem = connection.getQuery(queryId, 0, QueryExpand.NONE, false, false);
+                if (savedQuery.getLastModifiedDate().equals(queryHierarchyItem.getLastModifiedDate())) {
+                    savedQueryCache.put(connectionKey, queryId, savedQuery.checkedAt(System.currentTimeMillis()));
+                    return savedQuery.getWiql();
+                }
+                log.debug("[AzureDevopsConnector] Saved query {} has changed", queryId);
+            }
             QueryHierarchyItem queryHierarchyItem = connection.getQuery(queryId, 0, QueryExpand.ALL, false, false);
             if (StringUtils.isBlank(queryHierarchyItem.getWiql())) {
                 throw new KonnectQueryException("[AzureDevopsConnector] Query is empty");
             }
-            return getByQuery(connection, queryHierarchyItem.getWiql(), limit);
+            savedQueryCache.put(connectionKey, queryId, new SavedQuery(queryHierarchyItem.getWiql(),
+                    queryHierarchyItem.getLastModifiedDate(), System.currentTimeMillis()));
+            return queryHierarchyItem.getWiql();
+        } catch (KonnectException e) {
+            throw e;
         } catch (AzDException e) {
+            savedQueryCache.remove(connectionKey, queryId);
             log.error("[AzureDevopsConnector] Error in executing get by query", e);
             throw new KonnectQueryException("[AzureDevopsConnector] Error in executing query", e);
         } catch (Exception e) {
@@ -421,42 +715,247 @@ public class AzureDevopsConnector extends RestConnector {
     /**
      * Helper function to execute the query if it is in WIQL.
      *
+     * <p>If the query is limited, the limit is passed as {@code $top} to the
+     * WIQL request, so that only the previewed work item references are returned.
+     *
      * @param connection Connection object to connect to Azure DevOps.
      * @param query      The query to be used for the query.
+     * @param queryDto   The query which will be executed.
      * @param limit      {@code true} if the query should be limited.
-     * @return a {@code List} of {@link WorkItem} which list of work items from query.
+     * @param writer     The writer to which the work items are written.
+     * @throws KonnectException if any exception or error occurs while connecting to
+     *                          the external data source.
+     */
+    private void getByQuery(WorkItemTrackingApi connection, String query, AzureDevopsQueryDto queryDto, boolean limit, JsonWriter writer) throws KonnectException {
+        WiqlQueryResult result;
+        try {
+            result = queryByWiql(connection, query, limit ? getMaxNoRowsForPreviewQuery() : 0);
+        } catch (AzDException e) {
+            log.error("[AzureDevopsConnector] Error in executing get by query", e);
+            throw new KonnectQueryException("[AzureDevopsConnector] Error in executing query", e);
+        } catch (KonnectException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new KonnectException("[AzureDevopsConnector] Error in sending request", e);
+        }
+        writeQueryResult(connection, query, result, queryDto, limit, writer);
+    }
+
+    /**
+     * Helper function to fetch and write the work items of a WIQL query result.
+     *
+     * <p>The work items of a partitioned result are sorted locally by the
+     * {@code ORDER BY} clause of the query. The fields of that clause are
+     * fetched along with the selected fields, but only the selected ones are written.
+     *
+     * @param connection Connection object to connect to Azure DevOps.
+     * @param query      The WIQL of the query.
+     * @param result     The result of running the WIQL query.
+     * @param queryDto   The query which will be executed.
+     * @param limit      {@code true} if the query should be limited.
+     * @param writer     The writer to which the work items are written.
+     * @throws KonnectException if any exception or error occurs while connecting to
+     *                          the external data source.
+     */
+    private void writeQueryResult(WorkItemTrackingApi connection, String query, WiqlQueryResult result, AzureDevopsQueryDto queryDto, boolean limit, JsonWriter writer) throws KonnectException {
+        List<WorkItem> itemList = new ArrayList<>();
+        if (!result.isEmpty()) {
+            if (result.isPartitioned()) {
+                Map<String, Boolean> orderBy = azureDevopsUtility.getOrderBy(query);
+                Set<String> fields = new LinkedHashSet<>(Arrays.asList(result.getFields()));
+                fields.addAll(orderBy.keySet());
+                itemList = getById(connection, result.getIds(), fields.toArray(new String[0]), result.getAsOf(), limit, queryDto.isExpanded());
+                itemList.removeIf(Objects::isNull);
+                itemList.sort(azureDevopsUtility.getComparator(orderBy));
+            } else {
+                itemList = azureDevopsUtility.sort(getById(connection, result.getIds(), result.getFields(), result.getAsOf(), limit, queryDto.isExpanded()), result.getIds());
+            }
+        }
+        writeWorkItems(writer, itemList, result.getFields(), queryDto);
+    }
+
+    /**
+     * Helper function to run a WIQL query.
+     *
+     * <p>Azure DevOps rejects flat queries which match more than 20,000 work items.
+     * Such a query is transparently run in partitions of work item IDs, see
+     * {@link #queryByWiqlPartitioned(WorkItemTrackingApi, String)}.
+     *
+     * @param connection Connection object to connect to Azure DevOps.
+     * @param wiql       The WIQL of the query.
+     * @param top        The maximum number of work items, or {@code 0} for all.
+     * @return the {@link WiqlQueryResult} of the query.
+     * @throws AzDException     if the query fails.
+     * @throws KonnectException if a partition of the query fails.
+     */
+    private WiqlQueryResult queryByWiql(WorkItemTrackingApi connection, String wiql, int top) throws AzDException, KonnectException {
+        try {
+            WorkItemQueryResult result = top > 0 ? connection.queryByWiql("", wiql, top, false) : connection.queryByWiql("", wiql);
+            return new WiqlQueryResult(azureDevopsUtility.getIds(result.getWorkItems()), azureDevopsUtility.getFields(result.getColumns()), result.getAsOf(), false);
+        } catch (AzDException e) {
+            if (top > 0 || !azureDevopsUtility.isWorkItemQuery(wiql) || !azureDevopsUtility.isResultSizeLimitExceeded(e)) {
+                throw e;
+            }
+            log.info("[AzureDevopsConnector] Query exceeds the result size limit, running it in partitions");
+            return queryByWiqlPartitioned(connection, wiql);
+        }
+    }
+
+    /**
+     * Helper function to run a WIQL query in partitions of work item IDs.
+     *
+     * <p>The highest matching work item ID is looked up first. The ID range up to it
+     * is split into partitions which are run concurrently. A partition which still
+     * exceeds the size limit is split in half and run again; a partition no wider
+     * than the limit always fits. The IDs of all partitions are merged in ID order
+     * without duplicates.
+     *
+     * @param connection Connection object to connect to Azure DevOps.
+     * @param wiql       The WIQL of the query.
+     * @return the {@link WiqlQueryResult} of the query.
+     * @throws AzDException     if the query fails.
+     * @throws KonnectException if a partition of the query fails.
+     */
+    private WiqlQueryResult queryByWiqlPartitioned(WorkItemTrackingApi connection, String wiql) throws AzDException, KonnectException {
+        WorkItemQueryResult last = connection.queryByWiql("", azureDevopsUtility.replaceOrderBy(wiql, ADO_ID_FIELD + " Desc"), 1, false);
+        String[] fields = azureDevopsUtility.getFields(last.getColumns());
+        if (last.getWorkItems().isEmpty()) {
+            return new WiqlQueryResult(new int[]{}, fields, last.getAsOf(), true);
+        }
+        int maxId = last.getWorkItems().get(0).getId();
+        int width = Math.max(ADO_WIQL_RESULT_LIMIT, maxId / ADO_WIQL_PARTITIONS + 1);
+        List<int[]> pending = new ArrayList<>();
+        for (int from = 1; from <= maxId; from += width) {
+            pending.add(new int[]{from, Math.min(maxId, from + width - 1)});
+        }
+        Map<Integer, WorkItemQueryResult> results = new TreeMap<>();
+        while (!pending.isEmpty()) {
+            List<int[]> ranges = pending;
+            pending = new ArrayList<>();
+            List<Callable<WorkItemQueryResult>> tasks = new ArrayList<>();
+            for (int[] range : ranges) {
+                String partition = azureDevopsUtility.addIdRangeFilter(wiql, range[0], range[1]);
+                tasks.add(() -> connection.queryByWiql("", partition));
+            }
+            List<Future<WorkItemQueryResult>> futures = invokeAll(tasks);
+            for (int i = 0; i < ranges.size(); i++) {
+                int[] range = ranges.get(i);
+                try {
+                    results.put(range[0], futures.get(i).get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof AzDException && azureDevopsUtility.isResultSizeLimitExceeded((AzDException) cause) && range[1] > range[0]) {
+                        int middle = range[0] + (range[1] - range[0]) / 2;
+                        pending.add(new int[]{range[0], middle});
+                        pending.add(new int[]{middle + 1, range[1]});
+                    } else if (cause instanceof AzDException) {
+                        throw (AzDException) cause;
+                    } else {
+                        throw new KonnectException("[AzureDevopsConnector] Error in executing query partition", cause);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new KonnectException("[AzureDevopsConnector] Interrupted while executing query partitions", e);
+                }
+            }
+        }
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (WorkItemQueryResult result : results.values()) {
+            for (int id : azureDevopsUtility.getIds(result.getWorkItems())) {
+                ids.add(id);
+            }
+        }
+        log.debug("[AzureDevopsConnector] Partitioned query returned {} work items", ids.size());
+        return new WiqlQueryResult(ids.stream().mapToInt(Integer::intValue).toArray(), fields, last.getAsOf(), true);
+    }
+
+    /**
+     * Helper function to execute a WIQL query incrementally.
+     *
+     * <p>The query is run to get the current work item IDs in order. If the
+     * {@link WorkItemStore} has an entry for the query with the same fields, the
+     * query is run again restricted to the work items changed since the entry's
+     * watermark. Only the changed work items and the ones missing in the store are
+     * fetched; all others are served from the store. A full fetch happens when
+     * there is no entry, the fields have changed, a refresh is requested or more
+     * work items have changed than a WIQL query can return.
+     * Queries which had to be run in partitions are not stored, as their order
+     * is only known after fetching the work items.
+     *
+     * @param connection Connection object to connect to Azure DevOps.
+     * @param patConfig  Connector config which is being executed.
+     * @param queryDto   The query which will be executed.
+     * @param wiql       The WIQL of the query.
+     * @param writer     The writer to which the work items are written.
      * @throws KonnectException if any exception or error occurs while connecting to
      *                          the external data source.
      */
-    private List<WorkItem> getByQuery(WorkItemTrackingApi connection, String query, boolean limit) throws KonnectException {
+    private void getByQueryIncremental(WorkItemTrackingApi connection, PersonalAccessTokenConfig patConfig, AzureDevopsQueryDto queryDto, String wiql, JsonWriter writer) throws KonnectException {
+        if (!azureDevopsUtility.isWorkItemQuery(wiql)) {
+            getByQuery(connection, wiql, queryDto, false, writer);
+            return;
+        }
+        // The stored JSON depends on the requested expansion, so it is part of the key.
+        String key = workItemStore.getKey(patConfig.getConnectionKey(), queryDto.getProject(),
+                wiql + "\n" + queryDto.isIncludeRelations() + "\n" + queryDto.isIncludeLinks());
         try {
-            WorkItemQueryResult result = connection.queryByWiql("", query);
-            List<WorkItemReference> workItemReferenceList = result.getWorkItems();
-            if (workItemReferenceList.size() == 0) {
-                return new ArrayList<>();
+            WiqlQueryResult result = queryByWiql(connection, wiql, 0);
+            if (result.isEmpty() || result.isPartitioned()) {
+                workItemStore.remove(key);
+                writeQueryResult(connection, wiql, result, queryDto, false, writer);
+                return;
             }
-            int[] ids = new int[workItemReferenceList.size()];
-            int i = 0;
-            for (WorkItemReference workItemReference : workItemReferenceList) {
-                ids[i] = workItemReference.getId();
-                i++;
+            int[] ids = result.getIds();
+            String[] fields = result.getFields();
+            WorkItemStoreEntry entry = queryDto.isRefresh() ? null : workItemStore.get(key);
+            if (entry != null && (!Arrays.equals(fields, entry.getFields()) || StringUtils.isBlank(entry.getWatermark()))) {
+                entry = null;
             }
-            String asOf = result.getAsOf();
-            List<WorkItemFieldReference> workItemFieldReferenceList = result.getColumns();
-            if (workItemFieldReferenceList.size() == 0) {
-                return new ArrayList<>();
+            Set<Integer> changedIds = new LinkedHashSet<>();
+            if (entry != null) {
+                try {
+                    WorkItemQueryResult changed = connection.queryByWiql("", azureDevopsUtility.addChangedDateFilter(wiql, entry.getWatermark()));
+                    for (int id : azureDevopsUtility.getIds(changed.getWorkItems())) {
+                        changedIds.add(id);
+                    }
+                } catch (AzDException e) {
+                    if (!azureDevopsUtility.isResultSizeLimitExceeded(e)) {
+                        throw e;
+                    }
+                    log.info("[AzureDevopsConnector] Too many work items changed since the last sync, fetching all of them");
+                    entry = null;
+                }
             }
-            String[] fields = new String[workItemFieldReferenceList.size()];
-            i = 0;
-            for (WorkItemFieldReference ref : workItemFieldReferenceList) {
-                fields[i] = ref.getReferenceName();
-                i++;
+            LinkedHashMap<Integer, String> items = new LinkedHashMap<>();
+            List<Integer> idsToFetch = new ArrayList<>();
+            for (int id : ids) {
+                String item = entry != null && !changedIds.contains(id) ? entry.getItems().get(id) : null;
+                if (item == null) {
+                    idsToFetch.add(id);
+                }
+                items.put(id, item);
             }
-            List<WorkItem> itemList = getById(connection, ids, fields, asOf, limit);
-            return azureDevopsUtility.sort(itemList, ids);
+            log.debug("[AzureDevopsConnector] Incremental query fetching {} of {} work items", idsToFetch.size(), ids.length);
+            if (!idsToFetch.isEmpty()) {
+                int[] fetchIds = idsToFetch.stream().mapToInt(Integer::intValue).toArray();
+                for (WorkItem workItem : getById(connection, fetchIds, fields, result.getAsOf(), false, queryDto.isExpanded())) {
+                    if (workItem != null) {
+                        items.put(workItem.getId(), azureDevopsUtility.toJson(workItem, fields, queryDto.isIncludeRelations(), queryDto.isIncludeLinks()));
+                    }
+                }
+            }
+            items.values().removeIf(Objects::isNull);
+            workItemStore.put(key, new WorkItemStoreEntry(result.getAsOf(), fields, items));
+            writer.beginArray();
+            for (String item : items.values()) {
+                writer.jsonValue(item);
+            }
+            writer.endArray();
         } catch (AzDException e) {
-            log.error("[AzureDevopsConnector] Error in executing get by query", e);
+            log.error("[AzureDevopsConnector] Error in executing incremental get by query", e);
             throw new KonnectQueryException("[AzureDevopsConnector] Error in executing query", e);
+        } catch (KonnectException e) {
+            throw e;
         } catch (Exception e) {
             throw new KonnectException("[AzureDevopsConnector] Error in sending request", e);
         }
@@ -465,38 +964,205 @@ public class AzureDevopsConnector extends RestConnector {
     /**
      * Helper function to execute the query if it is in WIQL.
      *
+     * <p>Work items are fetched in batches of at most 200, which is the maximum
+     * Azure DevOps accepts per request; multiple batches are fetched concurrently.
+     * Azure DevOps does not allow selecting fields together with an expansion,
+     * so expanded work items are fetched with all fields and projected while
+     * being written.
+     *
      * @param connection Connection object to connect to Azure DevOps.
      * @param ids        The work item ids to be used for the query.
      * @param fields     The fields to be used for the query.
      * @param asOf       The as of date to be used for the query.
      * @param limit      {@code true} if the query should be limited.
+     * @param expand     {@code true} if relations and links should be fetched.
      * @return a {@code List} of {@link WorkItem} which list of work items from query.
      * @throws KonnectException if any exception or error occurs while connecting to
      *                          the external data source.
      */
-    private List<WorkItem> getById(WorkItemTrackingApi connection, int[] ids, String[] fields, String asOf, boolean limit) throws KonnectException {
+    private List<WorkItem> getById(WorkItemTrackingApi connection, int[] ids, String[] fields, String asOf, boolean limit, boolean expand) throws KonnectException {
         try {
             if (limit && ids.length > getMaxNoRowsForPreviewQuery()) {
                 ids = Arrays.copyOf(ids, getMaxNoRowsForPreviewQuery());
             }
-            WorkItemList itemList;
-            if (StringUtils.isBlank(asOf)) {
-                asOf = null;
+            String asOfTime = StringUtils.isBlank(asOf) ? null : asOf;
+            List<Callable<WorkItemList>> tasks = new ArrayList<>();
+            for (int from = 0; from < ids.length; from += ADO_MAX_WORK_ITEMS_PER_REQUEST) {
+                int[] batch = Arrays.copyOfRange(ids, from, Math.min(ids.length, from + ADO_MAX_WORK_ITEMS_PER_REQUEST));
+                if (expand) {
+                    tasks.add(() -> connection.getWorkItems(batch, WorkItemExpand.ALL));
+                } else if (fields.length == 0) {
+                    tasks.add(() -> connection.getWorkItems(batch, WorkItemExpand.FIELDS));
+                } else {
+                    tasks.add(() -> connection.getWorkItems(batch, WorkItemExpand.NONE, fields, asOfTime, WorkItemErrorPolicy.OMIT));
+                }
             }
-            if (fields.length == 0) {
-                itemList = connection.getWorkItems(ids, WorkItemExpand.FIELDS);
-            } else {
-                itemList = connection.getWorkItems(ids, WorkItemExpand.NONE, fields, asOf, WorkItemErrorPolicy.OMIT);
+            List<WorkItem> workItemList = new ArrayList<>();
+            if (tasks.size() == 1) {
+                workItemList.addAll(tasks.get(0).call().getWorkItems());
+                return workItemList;
+            }
+            for (Future<WorkItemList> future : invokeAll(tasks)) {
+                try {
+                    workItemList.addAll(future.get().getWorkItems());
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
             }
-            return itemList.getWorkItems();
+            return workItemList;
         } catch (AzDException e) {
             log.error("[AzureDevopsConnector] Error in executing get by id", e);
             throw new KonnectQueryException("[AzureDevopsConnector] Error in executing query", e);
+        } catch (KonnectException e) {
+            throw e;
         } catch (Exception e) {
             throw new KonnectException("[AzureDevopsConnector] Error in sending request", e);
         }
     }
 
+    /**
+     * Helper function to run tasks concurrently, with at most four tasks
+     * running at the same time.
+     *
+     * @param tasks The tasks to be run.
+     * @param <T>   The result type of the tasks.
+     * @return a {@code List} of completed {@link Future} in the order of the tasks.
+     * @throws KonnectException if the thread is interrupted while waiting.
+     */
+    private <T> List<Future<T>> invokeAll(List<Callable<T>> tasks) throws KonnectException {
+        return invokeAll(tasks, ADO_MAX_CONCURRENT_REQUESTS);
+    }
+
+    /**
+     * Helper function to run tasks concurrently on the executor of the connector.
+     *
+     * <p>A permit is taken before a task is submitted, so a call never has more
+     * than {@code parallelism} tasks on the executor. Tasks started from a task
+     * of the executor are run one after the other on the calling thread, so that
+     * they do not wait for the threads held by their parents.
+     *
+     * @param tasks       The tasks to be run.
+     * @param parallelism The maximum number of tasks running at the same time.
+     * @param <T>         The result type of the tasks.
+     * @return a {@code List} of completed {@link Future} in the order of the tasks.
+     * @throws KonnectException if the thread is interrupted while waiting.
+     */
+    private <T> List<Future<T>> invokeAll(List<Callable<T>> tasks, int parallelism) throws KonnectException {
+        List<Future<T>> futures = new ArrayList<>();
+        if (EXECUTOR_THREAD.get() != null) {
+            for (Callable<T> task : tasks) {
+                FutureTask<T> future = new FutureTask<>(task);
+                future.run();
+                futures.add(future);
+            }
+            return futures;
+        }
+        Semaphore permits = new Semaphore(Math.max(1, parallelism));
+        try {
+            for (Callable<T> task : tasks) {
+                permits.acquire();
+                try {
+                    futures.add(getExecutor().submit(() -> {
+                        try {
+                            return task.call();
+                        } finally {
+                            permits.release();
+                        }
+                    }));
+                } catch (RejectedExecutionException e) {
+                    permits.release();
+                    throw new KonnectException("[AzureDevopsConnector] Executor is shut down", e);
+                }
+            }
+            for (Future<T> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    log.debug("[AzureDevopsConnector] Task failed", e.getCause());
+                }
+            }
+            return futures;
+        } catch (InterruptedException e) {
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            throw new KonnectException("[AzureDevopsConnector] Interrupted while sending requests", e);
+        }
+    }
+
+    /**
+     * Returns the executor which runs the concurrent requests of all the
+     * queries of this connector, creating it if the component has not been
+     * activated.
+     *
+     * @return the {@link ExecutorService} of this connector.
+     */
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            AtomicInteger count = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(ADO_REQUEST_THREADS, runnable -> {
+                Thread thread = new Thread(() -> {
+                    EXECUTOR_THREAD.set(Boolean.TRUE);
+                    runnable.run();
+                }, "ado-request-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * Loads the templates, logo and config descriptors of this connector.
+     * <p>
+     * The component is activated on first use, so the metadata is not read
+     * during startup unless the connector is needed.
+     */
+    @Activate
+    protected void activate() {
+        metadata = loadMetadata();
+    }
+
+    /**
+     * Drops the metadata of this connector, so that it is loaded again from
+     * the bundle when the component is reactivated.
+     */
+    @Deactivate
+    protected void deactivate() {
+        metadata = null;
+        synchronized (this) {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+    }
+
+    /**
+     * Returns the metadata of this connector, loading it if the component
+     * has not been activated.
+     *
+     * @return the {@link ConnectorMetadata} of this connector.
+     */
+    private ConnectorMetadata getMetadata() {
+        ConnectorMetadata current = metadata;
+        if (current == null) {
+            current = loadMetadata();
+            metadata = current;
+        }
+        return current;
+    }
+
+    /**
+     * Reads the metadata of this connector from its bundle.
+     *
+     * @return the {@link ConnectorMetadata} of this connector.
+     */
+    private ConnectorMetadata loadMetadata() {
+        return ConnectorMetadata.load(getClass(), ADO_LOGO_SVG_PATH, ADO_TEMPLATES_PATH, getConfigClass());
+    }
+
     /**
      * Returns the SVG of the logo of the connector as a string.
      *
@@ -504,14 +1170,7 @@ public class AzureDevopsConnector extends RestConnector {
      */
     @Override
     public String getLogoSvg() {
-        String logoSvg = "";
-        try {
-            InputStream inStream = this.getClass().getClassLoader().getResourceAsStream(ADO_LOGO_SVG_PATH);
-            logoSvg = new String(IOUtils.toByteArray(inStream), StandardCharsets.UTF_8);
-        } catch (Exception e) {
-            log.error("[AzureDevopsConnector] Error in reading logo svg file", e);
-        }
-        return logoSvg;
+        return getMetadata().getLogoSvg();
     }
 
     /**
@@ -521,16 +1180,16 @@ public class AzureDevopsConnector extends RestConnector {
      */
     @Override
     public List<TemplateDto> getTemplates() {
-        List<TemplateDto> templates = new ArrayList<>();
-        ClassLoader classLoader = this.getClass().getClassLoader();
-        for (int i = 0; i < ADO_TEMPLATES_PATH.length; i++) {
-            try {
-                InputStream inStream = classLoader.getResourceAsStream("templates/" + ADO_TEMPLATES_PATH[i]);
-                templates.add(new TemplateDto(ADO_TEMPLATES_PATH[i], new String(IOUtils.toByteArray(inStream), StandardCharsets.UTF_8)));
-            } catch (Exception e) {
-                log.error("[AzureDevopsConnector] error in reading template file", e);
-            }
-        }
-        return templates;
+        return getMetadata().getTemplates();
+    }
+
+    /**
+     * Returns the descriptors of the config classes supported by this connector.
+     *
+     * @return a {@code List} of {@link ConfigDescriptor} of the supported config classes.
+     */
+    @Override
+    public List<ConfigDescriptor> getConfigDescriptors() {
+        return getMetadata().getConfigDescriptors();
     }
 }
@@ -11,11 +11,21 @@ governing permissions and limitations under the License.
 */
 package com.adobe.guides.konnect.definitions.ado;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import java.util.List;
+
 /**
  * This class provides the query object for the Azure DevOps connector. <p>
- * It is used to store the project and query string.
+ * It is used to store the project and query string. Setting <tt>incremental</tt>
+ * syncs WIQL based queries against a local work item store and only fetches
+ * the work items changed since the last sync. Setting <tt>refresh</tt> forces
+ * a full fetch of an incremental query. Work items are returned with the
+ * fields selected by the query; <tt>includeRelations</tt> and
+ * <tt>includeLinks</tt> add their relations and links. A WIQL query can be run
+ * across several <tt>projects</tt>, or across <tt>allProjects</tt> of the
+ * organization, in which case every work item carries its project.
  *
  * @author Adobe
  * @since 1.0.0
@@ -23,7 +33,13 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class AzureDevopsQueryDto {
     private String project;
+    private List<String> projects;
+    private boolean allProjects;
     private String query;
+    private boolean incremental;
+    private boolean refresh;
+    private boolean includeRelations;
+    private boolean includeLinks;
 
     /**
      * Returns the project name
@@ -34,6 +50,53 @@ public class AzureDevopsQueryDto {
         return project;
     }
 
+    /**
+     * Returns the names of the projects the query is run across
+     *
+     * @return a {@code List} of project names
+     */
+    public List<String> getProjects() {
+        return projects;
+    }
+
+    /**
+     * Returns {@code true} if the query should be run across all projects
+     * of the organization.
+     *
+     * @return {@code true} if all projects are requested
+     */
+    public boolean isAllProjects() {
+        return allProjects;
+    }
+
+    /**
+     * Returns {@code true} if the query should be run across several projects.
+     *
+     * @return {@code true} if a list of projects or all projects are requested
+     */
+    @JsonIgnore
+    public boolean isMultiProject() {
+        return allProjects || (projects != null && !projects.isEmpty());
+    }
+
+    /**
+     * Returns a copy of this query which runs against a single project.
+     *
+     * @param project the project name
+     * @param query   the query string for the project
+     * @return an {@link AzureDevopsQueryDto} for the project
+     */
+    public AzureDevopsQueryDto forProject(String project, String query) {
+        AzureDevopsQueryDto queryDto = new AzureDevopsQueryDto();
+        queryDto.project = project;
+        queryDto.query = query;
+        queryDto.incremental = incremental;
+        queryDto.refresh = refresh;
+        queryDto.includeRelations = includeRelations;
+        queryDto.includeLinks = includeLinks;
+        return queryDto;
+    }
+
     /**
      * Returns the query string
      *
@@ -42,4 +105,51 @@ public class AzureDevopsQueryDto {
     public String getQuery() {
         return query;
     }
+
+    /**
+     * Returns {@code true} if the query should be synced incrementally.
+     *
+     * @return {@code true} if the query should be synced incrementally
+     */
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * Returns {@code true} if an incremental query should be fully fetched again.
+     *
+     * @return {@code true} if a full fetch is requested
+     */
+    public boolean isRefresh() {
+        return refresh;
+    }
+
+    /**
+     * Returns {@code true} if the relations of the work items should be returned.
+     *
+     * @return {@code true} if relations are requested
+     */
+    public boolean isIncludeRelations() {
+        return includeRelations;
+    }
+
+    /**
+     * Returns {@code true} if the links of the work items should be returned.
+     *
+     * @return {@code true} if links are requested
+     */
+    public boolean isIncludeLinks() {
+        return includeLinks;
+    }
+
+    /**
+     * Returns {@code true} if the work items need to be fetched expanded,
+     * that is with relations or links.
+     *
+     * @return {@code true} if relations or links are requested
+     */
+    @JsonIgnore
+    public boolean isExpanded() {
+        return includeRelations || includeLinks;
+    }
 }
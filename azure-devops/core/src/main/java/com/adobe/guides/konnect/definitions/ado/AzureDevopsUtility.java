@@ -14,17 +14,42 @@ package com.adobe.guides.konnect.definitions.ado;
 import com.adobe.guides.konnect.definitions.core.config.Config;
 import com.adobe.guides.konnect.definitions.core.exception.KonnectQueryException;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
 import org.apache.commons.lang3.StringUtils;
 import org.azd.connection.Connection;
+import org.azd.core.CoreApi;
+import org.azd.core.types.Project;
+import org.azd.exceptions.AzDException;
 import org.azd.workitemtracking.WorkItemTrackingApi;
 import org.azd.workitemtracking.types.WorkItem;
+import org.azd.workitemtracking.types.WorkItemFieldReference;
+import org.azd.workitemtracking.types.WorkItemReference;
 import org.osgi.service.component.annotations.Component;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.adobe.guides.konnect.definitions.ado.Constants.ADO_CHANGED_DATE_FIELD;
+import static com.adobe.guides.konnect.definitions.ado.Constants.ADO_ID_FIELD;
+import static com.adobe.guides.konnect.definitions.ado.Constants.ADO_MAX_CONNECTIONS;
+import static com.adobe.guides.konnect.definitions.ado.Constants.ADO_PROJECTS_PAGE_SIZE;
+import static com.adobe.guides.konnect.definitions.ado.Constants.ADO_RESULT_SIZE_LIMIT_ERROR_CODE;
+import static com.adobe.guides.konnect.definitions.ado.Constants.ADO_RESULT_SIZE_LIMIT_ERROR_TYPE;
+import static com.adobe.guides.konnect.definitions.ado.Constants.ADO_TEAM_PROJECT_FIELD;
 
 /**
  * Utility class for the Azure DevOps Connector.<p>
@@ -36,6 +61,20 @@ import java.util.Map;
 @Component(service = AzureDevopsUtility.class)
 public class AzureDevopsUtility {
 
+    private static final Pattern WIQL_FROM_WORK_ITEMS = Pattern.compile("(?i)\\bfrom\\s+workitems\\b");
+    private static final Pattern WIQL_WHERE = Pattern.compile("(?i)\\bwhere\\b");
+    private static final Pattern WIQL_WHERE_END = Pattern.compile("(?i)\\b(order\\s+by|asof|mode)\\b");
+    private static final Pattern WIQL_ORDER_BY = Pattern.compile("(?i)\\border\\s+by\\b");
+    private static final Pattern WIQL_ORDER_BY_END = Pattern.compile("(?i)\\b(asof|mode)\\b");
+    private final transient Gson gson = new GsonBuilder().disableHtmlEscaping().create();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, WorkItemTrackingApi> connections = Collections.synchronizedMap(new LinkedHashMap<String, WorkItemTrackingApi>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, WorkItemTrackingApi> eldest) {
+            return size() > ADO_MAX_CONNECTIONS;
+        }
+    });
+
     /**
      * Returns an array integers from the comma separated query string.
      *
@@ -85,7 +124,6 @@ public class AzureDevopsUtility {
      * @throws KonnectQueryException if the query is in an incorrect format
      */
     public AzureDevopsQueryDto getQueryDto(String queryJson) throws KonnectQueryException {
-        ObjectMapper objectMapper = new ObjectMapper();
         try {
             return objectMapper.readValue(queryJson, AzureDevopsQueryDto.class);
         } catch (JsonProcessingException e) {
@@ -94,7 +132,10 @@ public class AzureDevopsUtility {
     }
 
     /**
-     * Creates the connector using the config object and project name.
+     * Returns the connector for the config object and project name.<p>
+     * Connections are cached per project and connection key of the config, so
+     * that repeated and concurrent queries reuse them. Only the most recently
+     * used connections are kept.
      *
      * @param config  the connector config
      * @param project the project name
@@ -102,13 +143,368 @@ public class AzureDevopsUtility {
      */
     public WorkItemTrackingApi getConnection(Config config, String project) {
         PersonalAccessTokenConfig patConfig = (PersonalAccessTokenConfig) config;
-        Connection connection;
-        if (StringUtils.isBlank(project)) {
-            connection = new Connection(patConfig.getOrganization(), "", patConfig.getToken());
+        String projectName = StringUtils.defaultString(project);
+        String key = patConfig.getConnectionKey() + "\n" + projectName;
+        return connections.computeIfAbsent(key, k ->
+                new WorkItemTrackingApi(new Connection(patConfig.getOrganization(), projectName, patConfig.getToken())));
+    }
+
+    /**
+     * Returns the names of all projects of the organization.<p>
+     * The projects are listed in pages of 100, until a page is not full.
+     *
+     * @param config the connector config
+     * @return a {@code List} of project names
+     * @throws AzDException if the projects could not be listed
+     */
+    public List<String> getProjects(Config config) throws AzDException {
+        PersonalAccessTokenConfig patConfig = (PersonalAccessTokenConfig) config;
+        CoreApi coreApi = new CoreApi(new Connection(patConfig.getOrganization(), "", patConfig.getToken()));
+        List<String> projects = new ArrayList<>();
+        List<Project> page;
+        do {
+            page = coreApi.getProjects(projects.size(), ADO_PROJECTS_PAGE_SIZE, null, false, null).getProjects();
+            if (page == null) {
+                break;
+            }
+            for (Project project : page) {
+                projects.add(project.getName());
+            }
+        } while (page.size() == ADO_PROJECTS_PAGE_SIZE);
+        return projects;
+    }
+
+    /**
+     * Returns the work item IDs of the work item references of a query result.
+     *
+     * @param workItemReferenceList the work item references
+     * @return an array of work item IDs in the order of the references
+     */
+    public int[] getIds(List<WorkItemReference> workItemReferenceList) {
+        int[] ids = new int[workItemReferenceList.size()];
+        int i = 0;
+        for (WorkItemReference workItemReference : workItemReferenceList) {
+            ids[i] = workItemReference.getId();
+            i++;
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the reference names of the columns of a query result.
+     *
+     * @param workItemFieldReferenceList the columns of the query result
+     * @return an array of field reference names
+     */
+    public String[] getFields(List<WorkItemFieldReference> workItemFieldReferenceList) {
+        String[] fields = new String[workItemFieldReferenceList.size()];
+        int i = 0;
+        for (WorkItemFieldReference ref : workItemFieldReferenceList) {
+            fields[i] = ref.getReferenceName();
+            i++;
+        }
+        return fields;
+    }
+
+    /**
+     * Returns {@code true} if the WIQL query is a flat work item query.
+     * Link and tree queries ({@code FROM WorkItemLinks}) return {@code false}.
+     *
+     * @param wiql the WIQL query
+     * @return {@code true} if the query selects from {@code WorkItems}
+     */
+    public boolean isWorkItemQuery(String wiql) {
+        return WIQL_FROM_WORK_ITEMS.matcher(maskLiterals(wiql)).find();
+    }
+
+    /**
+     * Returns the WIQL query restricted to the work items changed since the watermark.<p>
+     * WIQL compares dates at day precision, so the filter starts a day before the
+     * watermark. The result may contain work items which have not changed, but never
+     * misses one which has.
+     *
+     * @param wiql      the WIQL query
+     * @param watermark the {@code asOf} time of the last sync
+     * @return a {@code String} which is the WIQL query with the changed date filter
+     */
+    public String addChangedDateFilter(String wiql, String watermark) {
+        String since = LocalDate.parse(watermark.substring(0, 10)).minusDays(1).toString();
+        return addCondition(wiql, ADO_CHANGED_DATE_FIELD + " >= '" + since + "'");
+    }
+
+    /**
+     * Returns the WIQL query restricted to the work items with IDs in a range.
+     *
+     * @param wiql the WIQL query
+     * @param from the lowest work item ID, inclusive
+     * @param to   the highest work item ID, inclusive
+     * @return a {@code String} which is the WIQL query with the ID range filter
+     */
+    public String addIdRangeFilter(String wiql, int from, int to) {
+        return addCondition(wiql, ADO_ID_FIELD + " >= " + from + " And " + ADO_ID_FIELD + " <= " + to);
+    }
+
+    /**
+     * Returns the WIQL query restricted to the work items of the project of
+     * the connection it is run on.
+     *
+     * @param wiql the WIQL query
+     * @return a {@code String} which is the WIQL query with the project filter
+     */
+    public String addProjectFilter(String wiql) {
+        return addCondition(wiql, ADO_TEAM_PROJECT_FIELD + " = @project");
+    }
+
+    /**
+     * Returns the WIQL query with its {@code ORDER BY} clause replaced. The
+     * {@code ASOF} and {@code MODE} clauses which follow it are kept.
+     *
+     * @param wiql    the WIQL query
+     * @param orderBy the new order, e.g. {@code [System.Id] Desc}
+     * @return a {@code String} which is the WIQL query with the new order
+     */
+    public String replaceOrderBy(String wiql, String orderBy) {
+        String masked = maskLiterals(wiql);
+        Matcher orderByMatcher = WIQL_ORDER_BY.matcher(masked);
+        int orderByIndex = orderByMatcher.find() ? orderByMatcher.start() : -1;
+        Matcher endMatcher = WIQL_ORDER_BY_END.matcher(masked);
+        int endIndex = endMatcher.find(Math.max(orderByIndex, 0)) ? endMatcher.start() : wiql.length();
+        if (orderByIndex < 0) {
+            orderByIndex = endIndex;
+        }
+        return StringUtils.trim(StringUtils.trim(wiql.substring(0, orderByIndex)) + " Order By " + orderBy + " " + wiql.substring(endIndex));
+    }
+
+    /**
+     * Returns the fields of the {@code ORDER BY} clause of the WIQL query.
+     *
+     * @param wiql the WIQL query
+     * @return a {@code Map} of field reference name to {@code true} for ascending
+     * order, in the order of the clause
+     */
+    public Map<String, Boolean> getOrderBy(String wiql) {
+        Map<String, Boolean> orderBy = new LinkedHashMap<>();
+        String masked = maskLiterals(wiql);
+        Matcher orderByMatcher = WIQL_ORDER_BY.matcher(masked);
+        if (!orderByMatcher.find()) {
+            return orderBy;
+        }
+        Matcher endMatcher = WIQL_ORDER_BY_END.matcher(masked);
+        int endIndex = endMatcher.find(orderByMatcher.end()) ? endMatcher.start() : wiql.length();
+        for (String clause : wiql.substring(orderByMatcher.end(), endIndex).split(",")) {
+            String field = StringUtils.substringBetween(clause, "[", "]");
+            if (StringUtils.isNotBlank(field)) {
+                orderBy.put(field, !StringUtils.endsWithIgnoreCase(StringUtils.trim(clause), "desc"));
+            }
+        }
+        return orderBy;
+    }
+
+    /**
+     * Returns a comparator which orders work items as the {@code ORDER BY} clause
+     * of a WIQL query does. Work items which compare equal are ordered by ID.
+     *
+     * @param orderBy the fields of the {@code ORDER BY} clause as returned
+     *                by {@link #getOrderBy(String)}
+     * @return a {@code Comparator} of work items
+     */
+    public Comparator<WorkItem> getComparator(Map<String, Boolean> orderBy) {
+        return (first, second) -> {
+            for (Map.Entry<String, Boolean> field : orderBy.entrySet()) {
+                int result = compareValues(getFieldValue(first, field.getKey()), getFieldValue(second, field.getKey()));
+                if (result != 0) {
+                    return field.getValue() ? result : -result;
+                }
+            }
+            return Integer.compare(first.getId(), second.getId());
+        };
+    }
+
+    /**
+     * Returns {@code true} if the exception is raised because a WIQL query
+     * returned more work items than Azure DevOps allows.
+     *
+     * @param e the exception raised by the query
+     * @return {@code true} if the result size limit was exceeded
+     */
+    public boolean isResultSizeLimitExceeded(Exception e) {
+        String message = e.getMessage();
+        return message != null && (message.contains(ADO_RESULT_SIZE_LIMIT_ERROR_CODE) || message.contains(ADO_RESULT_SIZE_LIMIT_ERROR_TYPE));
+    }
+
+    /**
+     * Returns the WIQL query with the condition added to its {@code WHERE} clause.
+     * The conditions of the query are grouped in parentheses, so that an
+     * {@code OR} among them does not take precedence over the condition added.
+     *
+     * @param wiql      the WIQL query
+     * @param condition the condition to be added
+     * @return a {@code String} which is the WIQL query with the condition
+     */
+    private String addCondition(String wiql, String condition) {
+        String masked = maskLiterals(wiql);
+        Matcher whereMatcher = WIQL_WHERE.matcher(masked);
+        int whereIndex = whereMatcher.find() ? whereMatcher.start() : -1;
+        Matcher endMatcher = WIQL_WHERE_END.matcher(masked);
+        int endIndex = endMatcher.find(Math.max(whereIndex, 0)) ? endMatcher.start() : wiql.length();
+        String tail = wiql.substring(endIndex);
+        if (whereIndex < 0) {
+            return StringUtils.trim(StringUtils.trim(wiql.substring(0, endIndex)) + " Where " + condition + " " + tail);
+        }
+        String where = StringUtils.trim(wiql.substring(whereIndex + "where".length(), endIndex));
+        return StringUtils.trim(wiql.substring(0, whereIndex) + "Where " + condition + " And (" + where + ") " + tail);
+    }
+
+    /**
+     * Returns the value of a field of a work item.
+     *
+     * @param workItem the work item
+     * @param field    the field reference name
+     * @return the value of the field, or {@code null} if it is not set
+     */
+    private Object getFieldValue(WorkItem workItem, String field) {
+        if (ADO_ID_FIELD.equals("[" + field + "]")) {
+            return workItem.getId();
+        }
+        Map<String, Object> fields = workItem.getFields();
+        return fields == null ? null : fields.get(field);
+    }
+
+    /**
+     * Compares two field values. Empty values come first, numbers are compared
+     * numerically, identities by display name and everything else as text.
+     *
+     * @param first  the first value
+     * @param second the second value
+     * @return a negative integer, zero, or a positive integer as the first value is
+     * less than, equal to, or greater than the second
+     */
+    private int compareValues(Object first, Object second) {
+        if (first == null || second == null) {
+            return first == null ? (second == null ? 0 : -1) : 1;
+        }
+        if (first instanceof Number && second instanceof Number) {
+            return Double.compare(((Number) first).doubleValue(), ((Number) second).doubleValue());
+        }
+        return getText(first).compareToIgnoreCase(getText(second));
+    }
+
+    /**
+     * Returns the text used to compare a field value.
+     *
+     * @param value the field value
+     * @return the display name of an identity, otherwise the value as text
+     */
+    private String getText(Object value) {
+        if (value instanceof Map && ((Map<?, ?>) value).containsKey("displayName")) {
+            return String.valueOf(((Map<?, ?>) value).get("displayName"));
+        }
+        return String.valueOf(value);
+    }
+
+    /**
+     * Returns the WIQL query with the content of its string literals, quoted
+     * with single or double quotes, and of its bracketed field names blanked
+     * out, so that keywords can be searched without matching text inside them.
+     *
+     * @param wiql the WIQL query
+     * @return a {@code String} of the same length with literal content replaced by spaces
+     */
+    private String maskLiterals(String wiql) {
+        char[] chars = wiql.toCharArray();
+        char close = 0;
+        for (int i = 0; i < chars.length; i++) {
+            if (close == 0) {
+                if (chars[i] == '\'' || chars[i] == '"') {
+                    close = chars[i];
+                } else if (chars[i] == '[') {
+                    close = ']';
+                }
+            } else if (chars[i] == close) {
+                close = 0;
+            } else {
+                chars[i] = ' ';
+            }
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Writes a work item as a JSON object with its id, revision, fields and URL.<p>
+     * Only the selected fields are written, in the order they are selected. The
+     * relations and links are written only when requested.
+     *
+     * @param writer           the writer to which the work item is written
+     * @param workItem         the work item
+     * @param fields           the selected fields, or an empty array for all fields
+     * @param includeRelations {@code true} if the relations should be written
+     * @param includeLinks     {@code true} if the links should be written
+     * @throws IOException if the work item could not be written
+     */
+    public void writeWorkItem(JsonWriter writer, WorkItem workItem, String[] fields, boolean includeRelations, boolean includeLinks) throws IOException {
+        writer.beginObject();
+        writer.name("id").value(workItem.getId());
+        writer.name("rev").value(workItem.getRev());
+        writer.name("fields");
+        writer.beginObject();
+        Map<String, Object> itemFields = workItem.getFields();
+        if (itemFields != null) {
+            if (fields.length == 0) {
+                for (Map.Entry<String, Object> field : itemFields.entrySet()) {
+                    writeValue(writer.name(field.getKey()), field.getValue());
+                }
+            } else {
+                for (String field : fields) {
+                    if (itemFields.containsKey(field)) {
+                        writeValue(writer.name(field), itemFields.get(field));
+                    }
+                }
+            }
+        }
+        writer.endObject();
+        writer.name("url").value(workItem.getUrl());
+        if (includeRelations || includeLinks) {
+            JsonNode node = objectMapper.valueToTree(workItem);
+            if (includeRelations && node.hasNonNull("relations")) {
+                writer.name("relations").jsonValue(node.get("relations").toString());
+            }
+            if (includeLinks && node.hasNonNull("_links")) {
+                writer.name("_links").jsonValue(node.get("_links").toString());
+            }
+        }
+        writer.endObject();
+    }
+
+    /**
+     * Returns a work item as a JSON string, as written by {@link #writeWorkItem}.
+     *
+     * @param workItem         the work item
+     * @param fields           the selected fields, or an empty array for all fields
+     * @param includeRelations {@code true} if the relations should be written
+     * @param includeLinks     {@code true} if the links should be written
+     * @return a {@code String} which is the JSON of the work item
+     * @throws IOException if the work item could not be written
+     */
+    public String toJson(WorkItem workItem, String[] fields, boolean includeRelations, boolean includeLinks) throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writeWorkItem(writer, workItem, fields, includeRelations, includeLinks);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Writes a field value of a work item.
+     *
+     * @param writer the writer positioned after the field name
+     * @param value  the field value
+     * @throws IOException if the value could not be written
+     */
+    private void writeValue(JsonWriter writer, Object value) throws IOException {
+        if (value == null) {
+            writer.nullValue();
         } else {
-            connection = new Connection(patConfig.getOrganization(), project, patConfig.getToken());
+            gson.toJson(value, value.getClass(), writer);
         }
-        return new WorkItemTrackingApi(connection);
     }
 }
-
@@ -52,4 +52,24 @@ public class Constants {
     public static final String ADO_ORG_INFO = "Organization name";
     public static final String ADO_LOGO_SVG_PATH = "logo/ado_logo.svg";
     public static final String[] ADO_TEMPLATES_PATH = new String[]{"ado-ordered-list.vm", "ado-unordered-list.vm", "ado-table.vm", "ado-table-url.vm"};
+    public static final String ADO_WORK_ITEM_STORE_DIR = "guides-konnect/ado-work-items";
+    public static final String ADO_WORK_ITEM_STORE_MAX_SIZE_PROPERTY = "maxSizeBytes";
+    public static final long ADO_WORK_ITEM_STORE_DEFAULT_MAX_SIZE = 256L * 1024 * 1024;
+    public static final String ADO_CHANGED_DATE_FIELD = "[System.ChangedDate]";
+    public static final String ADO_ID_FIELD = "[System.Id]";
+    public static final String ADO_TEAM_PROJECT_FIELD = "[System.TeamProject]";
+    public static final String ADO_PROJECT_KEY = "project";
+    public static final String ADO_DATA_KEY = "data";
+    public static final int ADO_WIQL_RESULT_LIMIT = 20000;
+    public static final int ADO_WIQL_PARTITIONS = 8;
+    public static final int ADO_MAX_WORK_ITEMS_PER_REQUEST = 200;
+    public static final int ADO_MAX_CONCURRENT_REQUESTS = 4;
+    public static final int ADO_MAX_CONCURRENT_PROJECTS = 8;
+    public static final int ADO_REQUEST_THREADS = 16;
+    public static final int ADO_MAX_CONNECTIONS = 64;
+    public static final int ADO_PROJECTS_PAGE_SIZE = 100;
+    public static final long ADO_SAVED_QUERY_CACHE_TTL = 5 * 60 * 1000L;
+    public static final int ADO_SAVED_QUERY_CACHE_SIZE = 1000;
+    public static final String ADO_RESULT_SIZE_LIMIT_ERROR_CODE = "VS402337";
+    public static final String ADO_RESULT_SIZE_LIMIT_ERROR_TYPE = "WorkItemTrackingQueryResultSizeLimitExceededException";
 }
@@ -20,6 +20,7 @@ import com.adobe.guides.konnect.definitions.core.exception.KonnectException;
 import com.adobe.guides.konnect.definitions.core.urlResource.RestResourceDao;
 import org.apache.commons.lang3.StringUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 
@@ -100,6 +101,18 @@ public class PersonalAccessTokenConfig extends RestWrapperConfig {
         return token;
     }
 
+    /**
+     * Returns a key which identifies the connection of this config, that is
+     * its organization and token. The token only goes into a hash, so the key
+     * can be kept in memory and on disk.
+     *
+     * @return a {@code String} which is the connection key of this config.
+     */
+    public String getConnectionKey() {
+        String key = this.organization + "\n" + this.token;
+        return UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
     /**
      * Sets the resources to be used for this config.
      *
@@ -123,14 +136,9 @@ public class PersonalAccessTokenConfig extends RestWrapperConfig {
      */
     @Override
     public void setCurrentResource(String id) {
-        List<RestResourceDao> resourceList = this.getResourceList();
-        if (!resourceList.isEmpty() && StringUtils.isNotBlank(id)) {
-            for (RestResourceDao resourceDao : resourceList) {
-                if (resourceDao.getId().equalsIgnoreCase(id)) {
-                    this.setCurrentResource(resourceDao);
-                    break;
-                }
-            }
+        RestResourceDao resourceDao = this.getResource(id);
+        if (resourceDao != null) {
+            this.setCurrentResource(resourceDao);
         }
     }
 }
@@ -0,0 +1,291 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+
+package com.adobe.guides.konnect.definitions.ado;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.adobe.guides.konnect.definitions.ado.Constants.ADO_PROJECT_KEY;
+
+/**
+ * A {@link JsonWriter} which writes the work items of one project of a
+ * multi-project query directly into the array of the whole query.<p>
+ * The array written for the project is dropped, and every work item gets a
+ * {@code project} property naming its project. Nothing is written until the
+ * previous project is done, so the work items stay in the order of the
+ * projects. Work items beyond the remaining row count of the query are skipped.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+class ProjectJsonWriter extends JsonWriter {
+
+    private static final Writer UNUSED = new Writer() {
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    private final JsonWriter target;
+    private final String project;
+    private final CountDownLatch previous;
+    private final AtomicInteger remaining;
+    private int depth;
+    private boolean skipped;
+
+    /**
+     * Sole constructor.
+     *
+     * @param target    the writer of the whole query, positioned inside its array
+     * @param project   the project name
+     * @param previous  the latch released once the previous project is done
+     * @param remaining the number of work items the query may still write
+     */
+    ProjectJsonWriter(JsonWriter target, String project, CountDownLatch previous, AtomicInteger remaining) {
+        super(UNUSED);
+        this.target = target;
+        this.project = project;
+        this.previous = previous;
+        this.remaining = remaining;
+    }
+
+    @Override
+    public JsonWriter beginArray() throws IOException {
+        if (depth++ == 0) {
+            awaitPrevious();
+        } else if (!skipped) {
+            target.beginArray();
+        }
+        return this;
+    }
+
+    @Override
+    public JsonWriter endArray() throws IOException {
+        if (--depth > 0 && !skipped) {
+            target.endArray();
+        }
+        return this;
+    }
+
+    @Override
+    public JsonWriter beginObject() throws IOException {
+        if (depth++ == 1) {
+            startItem();
+        } else if (!skipped) {
+            target.beginObject();
+        }
+        return this;
+    }
+
+    @Override
+    public JsonWriter endObject() throws IOException {
+        if (--depth == 1) {
+            endItem();
+        } else if (!skipped) {
+            target.endObject();
+        }
+        return this;
+    }
+
+    @Override
+    public JsonWriter name(String name) throws IOException {
+        if (!skipped) {
+            target.name(name);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(String value) throws IOException {
+        if (!skipped) {
+            target.value(value);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonWriter jsonValue(String value) throws IOException {
+        if (depth != 1) {
+            if (!skipped) {
+                target.jsonValue(value);
+            }
+            return this;
+        }
+        try (JsonReader reader = new JsonReader(new StringReader(value))) {
+            copyValue(reader);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonWriter nullValue() throws IOException {
+        if (!skipped) {
+            target.nullValue();
+        }
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(boolean value) throws IOException {
+        if (!skipped) {
+            target.value(value);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(Boolean value) throws IOException {
+        if (!skipped) {
+            target.value(value);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(double value) throws IOException {
+        if (!skipped) {
+            target.value(value);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(long value) throws IOException {
+        if (!skipped) {
+            target.value(value);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(Number value) throws IOException {
+        if (!skipped) {
+            target.value(value);
+        }
+        return this;
+    }
+
+    /**
+     * Does nothing, the writer of the whole query is flushed by its owner.
+     */
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * Does nothing, the writer of the whole query is closed by its owner.
+     */
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Waits until the previous project is done writing its work items.
+     *
+     * @throws IOException if the thread is interrupted while waiting
+     */
+    private void awaitPrevious() throws IOException {
+        try {
+            previous.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for project " + project);
+        }
+    }
+
+    /**
+     * Starts a work item, with the project name as its first property, or
+     * skips it if the query has already written all its work items.
+     *
+     * @throws IOException if the work item could not be written
+     */
+    private void startItem() throws IOException {
+        skipped = remaining.getAndDecrement() <= 0;
+        if (!skipped) {
+            target.beginObject();
+            target.name(ADO_PROJECT_KEY).value(project);
+        }
+    }
+
+    /**
+     * Ends the current work item.
+     *
+     * @throws IOException if the work item could not be written
+     */
+    private void endItem() throws IOException {
+        if (!skipped) {
+            target.endObject();
+        }
+        skipped = false;
+    }
+
+    /**
+     * Copies the next JSON value from the reader through this writer, so that
+     * a work item which is already serialized gets its project name as well.
+     *
+     * @param reader the reader positioned before the value
+     * @throws IOException if the value could not be copied
+     */
+    private void copyValue(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_ARRAY:
+                reader.beginArray();
+                beginArray();
+                while (reader.hasNext()) {
+                    copyValue(reader);
+                }
+                reader.endArray();
+                endArray();
+                break;
+            case BEGIN_OBJECT:
+                reader.beginObject();
+                beginObject();
+                while (reader.hasNext()) {
+                    name(reader.nextName());
+                    copyValue(reader);
+                }
+                reader.endObject();
+                endObject();
+                break;
+            case NUMBER:
+                jsonValue(reader.nextString());
+                break;
+            case BOOLEAN:
+                value(reader.nextBoolean());
+                break;
+            case NULL:
+                reader.nextNull();
+                nullValue();
+                break;
+            default:
+                value(reader.nextString());
+                break;
+        }
+    }
+}
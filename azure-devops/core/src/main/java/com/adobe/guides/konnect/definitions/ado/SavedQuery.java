@@ -0,0 +1,77 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.ado;
+
+/**
+ * A cached saved query of Azure DevOps.<p>
+ * It holds the WIQL of the query, the last modified date
+ * used to check whether the query has changed, and the time it was last
+ * checked against Azure DevOps.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class SavedQuery {
+    private final String wiql;
+    private final String lastModifiedDate;
+    private final long checkedAt;
+
+    /**
+     * Sole constructor.
+     *
+     * @param wiql             the WIQL of the query
+     * @param lastModifiedDate the last modified date of the query
+     * @param checkedAt        the time in milliseconds the query was last checked
+     */
+    public SavedQuery(String wiql, String lastModifiedDate, long checkedAt) {
+        this.wiql = wiql;
+        this.lastModifiedDate = lastModifiedDate;
+        this.checkedAt = checkedAt;
+    }
+
+    /**
+     * Returns the WIQL of the query.
+     *
+     * @return a {@code String} which is the WIQL
+     */
+    public String getWiql() {
+        return wiql;
+    }
+
+    /**
+     * Returns the last modified date of the query.
+     *
+     * @return a {@code String} which is the last modified date
+     */
+    public String getLastModifiedDate() {
+        return lastModifiedDate;
+    }
+
+    /**
+     * Returns the time the query was last checked against Azure DevOps.
+     *
+     * @return the time in milliseconds
+     */
+    public long getCheckedAt() {
+        return checkedAt;
+    }
+
+    /**
+     * Returns a copy of this query checked again at the given time.
+     *
+     * @param checkedAt the time in milliseconds the query was checked
+     * @return a {@link SavedQuery} with the new check time
+     */
+    public SavedQuery checkedAt(long checkedAt) {
+        return new SavedQuery(wiql, lastModifiedDate, checkedAt);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.ado;
+
+import org.osgi.service.component.annotations.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.adobe.guides.konnect.definitions.ado.Constants.ADO_SAVED_QUERY_CACHE_SIZE;
+import static com.adobe.guides.konnect.definitions.ado.Constants.ADO_SAVED_QUERY_CACHE_TTL;
+
+/**
+ * In-memory cache of the saved queries of Azure DevOps.<p>
+ * Saved queries are cached per connection and query ID, so that a query is
+ * only served to the token it was fetched with. At most
+ * {@code ADO_SAVED_QUERY_CACHE_SIZE} queries are kept, the least recently used
+ * being dropped first. An entry is served as is until its time to live has
+ * passed; after that it has to be checked against the last modified date of
+ * the query before it is used again.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+@Component(service = SavedQueryCache.class)
+public class SavedQueryCache {
+
+    private final Map<String, SavedQuery> savedQueries = Collections.synchronizedMap(new LinkedHashMap<String, SavedQuery>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SavedQuery> eldest) {
+            return size() > ADO_SAVED_QUERY_CACHE_SIZE;
+        }
+    });
+
+    /**
+     * Returns the saved query cached for the connection and query ID.
+     *
+     * @param connectionKey the key of the connection, see
+     *                      {@link PersonalAccessTokenConfig#getConnectionKey()}
+     * @param queryId       the query ID
+     * @return the {@link SavedQuery}, or {@code null} if none is cached
+     */
+    public SavedQuery get(String connectionKey, String queryId) {
+        return savedQueries.get(getKey(connectionKey, queryId));
+    }
+
+    /**
+     * Caches the saved query for the connection and query ID, replacing any
+     * previous entry.
+     *
+     * @param connectionKey the key of the connection, see
+     *                      {@link PersonalAccessTokenConfig#getConnectionKey()}
+     * @param queryId       the query ID
+     * @param savedQuery    the saved query to be cached
+     */
+    public void put(String connectionKey, String queryId, SavedQuery savedQuery) {
+        savedQueries.put(getKey(connectionKey, queryId), savedQuery);
+    }
+
+    /**
+     * Removes the saved query cached for the connection and query ID.
+     *
+     * @param connectionKey the key of the connection, see
+     *                      {@link PersonalAccessTokenConfig#getConnectionKey()}
+     * @param queryId       the query ID
+     */
+    public void remove(String connectionKey, String queryId) {
+        savedQueries.remove(getKey(connectionKey, queryId));
+    }
+
+    /**
+     * Returns {@code true} if the saved query has to be checked against
+     * Azure DevOps before it is used.
+     *
+     * @param savedQuery the cached saved query
+     * @return {@code true} if the time to live of the entry has passed
+     */
+    public boolean isExpired(SavedQuery savedQuery) {
+        return System.currentTimeMillis() - savedQuery.getCheckedAt() > ADO_SAVED_QUERY_CACHE_TTL;
+    }
+
+    private String getKey(String connectionKey, String queryId) {
+        return connectionKey + "\n" + queryId;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+
+package com.adobe.guides.konnect.definitions.ado;
+
+/**
+ * The result of running a WIQL query.<p>
+ * It holds the IDs of the matching work items, the fields selected by the
+ * query and the {@code asOf} time of the query. A query whose result exceeds
+ * the Azure DevOps size limit is run in partitions; the IDs of such a result
+ * are not in the order of the query.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class WiqlQueryResult {
+    private final int[] ids;
+    private final String[] fields;
+    private final String asOf;
+    private final boolean partitioned;
+
+    /**
+     * Sole constructor.
+     *
+     * @param ids         the work item IDs
+     * @param fields      the fields selected by the query
+     * @param asOf        the {@code asOf} time of the query
+     * @param partitioned {@code true} if the query was run in partitions
+     */
+    public WiqlQueryResult(int[] ids, String[] fields, String asOf, boolean partitioned) {
+        this.ids = ids;
+        this.fields = fields;
+        this.asOf = asOf;
+        this.partitioned = partitioned;
+    }
+
+    /**
+     * Returns the work item IDs.
+     *
+     * @return an array of work item IDs
+     */
+    public int[] getIds() {
+        return ids;
+    }
+
+    /**
+     * Returns the fields selected by the query.
+     *
+     * @return an array of field reference names
+     */
+    public String[] getFields() {
+        return fields;
+    }
+
+    /**
+     * Returns the {@code asOf} time of the query.
+     *
+     * @return a {@code String} which is the {@code asOf} time
+     */
+    public String getAsOf() {
+        return asOf;
+    }
+
+    /**
+     * Returns {@code true} if the query was run in partitions.
+     *
+     * @return {@code true} if the query was run in partitions
+     */
+    public boolean isPartitioned() {
+        return partitioned;
+    }
+
+    /**
+     * Returns {@code true} if the query returned no work items or no fields.
+     *
+     * @return {@code true} if there is nothing to fetch
+     */
+    public boolean isEmpty() {
+        return ids.length == 0 || fields.length == 0;
+    }
+}
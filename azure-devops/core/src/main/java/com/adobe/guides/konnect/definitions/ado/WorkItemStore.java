@@ -0,0 +1,59 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+
+package com.adobe.guides.konnect.definitions.ado;
+
+/**
+ * Local store of work items used by the incremental sync of the
+ * Azure DevOps connector.<p>
+ * Each entry is identified by a key derived from the connection key of the
+ * config, which hashes its organization and token, and the project and WIQL
+ * of a query.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public interface WorkItemStore {
+
+    /**
+     * Returns the key of the entry for a query.
+     *
+     * @param connectionKey the connection key of the config
+     * @param project       the project name
+     * @param wiql          the WIQL query
+     * @return a {@code String} which is the key of the entry
+     */
+    String getKey(String connectionKey, String project, String wiql);
+
+    /**
+     * Returns the entry stored for the key.
+     *
+     * @param key the key of the entry
+     * @return the {@link WorkItemStoreEntry}, or {@code null} if none is stored
+     */
+    WorkItemStoreEntry get(String key);
+
+    /**
+     * Stores the entry for the key, replacing any previous entry.
+     *
+     * @param key   the key of the entry
+     * @param entry the entry to be stored
+     */
+    void put(String key, WorkItemStoreEntry entry);
+
+    /**
+     * Removes the entry stored for the key.
+     *
+     * @param key the key of the entry
+     */
+    void remove(String key);
+}
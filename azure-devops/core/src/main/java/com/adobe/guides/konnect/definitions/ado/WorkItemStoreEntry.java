@@ -0,0 +1,70 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+
+package com.adobe.guides.konnect.definitions.ado;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A locally stored result of a WIQL query used for incremental sync.<p>
+ * It holds the watermark (the {@code asOf} time of the last sync), the
+ * fields returned by the query and the JSON of every work item in query order.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class WorkItemStoreEntry {
+    private String watermark;
+    private String[] fields;
+    private LinkedHashMap<Integer, String> items;
+
+    /**
+     * Sole constructor.
+     *
+     * @param watermark the {@code asOf} time of the query this entry was built from
+     * @param fields    the fields returned by the query
+     * @param items     the work item JSON keyed by work item ID, in query order
+     */
+    public WorkItemStoreEntry(String watermark, String[] fields, LinkedHashMap<Integer, String> items) {
+        this.watermark = watermark;
+        this.fields = fields;
+        this.items = items;
+    }
+
+    /**
+     * Returns the watermark of this entry.
+     *
+     * @return a {@code String} which is the {@code asOf} time of the last sync
+     */
+    public String getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * Returns the fields returned by the query.
+     *
+     * @return an array of field reference names
+     */
+    public String[] getFields() {
+        return fields;
+    }
+
+    /**
+     * Returns the work items of this entry.
+     *
+     * @return a {@code Map} of work item ID to work item JSON, in query order
+     */
+    public Map<Integer, String> getItems() {
+        return items;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.ado;
+
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the rewrites of the WIQL queries of users done by the
+ * {@link AzureDevopsUtility}.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class AzureDevopsUtilityTest {
+
+    private static final String SELECT = "Select [System.Id], [System.Title] From WorkItems";
+
+    private final AzureDevopsUtility utility = new AzureDevopsUtility();
+
+    @Test
+    public void addsConditionBeforeOrderBy() {
+        assertEquals(SELECT + " Where [System.TeamProject] = @project And ([System.State] = 'New') Order By [System.Id]",
+                utility.addProjectFilter(SELECT + " Where [System.State] = 'New' Order By [System.Id]"));
+    }
+
+    @Test
+    public void addsWhereClauseToQueryWithoutOne() {
+        assertEquals(SELECT + " Where [System.TeamProject] = @project",
+                utility.addProjectFilter(SELECT));
+        assertEquals(SELECT + " Where [System.TeamProject] = @project Order By [System.Id]",
+                utility.addProjectFilter(SELECT + " Order By [System.Id]"));
+        assertEquals(SELECT + " Where [System.TeamProject] = @project AsOf '2024-01-01'",
+                utility.addProjectFilter(SELECT + " AsOf '2024-01-01'"));
+    }
+
+    @Test
+    public void ignoresKeywordsInQuotedLiterals() {
+        assertEquals(SELECT + " Where [System.TeamProject] = @project And ([System.Title] = 'Where to Order By AsOf Mode') Order By [System.Id]",
+                utility.addProjectFilter(SELECT + " Where [System.Title] = 'Where to Order By AsOf Mode' Order By [System.Id]"));
+        assertEquals(SELECT + " Where [System.TeamProject] = @project And ([System.Title] = \"it's where\")",
+                utility.addProjectFilter(SELECT + " Where [System.Title] = \"it's where\""));
+        assertEquals(SELECT + " Where [System.TeamProject] = @project And ([System.Title] = 'it''s where')",
+                utility.addProjectFilter(SELECT + " Where [System.Title] = 'it''s where'"));
+    }
+
+    @Test
+    public void ignoresKeywordsInFieldNames() {
+        assertEquals(SELECT + " Where [System.TeamProject] = @project And ([Custom.Where] = 1) Order By [Custom.Mode]",
+                utility.addProjectFilter(SELECT + " Where [Custom.Where] = 1 Order By [Custom.Mode]"));
+    }
+
+    @Test
+    public void keepsPrecedenceOfOrConditions() {
+        assertEquals(SELECT + " Where [System.Id] >= 1 And [System.Id] <= 100 And ([System.State] = 'New' Or [System.State] = 'Active')",
+                utility.addIdRangeFilter(SELECT + " Where [System.State] = 'New' Or [System.State] = 'Active'", 1, 100));
+    }
+
+    @Test
+    public void addsChangedDateFilterBeforeAsOf() {
+        assertEquals(SELECT + " Where [System.ChangedDate] >= '2024-03-09' And ([System.State] = 'New') AsOf '2024-01-01T00:00:00Z'",
+                utility.addChangedDateFilter(SELECT + " Where [System.State] = 'New' AsOf '2024-01-01T00:00:00Z'", "2024-03-10T12:00:00.000Z"));
+    }
+
+    @Test
+    public void addsConditionBeforeModeOfLinkQuery() {
+        String wiql = "Select [System.Id] From WorkItemLinks Where [Source].[System.WorkItemType] = 'Epic' Mode (Recursive)";
+        assertEquals("Select [System.Id] From WorkItemLinks Where [System.TeamProject] = @project And ([Source].[System.WorkItemType] = 'Epic') Mode (Recursive)",
+                utility.addProjectFilter(wiql));
+    }
+
+    @Test
+    public void replacesOrderBy() {
+        assertEquals(SELECT + " Where [System.State] = 'New' Order By [System.Id] Desc",
+                utility.replaceOrderBy(SELECT + " Where [System.State] = 'New' Order By [System.Title] Asc, [System.Id]", "[System.Id] Desc"));
+        assertEquals(SELECT + " Order By [System.Id] Desc",
+                utility.replaceOrderBy(SELECT, "[System.Id] Desc"));
+    }
+
+    @Test
+    public void replacesOrderByKeepingAsOfAndMode() {
+        assertEquals(SELECT + " Order By [System.Id] AsOf '2024-01-01'",
+                utility.replaceOrderBy(SELECT + " Order By [System.Title] AsOf '2024-01-01'", "[System.Id]"));
+        assertEquals(SELECT + " Order By [System.Id] AsOf '2024-01-01'",
+                utility.replaceOrderBy(SELECT + " AsOf '2024-01-01'", "[System.Id]"));
+        assertEquals("Select [System.Id] From WorkItemLinks Order By [System.Id] Mode (MustContain)",
+                utility.replaceOrderBy("Select [System.Id] From WorkItemLinks Order By [System.Title] Mode (MustContain)", "[System.Id]"));
+    }
+
+    @Test
+    public void replacesOrderByIgnoringLiterals() {
+        assertEquals(SELECT + " Where [System.Title] = 'order by asof' Order By [System.Id]",
+                utility.replaceOrderBy(SELECT + " Where [System.Title] = 'order by asof'", "[System.Id]"));
+    }
+
+    @Test
+    public void readsOrderBy() {
+        Map<String, Boolean> expected = new LinkedHashMap<>();
+        expected.put("System.Title", true);
+        expected.put("System.Id", false);
+        assertEquals(expected, utility.getOrderBy(SELECT + " Where [System.Title] = 'order by' Order By [System.Title], [System.Id] Desc AsOf '2024-01-01'"));
+        assertEquals(expected, utility.getOrderBy("Select [System.Id] From WorkItemLinks Order By [System.Title] Asc, [System.Id] DESC Mode (Recursive)"));
+        assertTrue(utility.getOrderBy(SELECT + " Where [System.Title] = 'order by [System.Id]'").isEmpty());
+    }
+
+    @Test
+    public void detectsWorkItemQueries() {
+        assertTrue(utility.isWorkItemQuery(SELECT + " Where [System.State] = 'New'"));
+        assertFalse(utility.isWorkItemQuery("Select [System.Id] From WorkItemLinks Where [System.Title] = 'from workitems'"));
+    }
+}
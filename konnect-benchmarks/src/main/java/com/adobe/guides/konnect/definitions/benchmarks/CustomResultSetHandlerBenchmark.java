@@ -0,0 +1,116 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.benchmarks;
+
+import com.adobe.guides.konnect.definitions.core.util.CustomResultSetHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link CustomResultSetHandler} on synthetic result sets,
+ * so that the conversion of rows is measured without a database.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomResultSetHandlerBenchmark {
+
+    /**
+     * Number of rows in the result set.
+     */
+    @Param({"100", "10000"})
+    private int rows;
+
+    /**
+     * Number of columns in the result set.
+     */
+    @Param({"8", "32"})
+    private int columns;
+
+    private final CustomResultSetHandler handler = new CustomResultSetHandler();
+    private String[] columnNames;
+    private Object[] values;
+
+    /**
+     * Builds the column names and the values of a row.
+     */
+    @Setup
+    public void setup() {
+        columnNames = new String[columns];
+        values = new Object[columns];
+        for (int i = 0; i < columns; i++) {
+            columnNames[i] = "COLUMN_" + i;
+            values[i] = i % 2 == 0 ? (Object) ("value " + i) : (Object) i;
+        }
+    }
+
+    @Benchmark
+    public Map<String, List<Object>> handle() throws Exception {
+        return handler.handle(newResultSet());
+    }
+
+    /**
+     * Returns a forward-only result set of {@code rows} identical rows.
+     *
+     * @return a synthetic {@link ResultSet}.
+     */
+    private ResultSet newResultSet() {
+        ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[]{ResultSetMetaData.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getColumnCount":
+                            return columns;
+                        case "getColumnLabel":
+                        case "getColumnName":
+                            return columnNames[(Integer) args[0] - 1];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        int[] cursor = {0};
+        return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[]{ResultSet.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next":
+                            return ++cursor[0] <= rows;
+                        case "getMetaData":
+                            return metaData;
+                        case "getObject":
+                            return values[(Integer) args[0] - 1];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
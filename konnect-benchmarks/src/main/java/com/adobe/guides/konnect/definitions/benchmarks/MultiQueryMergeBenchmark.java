@@ -0,0 +1,221 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.benchmarks;
+
+import com.adobe.guides.konnect.definitions.core.config.AuthenticationDetails;
+import com.adobe.guides.konnect.definitions.core.config.Config;
+import com.adobe.guides.konnect.definitions.core.config.ConfigDto;
+import com.adobe.guides.konnect.definitions.core.config.RestConfig;
+import com.adobe.guides.konnect.definitions.core.connector.RestConnector;
+import com.adobe.guides.konnect.definitions.core.query.QueryInfoDto;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.params.BasicHttpParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the merge of query results in
+ * {@link RestConnector#execute(ConfigDto, List)}.
+ * <p>
+ * The connector is backed by an HTTP client which answers every request
+ * with the same canned response, so the benchmark measures the preparation
+ * of the requests and the parsing and merging of the responses without
+ * any network I/O.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MultiQueryMergeBenchmark {
+
+    /**
+     * Number of queries in the list.
+     */
+    @Param({"1", "10"})
+    private int queries;
+
+    /**
+     * Number of records in each response.
+     */
+    @Param({"10", "1000"})
+    private int records;
+
+    private StubRestConnector connector;
+    private ConfigDto configDto;
+    private List<QueryInfoDto> queryInfoList;
+
+    /**
+     * Builds the connector, its config and the list of queries.
+     */
+    @Setup
+    public void setup() {
+        StringBuilder response = new StringBuilder("{\"meta\":{\"total_entries\":").append(records).append("},\"data\":[");
+        for (int i = 0; i < records; i++) {
+            if (i > 0) {
+                response.append(',');
+            }
+            response.append("{\"salsify:id\":\"").append(i).append("\",\"Name\":\"Product ").append(i)
+                    .append("\",\"Price\":").append(i * 10).append(",\"Tags\":[\"a\",\"b\",\"c\"]}");
+        }
+        response.append("]}");
+        connector = new StubRestConnector(new StubHttpClient(response.toString()));
+        configDto = new ConfigDto();
+        configDto.setConfig(new StubRestConfig());
+        queryInfoList = new ArrayList<>();
+        for (int i = 0; i < queries; i++) {
+            QueryInfoDto queryInfo = new QueryInfoDto();
+            queryInfo.setQuery("page=" + i);
+            queryInfo.setQueryName("query" + i);
+            queryInfoList.add(queryInfo);
+        }
+    }
+
+    @Benchmark
+    public String executeList() throws Exception {
+        return connector.execute(configDto, queryInfoList);
+    }
+
+    /**
+     * A {@link RestConnector} which sends its requests to a {@link StubHttpClient}.
+     */
+    private static final class StubRestConnector extends RestConnector {
+        private final HttpClient httpClient;
+
+        private StubRestConnector(HttpClient httpClient) {
+            this.httpClient = httpClient;
+        }
+
+        @Override
+        public RestConfig getRestConfig(Config config) {
+            return (RestConfig) config;
+        }
+
+        @Override
+        public String getQueryWithLimit(String query) {
+            return query;
+        }
+
+        @Override
+        public HttpClient getHttpClient() {
+            return httpClient;
+        }
+
+        @Override
+        public String getName() {
+            return "Benchmark";
+        }
+
+        @Override
+        public Class[] getConfigClass() {
+            return new Class[]{StubRestConfig.class};
+        }
+    }
+
+    /**
+     * A {@link RestConfig} without authentication.
+     */
+    private static final class StubRestConfig extends RestConfig {
+        private final AuthenticationDetails authenticationDetails = new AuthenticationDetails();
+
+        private StubRestConfig() {
+            super("https://example.com/api/v1/products", "GET", "", Collections.singletonMap("Accept", "application/json"));
+        }
+
+        @Override
+        public AuthenticationDetails getAuthenticationDetails() {
+            return authenticationDetails;
+        }
+
+        @Override
+        public String getName() {
+            return "Benchmark";
+        }
+    }
+
+    /**
+     * An HTTP client which answers every request with the same response.
+     */
+    private static final class StubHttpClient extends CloseableHttpClient {
+        private final StringEntity entity;
+
+        private StubHttpClient(String response) {
+            this.entity = new StringEntity(response, ContentType.APPLICATION_JSON);
+        }
+
+        @Override
+        protected CloseableHttpResponse doExecute(HttpHost target, HttpRequest request, HttpContext context) {
+            StubHttpResponse response = new StubHttpResponse();
+            response.setEntity(entity);
+            return response;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        @Deprecated
+        public HttpParams getParams() {
+            return new BasicHttpParams();
+        }
+
+        @Override
+        @Deprecated
+        public ClientConnectionManager getConnectionManager() {
+            return null;
+        }
+    }
+
+    /**
+     * A successful HTTP response which holds no resources.
+     */
+    private static final class StubHttpResponse extends BasicHttpResponse implements CloseableHttpResponse {
+
+        private StubHttpResponse() {
+            super(HttpVersion.HTTP_1_1, 200, "OK");
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.benchmarks;
+
+import com.adobe.guides.konnect.definitions.core.urlResource.RestResourceDao;
+import com.adobe.guides.konnect.definitions.core.util.RestResourceArrayDeserializer;
+import com.adobe.guides.konnect.definitions.core.util.RestResourceDeserializer;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link RestResourceDeserializer} and
+ * {@link RestResourceArrayDeserializer}, which read the resource list of a
+ * REST config.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RestResourceDeserializerBenchmark {
+
+    private static final Type RESOURCE_LIST_TYPE = new TypeToken<List<RestResourceDao>>() {
+    }.getType();
+
+    /**
+     * Number of resources in the resource list.
+     */
+    @Param({"10", "100"})
+    private int resources;
+
+    private Gson gson;
+    private String resourceJson;
+    private String resourceListJson;
+
+    /**
+     * Builds the Gson instance and the JSON of the resources.
+     */
+    @Setup
+    public void setup() {
+        gson = new GsonBuilder()
+                .registerTypeAdapter(RestResourceDao.class, new RestResourceDeserializer())
+                .registerTypeAdapter(RESOURCE_LIST_TYPE, new RestResourceArrayDeserializer())
+                .create();
+        resourceJson = getResourceJson(0);
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < resources; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(getResourceJson(i));
+        }
+        resourceListJson = builder.append(']').toString();
+    }
+
+    /**
+     * Returns the JSON of a resource.
+     *
+     * @param index the index of the resource, used to keep names unique.
+     * @return a {@code String} which is the JSON of the resource.
+     */
+    private static String getResourceJson(int index) {
+        return "{\"id\":\"resource-" + index + "\",\"name\":\"Resource " + index + "\","
+                + "\"url\":\"/api/rest/v1/resource-" + index + "\",\"requestType\":\"get\",\"body\":\"\","
+                + "\"sampleQuery\":\"limit=10\",\"isDefault\":" + (index == 0) + ",\"isEnabled\":true,"
+                + "\"headers\":{\"Accept\":\"application/json\",\"X-Request-Id\":\"" + index + "\"}}";
+    }
+
+    @Benchmark
+    public RestResourceDao deserializeResource() {
+        return gson.fromJson(resourceJson, RestResourceDao.class);
+    }
+
+    @Benchmark
+    public List<RestResourceDao> deserializeResourceList() {
+        return gson.fromJson(resourceListJson, RESOURCE_LIST_TYPE);
+    }
+}
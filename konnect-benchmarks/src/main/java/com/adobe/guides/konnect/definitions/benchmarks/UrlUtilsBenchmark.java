@@ -0,0 +1,66 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.benchmarks;
+
+import com.adobe.guides.konnect.definitions.core.util.UrlUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the URL handling of {@link UrlUtils}, which resolves the
+ * URL of the selected resource on every request.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UrlUtilsBenchmark {
+
+    private static final String BASE_URL = "https://example.akeneo.com/api/rest/v1";
+    private final List<String> pathSegments = Arrays.asList("api", "rest", "v1", "products-uuid");
+
+    @Benchmark
+    public String absoluteUrlFromRelativeUrl() {
+        return UrlUtils.getAbsoluteURLFromBaseAndRelativeUrl(BASE_URL, "/products-uuid", BASE_URL);
+    }
+
+    @Benchmark
+    public String absoluteUrlFromAbsoluteUrl() {
+        return UrlUtils.getAbsoluteURLFromBaseAndRelativeUrl(BASE_URL, "https://example.akeneo.com/api/rest/v1/families", BASE_URL);
+    }
+
+    @Benchmark
+    public String absoluteUrlFromBlankUrl() {
+        return UrlUtils.getAbsoluteURLFromBaseAndRelativeUrl(BASE_URL, "", BASE_URL);
+    }
+
+    @Benchmark
+    public String appendPathSegments() throws Exception {
+        return UrlUtils.appendPathSegments("https://example.akeneo.com/", pathSegments);
+    }
+}
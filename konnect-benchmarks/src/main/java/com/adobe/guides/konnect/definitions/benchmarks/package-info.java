@@ -0,0 +1,5 @@
+/**
+ * This is the group of files for storing JMH benchmarks of the
+ * hot paths of the core package.
+ */
+package com.adobe.guides.konnect.definitions.benchmarks;
@@ -0,0 +1,273 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.cache;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.HTTP_CACHE_DEFAULT_MAX_SIZE;
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.HTTP_CACHE_DIR;
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.HTTP_CACHE_MAX_SIZE_PROPERTY;
+
+/**
+ * File-backed {@link HttpCache}.<p>
+ * Each entry is written as a JSON file in a folder under the temporary
+ * directory of the instance. Writes go to a temporary file which is then
+ * moved in place, so readers never see a partially written entry.
+ *
+ * <p>The size of the entries is kept in memory in least recently used order.
+ * When the entries take more than <tt>maxSizeBytes</tt> on disk, the least
+ * recently used ones are removed. The entries left by a previous run are
+ * picked up on activation, oldest first.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+@Component(service = HttpCache.class, immediate = true,
+        property = {HTTP_CACHE_MAX_SIZE_PROPERTY + ":Long=" + HTTP_CACHE_DEFAULT_MAX_SIZE})
+public class FileHttpCache implements HttpCache {
+
+    private static final Logger log = LoggerFactory.getLogger(FileHttpCache.class);
+    private static final String ENTRY_SUFFIX = ".json";
+    private final transient Gson gson = new GsonBuilder().disableHtmlEscaping().create();
+    private final Path cacheDir = Paths.get(System.getProperty("java.io.tmpdir"), HTTP_CACHE_DIR);
+    private final LinkedHashMap<String, Long> sizes = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalSize;
+    private volatile long maxSize = HTTP_CACHE_DEFAULT_MAX_SIZE;
+
+    /**
+     * Loads the entries stored by a previous run and starts caching the
+     * responses of {@code RestInvoker}.
+     *
+     * @param properties the properties of this component.
+     */
+    @Activate
+    protected void activate(Map<String, Object> properties) {
+        configure(properties);
+        loadEntries();
+        evict();
+        HttpCacheProvider.register(this);
+    }
+
+    /**
+     * Applies a new disk budget, removing entries if it is exceeded.
+     *
+     * @param properties the properties of this component.
+     */
+    @Modified
+    protected void modified(Map<String, Object> properties) {
+        configure(properties);
+        evict();
+    }
+
+    /**
+     * Stops caching the responses of {@code RestInvoker}. The entries are
+     * kept on disk for the next run.
+     */
+    @Deactivate
+    protected void deactivate() {
+        HttpCacheProvider.unregister(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getKey(String url, String identity) {
+        String key = url + "\n" + identity;
+        return UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public HttpCacheEntry get(String key) {
+        synchronized (sizes) {
+            if (sizes.get(key) == null) {
+                return null;
+            }
+        }
+        try (Reader reader = Files.newBufferedReader(getFile(key), StandardCharsets.UTF_8)) {
+            return gson.fromJson(reader, HttpCacheEntry.class);
+        } catch (Exception e) {
+            log.warn("[HttpCache] Error in reading cache entry {}", key, e);
+            remove(key);
+            return null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void put(String key, HttpCacheEntry entry) {
+        try {
+            Files.createDirectories(cacheDir);
+            Path tempFile = Files.createTempFile(cacheDir, key, ".tmp");
+            try {
+                try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                    gson.toJson(entry, writer);
+                }
+                long size = Files.size(tempFile);
+                if (size > maxSize) {
+                    remove(key);
+                    return;
+                }
+                synchronized (sizes) {
+                    Files.move(tempFile, getFile(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    Long previous = sizes.put(key, size);
+                    totalSize += size - (previous != null ? previous : 0);
+                }
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+            evict();
+        } catch (IOException e) {
+            log.warn("[HttpCache] Error in writing cache entry {}", key, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void remove(String key) {
+        synchronized (sizes) {
+            delete(key);
+        }
+    }
+
+    /**
+     * Reads the disk budget from the properties of this component.
+     *
+     * @param properties the properties of this component.
+     */
+    private void configure(Map<String, Object> properties) {
+        Object value = properties != null ? properties.get(HTTP_CACHE_MAX_SIZE_PROPERTY) : null;
+        try {
+            maxSize = value != null ? Long.parseLong(value.toString()) : HTTP_CACHE_DEFAULT_MAX_SIZE;
+        } catch (NumberFormatException e) {
+            log.warn("[HttpCache] Invalid {} {}, using {}", HTTP_CACHE_MAX_SIZE_PROPERTY, value, HTTP_CACHE_DEFAULT_MAX_SIZE);
+            maxSize = HTTP_CACHE_DEFAULT_MAX_SIZE;
+        }
+    }
+
+    /**
+     * Adds the entries found in the cache folder to the index, oldest first,
+     * so that they are the first to be evicted.
+     */
+    private void loadEntries() {
+        if (!Files.isDirectory(cacheDir)) {
+            return;
+        }
+        Map<String, BasicFileAttributes> entries = new HashMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(cacheDir)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(ENTRY_SUFFIX)) {
+                    entries.put(name.substring(0, name.length() - ENTRY_SUFFIX.length()), Files.readAttributes(file, BasicFileAttributes.class));
+                } else {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("[HttpCache] Error in reading cache entries", e);
+        }
+        List<Map.Entry<String, BasicFileAttributes>> oldestFirst = new ArrayList<>(entries.entrySet());
+        oldestFirst.sort(Comparator.comparing(entry -> entry.getValue().lastModifiedTime()));
+        synchronized (sizes) {
+            for (Map.Entry<String, BasicFileAttributes> entry : oldestFirst) {
+                Long previous = sizes.put(entry.getKey(), entry.getValue().size());
+                totalSize += entry.getValue().size() - (previous != null ? previous : 0);
+            }
+        }
+    }
+
+    /**
+     * Removes the least recently used entries until the entries fit in the
+     * disk budget.
+     */
+    private void evict() {
+        synchronized (sizes) {
+            Iterator<Map.Entry<String, Long>> entries = sizes.entrySet().iterator();
+            while (totalSize > maxSize && entries.hasNext()) {
+                Map.Entry<String, Long> entry = entries.next();
+                entries.remove();
+                totalSize -= entry.getValue();
+                deleteFile(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Removes an entry from the index and from disk. Must be called while
+     * holding the lock on the index.
+     *
+     * @param key {@code String} key of the entry.
+     */
+    private void delete(String key) {
+        Long size = sizes.remove(key);
+        if (size != null) {
+            totalSize -= size;
+        }
+        deleteFile(key);
+    }
+
+    /**
+     * Deletes the file of an entry.
+     *
+     * @param key {@code String} key of the entry.
+     */
+    private void deleteFile(String key) {
+        try {
+            Files.deleteIfExists(getFile(key));
+        } catch (IOException e) {
+            log.warn("[HttpCache] Error in removing cache entry {}", key, e);
+        }
+    }
+
+    /**
+     * Returns the file of an entry.
+     *
+     * @param key {@code String} key of the entry.
+     * @return {@link Path} of the file.
+     */
+    private Path getFile(String key) {
+        return cacheDir.resolve(key + ENTRY_SUFFIX);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.cache;
+
+/**
+ * Service interface to store the responses of the external data sources.
+ *
+ * <p>Responses are stored per key, which identifies the URL of a request
+ * together with the identity it was sent with, so that a response is never
+ * served to a request with other credentials. Implementations are called on
+ * the request path of every query, so they must be thread-safe. An
+ * implementation registered as an OSGi service is used by {@code RestInvoker}
+ * once it registers itself with {@link HttpCacheProvider#register(HttpCache)}.
+ *
+ * @author Adobe
+ * @see FileHttpCache
+ * @since 1.0.0
+ */
+public interface HttpCache {
+
+    /**
+     * Returns the key of the response to a request.
+     *
+     * @param url      {@code String} URL of the request, including its query.
+     * @param identity {@code String} which identifies the credentials of the
+     *                 request.
+     * @return {@code String} key of the response.
+     */
+    String getKey(String url, String identity);
+
+    /**
+     * Returns the response stored for a key.
+     *
+     * @param key {@code String} key of the response.
+     * @return {@link HttpCacheEntry} object, or {@code null} if nothing is stored.
+     */
+    HttpCacheEntry get(String key);
+
+    /**
+     * Stores a response for a key, replacing the response stored before.
+     *
+     * @param key   {@code String} key of the response.
+     * @param entry {@link HttpCacheEntry} to be stored.
+     */
+    void put(String key, HttpCacheEntry entry);
+
+    /**
+     * Removes the response stored for a key, if any.
+     *
+     * @param key {@code String} key of the response.
+     */
+    void remove(String key);
+}
@@ -0,0 +1,193 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.cache;
+
+/**
+ * Entry of an {@link HttpCache}. It holds the body of a response together
+ * with the validators sent by the data source, <tt>ETag</tt> and
+ * <tt>Last-Modified</tt>, and the freshness of the response given by its
+ * <tt>Cache-Control</tt> header.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class HttpCacheEntry {
+
+    private String url;
+    private String body;
+    private String etag;
+    private String lastModified;
+    private long storedAt;
+    private long maxAge;
+    private boolean noCache;
+
+    /**
+     * Returns the URL of the request the response was received for.
+     *
+     * @return {@code String} URL of the request.
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Sets the URL of the request the response was received for.
+     *
+     * @param url {@code String} URL of the request.
+     * @return {@link HttpCacheEntry} object.
+     */
+    public HttpCacheEntry setUrl(String url) {
+        this.url = url;
+        return this;
+    }
+
+    /**
+     * Returns the body of the response.
+     *
+     * @return {@code String} body of the response.
+     */
+    public String getBody() {
+        return body;
+    }
+
+    /**
+     * Sets the body of the response.
+     *
+     * @param body {@code String} body of the response.
+     * @return {@link HttpCacheEntry} object.
+     */
+    public HttpCacheEntry setBody(String body) {
+        this.body = body;
+        return this;
+    }
+
+    /**
+     * Returns the <tt>ETag</tt> of the response.
+     *
+     * @return {@code String} <tt>ETag</tt>, or {@code null} if none was sent.
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * Sets the <tt>ETag</tt> of the response.
+     *
+     * @param etag {@code String} <tt>ETag</tt> of the response.
+     * @return {@link HttpCacheEntry} object.
+     */
+    public HttpCacheEntry setEtag(String etag) {
+        this.etag = etag;
+        return this;
+    }
+
+    /**
+     * Returns the <tt>Last-Modified</tt> date of the response.
+     *
+     * @return {@code String} <tt>Last-Modified</tt> date, or {@code null} if
+     * none was sent.
+     */
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Sets the <tt>Last-Modified</tt> date of the response.
+     *
+     * @param lastModified {@code String} <tt>Last-Modified</tt> date of the response.
+     * @return {@link HttpCacheEntry} object.
+     */
+    public HttpCacheEntry setLastModified(String lastModified) {
+        this.lastModified = lastModified;
+        return this;
+    }
+
+    /**
+     * Returns the time the response was received or last revalidated.
+     *
+     * @return the time in milliseconds since the epoch.
+     */
+    public long getStoredAt() {
+        return storedAt;
+    }
+
+    /**
+     * Sets the time the response was received or last revalidated.
+     *
+     * @param storedAt the time in milliseconds since the epoch.
+     * @return {@link HttpCacheEntry} object.
+     */
+    public HttpCacheEntry setStoredAt(long storedAt) {
+        this.storedAt = storedAt;
+        return this;
+    }
+
+    /**
+     * Returns the <tt>max-age</tt> of the response.
+     *
+     * @return the <tt>max-age</tt> in seconds, {@code 0} if none was sent.
+     */
+    public long getMaxAge() {
+        return maxAge;
+    }
+
+    /**
+     * Sets the <tt>max-age</tt> of the response.
+     *
+     * @param maxAge the <tt>max-age</tt> in seconds.
+     * @return {@link HttpCacheEntry} object.
+     */
+    public HttpCacheEntry setMaxAge(long maxAge) {
+        this.maxAge = maxAge;
+        return this;
+    }
+
+    /**
+     * Returns whether the response must be revalidated before every use.
+     *
+     * @return {@code true} if the response was sent with <tt>no-cache</tt>.
+     */
+    public boolean isNoCache() {
+        return noCache;
+    }
+
+    /**
+     * Sets whether the response must be revalidated before every use.
+     *
+     * @param noCache {@code true} if the response was sent with <tt>no-cache</tt>.
+     * @return {@link HttpCacheEntry} object.
+     */
+    public HttpCacheEntry setNoCache(boolean noCache) {
+        this.noCache = noCache;
+        return this;
+    }
+
+    /**
+     * Returns whether the response can be used without revalidating it.
+     *
+     * @param now the current time in milliseconds since the epoch.
+     * @return {@code true} if the response is still fresh.
+     */
+    public boolean isFresh(long now) {
+        return !noCache && maxAge > 0 && now - storedAt < maxAge * 1000;
+    }
+
+    /**
+     * Returns whether the response can be revalidated with the data source.
+     *
+     * @return {@code true} if the response has an <tt>ETag</tt> or a
+     * <tt>Last-Modified</tt> date.
+     */
+    public boolean hasValidators() {
+        return etag != null || lastModified != null;
+    }
+}
@@ -0,0 +1,203 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.cache;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Utility class which applies the HTTP caching rules to the requests sent
+ * by {@code RestInvoker} and to their responses.
+ *
+ * <p>Only <tt>GET</tt> requests are cached. A stored response is used without
+ * a request while it is fresh according to its <tt>max-age</tt>, and is
+ * revalidated with <tt>If-None-Match</tt> and <tt>If-Modified-Since</tt>
+ * afterwards. A response sent with <tt>no-store</tt> is never stored.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public final class HttpCachePolicy {
+
+    private static final String NO_STORE = "no-store";
+    private static final String NO_CACHE = "no-cache";
+    private static final String MAX_AGE = "max-age";
+
+    private HttpCachePolicy() {
+    }
+
+    /**
+     * Returns whether the response to a request can be cached.
+     *
+     * @param uriRequest {@link HttpUriRequest} to be sent.
+     * @return {@code true} if the request is a <tt>GET</tt> request which
+     * does not forbid caching.
+     */
+    public static boolean isCacheable(HttpUriRequest uriRequest) {
+        if (!"GET".equals(uriRequest.getMethod())) {
+            return false;
+        }
+        for (Header header : uriRequest.getHeaders(HttpHeaders.CACHE_CONTROL)) {
+            if (hasDirective(header.getValue(), NO_STORE)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the identity of a request whose credentials are not known, made
+     * of its <tt>Authorization</tt> headers. Credentials sent in the query are
+     * part of the URL, so the URL and the identity together tell apart the
+     * responses received with different credentials.
+     *
+     * @param uriRequest {@link HttpUriRequest} to be sent.
+     * @return {@code String} identity of the request.
+     */
+    public static String getIdentity(HttpUriRequest uriRequest) {
+        Header authorization = uriRequest.getFirstHeader(HttpHeaders.AUTHORIZATION);
+        return getIdentity(authorization != null
+                ? Collections.singletonMap(HttpHeaders.AUTHORIZATION, authorization.getValue()) : null, null);
+    }
+
+    /**
+     * Returns the identity of the credentials of a config, which are its
+     * authentication headers and query parameters. Header names are compared
+     * without case, and both are sorted by name, so that the same credentials
+     * always give the same identity. Only a hash of the values is kept.
+     *
+     * @param authHeaders {@code Map<String, String>} authentication headers, may be {@code null}.
+     * @param authQuery   {@code Map<String, String>} authentication query parameters, may be {@code null}.
+     * @return {@code String} identity of the credentials.
+     */
+    public static String getIdentity(Map<String, String> authHeaders, Map<String, String> authQuery) {
+        Map<String, String> headers = new TreeMap<>();
+        if (authHeaders != null) {
+            authHeaders.forEach((name, value) -> headers.put(name.toLowerCase(Locale.ROOT), value));
+        }
+        StringBuilder identity = new StringBuilder();
+        headers.forEach((name, value) -> identity.append(name).append(':').append(value).append('\n'));
+        if (authQuery != null) {
+            new TreeMap<>(authQuery).forEach((name, value) -> identity.append('?').append(name).append('=').append(value).append('\n'));
+        }
+        return UUID.nameUUIDFromBytes(identity.toString().getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * Adds the validators of a stored response to a request, so that the data
+     * source answers with <tt>304 Not Modified</tt> if the response did not
+     * change.
+     *
+     * @param uriRequest {@link HttpUriRequest} to be sent.
+     * @param entry      {@link HttpCacheEntry} stored for the request.
+     */
+    public static void addValidators(HttpUriRequest uriRequest, HttpCacheEntry entry) {
+        if (entry.getEtag() != null) {
+            uriRequest.setHeader(HttpHeaders.IF_NONE_MATCH, entry.getEtag());
+        }
+        if (entry.getLastModified() != null) {
+            uriRequest.setHeader(HttpHeaders.IF_MODIFIED_SINCE, entry.getLastModified());
+        }
+    }
+
+    /**
+     * Returns whether a response can be stored.
+     *
+     * @param response {@link HttpResponse} received.
+     * @return {@code false} if the response was sent with <tt>no-store</tt>.
+     */
+    public static boolean isStorable(HttpResponse response) {
+        for (Header header : response.getHeaders(HttpHeaders.CACHE_CONTROL)) {
+            if (hasDirective(header.getValue(), NO_STORE)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Updates an entry with the validators and freshness of a response. The
+     * validators of the entry are kept if a <tt>304 Not Modified</tt> response
+     * does not repeat them.
+     *
+     * @param entry    {@link HttpCacheEntry} to be updated.
+     * @param response {@link HttpResponse} received.
+     * @param now      the current time in milliseconds since the epoch.
+     * @return {@link HttpCacheEntry} object.
+     */
+    public static HttpCacheEntry update(HttpCacheEntry entry, HttpResponse response, long now) {
+        Header etag = response.getFirstHeader(HttpHeaders.ETAG);
+        if (etag != null) {
+            entry.setEtag(etag.getValue());
+        }
+        Header lastModified = response.getFirstHeader(HttpHeaders.LAST_MODIFIED);
+        if (lastModified != null) {
+            entry.setLastModified(lastModified.getValue());
+        }
+        long maxAge = 0;
+        boolean noCache = false;
+        for (Header header : response.getHeaders(HttpHeaders.CACHE_CONTROL)) {
+            for (String directive : StringUtils.split(header.getValue(), ',')) {
+                String name = StringUtils.substringBefore(directive, "=").trim().toLowerCase(Locale.ROOT);
+                if (NO_CACHE.equals(name)) {
+                    noCache = true;
+                } else if (MAX_AGE.equals(name)) {
+                    maxAge = parseSeconds(StringUtils.substringAfter(directive, "="));
+                }
+            }
+        }
+        return entry.setMaxAge(maxAge).setNoCache(noCache).setStoredAt(now);
+    }
+
+    /**
+     * Returns whether a <tt>Cache-Control</tt> header contains a directive.
+     *
+     * @param cacheControl {@code String} value of the header.
+     * @param directive    {@code String} name of the directive.
+     * @return {@code true} if the header contains the directive.
+     */
+    private static boolean hasDirective(String cacheControl, String directive) {
+        if (cacheControl == null) {
+            return false;
+        }
+        for (String value : StringUtils.split(cacheControl, ',')) {
+            if (directive.equalsIgnoreCase(value.trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of seconds of a <tt>max-age</tt> directive.
+     *
+     * @param value {@code String} value of the directive, possibly quoted.
+     * @return the number of seconds, {@code 0} if the value is invalid.
+     */
+    private static long parseSeconds(String value) {
+        try {
+            return Math.max(0, Long.parseLong(StringUtils.strip(value.trim(), "\"")));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
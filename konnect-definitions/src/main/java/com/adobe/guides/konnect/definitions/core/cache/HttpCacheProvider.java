@@ -0,0 +1,59 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.cache;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the {@link HttpCache} used by {@code RestInvoker}.
+ *
+ * <p>{@code RestInvoker} is not an OSGi component, so it gets the cache from
+ * this class rather than from a reference. Until an implementation is
+ * registered, nothing is cached.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public final class HttpCacheProvider {
+
+    private static final AtomicReference<HttpCache> cache = new AtomicReference<>();
+
+    private HttpCacheProvider() {
+    }
+
+    /**
+     * Returns the cache in use.
+     *
+     * @return {@link HttpCache} object, or {@code null} if none is registered.
+     */
+    public static HttpCache getCache() {
+        return cache.get();
+    }
+
+    /**
+     * Sets the cache to be used by {@code RestInvoker}.
+     *
+     * @param httpCache {@link HttpCache} to be used.
+     */
+    public static void register(HttpCache httpCache) {
+        cache.set(httpCache);
+    }
+
+    /**
+     * Stops using the given cache, if it is in use.
+     *
+     * @param httpCache {@link HttpCache} which is no longer available.
+     */
+    public static void unregister(HttpCache httpCache) {
+        cache.compareAndSet(httpCache, null);
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * This is the group of files for storing the responses of the external
+ * data sources on local disk, together with their validators, so that
+ * unchanged responses are not downloaded again.
+ */
+package com.adobe.guides.konnect.definitions.core.cache;
@@ -0,0 +1,255 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.circuitbreaker;
+
+import com.adobe.guides.konnect.definitions.core.exception.KonnectConnectionException;
+import com.adobe.guides.konnect.definitions.core.metrics.KonnectMetricsProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker of the calls of a connector to an endpoint of a data
+ * source, such as a host or a database.
+ *
+ * <p>While the circuit is {@link CircuitState#CLOSED closed}, the outcome of
+ * the last calls is kept in a window. When too many of them failed or were
+ * slow, the circuit {@link CircuitState#OPEN opens} and calls fail fast with
+ * a {@link KonnectConnectionException} instead of waiting for the timeouts of
+ * a data source which is down. After the open duration, the circuit is
+ * {@link CircuitState#HALF_OPEN half open}: a few probe calls are let through,
+ * and the circuit closes if they all succeed, or opens again otherwise.
+ *
+ * <p>A call is made with {@link #acquire()}, followed by
+ * {@link #onSuccess(long, long)} or {@link #onFailure(long, long)} with the
+ * permit it returned once the call is complete. Each change of state starts a
+ * new generation of permits, and the outcome of a call permitted before is
+ * ignored, so that a slow call of a closed circuit is not taken for a probe of
+ * the half open circuit. Probes which are not reported within the open
+ * duration are let through again. The state changes and the rejected calls
+ * are recorded in the metrics of the connector.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class CircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+    private static final byte SUCCESS = 0;
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+
+    private final String connector;
+    private final String endpoint;
+    private CircuitBreakerSettings settings;
+    private CircuitState state = CircuitState.CLOSED;
+    private byte[] outcomes;
+    private int calls;
+    private int next;
+    private int failures;
+    private int slowCalls;
+    private long openedAt;
+    private long generation;
+    private int probes;
+    private int probeSuccesses;
+
+    /**
+     * Creates a closed circuit breaker.
+     *
+     * @param connector the name of the connector.
+     * @param endpoint  the endpoint of the data source, without credentials.
+     * @param settings  {@link CircuitBreakerSettings} of this breaker.
+     */
+    public CircuitBreaker(String connector, String endpoint, CircuitBreakerSettings settings) {
+        this.connector = connector;
+        this.endpoint = endpoint;
+        setSettings(settings);
+    }
+
+    /**
+     * Returns the name of the connector.
+     *
+     * @return a {@code String} which is the name of the connector.
+     */
+    public String getConnector() {
+        return connector;
+    }
+
+    /**
+     * Returns the endpoint of the data source.
+     *
+     * @return a {@code String} which is the endpoint.
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Returns the state of this circuit.
+     *
+     * @return {@link CircuitState} of this circuit.
+     */
+    public synchronized CircuitState getState() {
+        return state;
+    }
+
+    /**
+     * Applies new thresholds. The calls recorded so far are discarded.
+     *
+     * @param settings {@link CircuitBreakerSettings} of this breaker.
+     */
+    synchronized void setSettings(CircuitBreakerSettings settings) {
+        this.settings = settings;
+        this.outcomes = new byte[Math.max(settings.getWindowSize(), 1)];
+        resetWindow();
+    }
+
+    /**
+     * Asks for permission to make a call.
+     *
+     * @return the permit of the call, to pass to {@link #onSuccess(long, long)}
+     * or {@link #onFailure(long, long)}.
+     * @throws KonnectConnectionException if the circuit is open, or half open
+     *                                    with all its probe calls in flight.
+     */
+    public long acquire() throws KonnectConnectionException {
+        long retryIn;
+        synchronized (this) {
+            if (state != CircuitState.CLOSED && System.currentTimeMillis() - openedAt >= settings.getOpenDuration()
+                    && (state == CircuitState.OPEN || probes >= settings.getHalfOpenCalls())) {
+                transition(CircuitState.HALF_OPEN);
+            }
+            if (state == CircuitState.CLOSED) {
+                return generation;
+            }
+            if (state == CircuitState.HALF_OPEN && probes < settings.getHalfOpenCalls()) {
+                probes++;
+                return generation;
+            }
+            retryIn = Math.max(settings.getOpenDuration() - (System.currentTimeMillis() - openedAt), 0);
+        }
+        KonnectMetricsProvider.getMetrics().recordRejectedCall(connector, endpoint);
+        throw new KonnectConnectionException("[CircuitBreaker] " + endpoint + " is unavailable, calls are suspended for "
+                + TimeUnit.MILLISECONDS.toSeconds(retryIn) + "s");
+    }
+
+    /**
+     * Records a call which succeeded.
+     *
+     * @param permit        the permit returned by {@link #acquire()} for the call.
+     * @param durationNanos the time taken by the call.
+     */
+    public synchronized void onSuccess(long permit, long durationNanos) {
+        if (permit == generation) {
+            record(durationNanos >= TimeUnit.MILLISECONDS.toNanos(settings.getSlowCallDuration()) ? SLOW : SUCCESS);
+        }
+    }
+
+    /**
+     * Records a call which failed, because the data source could not be
+     * reached or answered with a server error.
+     *
+     * @param permit        the permit returned by {@link #acquire()} for the call.
+     * @param durationNanos the time taken by the call.
+     */
+    public synchronized void onFailure(long permit, long durationNanos) {
+        if (permit == generation) {
+            record(FAILURE);
+        }
+    }
+
+    /**
+     * Records the outcome of a call and changes the state of the circuit if
+     * a threshold is reached.
+     *
+     * @param outcome the outcome of the call.
+     */
+    private void record(byte outcome) {
+        if (state == CircuitState.HALF_OPEN) {
+            if (outcome != SUCCESS) {
+                transition(CircuitState.OPEN);
+            } else if (++probeSuccesses >= settings.getHalfOpenCalls()) {
+                transition(CircuitState.CLOSED);
+            }
+            return;
+        }
+        if (state != CircuitState.CLOSED) {
+            return;
+        }
+        if (calls == outcomes.length) {
+            forget(outcomes[next]);
+        } else {
+            calls++;
+        }
+        outcomes[next] = outcome;
+        next = (next + 1) % outcomes.length;
+        if (outcome == FAILURE) {
+            failures++;
+        } else if (outcome == SLOW) {
+            slowCalls++;
+        }
+        if (calls >= settings.getMinimumCalls()
+                && (failures * 100 >= settings.getFailureRateThreshold() * calls
+                || slowCalls * 100 >= settings.getSlowCallRateThreshold() * calls)) {
+            transition(CircuitState.OPEN);
+        }
+    }
+
+    /**
+     * Removes an outcome leaving the window from the counts.
+     *
+     * @param outcome the outcome leaving the window.
+     */
+    private void forget(byte outcome) {
+        if (outcome == FAILURE) {
+            failures--;
+        } else if (outcome == SLOW) {
+            slowCalls--;
+        }
+    }
+
+    /**
+     * Changes the state of the circuit and records it in the metrics. The
+     * half open state is entered again when its probes were not reported
+     * within the open duration. Calls permitted before are not recorded.
+     *
+     * @param newState the new {@link CircuitState}.
+     */
+    private void transition(CircuitState newState) {
+        generation++;
+        if (newState != CircuitState.CLOSED) {
+            openedAt = System.currentTimeMillis();
+        }
+        if (newState == CircuitState.OPEN) {
+            log.warn("[CircuitBreaker] Circuit of {} to {} is open after {} failed and {} slow of {} calls",
+                    connector, endpoint, failures, slowCalls, calls);
+        } else {
+            log.info("[CircuitBreaker] Circuit of {} to {} is {}", connector, endpoint, newState);
+        }
+        state = newState;
+        probes = 0;
+        probeSuccesses = 0;
+        resetWindow();
+        KonnectMetricsProvider.getMetrics().recordCircuitState(connector, endpoint, newState.name());
+    }
+
+    /**
+     * Discards the calls recorded so far.
+     */
+    private void resetWindow() {
+        calls = 0;
+        next = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+}
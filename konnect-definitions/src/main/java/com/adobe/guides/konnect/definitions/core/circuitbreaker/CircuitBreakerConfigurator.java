@@ -0,0 +1,93 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.circuitbreaker;
+
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.CIRCUIT_FAILURE_RATE_THRESHOLD;
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.CIRCUIT_HALF_OPEN_CALLS;
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.CIRCUIT_MINIMUM_CALLS;
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.CIRCUIT_OPEN_DURATION;
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.CIRCUIT_SLOW_CALL_DURATION;
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.CIRCUIT_SLOW_CALL_RATE_THRESHOLD;
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.CIRCUIT_WINDOW_SIZE;
+
+/**
+ * Applies the properties of this component to the {@link CircuitBreakers}.
+ *
+ * <p>The properties are named after the fields of
+ * {@link CircuitBreakerSettings}, such as <tt>failureRateThreshold</tt> or
+ * <tt>openDuration</tt>, and can be changed through the configuration of this
+ * component.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+@Component(service = CircuitBreakerConfigurator.class, immediate = true,
+        property = {
+                "failureRateThreshold:Integer=" + CIRCUIT_FAILURE_RATE_THRESHOLD,
+                "slowCallRateThreshold:Integer=" + CIRCUIT_SLOW_CALL_RATE_THRESHOLD,
+                "slowCallDuration:Long=" + CIRCUIT_SLOW_CALL_DURATION,
+                "minimumCalls:Integer=" + CIRCUIT_MINIMUM_CALLS,
+                "windowSize:Integer=" + CIRCUIT_WINDOW_SIZE,
+                "openDuration:Long=" + CIRCUIT_OPEN_DURATION,
+                "halfOpenCalls:Integer=" + CIRCUIT_HALF_OPEN_CALLS
+        })
+public class CircuitBreakerConfigurator {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreakerConfigurator.class);
+
+    /**
+     * Applies the properties of this component.
+     *
+     * @param properties the properties of this component.
+     */
+    @Activate
+    @Modified
+    protected void activate(Map<String, Object> properties) {
+        CircuitBreakers.configure(new CircuitBreakerSettings()
+                .setFailureRateThreshold((int) getLong(properties, "failureRateThreshold", CIRCUIT_FAILURE_RATE_THRESHOLD))
+                .setSlowCallRateThreshold((int) getLong(properties, "slowCallRateThreshold", CIRCUIT_SLOW_CALL_RATE_THRESHOLD))
+                .setSlowCallDuration(getLong(properties, "slowCallDuration", CIRCUIT_SLOW_CALL_DURATION))
+                .setMinimumCalls((int) getLong(properties, "minimumCalls", CIRCUIT_MINIMUM_CALLS))
+                .setWindowSize((int) getLong(properties, "windowSize", CIRCUIT_WINDOW_SIZE))
+                .setOpenDuration(getLong(properties, "openDuration", CIRCUIT_OPEN_DURATION))
+                .setHalfOpenCalls((int) getLong(properties, "halfOpenCalls", CIRCUIT_HALF_OPEN_CALLS)));
+    }
+
+    /**
+     * Returns the value of a numeric property.
+     *
+     * @param properties   the properties of this component.
+     * @param name         the name of the property.
+     * @param defaultValue the value used if the property is missing or invalid.
+     * @return the value of the property.
+     */
+    private static long getLong(Map<String, Object> properties, String name, long defaultValue) {
+        Object value = properties != null ? properties.get(name) : null;
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.toString().trim());
+        } catch (NumberFormatException e) {
+            log.warn("[CircuitBreaker] Invalid {} {}, using {}", name, value, defaultValue);
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.circuitbreaker;
+
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.CIRCUIT_FAILURE_RATE_THRESHOLD;
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.CIRCUIT_HALF_OPEN_CALLS;
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.CIRCUIT_MINIMUM_CALLS;
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.CIRCUIT_OPEN_DURATION;
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.CIRCUIT_SLOW_CALL_DURATION;
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.CIRCUIT_SLOW_CALL_RATE_THRESHOLD;
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.CIRCUIT_WINDOW_SIZE;
+
+/**
+ * The thresholds of the {@link CircuitBreaker}s.
+ *
+ * <p>A circuit opens when, among the last <tt>windowSize</tt> calls and once
+ * at least <tt>minimumCalls</tt> calls are recorded, the percentage of failed
+ * calls reaches <tt>failureRateThreshold</tt> or the percentage of calls
+ * slower than <tt>slowCallDuration</tt> reaches <tt>slowCallRateThreshold</tt>.
+ * It stays open for <tt>openDuration</tt>, then lets <tt>halfOpenCalls</tt>
+ * probe calls through.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class CircuitBreakerSettings {
+
+    private int failureRateThreshold = CIRCUIT_FAILURE_RATE_THRESHOLD;
+    private int slowCallRateThreshold = CIRCUIT_SLOW_CALL_RATE_THRESHOLD;
+    private long slowCallDuration = CIRCUIT_SLOW_CALL_DURATION;
+    private int minimumCalls = CIRCUIT_MINIMUM_CALLS;
+    private int windowSize = CIRCUIT_WINDOW_SIZE;
+    private long openDuration = CIRCUIT_OPEN_DURATION;
+    private int halfOpenCalls = CIRCUIT_HALF_OPEN_CALLS;
+
+    /**
+     * Returns the percentage of failed calls which opens the circuit.
+     *
+     * @return the percentage, from 1 to 100.
+     */
+    public int getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    /**
+     * Sets the percentage of failed calls which opens the circuit.
+     *
+     * @param failureRateThreshold the percentage, from 1 to 100.
+     * @return {@link CircuitBreakerSettings} object.
+     */
+    public CircuitBreakerSettings setFailureRateThreshold(int failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+        return this;
+    }
+
+    /**
+     * Returns the percentage of slow calls which opens the circuit.
+     *
+     * @return the percentage, from 1 to 100.
+     */
+    public int getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    /**
+     * Sets the percentage of slow calls which opens the circuit.
+     *
+     * @param slowCallRateThreshold the percentage, from 1 to 100.
+     * @return {@link CircuitBreakerSettings} object.
+     */
+    public CircuitBreakerSettings setSlowCallRateThreshold(int slowCallRateThreshold) {
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        return this;
+    }
+
+    /**
+     * Returns the duration above which a call is slow.
+     *
+     * @return the duration in milliseconds.
+     */
+    public long getSlowCallDuration() {
+        return slowCallDuration;
+    }
+
+    /**
+     * Sets the duration above which a call is slow.
+     *
+     * @param slowCallDuration the duration in milliseconds.
+     * @return {@link CircuitBreakerSettings} object.
+     */
+    public CircuitBreakerSettings setSlowCallDuration(long slowCallDuration) {
+        this.slowCallDuration = slowCallDuration;
+        return this;
+    }
+
+    /**
+     * Returns the number of calls to be recorded before the circuit can open.
+     *
+     * @return the number of calls.
+     */
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    /**
+     * Sets the number of calls to be recorded before the circuit can open.
+     *
+     * @param minimumCalls the number of calls.
+     * @return {@link CircuitBreakerSettings} object.
+     */
+    public CircuitBreakerSettings setMinimumCalls(int minimumCalls) {
+        this.minimumCalls = minimumCalls;
+        return this;
+    }
+
+    /**
+     * Returns the number of last calls the rates are computed on.
+     *
+     * @return the number of calls.
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Sets the number of last calls the rates are computed on.
+     *
+     * @param windowSize the number of calls.
+     * @return {@link CircuitBreakerSettings} object.
+     */
+    public CircuitBreakerSettings setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+        return this;
+    }
+
+    /**
+     * Returns how long the circuit stays open before probe calls are allowed.
+     *
+     * @return the duration in milliseconds.
+     */
+    public long getOpenDuration() {
+        return openDuration;
+    }
+
+    /**
+     * Sets how long the circuit stays open before probe calls are allowed.
+     *
+     * @param openDuration the duration in milliseconds.
+     * @return {@link CircuitBreakerSettings} object.
+     */
+    public CircuitBreakerSettings setOpenDuration(long openDuration) {
+        this.openDuration = openDuration;
+        return this;
+    }
+
+    /**
+     * Returns the number of probe calls which must succeed to close the circuit.
+     *
+     * @return the number of calls.
+     */
+    public int getHalfOpenCalls() {
+        return halfOpenCalls;
+    }
+
+    /**
+     * Sets the number of probe calls which must succeed to close the circuit.
+     *
+     * @param halfOpenCalls the number of calls.
+     * @return {@link CircuitBreakerSettings} object.
+     */
+    public CircuitBreakerSettings setHalfOpenCalls(int halfOpenCalls) {
+        this.halfOpenCalls = halfOpenCalls;
+        return this;
+    }
+}
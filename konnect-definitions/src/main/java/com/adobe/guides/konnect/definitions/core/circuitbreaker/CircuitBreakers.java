@@ -0,0 +1,86 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.circuitbreaker;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.METRICS_DEFAULT_SCOPE;
+
+/**
+ * Holds the {@link CircuitBreaker}s of the connectors, one per connector and
+ * endpoint.
+ *
+ * <p>Connectors and {@code RestInvoker} are not always OSGi components, so
+ * they get their breakers from this class. The breakers use the default
+ * {@link CircuitBreakerSettings} until the {@link CircuitBreakerConfigurator}
+ * applies its properties.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public final class CircuitBreakers {
+
+    private static final ConcurrentMap<String, ConcurrentMap<String, CircuitBreaker>> breakers = new ConcurrentHashMap<>();
+    private static volatile CircuitBreakerSettings settings = new CircuitBreakerSettings();
+
+    private CircuitBreakers() {
+    }
+
+    /**
+     * Returns the breaker of the calls of a connector to an endpoint,
+     * creating it if needed.
+     *
+     * @param connector the name of the connector.
+     * @param endpoint  the endpoint of the data source, without credentials.
+     * @return {@link CircuitBreaker} object.
+     */
+    public static CircuitBreaker getBreaker(String connector, String endpoint) {
+        String connectorKey = StringUtils.isBlank(connector) ? METRICS_DEFAULT_SCOPE : connector;
+        ConcurrentMap<String, CircuitBreaker> connectorBreakers = breakers.get(connectorKey);
+        if (connectorBreakers == null) {
+            connectorBreakers = breakers.computeIfAbsent(connectorKey, key -> new ConcurrentHashMap<>());
+        }
+        CircuitBreaker breaker = connectorBreakers.get(endpoint);
+        if (breaker == null) {
+            breaker = connectorBreakers.computeIfAbsent(endpoint, key -> new CircuitBreaker(connectorKey, key, settings));
+        }
+        return breaker;
+    }
+
+    /**
+     * Returns all the breakers created so far.
+     *
+     * @return a {@code List} of {@link CircuitBreaker}.
+     */
+    public static List<CircuitBreaker> getBreakers() {
+        List<CircuitBreaker> all = new ArrayList<>();
+        breakers.values().forEach(connectorBreakers -> all.addAll(connectorBreakers.values()));
+        return all;
+    }
+
+    /**
+     * Applies new thresholds to the existing and future breakers.
+     *
+     * @param circuitBreakerSettings {@link CircuitBreakerSettings} to be used.
+     */
+    public static void configure(CircuitBreakerSettings circuitBreakerSettings) {
+        settings = circuitBreakerSettings;
+        for (CircuitBreaker breaker : getBreakers()) {
+            breaker.setSettings(circuitBreakerSettings);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * This is the group of files for storing the circuit breakers which stop
+ * sending requests to the external data sources while they are failing.
+ */
+package com.adobe.guides.konnect.definitions.core.circuitbreaker;
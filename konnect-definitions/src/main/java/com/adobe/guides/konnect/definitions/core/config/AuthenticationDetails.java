@@ -24,6 +24,7 @@ public class AuthenticationDetails {
 
     private Map<String, String> header;
     private Map<String, String> query;
+    private String identity;
 
     /**
      * Returns a {@code Map} which is a map of header names
@@ -64,5 +65,26 @@ public class AuthenticationDetails {
     public void setQuery(Map<String, String> query) {
         this.query = query;
     }
-}
 
+    /**
+     * Returns a stable identity of the credentials, which tells apart the
+     * responses cached for different credentials. It is set by configs whose
+     * credentials are refreshed, such as an access token obtained with a
+     * client id and secret, so that a new token keeps the same identity.
+     *
+     * @return {@code String} identity of the credentials, or {@code null} if
+     * the identity is derived from the header and query maps.
+     */
+    public String getIdentity() {
+        return identity;
+    }
+
+    /**
+     * Sets a stable identity of the credentials.
+     *
+     * @param identity {@code String} identity of the credentials
+     */
+    public void setIdentity(String identity) {
+        this.identity = identity;
+    }
+}
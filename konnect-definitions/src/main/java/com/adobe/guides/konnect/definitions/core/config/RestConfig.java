@@ -14,12 +14,14 @@ package com.adobe.guides.konnect.definitions.core.config;
 import com.adobe.guides.konnect.definitions.core.annotations.APIDefinition;
 import com.adobe.guides.konnect.definitions.core.exception.KonnectException;
 import com.adobe.guides.konnect.definitions.core.urlResource.RestResourceDao;
+import com.adobe.guides.konnect.definitions.core.util.ResolvedEndpoint;
 import com.adobe.guides.konnect.definitions.core.util.RestResourceUtil;
 import com.adobe.guides.konnect.definitions.core.util.UrlUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Map;
 
@@ -147,6 +149,32 @@ public abstract class RestConfig extends RestWrapperConfig {
         return this.url;
     }
 
+    /**
+     * Returns the {@link ResolvedEndpoint} used to send the request
+     *
+     * @return {@link ResolvedEndpoint} used to send the request
+     * @throws URISyntaxException if the URL is invalid
+     */
+    public ResolvedEndpoint getEndpoint() throws URISyntaxException {
+        return getEndpoint(false);
+    }
+
+    /**
+     * Returns the {@link ResolvedEndpoint} used to send the request. The
+     * endpoint is resolved once per URL and resource URL.
+     *
+     * @param isValidate {@code boolean} if true, then the endpoint of the base
+     *                   URL is returned.
+     * @return {@link ResolvedEndpoint} used to send the request
+     * @throws URISyntaxException if the URL is invalid
+     */
+    public ResolvedEndpoint getEndpoint(boolean isValidate) throws URISyntaxException {
+        if (this.getCurrentResource() != null && isValidate != true) {
+            return UrlUtils.resolveEndpoint(this.url, this.getCurrentResource().getUrl());
+        }
+        return UrlUtils.resolveEndpoint(this.url, null);
+    }
+
     /**
      * Returns a {@code String} which is the type of request like GET or POST
      *
@@ -252,23 +280,34 @@ public abstract class RestConfig extends RestWrapperConfig {
      */
     @Override
     public void setCurrentResource(String id) throws KonnectException {
-        boolean found = false;
-        boolean shouldthrowError = false;
-        if (!this.getResourceList().isEmpty() && StringUtils.isNotBlank(id)) {
-            shouldthrowError = true;
-            for (int i = 0; i < this.getResourceList().size(); i++) {
-                if (this.getResourceList().get(i).getId().equalsIgnoreCase(id)) {
-                    this.setCurrentResource(this.getResourceList().get(i));
-                    found = true;
-                    break;
-                }
-            }
-        }
-        if (found == false) {
+        RestResourceDao resource = !this.getResourceList().isEmpty() ? this.getResource(id) : null;
+        if (resource != null) {
+            this.setCurrentResource(resource);
+        } else {
             this.setCurrentResource(new RestResourceDao());
-            if (shouldthrowError == true) {
+            if (!this.getResourceList().isEmpty() && StringUtils.isNotBlank(id)) {
                 throw new KonnectException("URL Resource selected for query is invalid");
             }
         }
     }
+
+    /**
+     * Returns the context of a request on a resource of this config. Unlike
+     * {@link #setCurrentResource(String)}, this does not change the config.
+     *
+     * @param id a {@code String} which is the id of the resource to be used,
+     *           or blank to use the base URL of this config.
+     * @return {@link RestRequestContext} of the request.
+     * @throws KonnectException if the URL Resource selected for query is invalid.
+     */
+    public RestRequestContext getRequestContext(String id) throws KonnectException {
+        if (StringUtils.isBlank(id) || this.getResourceList() == null || this.getResourceList().isEmpty()) {
+            return new RestRequestContext(this, null);
+        }
+        RestResourceDao resource = this.getResource(id);
+        if (resource == null) {
+            throw new KonnectException("URL Resource selected for query is invalid");
+        }
+        return new RestRequestContext(this, resource);
+    }
 }
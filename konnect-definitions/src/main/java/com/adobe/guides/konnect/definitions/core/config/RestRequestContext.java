@@ -0,0 +1,164 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.config;
+
+import com.adobe.guides.konnect.definitions.core.urlResource.RestResourceDao;
+import com.adobe.guides.konnect.definitions.core.util.ResolvedEndpoint;
+import com.adobe.guides.konnect.definitions.core.util.UrlUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.net.URISyntaxException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The immutable context of a single request on a {@link RestConfig}.<p>
+ * A context holds the resource selected for a query together with the URL,
+ * request type, body and headers resolved for it. Unlike
+ * {@link RestConfig#setCurrentResource(String)}, creating a context does not
+ * change the config, so one config can serve concurrent queries on
+ * different resources.<p>
+ * Contexts are created with {@link RestConfig#getRequestContext(String)}.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public final class RestRequestContext {
+
+    private final RestConfig config;
+    private final RestResourceDao resource;
+    private final String baseUrl;
+    private final String resourceUrl;
+    private final String requestType;
+    private final String body;
+    private final Map<String, String> headers;
+
+    /**
+     * Creates the context of a request on a resource of a config.
+     *
+     * @param config   {@link RestConfig} on which the request is sent.
+     * @param resource {@link RestResourceDao} selected for the request, or
+     *                 {@code null} to use the base URL of the config.
+     */
+    RestRequestContext(RestConfig config, RestResourceDao resource) {
+        this.config = config;
+        this.resource = resource;
+        this.baseUrl = config.getUrl(true);
+        if (resource != null) {
+            this.resourceUrl = resource.getUrl();
+            this.requestType = resource.getRequestType();
+            this.body = resource.getBody();
+            this.headers = copy(resource.getHeaders());
+        } else {
+            this.resourceUrl = null;
+            this.requestType = config.getRequestType(true);
+            this.body = config.getBody(true);
+            this.headers = copy(config.getHeaders(true));
+        }
+    }
+
+    /**
+     * Returns an unmodifiable copy of the headers.
+     *
+     * @param headers {@code Map} of the headers, may be {@code null}.
+     * @return an unmodifiable {@code Map} of the headers, or {@code null}.
+     */
+    private static Map<String, String> copy(Map<String, String> headers) {
+        return headers != null ? Collections.unmodifiableMap(new LinkedHashMap<>(headers)) : null;
+    }
+
+    /**
+     * Returns the config on which the request is sent.
+     *
+     * @return {@link RestConfig} object.
+     */
+    public RestConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Returns the resource selected for the request.
+     *
+     * @return {@link RestResourceDao} object, or {@code null} if the request
+     * is sent to the base URL of the config.
+     */
+    public RestResourceDao getResource() {
+        return resource;
+    }
+
+    /**
+     * Returns the name of the resource selected for the request.
+     *
+     * @return {@code String} which is the name of the resource, or an empty
+     * string if no resource is selected.
+     */
+    public String getResourceName() {
+        return resource != null ? StringUtils.defaultString(resource.getName()) : StringUtils.EMPTY;
+    }
+
+    /**
+     * Returns a {@code String} URL used to send the request
+     *
+     * @return {@code String} URL used to send the request
+     */
+    public String getUrl() {
+        return resourceUrl != null ? UrlUtils.getAbsoluteURLFromBaseAndRelativeUrl(baseUrl, resourceUrl, baseUrl) : baseUrl;
+    }
+
+    /**
+     * Returns the {@link ResolvedEndpoint} used to send the request
+     *
+     * @return {@link ResolvedEndpoint} used to send the request
+     * @throws URISyntaxException if the URL is invalid
+     */
+    public ResolvedEndpoint getEndpoint() throws URISyntaxException {
+        return UrlUtils.resolveEndpoint(baseUrl, resourceUrl);
+    }
+
+    /**
+     * Returns a {@code String} which is the type of request like GET or POST
+     *
+     * @return {@code String} which is the type of request
+     */
+    public String getRequestType() {
+        return requestType;
+    }
+
+    /**
+     * Returns a {@code String} which is the body of request
+     *
+     * @return {@code String} which is the body of request
+     */
+    public String getBody() {
+        return body;
+    }
+
+    /**
+     * Returns a {@code Map} of the headers to be used in request.
+     *
+     * @return an unmodifiable {@code Map} of the headers, or {@code null}.
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Returns a {@link AuthenticationDetails} object to be used to execute the
+     * request.
+     *
+     * @return {@link AuthenticationDetails} object of the config.
+     */
+    public AuthenticationDetails getAuthenticationDetails() {
+        return config.getAuthenticationDetails();
+    }
+}
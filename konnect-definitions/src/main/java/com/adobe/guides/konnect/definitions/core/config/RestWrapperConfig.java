@@ -14,11 +14,15 @@ package com.adobe.guides.konnect.definitions.core.config;
 import com.adobe.guides.konnect.definitions.core.annotations.APIDefinition;
 import com.adobe.guides.konnect.definitions.core.urlResource.RestResourceDao;
 import com.adobe.guides.konnect.definitions.core.urlResource.UrlResources;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 import static com.adobe.guides.konnect.definitions.core.constants.Constants.ANNOTATION_FALSE;
 import static com.adobe.guides.konnect.definitions.core.constants.Constants.ANNOTATION_IGNORE;
@@ -63,6 +67,8 @@ public abstract class RestWrapperConfig implements Config, UrlResources {
     })
     private List<RestResourceDao> urlResourceList;
 
+    private transient volatile Map<String, RestResourceDao> resourceIndex;
+
     /**
      * Sole constructor.
      * Sets the fields of this config.
@@ -92,6 +98,33 @@ public abstract class RestWrapperConfig implements Config, UrlResources {
         return this.urlResourceList;
     }
 
+    /**
+     * Returns the resource with the given id. The ids are compared ignoring
+     * case, and the resources are indexed by id the first time this method
+     * is called after the list of resources is set.
+     *
+     * @param id the id of the resource.
+     * @return the {@link RestResourceDao} with the given id, or {@code null}
+     * if there is none.
+     */
+    public RestResourceDao getResource(String id) {
+        if (StringUtils.isBlank(id)) {
+            return null;
+        }
+        Map<String, RestResourceDao> index = resourceIndex;
+        if (index == null) {
+            index = new HashMap<>();
+            for (int i = 0; urlResourceList != null && i < urlResourceList.size(); i++) {
+                RestResourceDao resource = urlResourceList.get(i);
+                if (resource != null && resource.getId() != null) {
+                    index.putIfAbsent(resource.getId().toLowerCase(Locale.ROOT), resource);
+                }
+            }
+            resourceIndex = index;
+        }
+        return index.get(id.toLowerCase(Locale.ROOT));
+    }
+
     /**
      * Returns the current resource.
      *
@@ -108,10 +141,13 @@ public abstract class RestWrapperConfig implements Config, UrlResources {
      */
     public void setUrlResourceList(List<RestResourceDao> urlResourceList) {
         this.urlResourceList = urlResourceList;
+        this.resourceIndex = null;
     }
 
     /**
-     * Sets the current resource.
+     * Sets the current resource. The current resource is shared by all the
+     * users of this config; queries should use their own
+     * {@link RestRequestContext} instead.
      *
      * @param currentResource the current resource.
      */
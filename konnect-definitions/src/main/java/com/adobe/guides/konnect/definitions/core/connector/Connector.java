@@ -14,7 +14,10 @@ package com.adobe.guides.konnect.definitions.core.connector;
 import com.adobe.guides.konnect.definitions.core.config.Config;
 import com.adobe.guides.konnect.definitions.core.config.ConfigDto;
 import com.adobe.guides.konnect.definitions.core.exception.KonnectException;
+import com.adobe.guides.konnect.definitions.core.models.metadata.ConfigDescriptor;
 import com.adobe.guides.konnect.definitions.core.models.template.TemplateDto;
+import com.adobe.guides.konnect.definitions.core.query.InFlightQueries;
+import com.adobe.guides.konnect.definitions.core.query.QueryCall;
 import com.adobe.guides.konnect.definitions.core.query.QueryInfoDto;
 import com.adobe.guides.konnect.definitions.core.query.QueryResultDto;
 import org.apache.commons.lang3.StringUtils;
@@ -211,6 +214,45 @@ public interface Connector {
      */
     String execute(ConfigDto configDto, List<QueryInfoDto> queryInfoList) throws KonnectException;
 
+    /**
+     * Executes a single query, unless an identical query of this connector is
+     * in flight, in which case its result is returned.
+     *
+     * <p>Connectors call this from {@link #execute(ConfigDto, QueryInfoDto)},
+     * so that identical queries executed at the same time reach the data
+     * source once. Queries are identical whatever their query name, see
+     * {@link InFlightQueries}.
+     *
+     * @param configDto Connector config which needs to be executed.
+     * @param queryInfo The query which will be executed.
+     * @param call      The {@link QueryCall} executing the query.
+     * @return A <tt>String</tt> which is the JSON response of query execution.
+     * @throws KonnectException if any exception or error occurs while connecting to
+     *                          the external data source.
+     */
+    default String executeInFlight(ConfigDto configDto, QueryInfoDto queryInfo, QueryCall call) throws KonnectException {
+        return InFlightQueries.execute(getName(), InFlightQueries.getKey(configDto, queryInfo), call);
+    }
+
+    /**
+     * Executes a list of queries, unless an identical list of this connector
+     * is in flight, in which case its result is returned.
+     *
+     * <p>Connectors call this from {@link #execute(ConfigDto, List)}. As the
+     * result is keyed by query name, lists are only identical if their queries
+     * have the same names as well.
+     *
+     * @param configDto     Connector config which needs to be executed.
+     * @param queryInfoList The {@code List} of queries which will be executed.
+     * @param call          The {@link QueryCall} executing the queries.
+     * @return A <tt>String</tt> which is a single JSON response of all query executions.
+     * @throws KonnectException if any exception or error occurs while connecting to
+     *                          the external data source.
+     */
+    default String executeInFlight(ConfigDto configDto, List<QueryInfoDto> queryInfoList, QueryCall call) throws KonnectException {
+        return InFlightQueries.execute(getName(), InFlightQueries.getKey(configDto, queryInfoList), call);
+    }
+
     /**
      * Executes a single query for this connector with a limiting query.
      * This is used to show a preview for the connector on the UI.
@@ -263,4 +305,22 @@ public interface Connector {
      * @see Arrays#asList(Object[])
      */
     Class[] getConfigClass();
+
+    /**
+     * Returns the descriptors of the classes returned by {@link #getConfigClass()},
+     * built from their {@link com.adobe.guides.konnect.definitions.core.annotations.APIDefinition}
+     * annotations.
+     *
+     * @return a {@code List} of {@link ConfigDescriptor} of the supported config classes.
+     * @implSpec The default implementation reads the annotations on every call.
+     * Connectors which load their metadata at activation return the descriptors
+     * built then.
+     */
+    default List<ConfigDescriptor> getConfigDescriptors() {
+        List<ConfigDescriptor> configDescriptors = new ArrayList<>();
+        for (Class configClass : getConfigClass()) {
+            configDescriptors.add(ConfigDescriptor.of(configClass));
+        }
+        return configDescriptors;
+    }
 }
@@ -17,12 +17,13 @@ import com.adobe.guides.konnect.definitions.core.config.RestConfig;
 import com.adobe.guides.konnect.definitions.core.exception.KonnectConnectionException;
 import com.adobe.guides.konnect.definitions.core.exception.KonnectException;
 import com.adobe.guides.konnect.definitions.core.exception.KonnectQueryException;
+import com.adobe.guides.konnect.definitions.core.metrics.KonnectMetricsProvider;
+import com.adobe.guides.konnect.definitions.core.metrics.RequestPhase;
 import com.adobe.guides.konnect.definitions.core.models.graphql.GraphQLRequest;
 import com.adobe.guides.konnect.definitions.core.models.graphql.GraphQLResponse;
 import com.adobe.guides.konnect.definitions.core.query.QueryInfoDto;
 import com.adobe.guides.konnect.definitions.core.query.QueryResultDto;
 import com.adobe.guides.konnect.definitions.core.util.RestInvoker;
-import com.adobe.guides.konnect.definitions.core.util.UrlUtils;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
@@ -127,24 +128,22 @@ public abstract class GraphqlConnector implements Connector {
     @Override
     public boolean validateConnection(ConfigDto configDto) {
         RestConfig restConfig = getRestConfig(configDto.getConfig());
+        long start = System.nanoTime();
+        boolean valid = false;
         try {
-            RestInvoker invoker = new RestInvoker();
-            String hostName = UrlUtils.getHostname(restConfig.getUrl(true));
-            String url = "";
-            if (StringUtils.isBlank(UrlUtils.getPort(restConfig.getUrl(true)))) {
-                url = UrlUtils.createNewUri(UrlUtils.getProtocol(restConfig.getUrl(true)), hostName);
-            } else {
-                url = UrlUtils.createNewUri(UrlUtils.getProtocol(restConfig.getUrl(true)), hostName, UrlUtils.getPort(restConfig.getUrl(true)));
-            }
+            RestInvoker invoker = new RestInvoker(getName(), null);
+            String url = restConfig.getEndpoint(true).getOrigin();
             HttpUriRequest uriRequest = invoker.prepareConnection(restConfig.getAuthenticationDetails(), url, restConfig.getRequestType(true), restConfig.getBody(true), "", restConfig.getHeaders(true));
             invoker.invokeRequest(uriRequest, getHttpClient());
-            return true;
+            valid = true;
         } catch (IOException | URISyntaxException | KonnectException e) {
             log.error("[GraphQLConnector] Error in connecting to client", e);
         } catch (Exception e) {
             log.error("[GraphQLConnector] Error in sending request", e);
+        } finally {
+            KonnectMetricsProvider.getMetrics().recordValidation(getName(), System.nanoTime() - start, valid);
         }
-        return false;
+        return valid;
     }
 
     /**
@@ -165,6 +164,19 @@ public abstract class GraphqlConnector implements Connector {
      */
     @Override
     public String execute(ConfigDto configDto, List<QueryInfoDto> queryInfoList) throws KonnectException {
+        return executeInFlight(configDto, queryInfoList, () -> executeQueries(configDto, queryInfoList));
+    }
+
+    /**
+     * Executes a list of queries which is not in flight.
+     *
+     * @param configDto     Connector config which needs to be executed.
+     * @param queryInfoList The {@code List} of queries which will be executed.
+     * @return A <tt>String</tt> which is a single JSON response of all query executions.
+     * @throws KonnectException if any exception or error occurs while connecting to
+     *                          the external data source.
+     */
+    private String executeQueries(ConfigDto configDto, List<QueryInfoDto> queryInfoList) throws KonnectException {
         boolean isValidConnection = validateConnection(configDto);
         if (!isValidConnection) {
             throw new KonnectConnectionException("[GraphQLConnector] Error in connecting to client");
@@ -174,11 +186,13 @@ public abstract class GraphqlConnector implements Connector {
         for (QueryInfoDto queryInfo : queryInfoList) {
             request = new GraphQLRequest(queryInfo.getQuery());
             GraphQLResponse graphQLResponse = execute(request, configDto);
-            String subQueryResult = gson.toJson(graphQLResponse.getData());
-            JsonElement jsonElement = gson.fromJson(subQueryResult, JsonElement.class);
+            JsonElement jsonElement = gson.toJsonTree(graphQLResponse.getData());
             queryResult.add(queryInfo.getQueryName(), jsonElement);
         }
-        return queryResult.toString();
+        long start = System.nanoTime();
+        String result = queryResult.toString();
+        KonnectMetricsProvider.recordPhase(getName(), null, RequestPhase.SERIALIZE, System.nanoTime() - start);
+        return result;
     }
 
     /**
@@ -198,13 +212,28 @@ public abstract class GraphqlConnector implements Connector {
      */
     @Override
     public String execute(ConfigDto configDto, QueryInfoDto queryInfo) throws KonnectException {
+        return executeInFlight(configDto, queryInfo, () -> executeQuery(configDto, queryInfo));
+    }
+
+    /**
+     * Executes a query which is not in flight.
+     *
+     * @param configDto Connector config which needs to be executed.
+     * @param queryInfo The query which will be executed.
+     * @return A <tt>String</tt> which is the JSON response of query execution.
+     * @throws KonnectException if any exception or error occurs while connecting to
+     *                          the external data source.
+     */
+    private String executeQuery(ConfigDto configDto, QueryInfoDto queryInfo) throws KonnectException {
         boolean isValidConnection = validateConnection(configDto);
         if (!isValidConnection) {
             throw new KonnectConnectionException("[GraphQLConnector] Error in connecting to client");
         }
         GraphQLRequest request = new GraphQLRequest(queryInfo.getQuery());
         GraphQLResponse graphQLResponse = execute(request, configDto);
+        long start = System.nanoTime();
         String responseString = gson.toJson(graphQLResponse.getData());
+        KonnectMetricsProvider.recordPhase(getName(), null, RequestPhase.SERIALIZE, System.nanoTime() - start);
         return responseString;
     }
 
@@ -246,17 +275,21 @@ public abstract class GraphqlConnector implements Connector {
      */
     private GraphQLResponse execute(GraphQLRequest request, ConfigDto configDto) throws KonnectException {
         RestConfig restConfig = getRestConfig(configDto.getConfig());
+        long start = System.nanoTime();
+        boolean success = false;
         try {
-            RestInvoker invoker = new RestInvoker();
+            RestInvoker invoker = new RestInvoker(getName(), null);
             HttpUriRequest uriRequest = buildRequest(request, restConfig, invoker);
             String responseString = invoker.invokeRequest(uriRequest, getHttpClient());
 
+            long parseStart = System.nanoTime();
             GraphQLResponse response = convertHttpResponseToGraphQLResponse(responseString);
+            KonnectMetricsProvider.recordPhase(getName(), null, RequestPhase.PARSE, System.nanoTime() - parseStart);
             String errors = getErrorsFromResponse(response);
             if (StringUtils.isNotBlank(errors)) {
                 throw new KonnectQueryException("[GraphQLConnector] GraphQL query response has errors" + errors);
             }
-
+            success = true;
             return response;
         } catch (KonnectQueryException e) {
             throw e;
@@ -266,6 +299,8 @@ public abstract class GraphqlConnector implements Connector {
             throw e;
         } catch (Exception e) {
             throw new KonnectException("[GraphQLConnector] Error in sending request", e);
+        } finally {
+            KonnectMetricsProvider.getMetrics().recordQuery(getName(), null, System.nanoTime() - start, success);
         }
     }
 
@@ -335,6 +370,7 @@ public abstract class GraphqlConnector implements Connector {
         }
         HttpUriRequest uriRequest = rb.build();
         invoker.addHeaders(uriRequest, restConfig.getAuthenticationDetails().getHeader(), restConfig.getHeaders());
+        invoker.compressBody(uriRequest);
 
         return uriRequest;
     }
@@ -14,14 +14,20 @@ package com.adobe.guides.konnect.definitions.core.connector;
 import com.adobe.guides.konnect.definitions.core.config.Config;
 import com.adobe.guides.konnect.definitions.core.config.ConfigDto;
 import com.adobe.guides.konnect.definitions.core.config.RestConfig;
+import com.adobe.guides.konnect.definitions.core.config.RestRequestContext;
 import com.adobe.guides.konnect.definitions.core.exception.KonnectConnectionException;
 import com.adobe.guides.konnect.definitions.core.exception.KonnectException;
 import com.adobe.guides.konnect.definitions.core.exception.KonnectQueryException;
+import com.adobe.guides.konnect.definitions.core.metrics.KonnectMetricsProvider;
+import com.adobe.guides.konnect.definitions.core.metrics.RequestPhase;
+import com.adobe.guides.konnect.definitions.core.models.template.TemplateDto;
 import com.adobe.guides.konnect.definitions.core.query.QueryInfoDto;
 import com.adobe.guides.konnect.definitions.core.query.QueryResultDto;
 import com.adobe.guides.konnect.definitions.core.urlResource.AdditionalUrlResources;
 import com.adobe.guides.konnect.definitions.core.urlResource.RestResourceDao;
+import com.adobe.guides.konnect.definitions.core.util.FieldProjection;
 import com.adobe.guides.konnect.definitions.core.util.RestInvoker;
+import com.adobe.guides.konnect.definitions.core.util.TemplateFieldAnalyzer;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
@@ -40,6 +46,7 @@ import java.util.List;
 import static com.adobe.guides.konnect.definitions.core.constants.Constants.ADOBE_SYSTEMS;
 import static com.adobe.guides.konnect.definitions.core.constants.Constants.REST;
 import static com.adobe.guides.konnect.definitions.core.constants.Constants.RESOURCE_ID;
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.TEMPLATE;
 
 /**
  * This class provides a skeletal implementation of the {@link Connector}
@@ -122,17 +129,21 @@ public abstract class RestConnector implements Connector, AdditionalUrlResources
     @Override
     public boolean validateConnection(ConfigDto configDto) {
         RestConfig restConfig = getRestConfig(configDto.getConfig());
+        long start = System.nanoTime();
+        boolean valid = false;
         try {
-            RestInvoker invoker = new RestInvoker();
-            HttpUriRequest uriRequest = invoker.prepareConnection(restConfig.getAuthenticationDetails(), restConfig.getUrl(true), restConfig.getRequestType(true), restConfig.getBody(true), "", restConfig.getHeaders(true));
+            RestInvoker invoker = new RestInvoker(getName(), null);
+            HttpUriRequest uriRequest = invoker.prepareConnection(restConfig.getAuthenticationDetails(), restConfig.getEndpoint(true), restConfig.getRequestType(true), restConfig.getBody(true), "", restConfig.getHeaders(true));
             invoker.invokeRequest(uriRequest, getHttpClient());
-            return true;
+            valid = true;
         } catch (IOException | URISyntaxException | KonnectException e) {
             log.error("[RestConnector] Error in connecting to client", e);
         } catch (Exception e) {
             log.error("[RestConnector] Error in sending request", e);
+        } finally {
+            KonnectMetricsProvider.getMetrics().recordValidation(getName(), System.nanoTime() - start, valid);
         }
-        return false;
+        return valid;
     }
 
     /**
@@ -153,23 +164,47 @@ public abstract class RestConnector implements Connector, AdditionalUrlResources
      */
     @Override
     public String execute(ConfigDto configDto, List<QueryInfoDto> queryInfoList) throws KonnectException {
+        return executeInFlight(configDto, queryInfoList, () -> executeQueries(configDto, queryInfoList));
+    }
+
+    /**
+     * Executes a list of queries which is not in flight.
+     *
+     * @param configDto     Connector config which needs to be executed.
+     * @param queryInfoList The {@code List} of queries which will be executed.
+     * @return A <tt>String</tt> which is a single JSON response of all query executions.
+     * @throws KonnectException if any exception or error occurs while connecting to
+     *                          the external data source.
+     */
+    private String executeQueries(ConfigDto configDto, List<QueryInfoDto> queryInfoList) throws KonnectException {
         boolean isValidConnection = validateConnection(configDto);
         if (!isValidConnection) {
             throw new KonnectConnectionException("[RestConnector] Error in connecting to client");
         }
-        RestConfig restConfig = null;
         try {
             JsonObject queryResult = new JsonObject();
             for (QueryInfoDto queryInfo : queryInfoList) {
-                restConfig = getRestConfig(configDto.getConfig(), queryInfo);
-                RestInvoker invoker = new RestInvoker();
-                HttpUriRequest uriRequest = invoker.prepareConnection(restConfig.getAuthenticationDetails(), restConfig.getUrl(), restConfig.getRequestType(), restConfig.getBody(), queryInfo.getQuery(), restConfig.getHeaders());
-                String subQueryResult = invoker.invokeRequest(uriRequest, getHttpClient());
-                JsonElement jsonElement = gson.fromJson(subQueryResult, JsonElement.class);
-                queryResult.add(queryInfo.getQueryName(), jsonElement);
-                clearRestConfigOfResourceUrl(restConfig);
+                RestRequestContext context = getRequestContext(configDto.getConfig(), queryInfo);
+                String resource = context.getResourceName();
+                long start = System.nanoTime();
+                boolean success = false;
+                try {
+                    RestInvoker invoker = new RestInvoker(getName(), resource);
+                    HttpUriRequest uriRequest = invoker.prepareConnection(context.getAuthenticationDetails(), context.getEndpoint(), context.getRequestType(), context.getBody(), queryInfo.getQuery(), context.getHeaders());
+                    String subQueryResult = invoker.invokeRequest(uriRequest, getHttpClient());
+                    long parseStart = System.nanoTime();
+                    JsonElement jsonElement = gson.fromJson(subQueryResult, JsonElement.class);
+                    KonnectMetricsProvider.recordPhase(getName(), resource, RequestPhase.PARSE, System.nanoTime() - parseStart);
+                    queryResult.add(queryInfo.getQueryName(), jsonElement);
+                    success = true;
+                } finally {
+                    KonnectMetricsProvider.getMetrics().recordQuery(getName(), resource, System.nanoTime() - start, success);
+                }
             }
-            return queryResult.toString();
+            long serializeStart = System.nanoTime();
+            String result = queryResult.toString();
+            KonnectMetricsProvider.recordPhase(getName(), null, RequestPhase.SERIALIZE, System.nanoTime() - serializeStart);
+            return result;
         } catch (IOException | URISyntaxException e) {
             throw new KonnectQueryException("[RestConnector] Error in connecting to client", e);
         } catch (KonnectException e) {
@@ -196,16 +231,33 @@ public abstract class RestConnector implements Connector, AdditionalUrlResources
      */
     @Override
     public String execute(ConfigDto configDto, QueryInfoDto queryInfo) throws KonnectException {
+        return executeInFlight(configDto, queryInfo, () -> executeQuery(configDto, queryInfo));
+    }
+
+    /**
+     * Executes a query which is not in flight.
+     *
+     * @param configDto Connector config which needs to be executed.
+     * @param queryInfo The query which will be executed.
+     * @return A <tt>String</tt> which is the JSON response of query execution.
+     * @throws KonnectException if any exception or error occurs while connecting to
+     *                          the external data source.
+     */
+    private String executeQuery(ConfigDto configDto, QueryInfoDto queryInfo) throws KonnectException {
         boolean isValidConnection = validateConnection(configDto);
         if (!isValidConnection) {
             throw new KonnectConnectionException("[RestConnector] Error in connecting to client");
         }
-        RestConfig restConfig = null;
+        RestRequestContext context = null;
+        long start = System.nanoTime();
+        boolean success = false;
         try {
-            restConfig = getRestConfig(configDto.getConfig(), queryInfo);
-            RestInvoker invoker = new RestInvoker();
-            HttpUriRequest uriRequest = invoker.prepareConnection(restConfig.getAuthenticationDetails(), restConfig.getUrl(), restConfig.getRequestType(), restConfig.getBody(), queryInfo.getQuery(), restConfig.getHeaders());
-            return invoker.invokeRequest(uriRequest, getHttpClient());
+            context = getRequestContext(configDto.getConfig(), queryInfo);
+            RestInvoker invoker = new RestInvoker(getName(), context.getResourceName());
+            HttpUriRequest uriRequest = invoker.prepareConnection(context.getAuthenticationDetails(), context.getEndpoint(), context.getRequestType(), context.getBody(), queryInfo.getQuery(), context.getHeaders());
+            String result = invoker.invokeRequest(uriRequest, getHttpClient());
+            success = true;
+            return result;
         } catch (IOException | URISyntaxException e) {
             throw new KonnectQueryException("[RestConnector] Error in connecting to client", e);
         } catch (KonnectException e) {
@@ -213,7 +265,7 @@ public abstract class RestConnector implements Connector, AdditionalUrlResources
         } catch (Exception e) {
             throw new KonnectException("[RestConnector] Error in sending request", e);
         } finally {
-            clearRestConfigOfResourceUrl(restConfig);
+            KonnectMetricsProvider.getMetrics().recordQuery(getName(), context != null ? context.getResourceName() : null, System.nanoTime() - start, success);
         }
     }
 
@@ -234,12 +286,16 @@ public abstract class RestConnector implements Connector, AdditionalUrlResources
         if (!isValidConnection) {
             throw new KonnectConnectionException("[RestConnector] Error in connecting to client");
         }
-        RestConfig restConfig = null;
+        RestRequestContext context = null;
+        long start = System.nanoTime();
+        boolean success = false;
         try {
-            restConfig = getRestConfig(configDto.getConfig(), queryInfo);
-            RestInvoker invoker = new RestInvoker();
-            HttpUriRequest uriRequest = invoker.prepareConnection(restConfig.getAuthenticationDetails(), restConfig.getUrl(), restConfig.getRequestType(), restConfig.getBody(), query, restConfig.getHeaders());
-            return invoker.invokeRequest(uriRequest, getHttpClient());
+            context = getRequestContext(configDto.getConfig(), queryInfo);
+            RestInvoker invoker = new RestInvoker(getName(), context.getResourceName());
+            HttpUriRequest uriRequest = invoker.prepareConnection(context.getAuthenticationDetails(), context.getEndpoint(), context.getRequestType(), context.getBody(), query, context.getHeaders());
+            String result = invoker.invokeRequest(uriRequest, getHttpClient());
+            success = true;
+            return result;
         } catch (IOException | URISyntaxException e) {
             throw new KonnectQueryException("[RestConnector] Error in connecting to client", e);
         } catch (KonnectException e) {
@@ -247,7 +303,7 @@ public abstract class RestConnector implements Connector, AdditionalUrlResources
         } catch (Exception e) {
             throw new KonnectException("[RestConnector] Error in sending request", e);
         } finally {
-            clearRestConfigOfResourceUrl(restConfig);
+            KonnectMetricsProvider.getMetrics().recordQuery(getName(), context != null ? context.getResourceName() : null, System.nanoTime() - start, success);
         }
     }
 
@@ -292,6 +348,28 @@ public abstract class RestConnector implements Connector, AdditionalUrlResources
         return false;
     }
 
+    /**
+     * Returns the {@link RestRequestContext} to be used to execute a query.
+     * The resource of the query is passed in the additional query info under
+     * {@code resourceId}. The config itself is not changed, so queries on the
+     * same config can be executed concurrently.
+     *
+     * @param config       {@link Config} object which contains the configuration details
+     *                     for the REST API.
+     * @param queryInfoDto {@link QueryInfoDto} object which contains the query details
+     *                     for the REST API.
+     * @return {@link RestRequestContext} which is the context to be used to execute a query.
+     * @throws KonnectException if the URL Resource selected for query is invalid.
+     */
+    public RestRequestContext getRequestContext(Config config, QueryInfoDto queryInfoDto) throws KonnectException {
+        log.debug("Resolving resource {} for connector ", queryInfoDto.getAdditionalResourceInfo());
+        RestConfig restConfig = getRestConfig(config);
+        if (restConfig == null) {
+            throw new KonnectException("[RestConnector] Config is missing");
+        }
+        return restConfig.getRequestContext(queryInfoDto.getAdditionalResourceInfo().get(RESOURCE_ID));
+    }
+
     /**
      * Returns a {@link RestConfig} object for the Config to be used to execute
      * a query.
@@ -302,7 +380,10 @@ public abstract class RestConnector implements Connector, AdditionalUrlResources
      *                     for the REST API.
      * @return {@link RestConfig} which is the Config to be used to execute a query.
      * @throws KonnectException if the URL Resource selected for query is invalid.
+     * @deprecated the current resource is shared by all the queries on the
+     * config, use {@link #getRequestContext(Config, QueryInfoDto)} instead.
      */
+    @Deprecated
     public RestConfig getRestConfig(Config config, QueryInfoDto queryInfoDto) throws KonnectException {
         log.debug("Setting resource {} for connector ", queryInfoDto.getAdditionalResourceInfo());
         RestConfig restConfig = getRestConfig(config);
@@ -317,10 +398,61 @@ public abstract class RestConnector implements Connector, AdditionalUrlResources
      *
      * @param restConfig - {@link RestConfig} object which needs to be cleared.
      * @throws KonnectException if the URL Resource selected for query is invalid.
+     * @deprecated queries no longer set the current resource of the config,
+     * see {@link #getRequestContext(Config, QueryInfoDto)}.
      */
+    @Deprecated
     public void clearRestConfigOfResourceUrl(RestConfig restConfig) throws KonnectException {
         if (restConfig != null) {
             restConfig.setCurrentResource(StringUtils.EMPTY);
         }
     }
+
+    /**
+     * Returns the projection of the fields used by the template a query is
+     * rendered with. The template is passed in the additional query info under
+     * {@code template}, either as the name of a template shipped with this
+     * connector or as the template itself.
+     *
+     * <p>Connectors apply the projection to the results of a query, so that
+     * records carry only the fields the template needs. Previews are not
+     * projected, since they show the fields available to the template.
+     *
+     * @param queryInfo {@link QueryInfoDto} object which contains the query details.
+     * @return {@link FieldProjection} of the fields used by the template, or
+     * {@code null} if no template is given.
+     */
+    public FieldProjection getFieldProjection(QueryInfoDto queryInfo) {
+        String template = queryInfo.getAdditionalQueryInfo().get(TEMPLATE);
+        if (StringUtils.isBlank(template)) {
+            return null;
+        }
+        for (TemplateDto templateDto : getTemplates()) {
+            if (template.equals(templateDto.getName())) {
+                template = templateDto.getContent();
+                break;
+            }
+        }
+        return TemplateFieldAnalyzer.getProjection(template);
+    }
+
+    /**
+     * Returns the projection of the fields used from the result of a query
+     * executed in a list. The template finds the result of each query of the
+     * list under the name of the query, so the projection is the one of that
+     * field, or of all fields if the template iterates the results.
+     *
+     * @param queryInfo {@link QueryInfoDto} object which contains the query details.
+     * @return {@link FieldProjection} of the fields used from the result of the
+     * query, or {@code null} if no template is given or it does not tell which
+     * fields are used.
+     */
+    public FieldProjection getFieldProjectionInList(QueryInfoDto queryInfo) {
+        FieldProjection projection = getFieldProjection(queryInfo);
+        if (projection == null || projection.isKeepAll()) {
+            return null;
+        }
+        FieldProjection field = projection.getFields().get(queryInfo.getQueryName());
+        return field != null ? field : projection.getFields().get(FieldProjection.ANY_ELEMENT);
+    }
 }
@@ -11,11 +11,16 @@ governing permissions and limitations under the License.
 */
 package com.adobe.guides.konnect.definitions.core.connector;
 
+import com.adobe.guides.konnect.definitions.core.circuitbreaker.CircuitBreaker;
+import com.adobe.guides.konnect.definitions.core.circuitbreaker.CircuitBreakers;
 import com.adobe.guides.konnect.definitions.core.config.Config;
 import com.adobe.guides.konnect.definitions.core.config.ConfigDto;
+import com.adobe.guides.konnect.definitions.core.config.SqlConfig;
 import com.adobe.guides.konnect.definitions.core.exception.KonnectConnectionException;
 import com.adobe.guides.konnect.definitions.core.exception.KonnectException;
 import com.adobe.guides.konnect.definitions.core.exception.KonnectQueryException;
+import com.adobe.guides.konnect.definitions.core.metrics.KonnectMetricsProvider;
+import com.adobe.guides.konnect.definitions.core.metrics.RequestPhase;
 import com.adobe.guides.konnect.definitions.core.query.QueryInfoDto;
 import com.adobe.guides.konnect.definitions.core.query.QueryResultDto;
 import com.adobe.guides.konnect.definitions.core.util.CustomResultSetHandler;
@@ -111,22 +116,25 @@ public abstract class SqlConnector implements Connector {
     @Override
     public boolean validateConnection(ConfigDto configDto) {
         Connection connection = null;
+        long start = System.nanoTime();
+        boolean valid = false;
         try {
-            connection = getConnection(configDto.getConfig());
+            connection = openConnection(configDto.getConfig());
             if (connection != null) {
                 QueryRunner run = new QueryRunner();
                 CustomResultSetHandler handler = new CustomResultSetHandler();
                 Map<String, List<Object>> queryResult = run.query(connection, getValidationQuery(), handler);
-                if (!queryResult.isEmpty()) {
-                    return true;
-                }
+                valid = !queryResult.isEmpty();
             }
         } catch (SQLException e) {
             log.error("[SqlConnector] Error in connecting to driver", e);
+        } catch (KonnectConnectionException e) {
+            log.error("[SqlConnector] Error in connecting to driver {}", e.getMessage());
         } finally {
             closeConnection(connection);
+            KonnectMetricsProvider.getMetrics().recordValidation(getName(), System.nanoTime() - start, valid);
         }
-        return false;
+        return valid;
     }
 
     /**
@@ -147,12 +155,31 @@ public abstract class SqlConnector implements Connector {
      */
     @Override
     public String execute(ConfigDto configDto, List<QueryInfoDto> queryInfoList) throws KonnectException {
+        return executeInFlight(configDto, queryInfoList, () -> executeQueries(configDto, queryInfoList));
+    }
+
+    /**
+     * Executes a list of queries which is not in flight.
+     *
+     * @param configDto     Connector config which needs to be executed.
+     * @param queryInfoList The {@code List} of queries which will be executed.
+     * @return A <tt>String</tt> which is a single JSON response of all query executions.
+     * @throws KonnectException if any exception or error occurs while connecting to
+     *                          the external data source.
+     */
+    private String executeQueries(ConfigDto configDto, List<QueryInfoDto> queryInfoList) throws KonnectException {
         Connection connection = null;
+        long start = System.nanoTime();
+        boolean success = false;
         try {
-            connection = getConnection(configDto.getConfig());
+            connection = openConnection(configDto.getConfig());
         } catch (SQLException e) {
             closeConnection(connection);
+            KonnectMetricsProvider.getMetrics().recordQuery(getName(), null, System.nanoTime() - start, false);
             throw new KonnectConnectionException("[SqlConnector] Error in connecting to driver", e);
+        } catch (KonnectConnectionException e) {
+            KonnectMetricsProvider.getMetrics().recordQuery(getName(), null, System.nanoTime() - start, false);
+            throw e;
         }
 
         try {
@@ -161,16 +188,21 @@ public abstract class SqlConnector implements Connector {
             JsonObject queryResult = new JsonObject();
             for (QueryInfoDto queryInfo : queryInfoList) {
                 Map<String, List<Object>> subQueryResult = run.query(connection, trimQuery(queryInfo.getQuery()), handler);
-                JsonElement jsonElement = gson.fromJson(gson.toJson(subQueryResult), JsonElement.class);
+                JsonElement jsonElement = gson.toJsonTree(subQueryResult);
                 queryResult.add(queryInfo.getQueryName(), jsonElement);
             }
-            return queryResult.toString();
+            long serializeStart = System.nanoTime();
+            String result = queryResult.toString();
+            KonnectMetricsProvider.recordPhase(getName(), null, RequestPhase.SERIALIZE, System.nanoTime() - serializeStart);
+            success = true;
+            return result;
         } catch (SQLException e) {
             throw new KonnectQueryException("[SqlConnector] Error in executing query", e);
         } catch (Exception e) {
             throw new KonnectException("[SqlConnector] Error in executing query", e);
         } finally {
             closeConnection(connection);
+            KonnectMetricsProvider.getMetrics().recordQuery(getName(), null, System.nanoTime() - start, success);
         }
     }
 
@@ -191,24 +223,48 @@ public abstract class SqlConnector implements Connector {
      */
     @Override
     public String execute(ConfigDto configDto, QueryInfoDto queryInfo) throws KonnectException {
+        return executeInFlight(configDto, queryInfo, () -> executeQuery(configDto, queryInfo));
+    }
+
+    /**
+     * Executes a query which is not in flight.
+     *
+     * @param configDto Connector config which needs to be executed.
+     * @param queryInfo The query which will be executed.
+     * @return A <tt>String</tt> which is the JSON response of query execution.
+     * @throws KonnectException if any exception or error occurs while connecting to
+     *                          the external data source.
+     */
+    private String executeQuery(ConfigDto configDto, QueryInfoDto queryInfo) throws KonnectException {
         Connection connection = null;
+        long start = System.nanoTime();
+        boolean success = false;
         try {
-            connection = getConnection(configDto.getConfig());
+            connection = openConnection(configDto.getConfig());
         } catch (SQLException e) {
             closeConnection(connection);
+            KonnectMetricsProvider.getMetrics().recordQuery(getName(), null, System.nanoTime() - start, false);
             throw new KonnectConnectionException("[SqlConnector] Error in connecting to driver", e);
+        } catch (KonnectConnectionException e) {
+            KonnectMetricsProvider.getMetrics().recordQuery(getName(), null, System.nanoTime() - start, false);
+            throw e;
         }
         try {
             QueryRunner run = new QueryRunner();
             CustomResultSetHandler handler = new CustomResultSetHandler();
             Map<String, List<Object>> queryResult = run.query(connection, trimQuery(queryInfo.getQuery()), handler);
-            return gson.toJson(queryResult);
+            long serializeStart = System.nanoTime();
+            String result = gson.toJson(queryResult);
+            KonnectMetricsProvider.recordPhase(getName(), null, RequestPhase.SERIALIZE, System.nanoTime() - serializeStart);
+            success = true;
+            return result;
         } catch (SQLException e) {
             throw new KonnectQueryException("[SqlConnector] Error in executing query", e);
         } catch (Exception e) {
             throw new KonnectException("[SqlConnector] Error in executing query", e);
         } finally {
             closeConnection(connection);
+            KonnectMetricsProvider.getMetrics().recordQuery(getName(), null, System.nanoTime() - start, success);
         }
     }
 
@@ -278,6 +334,56 @@ public abstract class SqlConnector implements Connector {
         return String.format(SQL_DESC, getName());
     }
 
+    /**
+     * Returns a connection from {@link #getConnection(Config)} through the
+     * circuit breaker of this connector to the database, so that queries fail
+     * fast while the database cannot be reached.
+     *
+     * @param config The {@link Config} object which is used to fetch the connection
+     * @return {@link Connection} which is a valid connection to the SQL database
+     * @throws SQLException               if an exception occurs while fetching the connection
+     * @throws KonnectConnectionException if the circuit to the database is open
+     */
+    private Connection openConnection(Config config) throws SQLException, KonnectConnectionException {
+        CircuitBreaker breaker = CircuitBreakers.getBreaker(getName(), getEndpoint(config));
+        long permit = breaker.acquire();
+        long start = System.nanoTime();
+        boolean connected = false;
+        try {
+            Connection connection = getConnection(config);
+            connected = true;
+            return connection;
+        } finally {
+            if (connected) {
+                breaker.onSuccess(permit, System.nanoTime() - start);
+            } else {
+                breaker.onFailure(permit, System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Returns the endpoint of the database of a config, which is its
+     * connection string without credentials or parameters.
+     *
+     * @param config The {@link Config} object of the connection
+     * @return A {@code String} which identifies the database.
+     */
+    private String getEndpoint(Config config) {
+        if (!(config instanceof SqlConfig) || StringUtils.isBlank(((SqlConfig) config).getConnectionString())) {
+            return getName();
+        }
+        String endpoint = StringUtils.substringBefore(((SqlConfig) config).getConnectionString(), "?");
+        endpoint = StringUtils.substringBefore(endpoint, ";");
+        int credentials = endpoint.lastIndexOf('@');
+        if (credentials < 0) {
+            return endpoint;
+        }
+        int scheme = endpoint.indexOf("//");
+        int prefix = scheme >= 0 && scheme < credentials ? scheme + 2 : endpoint.lastIndexOf(':', credentials) + 1;
+        return endpoint.substring(0, prefix) + endpoint.substring(credentials + 1);
+    }
+
     /**
      * Closes the connection to the SQL database.
      *
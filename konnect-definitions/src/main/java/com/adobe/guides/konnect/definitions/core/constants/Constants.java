@@ -108,6 +108,8 @@ public class Constants {
     public static final String HTTP_METHOD_GET = "GET";
     public static final String HTTP_METHOD_POST = "POST";
     public static final String REQUEST_TYPE_ENUM = HTTP_METHOD_GET + "|" + HTTP_METHOD_POST;
+    public static final int HTTP_CLIENT_MAX_CONNECTIONS = 200;
+    public static final int HTTP_CLIENT_MAX_CONNECTIONS_PER_ROUTE = 32;
     public static final String JCR_CONTENT_RENDITION = "/jcr:content/renditions/original/jcr:content";
     public static final String SERVICE_USER_NAME = "konnect-serviceuser";
     public static final Map<String, Object> serviceUserParams = Collections.unmodifiableMap(new HashMap<String, Object>() {
@@ -127,4 +129,40 @@ public class Constants {
     public static final String SQL_DESC = "AEM Guides %s data source connector to query and visualize the data.";
     public static String SQL_LIMIT_PARAMS = "LIMIT";
     public static String RESOURCE_ID = "resourceId";
+    public static final String KONNECT_DATA = "konnect_data";
+    public static final String TEMPLATE = "template";
+    public static final int TEMPLATE_PROJECTION_CACHE_SIZE = 256;
+    public static final int ENDPOINT_CACHE_SIZE = 1000;
+
+    /* Metrics Constants*/
+    public static final int METRICS_STATUS_IO_ERROR = -1;
+    public static final String METRICS_DEFAULT_SCOPE = "default";
+    public static final String METRICS_JMX_DOMAIN = "com.adobe.guides.konnect";
+    public static final String METRICS_JMX_TYPE = "ConnectorMetrics";
+    public static final long METRICS_SLOW_REQUEST_THRESHOLD = 2000L;
+    public static final int METRICS_SLOW_REQUEST_HISTORY = 20;
+
+    /* HTTP Cache Constants*/
+    public static final String HTTP_CACHE_DIR = "konnect-http-cache";
+    public static final String HTTP_CACHE_MAX_SIZE_PROPERTY = "maxSizeBytes";
+    public static final long HTTP_CACHE_DEFAULT_MAX_SIZE = 256L * 1024 * 1024;
+
+    /* Compression Constants*/
+    public static final String CONTENT_ENCODING_GZIP = "gzip";
+    public static final int REQUEST_COMPRESSION_MIN_SIZE = 1024;
+
+    /* Circuit Breaker Constants*/
+    public static final int CIRCUIT_FAILURE_RATE_THRESHOLD = 50;
+    public static final int CIRCUIT_SLOW_CALL_RATE_THRESHOLD = 80;
+    public static final long CIRCUIT_SLOW_CALL_DURATION = 10000L;
+    public static final int CIRCUIT_MINIMUM_CALLS = 10;
+    public static final int CIRCUIT_WINDOW_SIZE = 20;
+    public static final long CIRCUIT_OPEN_DURATION = 30000L;
+    public static final int CIRCUIT_HALF_OPEN_CALLS = 3;
+
+    /* Execution Constants*/
+    public static final String EXECUTION_MAX_CONCURRENCY_PROPERTY = "maxConcurrency";
+    public static final String EXECUTION_MAX_CONCURRENCY_PER_CONNECTOR_PROPERTY = "maxConcurrencyPerConnector";
+    public static final int EXECUTION_MAX_CONCURRENCY = 16;
+    public static final int EXECUTION_MAX_CONCURRENCY_PER_CONNECTOR = 4;
 }
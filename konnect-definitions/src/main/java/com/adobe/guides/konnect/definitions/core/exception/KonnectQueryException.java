@@ -21,13 +21,16 @@ package com.adobe.guides.konnect.definitions.core.exception;
  */
 public class KonnectQueryException extends KonnectException {
 
+    private final int status;
+    private final String retryAfter;
+
     /**
      * Constructs a new exception with the specified detail message.
      *
      * @param message the detail message.
      */
     public KonnectQueryException(String message) {
-        super(message);
+        this(message, 0, null);
     }
 
     /**
@@ -38,5 +41,40 @@ public class KonnectQueryException extends KonnectException {
      */
     public KonnectQueryException(String message, Throwable cause) {
         super(message, cause);
+        this.status = 0;
+        this.retryAfter = null;
+    }
+
+    /**
+     * Constructs a new exception with the specified detail message and the
+     * HTTP status received from the remote service.
+     *
+     * @param message    the detail message.
+     * @param status     the HTTP status received from the remote service.
+     * @param retryAfter the value of the <tt>Retry-After</tt> header of the response, or {@code null}.
+     */
+    public KonnectQueryException(String message, int status, String retryAfter) {
+        super(message);
+        this.status = status;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Returns the HTTP status received from the remote service.
+     *
+     * @return the HTTP status, or {@code 0} if no response was received.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the value of the <tt>Retry-After</tt> header received from the
+     * remote service.
+     *
+     * @return the value of the header, or {@code null} if it was not sent.
+     */
+    public String getRetryAfter() {
+        return retryAfter;
     }
 }
@@ -0,0 +1,482 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.execution;
+
+import com.adobe.guides.konnect.definitions.core.config.ConfigDto;
+import com.adobe.guides.konnect.definitions.core.connector.Connector;
+import com.adobe.guides.konnect.definitions.core.exception.KonnectException;
+import com.adobe.guides.konnect.definitions.core.metrics.KonnectMetricsProvider;
+import com.adobe.guides.konnect.definitions.core.query.InFlightQueries;
+import com.adobe.guides.konnect.definitions.core.query.QueryInfoDto;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.apache.commons.lang3.StringUtils;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.EXECUTION_MAX_CONCURRENCY;
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.EXECUTION_MAX_CONCURRENCY_PER_CONNECTOR;
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.EXECUTION_MAX_CONCURRENCY_PER_CONNECTOR_PROPERTY;
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.EXECUTION_MAX_CONCURRENCY_PROPERTY;
+
+/**
+ * Default implementation of the {@link KonnectExecutionService}.
+ *
+ * <p>A batch is first worked into a plan. Identical queries, as keyed by
+ * {@link InFlightQueries}, are planned once. The queries left are grouped by
+ * connector and config, and each group is split into at most
+ * <tt>maxConcurrencyPerConnector</tt> lists of queries, each executed with
+ * {@link Connector#execute(ConfigDto, List)}. The lists of all the groups are
+ * then executed on a pool of <tt>maxConcurrency</tt> threads, at most
+ * <tt>maxConcurrencyPerConnector</tt> at a time for a connector, across all
+ * the batches in progress. The lists of a connector beyond that limit wait in
+ * a queue of the connector, so they do not hold threads of the pool which
+ * other connectors could use.
+ *
+ * <p>The queries of a list keep the names given by the caller, which are
+ * unique in a batch, so that connectors can find the fields of the template
+ * of each query.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+@Component(service = KonnectExecutionService.class,
+        property = {
+                EXECUTION_MAX_CONCURRENCY_PROPERTY + ":Integer=" + EXECUTION_MAX_CONCURRENCY,
+                EXECUTION_MAX_CONCURRENCY_PER_CONNECTOR_PROPERTY + ":Integer=" + EXECUTION_MAX_CONCURRENCY_PER_CONNECTOR
+        })
+public class DefaultKonnectExecutionService implements KonnectExecutionService {
+
+    private static final Logger log = LoggerFactory.getLogger(DefaultKonnectExecutionService.class);
+
+    private final Gson gson = new GsonBuilder().disableHtmlEscaping().create();
+    private final Map<String, Connector> connectors = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConnectorQueue> queues = new ConcurrentHashMap<>();
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private volatile ThreadPoolExecutor executor;
+    private volatile int maxConcurrencyPerConnector = EXECUTION_MAX_CONCURRENCY_PER_CONNECTOR;
+
+    /**
+     * Applies the properties of this component. The pool executing queries is
+     * created once, and resized when the properties are modified.
+     *
+     * @param properties the properties of this component.
+     */
+    @Activate
+    @Modified
+    protected synchronized void activate(Map<String, Object> properties) {
+        int maxConcurrency = getInt(properties, EXECUTION_MAX_CONCURRENCY_PROPERTY, EXECUTION_MAX_CONCURRENCY);
+        maxConcurrencyPerConnector = getInt(properties, EXECUTION_MAX_CONCURRENCY_PER_CONNECTOR_PROPERTY, EXECUTION_MAX_CONCURRENCY_PER_CONNECTOR);
+        if (executor == null) {
+            executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "konnect-execution-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else if (maxConcurrency > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(maxConcurrency);
+            executor.setCorePoolSize(maxConcurrency);
+        } else {
+            executor.setCorePoolSize(maxConcurrency);
+            executor.setMaximumPoolSize(maxConcurrency);
+        }
+    }
+
+    /**
+     * Stops the threads executing queries.
+     */
+    @Deactivate
+    protected synchronized void deactivate() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Adds a connector which can execute queries.
+     *
+     * @param connector the {@link Connector} available.
+     */
+    @Reference(service = Connector.class, cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
+    protected void bindConnector(Connector connector) {
+        connectors.put(connector.getName(), connector);
+    }
+
+    /**
+     * Removes a connector which is no longer available.
+     *
+     * @param connector the {@link Connector} no longer available.
+     */
+    protected void unbindConnector(Connector connector) {
+        connectors.remove(connector.getName(), connector);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, String> execute(List<ExecutionRequest> requests) throws KonnectException {
+        int perConnector = maxConcurrencyPerConnector;
+        Map<String, String> keys = new LinkedHashMap<>();
+        Map<String, List<ExecutionTask>> groups = new LinkedHashMap<>();
+        Map<String, Integer> groupSizes = new HashMap<>();
+        Set<String> planned = new HashSet<>();
+        for (ExecutionRequest request : requests) {
+            Connector connector = getConnector(request);
+            ConfigDto configDto = request.getConfigDto();
+            String key = connector.getName() + "/" + InFlightQueries.getKey(configDto, request.getQueryInfo());
+            String queryName = request.getQueryInfo().getQueryName();
+            if (keys.containsKey(queryName)) {
+                throw new KonnectException("[KonnectExecutionService] Query name " + queryName + " is used by more than one request");
+            }
+            keys.put(queryName, key);
+            if (!planned.add(key)) {
+                KonnectMetricsProvider.getMetrics().recordCoalescedQuery(connector.getName());
+                continue;
+            }
+            String groupKey = connector.getName() + "/" + InFlightQueries.getKey(configDto);
+            List<ExecutionTask> group = groups.computeIfAbsent(groupKey, k -> new ArrayList<>());
+            int index = groupSizes.merge(groupKey, 1, Integer::sum) - 1;
+            if (group.size() < perConnector) {
+                group.add(new ExecutionTask(connector, configDto));
+            }
+            group.get(index % perConnector).add(key, request.getQueryInfo());
+        }
+        log.debug("[KonnectExecutionService] Executing {} queries of {} requests in {} groups", planned.size(), requests.size(), groups.size());
+        Map<String, String> results = run(interleave(groups.values(), perConnector));
+        Map<String, String> response = new LinkedHashMap<>();
+        keys.forEach((queryName, key) -> response.put(queryName, results.get(key)));
+        return response;
+    }
+
+    /**
+     * Returns the connector executing a query: the connector named by the
+     * request, or else the only connector supporting the class of its config.
+     *
+     * @param request the {@link ExecutionRequest}.
+     * @return {@link Connector} executing the query.
+     * @throws KonnectException if no connector, or more than one, can execute
+     *                          the query.
+     */
+    private Connector getConnector(ExecutionRequest request) throws KonnectException {
+        if (StringUtils.isNotBlank(request.getConnectorName())) {
+            Connector connector = connectors.get(request.getConnectorName());
+            if (connector == null) {
+                throw new KonnectException("[KonnectExecutionService] Connector " + request.getConnectorName() + " is not available");
+            }
+            return connector;
+        }
+        ConfigDto configDto = request.getConfigDto();
+        String configClazz = StringUtils.isNotBlank(configDto.getConfigClazz()) || configDto.getConfig() == null
+                ? configDto.getConfigClazz() : configDto.getConfig().getClass().getName();
+        Connector supporting = null;
+        for (Connector connector : connectors.values()) {
+            for (Class configClass : connector.getConfigClass()) {
+                if (!configClass.getName().equals(configClazz) || connector == supporting) {
+                    continue;
+                }
+                if (supporting != null) {
+                    throw new KonnectException("[KonnectExecutionService] Config " + configClazz + " is supported by "
+                            + supporting.getName() + " and " + connector.getName() + ", the connector must be named");
+                }
+                supporting = connector;
+            }
+        }
+        if (supporting == null) {
+            throw new KonnectException("[KonnectExecutionService] No connector supports config " + configClazz);
+        }
+        return supporting;
+    }
+
+    /**
+     * Returns the tasks of the groups, taking a task of each group in turn,
+     * so that the connectors are queried at the same time even if the pool is
+     * smaller than the plan.
+     *
+     * @param groups       the tasks of each group.
+     * @param perConnector the maximum number of tasks of a group.
+     * @return {@code List} of {@link ExecutionTask} to be run.
+     */
+    private List<ExecutionTask> interleave(Iterable<List<ExecutionTask>> groups, int perConnector) {
+        List<ExecutionTask> tasks = new ArrayList<>();
+        for (int round = 0; round < perConnector; round++) {
+            for (List<ExecutionTask> group : groups) {
+                if (round < group.size()) {
+                    tasks.add(group.get(round));
+                }
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Runs the tasks of a plan and returns their results. A single task is
+     * run on the calling thread if its connector has a free slot.
+     *
+     * @param tasks the {@link ExecutionTask} to be run.
+     * @return {@code Map} of query key to the JSON response of the query.
+     * @throws KonnectException if a task failed.
+     */
+    private Map<String, String> run(List<ExecutionTask> tasks) throws KonnectException {
+        Map<String, String> results = new HashMap<>();
+        if (tasks.size() == 1) {
+            ConnectorQueue queue = getQueue(tasks.get(0));
+            if (queue.tryStart()) {
+                try {
+                    results.putAll(tasks.get(0).call());
+                } finally {
+                    queue.done();
+                }
+                return results;
+            }
+        }
+        List<Future<Map<String, String>>> futures = new ArrayList<>();
+        try {
+            for (ExecutionTask task : tasks) {
+                FutureTask<Map<String, String>> future = new FutureTask<>(task);
+                futures.add(future);
+                getQueue(task).submit(future);
+            }
+            for (Future<Map<String, String>> future : futures) {
+                results.putAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KonnectException("[KonnectExecutionService] Interrupted while executing queries", e);
+        } catch (CancellationException e) {
+            throw new KonnectException("[KonnectExecutionService] Execution service is not active", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof KonnectException) {
+                throw (KonnectException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new KonnectException("[KonnectExecutionService] Error in executing queries", cause);
+        } finally {
+            for (Future<Map<String, String>> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns the queue of the connector of a task.
+     *
+     * @param task the {@link ExecutionTask}.
+     * @return {@link ConnectorQueue} of the connector.
+     */
+    private ConnectorQueue getQueue(ExecutionTask task) {
+        return queues.computeIfAbsent(task.connector.getName(), name -> new ConnectorQueue());
+    }
+
+    /**
+     * Returns the value of a numeric property.
+     *
+     * @param properties   the properties of this component.
+     * @param name         the name of the property.
+     * @param defaultValue the value used if the property is missing or invalid.
+     * @return the value of the property, at least 1.
+     */
+    private static int getInt(Map<String, Object> properties, String name, int defaultValue) {
+        Object value = properties != null ? properties.get(name) : null;
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Math.max(Integer.parseInt(value.toString().trim()), 1);
+        } catch (NumberFormatException e) {
+            log.warn("[KonnectExecutionService] Invalid {} {}, using {}", name, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Queries of a connector and config executed together, keyed by the key
+     * of each query.
+     */
+    private final class ExecutionTask implements Callable<Map<String, String>> {
+
+        private final Connector connector;
+        private final ConfigDto configDto;
+        private final Map<String, QueryInfoDto> queries = new LinkedHashMap<>();
+
+        private ExecutionTask(Connector connector, ConfigDto configDto) {
+            this.connector = connector;
+            this.configDto = configDto;
+        }
+
+        private void add(String key, QueryInfoDto queryInfo) {
+            queries.put(key, queryInfo);
+        }
+
+        /**
+         * Executes the queries. A single query is executed on its own; otherwise the queries are
+         * executed as a list under their names, and the result is split back
+         * into the response of each query.
+         *
+         * @return {@code Map} of query key to the JSON response of the query.
+         * @throws KonnectException if any exception or error occurs while
+         *                          connecting to the external data source.
+         */
+        @Override
+        public Map<String, String> call() throws KonnectException {
+            Map<String, String> results = new HashMap<>();
+            if (queries.size() == 1) {
+                Map.Entry<String, QueryInfoDto> query = queries.entrySet().iterator().next();
+                results.put(query.getKey(), connector.execute(configDto, query.getValue()));
+                return results;
+            }
+            List<QueryInfoDto> queryInfoList = new ArrayList<>();
+            queries.values().forEach(queryInfo -> queryInfoList.add(copy(queryInfo)));
+            JsonObject queryResult = gson.fromJson(connector.execute(configDto, queryInfoList), JsonObject.class);
+            queries.forEach((key, queryInfo) -> {
+                JsonElement jsonElement = queryResult != null ? queryResult.get(queryInfo.getQueryName()) : null;
+                results.put(key, jsonElement != null ? gson.toJson(jsonElement) : null);
+            });
+            return results;
+        }
+
+        /**
+         * Returns a copy of a query, so that the query of the caller is not
+         * changed by the connector.
+         *
+         * @param queryInfo the query.
+         * @return {@link QueryInfoDto} which is the copy.
+         */
+        private QueryInfoDto copy(QueryInfoDto queryInfo) {
+            Map<String, String> additionalQueryInfo = queryInfo.getAdditionalQueryInfo();
+            Map<String, String> additionalResourceInfo = queryInfo.getAdditionalResourceInfo();
+            QueryInfoDto copy = new QueryInfoDto();
+            copy.setQuery(queryInfo.getQuery());
+            copy.setQueryName(queryInfo.getQueryName());
+            copy.setAdditionalQueryInfo(() -> additionalQueryInfo);
+            copy.setAdditionalResourceInfo(() -> additionalResourceInfo);
+            return copy;
+        }
+    }
+
+    /**
+     * Tasks of a connector, of which at most <tt>maxConcurrencyPerConnector</tt>
+     * are on the pool at a time. The others wait here, in the order they were
+     * submitted, until a running task of the connector is done. The limit is
+     * read on every decision, so a new limit applies to the next task.
+     */
+    private final class ConnectorQueue {
+
+        private final Deque<FutureTask<Map<String, String>>> waiting = new ArrayDeque<>();
+        private int running;
+
+        /**
+         * Takes a slot of the connector for a task run by the caller, if one
+         * is free.
+         *
+         * @return {@code true} if a slot was taken, the caller must then call
+         * {@link #done()} once the task is done.
+         */
+        private synchronized boolean tryStart() {
+            if (running < maxConcurrencyPerConnector) {
+                running++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Runs a task on the pool if the connector has a free slot, or else
+         * queues it.
+         *
+         * @param task the task to be run.
+         */
+        private void submit(FutureTask<Map<String, String>> task) {
+            synchronized (this) {
+                if (running >= maxConcurrencyPerConnector) {
+                    waiting.add(task);
+                    return;
+                }
+                running++;
+            }
+            dispatch(task);
+        }
+
+        /**
+         * Hands the slot of a task which is done to the next queued task, or
+         * frees it.
+         */
+        private void done() {
+            FutureTask<Map<String, String>> next;
+            synchronized (this) {
+                next = running <= maxConcurrencyPerConnector ? waiting.poll() : null;
+                if (next == null) {
+                    running--;
+                    return;
+                }
+            }
+            dispatch(next);
+        }
+
+        /**
+         * Runs a task holding a slot on the pool. A task which the pool
+         * rejects, because the service is being deactivated, is cancelled.
+         *
+         * @param task the task to be run.
+         */
+        private void dispatch(FutureTask<Map<String, String>> task) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        done();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                task.cancel(false);
+                done();
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.execution;
+
+import com.adobe.guides.konnect.definitions.core.config.ConfigDto;
+import com.adobe.guides.konnect.definitions.core.query.QueryInfoDto;
+
+/**
+ * A query to be executed by the {@link KonnectExecutionService}, with the
+ * config it is executed on.
+ *
+ * <p>The connector executing the query is the one named by
+ * {@link #setConnectorName(String)} or, if no name is set, the connector
+ * supporting the class of the config.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class ExecutionRequest {
+
+    private final ConfigDto configDto;
+    private final QueryInfoDto queryInfo;
+    private String connectorName;
+
+    /**
+     * Sole constructor.
+     *
+     * @param configDto Connector config on which the query is executed.
+     * @param queryInfo The query which will be executed.
+     */
+    public ExecutionRequest(ConfigDto configDto, QueryInfoDto queryInfo) {
+        this.configDto = configDto;
+        this.queryInfo = queryInfo;
+    }
+
+    /**
+     * Returns the config on which the query is executed.
+     *
+     * @return {@link ConfigDto} of the query.
+     */
+    public ConfigDto getConfigDto() {
+        return configDto;
+    }
+
+    /**
+     * Returns the query.
+     *
+     * @return {@link QueryInfoDto} which is the query.
+     */
+    public QueryInfoDto getQueryInfo() {
+        return queryInfo;
+    }
+
+    /**
+     * Returns the name of the connector executing the query.
+     *
+     * @return {@code String} name of the connector, or {@code null} if the
+     * connector is resolved from the config.
+     */
+    public String getConnectorName() {
+        return connectorName;
+    }
+
+    /**
+     * Sets the name of the connector executing the query.
+     *
+     * @param connectorName {@code String} name of the connector.
+     * @return {@link ExecutionRequest} object.
+     */
+    public ExecutionRequest setConnectorName(String connectorName) {
+        this.connectorName = connectorName;
+        return this;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.execution;
+
+import com.adobe.guides.konnect.definitions.core.exception.KonnectException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Executes the queries of several connectors as a single plan.
+ *
+ * <p>A batch can mix queries of any connector and config. Identical queries
+ * are executed once, whatever their name. The queries of a connector and
+ * config are executed together, and the connectors are queried at the same
+ * time, so that a batch takes about as long as its slowest data source.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public interface KonnectExecutionService {
+
+    /**
+     * Executes a batch of queries.
+     *
+     * <p>The batch fails as a whole, like
+     * {@link com.adobe.guides.konnect.definitions.core.connector.Connector#execute(com.adobe.guides.konnect.definitions.core.config.ConfigDto, List)}:
+     * if a query fails, the queries not completed yet are cancelled.
+     *
+     * @param requests the {@code List} of {@link ExecutionRequest} to be executed.
+     *                 The names of the queries must be unique.
+     * @return a {@code Map} of query name to the JSON response of the query,
+     * in the order of the requests.
+     * @throws KonnectException if two requests have the same query name, if no
+     *                          connector can execute a query, or if any
+     *                          exception or error occurs while connecting to
+     *                          an external data source.
+     */
+    Map<String, String> execute(List<ExecutionRequest> requests) throws KonnectException;
+}
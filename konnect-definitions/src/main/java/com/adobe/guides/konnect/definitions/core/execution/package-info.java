@@ -0,0 +1,5 @@
+/**
+ * This is the group of files for storing the services which execute the
+ * queries of several connectors as a single plan.
+ */
+package com.adobe.guides.konnect.definitions.core.execution;
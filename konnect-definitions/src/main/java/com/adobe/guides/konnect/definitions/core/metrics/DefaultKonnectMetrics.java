@@ -0,0 +1,218 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.metrics;
+
+import org.apache.commons.lang3.StringUtils;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.METRICS_DEFAULT_SCOPE;
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.METRICS_JMX_DOMAIN;
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.METRICS_JMX_TYPE;
+
+/**
+ * Default implementation of {@link KonnectMetrics}.
+ *
+ * <p>The metrics of every connector resource are kept in a
+ * {@link ResourceMetrics}, which is registered in the platform MBean server
+ * as <tt>com.adobe.guides.konnect:type=ConnectorMetrics,connector=...,resource=...</tt>
+ * the first time it is recorded. Recording looks up the resource in a map of
+ * maps, so that no key is allocated on the request path, and then updates
+ * lock-free counters and histograms. The phases of the requests are recorded
+ * the same way, and the timings of slow requests are kept for inspection.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+@Component(service = KonnectMetrics.class, immediate = true)
+public class DefaultKonnectMetrics implements KonnectMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(DefaultKonnectMetrics.class);
+
+    private final ConcurrentMap<String, ConcurrentMap<String, ResourceMetrics>> metrics = new ConcurrentHashMap<>();
+    private volatile boolean active;
+
+    /**
+     * Registers the MBeans of the metrics recorded so far and starts
+     * recording the metrics of the connectors.
+     */
+    @Activate
+    protected void activate() {
+        active = true;
+        for (ResourceMetrics resourceMetrics : getAll()) {
+            registerMBean(resourceMetrics);
+        }
+        KonnectMetricsProvider.register(this);
+    }
+
+    /**
+     * Stops recording the metrics of the connectors and unregisters the MBeans.
+     */
+    @Deactivate
+    protected void deactivate() {
+        KonnectMetricsProvider.unregister(this);
+        active = false;
+        for (ResourceMetrics resourceMetrics : getAll()) {
+            unregisterMBean(resourceMetrics);
+        }
+    }
+
+    @Override
+    public void recordRequest(String connector, String resource, int status, long durationNanos, long responseBytes) {
+        getMetrics(connector, resource).recordRequest(status, durationNanos, responseBytes);
+    }
+
+    @Override
+    public void recordPage(String connector, String resource) {
+        getMetrics(connector, resource).recordPage();
+    }
+
+    @Override
+    public void recordQuery(String connector, String resource, long durationNanos, boolean success) {
+        getMetrics(connector, resource).recordQuery(durationNanos, success);
+    }
+
+    @Override
+    public void recordValidation(String connector, long durationNanos, boolean success) {
+        getMetrics(connector, null).recordValidation(durationNanos, success);
+    }
+
+    @Override
+    public void recordRetry(String connector, String resource) {
+        getMetrics(connector, resource).recordRetry();
+    }
+
+    @Override
+    public void recordTimings(RequestTimings timings) {
+        getMetrics(timings.getConnector(), timings.getResource()).recordTimings(timings);
+    }
+
+    @Override
+    public void recordPhase(String connector, String resource, RequestPhase phase, long durationNanos) {
+        getMetrics(connector, resource).recordPhase(phase, durationNanos);
+    }
+
+    @Override
+    public void recordCircuitState(String connector, String endpoint, String state) {
+        getMetrics(connector, null).recordCircuitState(endpoint, state);
+    }
+
+    @Override
+    public void recordRejectedCall(String connector, String endpoint) {
+        getMetrics(connector, null).recordRejectedCall();
+    }
+
+    @Override
+    public void recordCoalescedQuery(String connector) {
+        getMetrics(connector, null).recordCoalescedQuery();
+    }
+
+    /**
+     * Returns the metrics of a resource of a connector, creating them if
+     * nothing was recorded yet.
+     *
+     * @param connector the name of the connector.
+     * @param resource  the name of the resource, or {@code null} for the
+     *                  default resource.
+     * @return {@link ResourceMetrics} of the resource.
+     */
+    public ResourceMetrics getMetrics(String connector, String resource) {
+        connector = StringUtils.isBlank(connector) ? METRICS_DEFAULT_SCOPE : connector;
+        resource = StringUtils.isBlank(resource) ? METRICS_DEFAULT_SCOPE : resource;
+        ConcurrentMap<String, ResourceMetrics> connectorMetrics = metrics.get(connector);
+        if (connectorMetrics == null) {
+            connectorMetrics = metrics.computeIfAbsent(connector, key -> new ConcurrentHashMap<>());
+        }
+        ResourceMetrics resourceMetrics = connectorMetrics.get(resource);
+        if (resourceMetrics == null) {
+            ResourceMetrics created = new ResourceMetrics(connector, resource);
+            resourceMetrics = connectorMetrics.putIfAbsent(resource, created);
+            if (resourceMetrics == null) {
+                resourceMetrics = created;
+                if (active) {
+                    registerMBean(created);
+                }
+            }
+        }
+        return resourceMetrics;
+    }
+
+    /**
+     * Returns the metrics of all the resources recorded so far.
+     *
+     * @return a {@code List} of {@link ResourceMetrics}.
+     */
+    public List<ResourceMetrics> getAll() {
+        List<ResourceMetrics> all = new ArrayList<>();
+        metrics.values().forEach(connectorMetrics -> all.addAll(connectorMetrics.values()));
+        return all;
+    }
+
+    /**
+     * Registers the MBean of the metrics of a resource.
+     *
+     * @param resourceMetrics {@link ResourceMetrics} to be registered.
+     */
+    private void registerMBean(ResourceMetrics resourceMetrics) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = getObjectName(resourceMetrics);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(resourceMetrics, name);
+            }
+        } catch (JMException e) {
+            log.warn("Unable to register the metrics of connector {} and resource {}", resourceMetrics.getConnector(), resourceMetrics.getResource(), e);
+        }
+    }
+
+    /**
+     * Unregisters the MBean of the metrics of a resource.
+     *
+     * @param resourceMetrics {@link ResourceMetrics} to be unregistered.
+     */
+    private void unregisterMBean(ResourceMetrics resourceMetrics) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = getObjectName(resourceMetrics);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            log.warn("Unable to unregister the metrics of connector {} and resource {}", resourceMetrics.getConnector(), resourceMetrics.getResource(), e);
+        }
+    }
+
+    /**
+     * Returns the JMX name of the metrics of a resource.
+     *
+     * @param resourceMetrics {@link ResourceMetrics} of the resource.
+     * @return {@link ObjectName} of the MBean.
+     * @throws JMException if the name is invalid.
+     */
+    private static ObjectName getObjectName(ResourceMetrics resourceMetrics) throws JMException {
+        return new ObjectName(METRICS_JMX_DOMAIN + ":type=" + METRICS_JMX_TYPE
+                + ",connector=" + ObjectName.quote(resourceMetrics.getConnector())
+                + ",resource=" + ObjectName.quote(resourceMetrics.getResource()));
+    }
+}
@@ -0,0 +1,130 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.metrics;
+
+/**
+ * Service interface to record the metrics of the connectors.
+ *
+ * <p>Metrics are recorded per connector and resource. The connector is the
+ * name returned by {@code Connector.getName()}. The resource is the name of
+ * the URL resource a query is executed on, or {@code default} when the query
+ * is not executed on a resource.
+ *
+ * <p>Implementations are called on the request path of every query, so they
+ * should be cheap and must be thread-safe. An implementation registered as an
+ * OSGi service is used by the connectors once it registers itself with
+ * {@link KonnectMetricsProvider#register(KonnectMetrics)}.
+ *
+ * @author Adobe
+ * @see DefaultKonnectMetrics
+ * @since 1.0.0
+ */
+public interface KonnectMetrics {
+
+    /**
+     * Records an HTTP request sent to an external data source.
+     *
+     * @param connector     the name of the connector.
+     * @param resource      the name of the resource.
+     * @param status        the HTTP status of the response, or
+     *                      {@code METRICS_STATUS_IO_ERROR} if no response was received.
+     * @param durationNanos the time from sending the request to reading the response.
+     * @param responseBytes the number of bytes of the response body.
+     */
+    void recordRequest(String connector, String resource, int status, long durationNanos, long responseBytes);
+
+    /**
+     * Records a page of results fetched while paginating a query.
+     *
+     * @param connector the name of the connector.
+     * @param resource  the name of the resource.
+     */
+    void recordPage(String connector, String resource);
+
+    /**
+     * Records the execution of a query, including all its pages.
+     *
+     * @param connector     the name of the connector.
+     * @param resource      the name of the resource.
+     * @param durationNanos the time taken by the query.
+     * @param success       {@code true} if the query returned results.
+     */
+    void recordQuery(String connector, String resource, long durationNanos, boolean success);
+
+    /**
+     * Records the validation of the connection of a connector.
+     *
+     * @param connector     the name of the connector.
+     * @param durationNanos the time taken by the validation.
+     * @param success       {@code true} if the connection is valid.
+     */
+    void recordValidation(String connector, long durationNanos, boolean success);
+
+    /**
+     * Records the retry of a request, for example after the data source
+     * answered with <tt>429 Too Many Requests</tt>.
+     *
+     * @param connector the name of the connector.
+     * @param resource  the name of the resource.
+     */
+    void recordRetry(String connector, String resource);
+
+    /**
+     * Records the latencies of the network phases of a request, once the
+     * response is read. Implementations may keep the timings of slow requests.
+     *
+     * @param timings {@link RequestTimings} of the request.
+     */
+    void recordTimings(RequestTimings timings);
+
+    /**
+     * Records the latency of a phase which is not measured by the HTTP
+     * client, such as parsing a page of results or serializing the result of
+     * a query.
+     *
+     * @param connector     the name of the connector.
+     * @param resource      the name of the resource.
+     * @param phase         the phase of the request.
+     * @param durationNanos the time taken by the phase.
+     */
+    void recordPhase(String connector, String resource, RequestPhase phase, long durationNanos);
+
+    /**
+     * Records a change of state of the circuit breaker of a connector to an
+     * endpoint of a data source. It is recorded in the default scope of the
+     * connector.
+     *
+     * @param connector the name of the connector.
+     * @param endpoint  the endpoint of the data source.
+     * @param state     the new state of the circuit, such as <tt>OPEN</tt>.
+     */
+    void recordCircuitState(String connector, String endpoint, String state);
+
+    /**
+     * Records a call rejected because the circuit of a connector to an
+     * endpoint is open. It is recorded in the default scope of the connector.
+     *
+     * @param connector the name of the connector.
+     * @param endpoint  the endpoint of the data source.
+     */
+    void recordRejectedCall(String connector, String endpoint);
+
+    /**
+     * Records a query which was not executed because an identical query was
+     * already in flight or in the same batch, and which got the result of
+     * that query instead. It is recorded in the default scope of the
+     * connector.
+     *
+     * @param connector the name of the connector.
+     */
+    void recordCoalescedQuery(String connector);
+}
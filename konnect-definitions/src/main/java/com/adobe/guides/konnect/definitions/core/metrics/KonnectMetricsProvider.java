@@ -0,0 +1,118 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.metrics;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the {@link KonnectMetrics} used by the connectors.
+ *
+ * <p>Connectors and {@code RestInvoker} are not always OSGi components, so
+ * they get the metrics from this class rather than from a reference. Until an
+ * implementation is registered, the metrics are discarded.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public final class KonnectMetricsProvider {
+
+    private static final KonnectMetrics NO_OP = new NoOpKonnectMetrics();
+    private static final AtomicReference<KonnectMetrics> metrics = new AtomicReference<>(NO_OP);
+
+    private KonnectMetricsProvider() {
+    }
+
+    /**
+     * Returns the metrics in use.
+     *
+     * @return {@link KonnectMetrics} object, never {@code null}.
+     */
+    public static KonnectMetrics getMetrics() {
+        return metrics.get();
+    }
+
+    /**
+     * Sets the metrics to be used by the connectors.
+     *
+     * @param konnectMetrics {@link KonnectMetrics} to be used.
+     */
+    public static void register(KonnectMetrics konnectMetrics) {
+        metrics.set(konnectMetrics);
+    }
+
+    /**
+     * Stops using the given metrics, if they are in use.
+     *
+     * @param konnectMetrics {@link KonnectMetrics} which is no longer available.
+     */
+    public static void unregister(KonnectMetrics konnectMetrics) {
+        metrics.compareAndSet(konnectMetrics, NO_OP);
+    }
+
+    /**
+     * Records the latency of a phase in the metrics in use.
+     *
+     * @param connector     the name of the connector.
+     * @param resource      the name of the resource.
+     * @param phase         the phase of the request.
+     * @param durationNanos the time taken by the phase.
+     */
+    public static void recordPhase(String connector, String resource, RequestPhase phase, long durationNanos) {
+        getMetrics().recordPhase(connector, resource, phase, durationNanos);
+    }
+
+    /**
+     * {@link KonnectMetrics} which discards everything.
+     */
+    private static final class NoOpKonnectMetrics implements KonnectMetrics {
+
+        @Override
+        public void recordRequest(String connector, String resource, int status, long durationNanos, long responseBytes) {
+        }
+
+        @Override
+        public void recordPage(String connector, String resource) {
+        }
+
+        @Override
+        public void recordQuery(String connector, String resource, long durationNanos, boolean success) {
+        }
+
+        @Override
+        public void recordValidation(String connector, long durationNanos, boolean success) {
+        }
+
+        @Override
+        public void recordRetry(String connector, String resource) {
+        }
+
+        @Override
+        public void recordTimings(RequestTimings timings) {
+        }
+
+        @Override
+        public void recordPhase(String connector, String resource, RequestPhase phase, long durationNanos) {
+        }
+
+        @Override
+        public void recordCircuitState(String connector, String endpoint, String state) {
+        }
+
+        @Override
+        public void recordRejectedCall(String connector, String endpoint) {
+        }
+
+        @Override
+        public void recordCoalescedQuery(String connector) {
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latencies.
+ *
+ * <p>Latencies are counted in fixed buckets from 1 ms to 60 s, so recording
+ * a latency does not allocate. Percentiles are estimated from the buckets
+ * and are the upper bound of the bucket the percentile falls in.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public final class LatencyHistogram {
+
+    private static final long[] BUCKET_BOUNDS_MILLIS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000};
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MILLIS.length + 1);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records a latency.
+     *
+     * @param durationNanos the latency in nanoseconds.
+     */
+    public void record(long durationNanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS_MILLIS.length && millis >= BUCKET_BOUNDS_MILLIS[bucket]) {
+            bucket++;
+        }
+        buckets.incrementAndGet(bucket);
+        count.increment();
+        totalNanos.add(durationNanos);
+        maxNanos.accumulate(durationNanos);
+    }
+
+    /**
+     * Returns a snapshot of this histogram.
+     *
+     * @return {@link LatencySnapshot} of the latencies recorded so far.
+     */
+    public LatencySnapshot getSnapshot() {
+        long[] counts = new long[buckets.length()];
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        double max = maxNanos.get() / NANOS_PER_MILLI;
+        long recorded = count.sum();
+        double mean = recorded == 0 ? 0 : totalNanos.sum() / NANOS_PER_MILLI / recorded;
+        Map<String, Long> bucketCounts = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            bucketCounts.put(i < BUCKET_BOUNDS_MILLIS.length ? "<" + BUCKET_BOUNDS_MILLIS[i] + "ms" : ">=" + BUCKET_BOUNDS_MILLIS[i - 1] + "ms", counts[i]);
+        }
+        return new LatencySnapshot(total, mean, getPercentile(counts, total, 0.50, max), getPercentile(counts, total, 0.95, max), getPercentile(counts, total, 0.99, max), max, bucketCounts);
+    }
+
+    /**
+     * Resets this histogram.
+     */
+    public void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    /**
+     * Helper function to estimate a percentile from the bucket counts.
+     *
+     * @param counts     the counts of the buckets.
+     * @param total      the sum of the counts.
+     * @param percentile the percentile, between 0 and 1.
+     * @param max        the maximum latency in milliseconds.
+     * @return the upper bound of the bucket of the percentile in milliseconds,
+     * capped by the maximum latency.
+     */
+    private static double getPercentile(long[] counts, long total, double percentile, double max) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(BUCKET_BOUNDS_MILLIS[i], max);
+            }
+        }
+        return max;
+    }
+}
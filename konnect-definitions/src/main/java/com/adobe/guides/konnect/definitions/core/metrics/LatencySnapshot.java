@@ -0,0 +1,120 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.metrics;
+
+import java.beans.ConstructorProperties;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of a {@link LatencyHistogram}. All the latencies are
+ * in milliseconds.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class LatencySnapshot {
+
+    private final long count;
+    private final double mean;
+    private final double p50;
+    private final double p95;
+    private final double p99;
+    private final double max;
+    private final Map<String, Long> buckets;
+
+    /**
+     * Sole constructor.
+     *
+     * @param count   the number of latencies recorded.
+     * @param mean    the mean latency.
+     * @param p50     the estimated median latency.
+     * @param p95     the estimated 95th percentile latency.
+     * @param p99     the estimated 99th percentile latency.
+     * @param max     the maximum latency.
+     * @param buckets the number of latencies in each bucket.
+     */
+    @ConstructorProperties({"count", "mean", "p50", "p95", "p99", "max", "buckets"})
+    public LatencySnapshot(long count, double mean, double p50, double p95, double p99, double max, Map<String, Long> buckets) {
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p95 = p95;
+        this.p99 = p99;
+        this.max = max;
+        this.buckets = Collections.unmodifiableMap(buckets);
+    }
+
+    /**
+     * Returns the number of latencies recorded.
+     *
+     * @return the number of latencies.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the mean latency.
+     *
+     * @return the mean latency in milliseconds.
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Returns the estimated median latency.
+     *
+     * @return the median latency in milliseconds.
+     */
+    public double getP50() {
+        return p50;
+    }
+
+    /**
+     * Returns the estimated 95th percentile latency.
+     *
+     * @return the 95th percentile latency in milliseconds.
+     */
+    public double getP95() {
+        return p95;
+    }
+
+    /**
+     * Returns the estimated 99th percentile latency.
+     *
+     * @return the 99th percentile latency in milliseconds.
+     */
+    public double getP99() {
+        return p99;
+    }
+
+    /**
+     * Returns the maximum latency.
+     *
+     * @return the maximum latency in milliseconds.
+     */
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the number of latencies in each bucket, keyed by the bound of
+     * the bucket such as <tt>&lt;250ms</tt>.
+     *
+     * @return a {@code Map} of bucket to number of latencies.
+     */
+    public Map<String, Long> getBuckets() {
+        return buckets;
+    }
+}
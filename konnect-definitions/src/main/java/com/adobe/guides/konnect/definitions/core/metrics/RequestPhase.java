@@ -0,0 +1,83 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.metrics;
+
+/**
+ * The phases of an outbound request whose latency is recorded.
+ *
+ * <p>The network phases are measured by the HTTP client of the connectors
+ * and {@code RestInvoker}. Parsing is measured by the connectors for each
+ * page of results, and serialization once for the whole result of a query.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public enum RequestPhase {
+
+    /**
+     * Resolution of the host name.
+     */
+    DNS("dns", true),
+
+    /**
+     * Leasing and connecting a connection, including the TLS handshake and
+     * excluding DNS.
+     */
+    CONNECT("connect", true),
+
+    /**
+     * Time from sending the request to receiving the response headers.
+     */
+    TTFB("ttfb", true),
+
+    /**
+     * Download of the response body.
+     */
+    DOWNLOAD("download", true),
+
+    /**
+     * Parsing of a page of results.
+     */
+    PARSE("parse", false),
+
+    /**
+     * Serialization of the result of a query.
+     */
+    SERIALIZE("serialize", false);
+
+    private final String label;
+    private final boolean network;
+
+    RequestPhase(String label, boolean network) {
+        this.label = label;
+        this.network = network;
+    }
+
+    /**
+     * Returns the label of this phase, as exported through JMX.
+     *
+     * @return a {@code String} which is the label of this phase.
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Returns {@code true} if this phase is measured by the HTTP client, so
+     * that it is part of the {@link RequestTimings} of the request.
+     *
+     * @return {@code true} if this is a network phase.
+     */
+    public boolean isNetwork() {
+        return network;
+    }
+}
@@ -0,0 +1,292 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.metrics;
+
+import java.net.URI;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The latencies of the phases of a single outbound request.
+ *
+ * <p>A request is started by {@code RestInvoker} on the calling thread, and
+ * the hooks of the HTTP client add the phases they measure to the request
+ * bound to their thread. The request is unbound from the thread once the
+ * response is read.
+ *
+ * <p>Only the scheme, host, port and path of the URI are kept, so that user
+ * info and query parameters carrying credentials are not exposed.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> current = new ThreadLocal<>();
+
+    private final String connector;
+    private final String resource;
+    private final String method;
+    private final String target;
+    private final long startedAt = System.currentTimeMillis();
+    private final long startNanos = System.nanoTime();
+    private final AtomicLongArray phases = new AtomicLongArray(RequestPhase.values().length);
+    private volatile long sendNanos;
+    private volatile int status;
+    private volatile long totalNanos;
+    private volatile long requestBytes;
+    private volatile long requestWireBytes;
+    private volatile long responseWireBytes;
+
+    private RequestTimings(String connector, String resource, String method, URI uri) {
+        this.connector = connector;
+        this.resource = resource;
+        this.method = method;
+        this.target = uri == null ? "" : uri.getScheme() + "://" + uri.getHost() + (uri.getPort() < 0 ? "" : ":" + uri.getPort()) + uri.getRawPath();
+    }
+
+    /**
+     * Starts the timings of a request and binds them to the current thread.
+     *
+     * @param connector the name of the connector.
+     * @param resource  the name of the resource.
+     * @param method    the HTTP method of the request.
+     * @param uri       the URI of the request.
+     * @return {@link RequestTimings} of the request.
+     */
+    public static RequestTimings start(String connector, String resource, String method, URI uri) {
+        RequestTimings timings = new RequestTimings(connector, resource, method, uri);
+        current.set(timings);
+        return timings;
+    }
+
+    /**
+     * Returns the timings of the request in progress on the current thread.
+     *
+     * @return {@link RequestTimings} of the request, or {@code null} if no
+     * request is in progress on this thread.
+     */
+    public static RequestTimings current() {
+        return current.get();
+    }
+
+    /**
+     * Unbinds the timings of the request in progress from the current thread,
+     * once the request is complete, so that pooled threads do not keep them.
+     */
+    public static void end() {
+        current.remove();
+    }
+
+    /**
+     * Adds time to a phase of this request. Network phases are ignored once
+     * the request is complete, so that hooks of the HTTP client running for
+     * a request sent without timings do not add to a previous request.
+     *
+     * @param phase         the phase of the request.
+     * @param durationNanos the time taken in nanoseconds.
+     */
+    public void add(RequestPhase phase, long durationNanos) {
+        if (phase.isNetwork() && isComplete()) {
+            return;
+        }
+        phases.addAndGet(phase.ordinal(), Math.max(durationNanos, 0));
+    }
+
+    /**
+     * Returns {@code true} if the response of this request is read.
+     *
+     * @return {@code true} if this request is complete.
+     */
+    public boolean isComplete() {
+        return totalNanos != 0;
+    }
+
+    /**
+     * Returns the time spent in a phase of this request.
+     *
+     * @param phase the phase of the request.
+     * @return the time in nanoseconds.
+     */
+    public long getNanos(RequestPhase phase) {
+        return phases.get(phase.ordinal());
+    }
+
+    /**
+     * Marks that the request is being sent. The time since the request was
+     * started, less the DNS phase, is counted as connecting.
+     */
+    public void markSent() {
+        if (isComplete()) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (sendNanos == 0) {
+            add(RequestPhase.CONNECT, now - startNanos - getNanos(RequestPhase.DNS));
+        }
+        sendNanos = now;
+    }
+
+    /**
+     * Marks that the headers of the response are received.
+     */
+    public void markReceived() {
+        if (sendNanos != 0 && !isComplete()) {
+            add(RequestPhase.TTFB, System.nanoTime() - sendNanos);
+        }
+    }
+
+    /**
+     * Returns the name of the connector.
+     *
+     * @return a {@code String} which is the name of the connector.
+     */
+    public String getConnector() {
+        return connector;
+    }
+
+    /**
+     * Returns the name of the resource.
+     *
+     * @return a {@code String} which is the name of the resource.
+     */
+    public String getResource() {
+        return resource;
+    }
+
+    /**
+     * Returns the HTTP status of the response.
+     *
+     * @return the HTTP status of the response.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Sets the HTTP status of the response.
+     *
+     * @param status the HTTP status of the response.
+     * @return {@link RequestTimings} object.
+     */
+    public RequestTimings setStatus(int status) {
+        this.status = status;
+        return this;
+    }
+
+    /**
+     * Returns the time from starting the request to reading the response.
+     *
+     * @return the time in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Sets the time from starting the request to reading the response.
+     *
+     * @param totalNanos the time in nanoseconds.
+     * @return {@link RequestTimings} object.
+     */
+    public RequestTimings setTotalNanos(long totalNanos) {
+        this.totalNanos = Math.max(totalNanos, 1);
+        return this;
+    }
+
+    /**
+     * Returns the number of bytes of the request body before compression.
+     *
+     * @return the number of bytes of the request body.
+     */
+    public long getRequestBytes() {
+        return requestBytes;
+    }
+
+    /**
+     * Returns the number of bytes of the request body sent on the wire.
+     *
+     * @return the number of bytes sent.
+     */
+    public long getRequestWireBytes() {
+        return requestWireBytes;
+    }
+
+    /**
+     * Sets the size of the request body, before and after compression.
+     *
+     * @param requestBytes     the number of bytes of the request body.
+     * @param requestWireBytes the number of bytes sent on the wire.
+     * @return {@link RequestTimings} object.
+     */
+    public RequestTimings setRequestBytes(long requestBytes, long requestWireBytes) {
+        this.requestBytes = requestBytes;
+        this.requestWireBytes = requestWireBytes;
+        return this;
+    }
+
+    /**
+     * Returns the number of bytes of the response body received on the wire,
+     * before it is decompressed.
+     *
+     * @return the number of bytes received.
+     */
+    public long getResponseWireBytes() {
+        return responseWireBytes;
+    }
+
+    /**
+     * Adds bytes of the response body received on the wire. Bytes are
+     * ignored once the request is complete.
+     *
+     * @param bytes the number of bytes received.
+     */
+    public void addResponseWireBytes(long bytes) {
+        if (!isComplete()) {
+            responseWireBytes += bytes;
+        }
+    }
+
+    /**
+     * Returns a line describing this request and its phases in milliseconds,
+     * such as <tt>2024-06-01T10:00:00.000 GET https://host/path status=200
+     * total=812.4 dns=0.5 connect=20.1 ...</tt>.
+     *
+     * @return a {@code String} which describes this request.
+     */
+    @Override
+    public String toString() {
+        StringBuilder line = new StringBuilder()
+                .append(new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS").format(new Date(startedAt)))
+                .append(' ').append(method).append(' ').append(target)
+                .append(" status=").append(status)
+                .append(" total=").append(toMillis(totalNanos));
+        for (RequestPhase phase : RequestPhase.values()) {
+            if (phase.isNetwork()) {
+                line.append(' ').append(phase.getLabel()).append('=').append(toMillis(getNanos(phase)));
+            }
+        }
+        return line.toString();
+    }
+
+    /**
+     * Helper function to convert nanoseconds to milliseconds with one decimal.
+     *
+     * @param nanos the time in nanoseconds.
+     * @return a {@code String} which is the time in milliseconds.
+     */
+    private static String toMillis(long nanos) {
+        return String.valueOf(Math.round(nanos / (double) TimeUnit.MILLISECONDS.toNanos(1) * 10) / 10.0);
+    }
+}
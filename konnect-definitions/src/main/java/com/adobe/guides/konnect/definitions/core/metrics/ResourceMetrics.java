@@ -0,0 +1,356 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.metrics;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.METRICS_SLOW_REQUEST_HISTORY;
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.METRICS_SLOW_REQUEST_THRESHOLD;
+import static org.apache.http.HttpStatus.SC_OK;
+
+/**
+ * The metrics of a resource of a connector.
+ *
+ * <p>Every counter is a {@link LongAdder}, so that recording from many
+ * threads does not contend on a lock. The timings of the last requests which
+ * took longer than {@code METRICS_SLOW_REQUEST_THRESHOLD} milliseconds are
+ * kept in a ring buffer.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class ResourceMetrics implements ResourceMetricsMXBean {
+
+    private static final String OPEN = "OPEN";
+
+    private final String connector;
+    private final String resource;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder pages = new LongAdder();
+    private final LongAdder responseBytes = new LongAdder();
+    private final LongAdder responseWireBytes = new LongAdder();
+    private final LongAdder requestBytes = new LongAdder();
+    private final LongAdder requestWireBytes = new LongAdder();
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder queryFailures = new LongAdder();
+    private final LongAdder validations = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder circuitOpenings = new LongAdder();
+    private final LongAdder rejectedCalls = new LongAdder();
+    private final LongAdder coalescedQueries = new LongAdder();
+    private final ConcurrentMap<String, String> circuitStates = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, LongAdder> failuresByStatus = new ConcurrentHashMap<>();
+    private final LatencyHistogram requestLatency = new LatencyHistogram();
+    private final LatencyHistogram queryLatency = new LatencyHistogram();
+    private final LatencyHistogram validationLatency = new LatencyHistogram();
+    private final Map<RequestPhase, LatencyHistogram> phaseLatency = new EnumMap<>(RequestPhase.class);
+    private final AtomicReferenceArray<RequestTimings> slowRequests = new AtomicReferenceArray<>(METRICS_SLOW_REQUEST_HISTORY);
+    private final AtomicInteger slowRequestCount = new AtomicInteger();
+
+    /**
+     * Sole constructor.
+     *
+     * @param connector the name of the connector.
+     * @param resource  the name of the resource.
+     */
+    public ResourceMetrics(String connector, String resource) {
+        this.connector = connector;
+        this.resource = resource;
+        for (RequestPhase phase : RequestPhase.values()) {
+            phaseLatency.put(phase, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Records an HTTP request.
+     *
+     * @param status        the HTTP status of the response.
+     * @param durationNanos the latency of the request.
+     * @param bytes         the number of bytes of the response body.
+     */
+    void recordRequest(int status, long durationNanos, long bytes) {
+        requests.increment();
+        responseBytes.add(bytes);
+        requestLatency.record(durationNanos);
+        if (status != SC_OK) {
+            LongAdder failures = failuresByStatus.get(status);
+            if (failures == null) {
+                failures = failuresByStatus.computeIfAbsent(status, key -> new LongAdder());
+            }
+            failures.increment();
+        }
+    }
+
+    /**
+     * Records a page of results.
+     */
+    void recordPage() {
+        pages.increment();
+    }
+
+    /**
+     * Records a query.
+     *
+     * @param durationNanos the latency of the query.
+     * @param success       {@code true} if the query succeeded.
+     */
+    void recordQuery(long durationNanos, boolean success) {
+        queries.increment();
+        queryLatency.record(durationNanos);
+        if (!success) {
+            queryFailures.increment();
+        }
+    }
+
+    /**
+     * Records a connection validation.
+     *
+     * @param durationNanos the latency of the validation.
+     * @param success       {@code true} if the connection is valid.
+     */
+    void recordValidation(long durationNanos, boolean success) {
+        validations.increment();
+        validationLatency.record(durationNanos);
+        if (!success) {
+            validationFailures.increment();
+        }
+    }
+
+    /**
+     * Records a retried request.
+     */
+    void recordRetry() {
+        retries.increment();
+    }
+
+    /**
+     * Records the network phases of a request, and keeps its timings if the
+     * request is slow.
+     *
+     * @param timings {@link RequestTimings} of the request.
+     */
+    void recordTimings(RequestTimings timings) {
+        responseWireBytes.add(timings.getResponseWireBytes());
+        requestBytes.add(timings.getRequestBytes());
+        requestWireBytes.add(timings.getRequestWireBytes());
+        for (RequestPhase phase : RequestPhase.values()) {
+            if (phase.isNetwork()) {
+                phaseLatency.get(phase).record(timings.getNanos(phase));
+            }
+        }
+        if (timings.getTotalNanos() >= TimeUnit.MILLISECONDS.toNanos(METRICS_SLOW_REQUEST_THRESHOLD)) {
+            slowRequests.set(Math.floorMod(slowRequestCount.getAndIncrement(), slowRequests.length()), timings);
+        }
+    }
+
+    /**
+     * Records a change of state of the circuit to an endpoint.
+     *
+     * @param endpoint the endpoint of the data source.
+     * @param state    the new state of the circuit.
+     */
+    void recordCircuitState(String endpoint, String state) {
+        circuitStates.put(endpoint, state);
+        if (OPEN.equals(state)) {
+            circuitOpenings.increment();
+        }
+    }
+
+    /**
+     * Records a call rejected by an open circuit.
+     */
+    void recordRejectedCall() {
+        rejectedCalls.increment();
+    }
+
+    /**
+     * Records a query which shared the result of an identical query in flight.
+     */
+    void recordCoalescedQuery() {
+        coalescedQueries.increment();
+    }
+
+    /**
+     * Records a phase which is not measured by the HTTP client.
+     *
+     * @param phase         the phase of the request.
+     * @param durationNanos the time taken by the phase.
+     */
+    void recordPhase(RequestPhase phase, long durationNanos) {
+        phaseLatency.get(phase).record(durationNanos);
+    }
+
+    @Override
+    public String getConnector() {
+        return connector;
+    }
+
+    @Override
+    public String getResource() {
+        return resource;
+    }
+
+    @Override
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    @Override
+    public long getPages() {
+        return pages.sum();
+    }
+
+    @Override
+    public long getResponseBytes() {
+        return responseBytes.sum();
+    }
+
+    @Override
+    public long getResponseWireBytes() {
+        return responseWireBytes.sum();
+    }
+
+    @Override
+    public long getRequestBytes() {
+        return requestBytes.sum();
+    }
+
+    @Override
+    public long getRequestWireBytes() {
+        return requestWireBytes.sum();
+    }
+
+    @Override
+    public long getQueries() {
+        return queries.sum();
+    }
+
+    @Override
+    public long getQueryFailures() {
+        return queryFailures.sum();
+    }
+
+    @Override
+    public long getValidations() {
+        return validations.sum();
+    }
+
+    @Override
+    public long getValidationFailures() {
+        return validationFailures.sum();
+    }
+
+    @Override
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    @Override
+    public long getCircuitOpenings() {
+        return circuitOpenings.sum();
+    }
+
+    @Override
+    public long getRejectedCalls() {
+        return rejectedCalls.sum();
+    }
+
+    @Override
+    public long getCoalescedQueries() {
+        return coalescedQueries.sum();
+    }
+
+    @Override
+    public Map<String, String> getCircuitStates() {
+        return new TreeMap<>(circuitStates);
+    }
+
+    @Override
+    public Map<String, Long> getFailuresByStatus() {
+        Map<String, Long> failures = new TreeMap<>();
+        failuresByStatus.forEach((status, count) -> failures.put(String.valueOf(status), count.sum()));
+        return failures;
+    }
+
+    @Override
+    public LatencySnapshot getRequestLatency() {
+        return requestLatency.getSnapshot();
+    }
+
+    @Override
+    public LatencySnapshot getQueryLatency() {
+        return queryLatency.getSnapshot();
+    }
+
+    @Override
+    public LatencySnapshot getValidationLatency() {
+        return validationLatency.getSnapshot();
+    }
+
+    @Override
+    public Map<String, LatencySnapshot> getPhaseLatency() {
+        Map<String, LatencySnapshot> latencies = new LinkedHashMap<>();
+        phaseLatency.forEach((phase, histogram) -> latencies.put(phase.getLabel(), histogram.getSnapshot()));
+        return latencies;
+    }
+
+    @Override
+    public List<String> getSlowRequests() {
+        List<String> requests = new ArrayList<>();
+        int last = slowRequestCount.get();
+        for (int i = 1; i <= slowRequests.length(); i++) {
+            RequestTimings timings = slowRequests.get(Math.floorMod(last - i, slowRequests.length()));
+            if (timings != null) {
+                requests.add(timings.toString());
+            }
+        }
+        return requests;
+    }
+
+    @Override
+    public void reset() {
+        requests.reset();
+        pages.reset();
+        responseBytes.reset();
+        responseWireBytes.reset();
+        requestBytes.reset();
+        requestWireBytes.reset();
+        queries.reset();
+        queryFailures.reset();
+        validations.reset();
+        validationFailures.reset();
+        retries.reset();
+        circuitOpenings.reset();
+        rejectedCalls.reset();
+        coalescedQueries.reset();
+        failuresByStatus.clear();
+        requestLatency.reset();
+        queryLatency.reset();
+        validationLatency.reset();
+        phaseLatency.values().forEach(LatencyHistogram::reset);
+        for (int i = 0; i < slowRequests.length(); i++) {
+            slowRequests.set(i, null);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.metrics;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JMX interface of the metrics of a connector resource.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public interface ResourceMetricsMXBean {
+
+    /**
+     * Returns the name of the connector.
+     *
+     * @return a {@code String} which is the name of the connector.
+     */
+    String getConnector();
+
+    /**
+     * Returns the name of the resource.
+     *
+     * @return a {@code String} which is the name of the resource.
+     */
+    String getResource();
+
+    /**
+     * Returns the number of HTTP requests sent.
+     *
+     * @return the number of requests.
+     */
+    long getRequests();
+
+    /**
+     * Returns the number of pages of results fetched.
+     *
+     * @return the number of pages.
+     */
+    long getPages();
+
+    /**
+     * Returns the number of bytes of the response bodies.
+     *
+     * @return the number of bytes received.
+     */
+    long getResponseBytes();
+
+    /**
+     * Returns the number of bytes of the response bodies received on the
+     * wire. It is lower than {@link #getResponseBytes()} when the responses
+     * are compressed.
+     *
+     * @return the number of bytes received on the wire.
+     */
+    long getResponseWireBytes();
+
+    /**
+     * Returns the number of bytes of the request bodies.
+     *
+     * @return the number of bytes sent.
+     */
+    long getRequestBytes();
+
+    /**
+     * Returns the number of bytes of the request bodies sent on the wire.
+     * It is lower than {@link #getRequestBytes()} when the requests are
+     * compressed.
+     *
+     * @return the number of bytes sent on the wire.
+     */
+    long getRequestWireBytes();
+
+    /**
+     * Returns the number of queries executed.
+     *
+     * @return the number of queries.
+     */
+    long getQueries();
+
+    /**
+     * Returns the number of queries which failed.
+     *
+     * @return the number of failed queries.
+     */
+    long getQueryFailures();
+
+    /**
+     * Returns the number of connection validations.
+     *
+     * @return the number of validations.
+     */
+    long getValidations();
+
+    /**
+     * Returns the number of connection validations which failed.
+     *
+     * @return the number of failed validations.
+     */
+    long getValidationFailures();
+
+    /**
+     * Returns the number of retried requests.
+     *
+     * @return the number of retries.
+     */
+    long getRetries();
+
+    /**
+     * Returns the number of times a circuit of the connector opened. It is
+     * only recorded in the default scope of the connector.
+     *
+     * @return the number of circuit openings.
+     */
+    long getCircuitOpenings();
+
+    /**
+     * Returns the number of calls rejected because a circuit of the
+     * connector was open. It is only recorded in the default scope of the
+     * connector.
+     *
+     * @return the number of rejected calls.
+     */
+    long getRejectedCalls();
+
+    /**
+     * Returns the number of queries which were not executed because an
+     * identical query was in flight or in the same batch, and which shared
+     * its result instead.
+     * It is only recorded in the default scope of the connector.
+     *
+     * @return the number of coalesced queries.
+     */
+    long getCoalescedQueries();
+
+    /**
+     * Returns the last state of the circuit of the connector to each
+     * endpoint whose circuit changed state. It is only recorded in the
+     * default scope of the connector.
+     *
+     * @return a {@code Map} of endpoint to state, such as <tt>OPEN</tt>.
+     */
+    Map<String, String> getCircuitStates();
+
+    /**
+     * Returns the number of failed requests by HTTP status. Requests which
+     * received no response are counted under <tt>-1</tt>.
+     *
+     * @return a {@code Map} of HTTP status to number of failed requests.
+     */
+    Map<String, Long> getFailuresByStatus();
+
+    /**
+     * Returns the latencies of the HTTP requests.
+     *
+     * @return {@link LatencySnapshot} of the request latencies.
+     */
+    LatencySnapshot getRequestLatency();
+
+    /**
+     * Returns the latencies of the queries.
+     *
+     * @return {@link LatencySnapshot} of the query latencies.
+     */
+    LatencySnapshot getQueryLatency();
+
+    /**
+     * Returns the latencies of the connection validations.
+     *
+     * @return {@link LatencySnapshot} of the validation latencies.
+     */
+    LatencySnapshot getValidationLatency();
+
+    /**
+     * Returns the latencies of the phases of the requests, such as
+     * <tt>dns</tt>, <tt>connect</tt>, <tt>ttfb</tt>,
+     * <tt>download</tt>, <tt>parse</tt> and <tt>serialize</tt>.
+     *
+     * @return a {@code Map} of phase to {@link LatencySnapshot}.
+     */
+    Map<String, LatencySnapshot> getPhaseLatency();
+
+    /**
+     * Returns the last slow requests with the latencies of their phases,
+     * the most recent first.
+     *
+     * @return a {@code List} of slow requests, one line each.
+     */
+    List<String> getSlowRequests();
+
+    /**
+     * Resets all the metrics.
+     */
+    void reset();
+}
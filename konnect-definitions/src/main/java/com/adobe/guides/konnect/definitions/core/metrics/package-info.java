@@ -0,0 +1,5 @@
+/**
+ * This is the group of files for storing the metrics of the connectors
+ * and their default implementation, exported through JMX.
+ */
+package com.adobe.guides.konnect.definitions.core.metrics;
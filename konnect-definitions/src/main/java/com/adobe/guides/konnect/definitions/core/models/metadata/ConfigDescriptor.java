@@ -0,0 +1,118 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.models.metadata;
+
+import com.adobe.guides.konnect.definitions.core.annotations.APIDefinition;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class represents the structure of a config class as described by
+ * its {@link APIDefinition} annotations.
+ * <p>
+ * It contains the definitions of the class and the definitions of each
+ * annotated field, in the order they are declared. A descriptor is
+ * immutable and is built once per config class.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public final class ConfigDescriptor {
+    private final String className;
+    private final Map<String, String> definitions;
+    private final Map<String, Map<String, String>> fields;
+
+    private ConfigDescriptor(String className, Map<String, String> definitions, Map<String, Map<String, String>> fields) {
+        this.className = className;
+        this.definitions = Collections.unmodifiableMap(definitions);
+        this.fields = Collections.unmodifiableMap(fields);
+    }
+
+    /**
+     * Builds the descriptor of a config class by reading its
+     * {@link APIDefinition} annotations and those of its fields. Fields of
+     * super classes come before the fields of the class.
+     *
+     * @param configClass the config class to be described.
+     * @return the {@link ConfigDescriptor} of the class.
+     */
+    public static ConfigDescriptor of(Class<?> configClass) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> type = configClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            hierarchy.add(0, type);
+        }
+        Map<String, Map<String, String>> fields = new LinkedHashMap<>();
+        for (Class<?> type : hierarchy) {
+            for (Field field : type.getDeclaredFields()) {
+                Map<String, String> fieldDefinitions = getDefinitions(field);
+                if (!fieldDefinitions.isEmpty()) {
+                    fields.put(field.getName(), Collections.unmodifiableMap(fieldDefinitions));
+                }
+            }
+        }
+        return new ConfigDescriptor(configClass.getName(), getDefinitions(configClass), fields);
+    }
+
+    /**
+     * Returns the definitions of an annotated class or field.
+     *
+     * @param element the annotated class or field.
+     * @return a {@code Map} of definition name to value, in the order they are declared.
+     */
+    private static Map<String, String> getDefinitions(AnnotatedElement element) {
+        Map<String, String> definitions = new LinkedHashMap<>();
+        APIDefinition definition = element.getAnnotation(APIDefinition.class);
+        if (definition != null) {
+            definitions.put(definition.name(), definition.value());
+        }
+        APIDefinition.List definitionList = element.getAnnotation(APIDefinition.List.class);
+        if (definitionList != null) {
+            for (APIDefinition listedDefinition : definitionList.value()) {
+                definitions.put(listedDefinition.name(), listedDefinition.value());
+            }
+        }
+        return definitions;
+    }
+
+    /**
+     * Returns the name of the described config class.
+     *
+     * @return a {@code String} which is the fully qualified class name.
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * Returns the definitions of the config class.
+     *
+     * @return an unmodifiable {@code Map} of definition name to value.
+     */
+    public Map<String, String> getDefinitions() {
+        return definitions;
+    }
+
+    /**
+     * Returns the definitions of each annotated field of the config class.
+     *
+     * @return an unmodifiable {@code Map} of field name to its definitions.
+     */
+    public Map<String, Map<String, String>> getFields() {
+        return fields;
+    }
+}
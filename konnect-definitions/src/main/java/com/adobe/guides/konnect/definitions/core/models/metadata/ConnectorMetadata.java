@@ -0,0 +1,175 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.models.metadata;
+
+import com.adobe.guides.konnect.definitions.core.models.template.TemplateDto;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class holds the metadata shipped with a connector: its templates,
+ * the SVG of its logo and the descriptors of its config classes.
+ * <p>
+ * The metadata is read from the class loader of the connector once, when
+ * the connector component is activated, and is immutable afterwards. As a
+ * bundle update deactivates and reactivates its components, the metadata
+ * is reloaded from the new bundle without further invalidation.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public final class ConnectorMetadata {
+    private static final Logger log = LoggerFactory.getLogger(ConnectorMetadata.class);
+    private static final String TEMPLATES_FOLDER = "templates/";
+
+    private final Map<String, String> templates;
+    private final String logoSvg;
+    private final List<ConfigDescriptor> configDescriptors;
+    private final long loadTime;
+
+    private ConnectorMetadata(Map<String, String> templates, String logoSvg, List<ConfigDescriptor> configDescriptors, long loadTime) {
+        this.templates = Collections.unmodifiableMap(templates);
+        this.logoSvg = logoSvg;
+        this.configDescriptors = Collections.unmodifiableList(configDescriptors);
+        this.loadTime = loadTime;
+    }
+
+    /**
+     * Loads the metadata of a connector.
+     * <p>
+     * Templates are read from the <tt>templates</tt> folder of the class loader
+     * of the connector. A template or logo which cannot be read is logged
+     * and left out, so that the connector can still be used.
+     *
+     * @param connectorClass the class of the connector, whose class loader holds the resources.
+     * @param logoSvgPath    the path of the SVG of the logo, or an empty string if there is none.
+     * @param templateNames  the names of the templates shipped with the connector.
+     * @param configClasses  the config classes supported by the connector.
+     * @return the {@link ConnectorMetadata} of the connector.
+     */
+    public static ConnectorMetadata load(Class<?> connectorClass, String logoSvgPath, String[] templateNames, Class[] configClasses) {
+        long start = System.nanoTime();
+        ClassLoader classLoader = connectorClass.getClassLoader();
+        Map<String, String> templates = new LinkedHashMap<>();
+        for (String templateName : templateNames) {
+            try {
+                templates.put(templateName, readResource(classLoader, TEMPLATES_FOLDER + templateName));
+            } catch (IOException e) {
+                log.error("[{}] Error in reading template file {}", connectorClass.getSimpleName(), templateName, e);
+            }
+        }
+        String logoSvg = StringUtils.EMPTY;
+        if (StringUtils.isNotBlank(logoSvgPath)) {
+            try {
+                logoSvg = readResource(classLoader, logoSvgPath);
+            } catch (IOException e) {
+                log.error("[{}] Error in reading logo svg file", connectorClass.getSimpleName(), e);
+            }
+        }
+        List<ConfigDescriptor> configDescriptors = new ArrayList<>();
+        for (Class configClass : configClasses) {
+            configDescriptors.add(ConfigDescriptor.of(configClass));
+        }
+        long loadTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("[{}] Loaded {} templates and {} config descriptors in {} ms", connectorClass.getSimpleName(), templates.size(), configDescriptors.size(), loadTime);
+        return new ConnectorMetadata(templates, logoSvg, configDescriptors, loadTime);
+    }
+
+    /**
+     * Reads a resource of a class loader as a UTF-8 string.
+     *
+     * @param classLoader the class loader holding the resource.
+     * @param path        the path of the resource.
+     * @return a {@code String} which is the content of the resource.
+     * @throws IOException if the resource does not exist or cannot be read.
+     */
+    private static String readResource(ClassLoader classLoader, String path) throws IOException {
+        try (InputStream inStream = classLoader.getResourceAsStream(path)) {
+            if (inStream == null) {
+                throw new IOException("Resource not found: " + path);
+            }
+            ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inStream.read(buffer)) != -1) {
+                outStream.write(buffer, 0, read);
+            }
+            return new String(outStream.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Returns the templates shipped with the connector.
+     * <p>
+     * A new list of new {@link TemplateDto} objects is returned on every call,
+     * so callers may modify them without affecting the metadata.
+     *
+     * @return a {@code List} of {@link TemplateDto} which list of templates.
+     */
+    public List<TemplateDto> getTemplates() {
+        List<TemplateDto> templateDtos = new ArrayList<>(templates.size());
+        for (Map.Entry<String, String> template : templates.entrySet()) {
+            templateDtos.add(new TemplateDto(template.getKey(), template.getValue()));
+        }
+        return templateDtos;
+    }
+
+    /**
+     * Returns the content of a template shipped with the connector.
+     *
+     * @param name the name of the template.
+     * @return a {@code String} which is the content of the template, or
+     * {@code null} if no template of that name is shipped.
+     */
+    public String getTemplate(String name) {
+        return templates.get(name);
+    }
+
+    /**
+     * Returns the SVG of the logo of the connector.
+     *
+     * @return a {@code String} which is the SVG of the logo.
+     */
+    public String getLogoSvg() {
+        return logoSvg;
+    }
+
+    /**
+     * Returns the descriptors of the config classes supported by the connector.
+     *
+     * @return an unmodifiable {@code List} of {@link ConfigDescriptor}.
+     */
+    public List<ConfigDescriptor> getConfigDescriptors() {
+        return configDescriptors;
+    }
+
+    /**
+     * Returns the time it took to load the metadata.
+     *
+     * @return the load time in milliseconds.
+     */
+    public long getLoadTime() {
+        return loadTime;
+    }
+}
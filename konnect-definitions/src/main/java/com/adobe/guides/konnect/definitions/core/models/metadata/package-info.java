@@ -0,0 +1,5 @@
+/**
+ * This is the group of files for storing the metadata of connectors,
+ * such as templates, logos and config descriptors.
+ */
+package com.adobe.guides.konnect.definitions.core.models.metadata;
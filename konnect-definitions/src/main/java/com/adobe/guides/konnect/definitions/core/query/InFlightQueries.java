@@ -0,0 +1,214 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.query;
+
+import com.adobe.guides.konnect.definitions.core.config.ConfigDto;
+import com.adobe.guides.konnect.definitions.core.exception.KonnectException;
+import com.adobe.guides.konnect.definitions.core.metrics.KonnectMetricsProvider;
+import com.google.gson.Gson;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Coalesces identical queries executed at the same time.
+ *
+ * <p>While a query is executed, an identical query on the same connector does
+ * not reach the data source: it waits for the query in flight and gets its
+ * result, or its exception. Queries are identical, whatever their name, when
+ * they have the same config, query, additional query info and additional
+ * resource info, which names the resource of the query; the query is
+ * compared with its whitespace collapsed outside of quoted literals.
+ * Nothing is kept once the query completes, so this does not depend on any
+ * cache of the results.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public final class InFlightQueries {
+
+    private static final Logger log = LoggerFactory.getLogger(InFlightQueries.class);
+    private static final Gson gson = new Gson();
+    private static final ConcurrentMap<String, CompletableFuture<String>> queries = new ConcurrentHashMap<>();
+
+    private InFlightQueries() {
+    }
+
+    /**
+     * Executes a query, unless an identical query of the connector is in
+     * flight, in which case its result is returned.
+     *
+     * @param connector the name of the connector.
+     * @param key       the key of the query, from {@link #getKey}.
+     * @param call      the {@link QueryCall} executing the query.
+     * @return A <tt>String</tt> which is the JSON response of query execution.
+     * @throws KonnectException if any exception or error occurs while connecting to
+     *                          the external data source.
+     */
+    public static String execute(String connector, String key, QueryCall call) throws KonnectException {
+        String flightKey = connector + "\n" + key;
+        CompletableFuture<String> flight = new CompletableFuture<>();
+        CompletableFuture<String> inFlight = queries.putIfAbsent(flightKey, flight);
+        if (inFlight != null) {
+            KonnectMetricsProvider.getMetrics().recordCoalescedQuery(connector);
+            log.debug("[InFlightQueries] Waiting for an identical query of {}", connector);
+            return await(inFlight);
+        }
+        try {
+            String result = call.call();
+            flight.complete(result);
+            return result;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            queries.remove(flightKey, flight);
+        }
+    }
+
+    /**
+     * Returns the key of a query.
+     *
+     * @param configDto Connector config on which the query is executed.
+     * @param queryInfo The query which will be executed.
+     * @return a {@code String} which is the key of the query.
+     */
+    public static String getKey(ConfigDto configDto, QueryInfoDto queryInfo) {
+        StringBuilder key = new StringBuilder(getFingerprint(configDto));
+        appendQuery(key, queryInfo);
+        return UUID.nameUUIDFromBytes(key.toString().getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * Returns the key of a list of queries executed together.
+     *
+     * @param configDto     Connector config on which the queries are executed.
+     * @param queryInfoList The {@code List} of queries which will be executed.
+     * @return a {@code String} which is the key of the queries.
+     */
+    public static String getKey(ConfigDto configDto, List<QueryInfoDto> queryInfoList) {
+        StringBuilder key = new StringBuilder(getFingerprint(configDto));
+        for (QueryInfoDto queryInfo : queryInfoList) {
+            key.append('\n').append(queryInfo.getQueryName());
+            appendQuery(key, queryInfo);
+        }
+        return "list:" + UUID.nameUUIDFromBytes(key.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the key of a config. Configs with the same class and fields
+     * have the same key.
+     *
+     * @param configDto Connector config.
+     * @return a {@code String} which is the key of the config.
+     */
+    public static String getKey(ConfigDto configDto) {
+        return UUID.nameUUIDFromBytes(getFingerprint(configDto).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * Returns a query with its whitespace collapsed to single spaces, except
+     * in quoted literals.
+     *
+     * @param query the query.
+     * @return a {@code String} which is the normalized query.
+     */
+    public static String normalize(String query) {
+        if (query == null) {
+            return StringUtils.EMPTY;
+        }
+        StringBuilder normalized = new StringBuilder(query.length());
+        char quote = 0;
+        boolean space = false;
+        for (char c : query.trim().toCharArray()) {
+            if (quote == 0 && Character.isWhitespace(c)) {
+                space = true;
+                continue;
+            }
+            if (space) {
+                normalized.append(' ');
+                space = false;
+            }
+            if (quote == 0 && (c == '\'' || c == '"')) {
+                quote = c;
+            } else if (c == quote) {
+                quote = 0;
+            }
+            normalized.append(c);
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Returns the fingerprint of a config, made of its class and its fields.
+     *
+     * @param configDto Connector config.
+     * @return {@code String} fingerprint of the config.
+     */
+    private static String getFingerprint(ConfigDto configDto) {
+        if (configDto == null || configDto.getConfig() == null) {
+            return StringUtils.EMPTY;
+        }
+        return configDto.getConfig().getClass().getName() + gson.toJson(configDto.getConfig());
+    }
+
+    /**
+     * Appends the normalized query and the additional query and resource info
+     * of a query to a key. The resource info carries the
+     * <tt>resourceId</tt> of the query.
+     *
+     * @param key       the key being built.
+     * @param queryInfo the query.
+     */
+    private static void appendQuery(StringBuilder key, QueryInfoDto queryInfo) {
+        key.append('\n').append(normalize(queryInfo.getQuery()))
+                .append('\n').append(new TreeMap<>(queryInfo.getAdditionalQueryInfo()))
+                .append('\n').append(new TreeMap<>(queryInfo.getAdditionalResourceInfo()));
+    }
+
+    /**
+     * Waits for a query in flight and returns its result.
+     *
+     * @param inFlight the result of the query in flight.
+     * @return A <tt>String</tt> which is the JSON response of query execution.
+     * @throws KonnectException if the query in flight failed with it.
+     */
+    private static String await(CompletableFuture<String> inFlight) throws KonnectException {
+        try {
+            return inFlight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KonnectException("[InFlightQueries] Interrupted while waiting for an identical query", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof KonnectException) {
+                throw (KonnectException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new KonnectException("[InFlightQueries] Error in executing the query", cause);
+        }
+    }
+}
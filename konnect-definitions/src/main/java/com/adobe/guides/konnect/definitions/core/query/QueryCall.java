@@ -0,0 +1,34 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.query;
+
+import com.adobe.guides.konnect.definitions.core.exception.KonnectException;
+
+/**
+ * An execution of a query on an external data source, which can be shared by
+ * the callers of {@link InFlightQueries}.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface QueryCall {
+
+    /**
+     * Executes the query.
+     *
+     * @return A <tt>String</tt> which is the JSON response of query execution.
+     * @throws KonnectException if any exception or error occurs while connecting to
+     *                          the external data source.
+     */
+    String call() throws KonnectException;
+}
@@ -0,0 +1,52 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.transport;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+
+import java.io.IOException;
+
+/**
+ * Default {@link HttpTransport}, which sends the requests with the Apache
+ * HttpClient of the connector over HTTP/1.1.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class ApacheHttpTransport implements HttpTransport {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getName() {
+        return "HTTP/1.1";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean supports(String connectorName) {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public HttpResponse execute(HttpUriRequest uriRequest, HttpClient httpClient) throws IOException {
+        return httpClient.execute(uriRequest);
+    }
+}
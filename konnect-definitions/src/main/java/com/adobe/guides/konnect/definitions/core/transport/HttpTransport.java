@@ -0,0 +1,66 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.transport;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+
+import java.io.IOException;
+
+/**
+ * Service interface to send the HTTP requests of the connectors.
+ *
+ * <p>{@code RestInvoker} builds its requests with Apache HttpClient and
+ * reads the responses the same way whatever the transport is, so a
+ * transport receives an {@link HttpUriRequest} and returns an
+ * {@link HttpResponse}. The body of the response must be decompressed
+ * already, as it is by {@link HttpClient}.
+ *
+ * <p>Implementations are called on the request path of every query, so they
+ * must be thread-safe. An implementation registered as an OSGi service is
+ * used by {@code RestInvoker} once it registers itself with
+ * {@link HttpTransportProvider#register(HttpTransport)}. Until then, the
+ * requests are sent by the {@link ApacheHttpTransport}.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public interface HttpTransport {
+
+    /**
+     * Returns the name of this transport, such as <tt>HTTP/1.1</tt>.
+     *
+     * @return {@code String} name of this transport.
+     */
+    String getName();
+
+    /**
+     * Returns whether this transport sends the requests of a connector.
+     *
+     * @param connectorName {@code String} name of the connector, may be
+     *                      {@code null}.
+     * @return {@code true} if this transport is used for the connector.
+     */
+    boolean supports(String connectorName);
+
+    /**
+     * Sends a request and returns its response once the headers are received.
+     *
+     * @param uriRequest {@link HttpUriRequest} to be sent.
+     * @param httpClient {@link HttpClient} of the connector, which transports
+     *                   not built on Apache HttpClient may ignore.
+     * @return {@link HttpResponse} whose body is not read yet.
+     * @throws IOException if an I/O error occurs while sending the request.
+     */
+    HttpResponse execute(HttpUriRequest uriRequest, HttpClient httpClient) throws IOException;
+}
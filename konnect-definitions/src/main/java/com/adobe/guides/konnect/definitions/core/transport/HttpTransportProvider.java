@@ -0,0 +1,64 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.transport;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the {@link HttpTransport} used by {@code RestInvoker}.
+ *
+ * <p>{@code RestInvoker} is not an OSGi component, so it gets the transport
+ * from this class rather than from a reference. The registered transport is
+ * used for the connectors it supports, and the {@link ApacheHttpTransport}
+ * for the others.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public final class HttpTransportProvider {
+
+    private static final HttpTransport DEFAULT = new ApacheHttpTransport();
+    private static final AtomicReference<HttpTransport> transport = new AtomicReference<>(DEFAULT);
+
+    private HttpTransportProvider() {
+    }
+
+    /**
+     * Returns the transport of a connector.
+     *
+     * @param connectorName {@code String} name of the connector, may be
+     *                      {@code null}.
+     * @return {@link HttpTransport} object, never {@code null}.
+     */
+    public static HttpTransport getTransport(String connectorName) {
+        HttpTransport registered = transport.get();
+        return registered.supports(connectorName) ? registered : DEFAULT;
+    }
+
+    /**
+     * Sets the transport to be used by {@code RestInvoker}.
+     *
+     * @param httpTransport {@link HttpTransport} to be used.
+     */
+    public static void register(HttpTransport httpTransport) {
+        transport.set(httpTransport);
+    }
+
+    /**
+     * Stops using the given transport, if it is in use.
+     *
+     * @param httpTransport {@link HttpTransport} which is no longer available.
+     */
+    public static void unregister(HttpTransport httpTransport) {
+        transport.compareAndSet(httpTransport, DEFAULT);
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * This is the group of files for storing the transports which send the
+ * HTTP requests of the connectors, and their default implementation.
+ */
+package com.adobe.guides.konnect.definitions.core.transport;
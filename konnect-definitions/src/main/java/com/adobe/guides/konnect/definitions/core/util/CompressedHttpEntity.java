@@ -0,0 +1,77 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.util;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.util.EntityUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.CONTENT_ENCODING_GZIP;
+
+/**
+ * {@link HttpEntity} holding the gzip compressed content of another entity.
+ *
+ * <p>The content is compressed once, up front, so that the request keeps a
+ * <tt>Content-Length</tt> and can be retried. The size of the content before
+ * compression is kept to record the bytes saved.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class CompressedHttpEntity extends ByteArrayEntity {
+
+    private final long uncompressedLength;
+
+    /**
+     * Creates an entity with compressed content.
+     *
+     * @param content            the compressed content.
+     * @param uncompressedLength the number of bytes of the content before
+     *                           compression.
+     */
+    private CompressedHttpEntity(byte[] content, long uncompressedLength) {
+        super(content);
+        this.uncompressedLength = uncompressedLength;
+        setContentEncoding(CONTENT_ENCODING_GZIP);
+    }
+
+    /**
+     * Returns an entity with the gzip compressed content of an entity.
+     *
+     * @param entity {@link HttpEntity} to be compressed.
+     * @return {@link CompressedHttpEntity} object.
+     * @throws IOException if the content cannot be read.
+     */
+    public static CompressedHttpEntity gzip(HttpEntity entity) throws IOException {
+        byte[] content = EntityUtils.toByteArray(entity);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(content.length / 4, 64));
+        try (GZIPOutputStream outStream = new GZIPOutputStream(compressed)) {
+            outStream.write(content);
+        }
+        CompressedHttpEntity compressedEntity = new CompressedHttpEntity(compressed.toByteArray(), content.length);
+        compressedEntity.setContentType(entity.getContentType());
+        return compressedEntity;
+    }
+
+    /**
+     * Returns the number of bytes of the content before compression.
+     *
+     * @return the number of bytes.
+     */
+    public long getUncompressedLength() {
+        return uncompressedLength;
+    }
+}
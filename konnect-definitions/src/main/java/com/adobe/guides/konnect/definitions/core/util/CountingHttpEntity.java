@@ -0,0 +1,99 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.util;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * {@link HttpEntity} which counts the bytes read from the content of the
+ * entity it wraps.
+ *
+ * <p>It is used by {@link RestInvoker} to record the size of the responses
+ * without buffering them a second time.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class CountingHttpEntity extends HttpEntityWrapper {
+
+    private long bytesRead;
+
+    /**
+     * Sole constructor.
+     *
+     * @param wrappedEntity {@link HttpEntity} to be counted.
+     */
+    public CountingHttpEntity(HttpEntity wrappedEntity) {
+        super(wrappedEntity);
+    }
+
+    /**
+     * Returns the number of bytes read from the content so far.
+     *
+     * @return the number of bytes read.
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * Adds bytes read from the content.
+     *
+     * @param bytes the number of bytes read.
+     */
+    protected void count(long bytes) {
+        bytesRead += bytes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream getContent() throws IOException {
+        InputStream content = super.getContent();
+        if (content == null) {
+            return null;
+        }
+        return new FilterInputStream(content) {
+
+            @Override
+            public int read() throws IOException {
+                int read = super.read();
+                if (read != -1) {
+                    count(1);
+                }
+                return read;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int read = super.read(buffer, offset, length);
+                if (read > 0) {
+                    count(read);
+                }
+                return read;
+            }
+
+            @Override
+            public long skip(long length) throws IOException {
+                long skipped = super.skip(length);
+                count(skipped);
+                return skipped;
+            }
+        };
+    }
+}
@@ -0,0 +1,282 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.util;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A tree of the JSON fields which are needed from a query result.
+ *
+ * <p>Each node names the fields needed from an object. The field
+ * {@value #ANY_ELEMENT} stands for the elements of an array, or for all
+ * fields of an object which is iterated as a map. A node without
+ * fields, or one marked with {@link #keepAll()}, keeps its value as a whole.
+ *
+ * <p>A projection is applied with {@link #project(JsonReader, JsonWriter)},
+ * which streams the JSON and skips the values of all other fields without
+ * reading them into memory.
+ *
+ * <p>Projections are built by the {@link TemplateFieldAnalyzer} and frozen
+ * once built, so that they can be cached and shared by concurrent queries.
+ *
+ * @author Adobe
+ * @see TemplateFieldAnalyzer
+ * @since 1.0.0
+ */
+public class FieldProjection {
+
+    /**
+     * The field name which stands for the elements of an array.
+     */
+    public static final String ANY_ELEMENT = "*";
+
+    private final Map<String, FieldProjection> fields = new LinkedHashMap<>();
+    private boolean all;
+    private boolean frozen;
+
+    /**
+     * Creates a projection without fields, to be built by the
+     * {@link TemplateFieldAnalyzer}.
+     */
+    FieldProjection() {
+    }
+
+    /**
+     * Returns a projection which keeps the whole value.
+     *
+     * @return {@link FieldProjection} which keeps the whole value
+     */
+    public static FieldProjection all() {
+        FieldProjection projection = new FieldProjection();
+        projection.keepAll();
+        return projection.freeze();
+    }
+
+    /**
+     * Returns the projection of a field, adding it if it is not needed yet.
+     *
+     * @param name {@code String} which is the name of the field
+     * @return {@link FieldProjection} of the field
+     * @throws IllegalStateException if this projection is frozen
+     */
+    FieldProjection field(String name) {
+        checkNotFrozen();
+        return fields.computeIfAbsent(name, key -> new FieldProjection());
+    }
+
+    /**
+     * Marks the value of this node to be kept as a whole.
+     *
+     * @throws IllegalStateException if this projection is frozen
+     */
+    void keepAll() {
+        checkNotFrozen();
+        this.all = true;
+    }
+
+    /**
+     * Freezes this projection and its fields, which can no longer be changed.
+     *
+     * @return this {@link FieldProjection}
+     */
+    FieldProjection freeze() {
+        if (!frozen) {
+            frozen = true;
+            fields.values().forEach(FieldProjection::freeze);
+        }
+        return this;
+    }
+
+    /**
+     * Returns {@code true} if the value of this node is kept as a whole.
+     *
+     * @return {@code true} if the value of this node is kept as a whole
+     */
+    public boolean isKeepAll() {
+        return all || fields.isEmpty();
+    }
+
+    /**
+     * Returns {@code true} if the field is kept by this projection.
+     *
+     * @param name {@code String} which is the name of the field
+     * @return {@code true} if the field is kept
+     */
+    public boolean includes(String name) {
+        return isKeepAll() || fields.containsKey(name);
+    }
+
+    /**
+     * Returns the fields needed from an object.
+     *
+     * @return {@code Map} of field name to projection of the field
+     */
+    public Map<String, FieldProjection> getFields() {
+        return Collections.unmodifiableMap(fields);
+    }
+
+    /**
+     * Returns a frozen copy of this projection which also keeps the given
+     * top-level fields as a whole. This is used to keep fields like paging
+     * links which are needed by the connector but not by the template.
+     *
+     * @param names names of the fields to be kept
+     * @return {@link FieldProjection} which is a copy of this projection
+     */
+    public FieldProjection withFields(String... names) {
+        FieldProjection projection = copy();
+        if (!projection.isKeepAll()) {
+            for (String name : names) {
+                projection.field(name).keepAll();
+            }
+        }
+        return projection.freeze();
+    }
+
+    /**
+     * Writes the projection of a JSON value from the reader to the writer.
+     *
+     * @param reader {@link JsonReader} which is positioned before the value
+     * @param writer {@link JsonWriter} to which the projected value is written
+     * @throws IOException if the value could not be read or written
+     */
+    public void project(JsonReader reader, JsonWriter writer) throws IOException {
+        if (isKeepAll()) {
+            copy(reader, writer);
+            return;
+        }
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                reader.beginObject();
+                writer.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    FieldProjection field = fields.getOrDefault(name, fields.get(ANY_ELEMENT));
+                    if (field == null) {
+                        reader.skipValue();
+                    } else {
+                        writer.name(name);
+                        field.project(reader, writer);
+                    }
+                }
+                reader.endObject();
+                writer.endObject();
+                break;
+            case BEGIN_ARRAY:
+                FieldProjection element = fields.getOrDefault(ANY_ELEMENT, this);
+                reader.beginArray();
+                writer.beginArray();
+                while (reader.hasNext()) {
+                    element.project(reader, writer);
+                }
+                reader.endArray();
+                writer.endArray();
+                break;
+            default:
+                copy(reader, writer);
+                break;
+        }
+    }
+
+    /**
+     * Returns the projection of a JSON string.
+     *
+     * @param json {@code String} which is the JSON to be projected
+     * @return {@code String} which is the projected JSON
+     * @throws IOException if the JSON could not be read
+     */
+    public String project(String json) throws IOException {
+        if (isKeepAll()) {
+            return json;
+        }
+        StringWriter out = new StringWriter();
+        try (JsonReader reader = new JsonReader(new StringReader(json)); JsonWriter writer = new JsonWriter(out)) {
+            project(reader, writer);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Throws if this projection is frozen.
+     *
+     * @throws IllegalStateException if this projection is frozen
+     */
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("Projection is frozen");
+        }
+    }
+
+    /**
+     * Returns a deep copy of this projection, which is not frozen.
+     *
+     * @return {@link FieldProjection} which is a copy of this projection
+     */
+    private FieldProjection copy() {
+        FieldProjection projection = new FieldProjection();
+        projection.all = all;
+        fields.forEach((name, field) -> projection.fields.put(name, field.copy()));
+        return projection;
+    }
+
+    /**
+     * Copies a JSON value from the reader to the writer.
+     *
+     * @param reader {@link JsonReader} which is positioned before the value
+     * @param writer {@link JsonWriter} to which the value is written
+     * @throws IOException if the value could not be read or written
+     */
+    private static void copy(JsonReader reader, JsonWriter writer) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                reader.beginObject();
+                writer.beginObject();
+                while (reader.hasNext()) {
+                    writer.name(reader.nextName());
+                    copy(reader, writer);
+                }
+                reader.endObject();
+                writer.endObject();
+                break;
+            case BEGIN_ARRAY:
+                reader.beginArray();
+                writer.beginArray();
+                while (reader.hasNext()) {
+                    copy(reader, writer);
+                }
+                reader.endArray();
+                writer.endArray();
+                break;
+            case NUMBER:
+                writer.jsonValue(reader.nextString());
+                break;
+            case BOOLEAN:
+                writer.value(reader.nextBoolean());
+                break;
+            case NULL:
+                reader.nextNull();
+                writer.nullValue();
+                break;
+            default:
+                writer.value(reader.nextString());
+                break;
+        }
+    }
+}
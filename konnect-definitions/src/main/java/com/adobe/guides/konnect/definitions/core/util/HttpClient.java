@@ -15,13 +15,33 @@ import org.apache.http.client.config.RequestConfig;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.osgi.services.HttpClientBuilderFactory;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.HTTP_CLIENT_MAX_CONNECTIONS;
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.HTTP_CLIENT_MAX_CONNECTIONS_PER_ROUTE;
 
 /**
  * HttpClient service that creates an HTTP client for making HTTP requests.
  *
  * <p>Using the function {@link #getCloseableHttpClient()}
- * returns a {@link CloseableHttpClient} for HTTP request.
+ * returns a {@link CloseableHttpClient} for HTTP request. The client is built
+ * once and shared by the connectors, so that connections are pooled and kept
+ * alive across requests. It is closed when this component is deactivated, and
+ * must not be closed by its callers.
+ *
+ * <p>The client resolves hosts and executes requests through hooks which
+ * record the latency of each phase in the timings of the current request.
+ * The TLS setup of the builder is kept as it is, so the TLS handshake is
+ * counted as connecting.
+ *
+ * <p>Responses are requested with <tt>Accept-Encoding: gzip,deflate</tt> and
+ * decompressed while they are read, as set up by default by the client
+ * builder. The bytes received on the wire are counted before decompression.
  *
  * @author Adobe
  * @since 1.0.0
@@ -29,20 +49,64 @@ import org.osgi.service.component.annotations.Reference;
 @Component(service = HttpClient.class)
 public class HttpClient {
 
+    private static final Logger log = LoggerFactory.getLogger(HttpClient.class);
+
     @Reference
     private HttpClientBuilderFactory httpClientBuilderFactory;
 
+    private final TimingDnsResolver dnsResolver = new TimingDnsResolver();
+    private final TimingRequestExecutor requestExecutor = new TimingRequestExecutor();
+    private final WireCountingResponseInterceptor wireCounter = new WireCountingResponseInterceptor();
+    private CloseableHttpClient closeableHttpClient;
+
+    /**
+     * Returns the shared {@link CloseableHttpClient} for HTTP request, which is
+     * built on first use.
+     *
+     * @return {@link CloseableHttpClient} for HTTP request
+     */
+    public synchronized CloseableHttpClient getCloseableHttpClient() {
+        if (closeableHttpClient == null) {
+            closeableHttpClient = buildCloseableHttpClient();
+        }
+        return closeableHttpClient;
+    }
+
+    /**
+     * Closes the shared client and its pooled connections.
+     */
+    @Deactivate
+    protected synchronized void deactivate() {
+        if (closeableHttpClient == null) {
+            return;
+        }
+        try {
+            closeableHttpClient.close();
+        } catch (IOException e) {
+            log.warn("[HttpClient] Failed to close the HTTP client", e);
+        }
+        closeableHttpClient = null;
+    }
+
     /**
-     * Returns a {@link CloseableHttpClient} for HTTP request
+     * Helper function to build a {@link CloseableHttpClient} with a pool of
+     * connections shared by all routes.
      *
      * @return {@link CloseableHttpClient} for HTTP request
      */
-    public CloseableHttpClient getCloseableHttpClient() {
+    private CloseableHttpClient buildCloseableHttpClient() {
         int timeout = 20;
         int socketTimeout = 120;
         RequestConfig config = RequestConfig.custom()
                 .setConnectTimeout(timeout * 1000)
                 .setSocketTimeout(socketTimeout * 1000).build();
-        return httpClientBuilderFactory.newBuilder().setDefaultRequestConfig(config).build();
+        return httpClientBuilderFactory.newBuilder()
+                .setDefaultRequestConfig(config)
+                .setMaxConnTotal(HTTP_CLIENT_MAX_CONNECTIONS)
+                .setMaxConnPerRoute(HTTP_CLIENT_MAX_CONNECTIONS_PER_ROUTE)
+                .setDnsResolver(dnsResolver)
+                .setRequestExecutor(requestExecutor)
+                .addInterceptorFirst(wireCounter)
+                .build();
     }
 }
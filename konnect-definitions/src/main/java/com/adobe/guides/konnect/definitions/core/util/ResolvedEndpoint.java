@@ -0,0 +1,261 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.util;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.FORWARD_SLASH;
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.FORWARD_SLASH_CHAR;
+
+/**
+ * An immutable endpoint, resolved from the base URL of a config and the URL
+ * of one of its resources.<p>
+ * The scheme, host, port, paths and query are parsed once, when the endpoint
+ * is resolved, so that requests can be built from them without parsing the
+ * URL again. The user information, paths and query are kept in their raw,
+ * encoded form so that escaped characters such as <tt>%26</tt> are sent as
+ * they were configured. Endpoints are obtained from {@link UrlUtils#resolveEndpoint},
+ * which caches them per base URL and resource URL.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public final class ResolvedEndpoint {
+
+    private final String scheme;
+    private final String userInfo;
+    private final String host;
+    private final int port;
+    private final String basePath;
+    private final String resourcePath;
+    private final String path;
+    private final String query;
+    private final String origin;
+    private final URI uri;
+
+    private ResolvedEndpoint(URI uri, String basePath, String resourcePath) {
+        this.scheme = uri.getScheme();
+        this.userInfo = uri.getRawUserInfo();
+        this.host = uri.getHost();
+        this.port = uri.getPort();
+        this.basePath = basePath;
+        this.resourcePath = resourcePath;
+        this.path = uri.getRawPath();
+        this.query = uri.getRawQuery();
+        this.origin = scheme + "://" + host + (port == -1 ? StringUtils.EMPTY : ":" + port);
+        this.uri = uri;
+    }
+
+    /**
+     * Resolves the endpoint of a resource against a base URL.<p>
+     * The path of the resource is appended to the path of the base URL,
+     * unless it already contains it, in which case only the rest of the path
+     * is appended. The query of the resource, if any, is appended to the query
+     * of the base URL.
+     *
+     * @param baseUrl     {@code String} which is the absolute base URL.
+     * @param resourceUrl {@code String} which is the URL of the resource
+     *                    relative to the base URL, may be {@code null}.
+     * @return {@link ResolvedEndpoint} object.
+     * @throws URISyntaxException if the URLs are invalid or the base URL is
+     *                            not absolute.
+     */
+    static ResolvedEndpoint resolve(String baseUrl, String resourceUrl) throws URISyntaxException {
+        if (baseUrl == null) {
+            throw new URISyntaxException(StringUtils.EMPTY, "Base URL is missing");
+        }
+        URI base = new URI(baseUrl);
+        if (base.getScheme() == null || base.getHost() == null) {
+            throw new URISyntaxException(baseUrl, "Base URL is not absolute");
+        }
+        String basePath = StringUtils.defaultString(base.getRawPath());
+        if (StringUtils.isEmpty(resourceUrl)) {
+            return new ResolvedEndpoint(base, basePath, StringUtils.EMPTY);
+        }
+        String resourcePath = StringUtils.substringBefore(resourceUrl, "?");
+        String resourceQuery = resourceUrl.contains("?") ? StringUtils.substringAfter(resourceUrl, "?") : null;
+        String comparablePath = basePath.replaceAll("/{2,}", FORWARD_SLASH);
+        String relativePath;
+        if (resourcePath.equals(comparablePath) || resourcePath.equals(comparablePath + FORWARD_SLASH)) {
+            relativePath = StringUtils.EMPTY;
+        } else if (resourcePath.contains(comparablePath)) {
+            relativePath = resourcePath.substring(resourcePath.indexOf(comparablePath) + comparablePath.length());
+        } else {
+            relativePath = resourcePath;
+        }
+        String path = relativePath.isEmpty() ? basePath : joinPath(basePath, relativePath);
+        String query = base.getRawQuery();
+        if (StringUtils.isNotEmpty(resourceQuery)) {
+            query = query == null ? resourceQuery : query + "&" + resourceQuery;
+        }
+        StringBuilder url = new StringBuilder(base.getScheme()).append("://").append(base.getRawAuthority()).append(path);
+        if (query != null) {
+            url.append('?').append(query);
+        }
+        return new ResolvedEndpoint(new URI(url.toString()), basePath, relativePath);
+    }
+
+    /**
+     * Joins two paths with a single separator, removing empty segments and
+     * the trailing separator.
+     *
+     * @param basePath     {@code String} which is the first path.
+     * @param relativePath {@code String} which is the path to be appended.
+     * @return {@code String} which is the joined path.
+     */
+    private static String joinPath(String basePath, String relativePath) {
+        StringBuilder path = new StringBuilder(basePath.length() + relativePath.length() + 1);
+        for (String segment : StringUtils.split(basePath + FORWARD_SLASH + relativePath, FORWARD_SLASH_CHAR)) {
+            path.append(FORWARD_SLASH_CHAR).append(segment);
+        }
+        return path.length() == 0 ? FORWARD_SLASH : path.toString();
+    }
+
+    /**
+     * Returns the query of this endpoint followed by the given query.
+     *
+     * @param appendQuery {@code String} which is the encoded query to be
+     *                    appended, may be empty.
+     * @return {@code String} which is the merged raw query, or {@code null} if
+     * there is none.
+     */
+    public String mergeQuery(String appendQuery) {
+        if (StringUtils.isEmpty(appendQuery)) {
+            return query;
+        }
+        return query == null ? appendQuery : query + "&" + appendQuery;
+    }
+
+    /**
+     * Returns this endpoint as a URI, with the given query appended to its
+     * query. The components of the endpoint are not encoded again.
+     *
+     * @param appendQuery {@code String} which is the encoded query to be
+     *                    appended, may be empty.
+     * @return {@link URI} object.
+     * @throws URISyntaxException if the appended query is invalid.
+     */
+    public URI toUri(String appendQuery) throws URISyntaxException {
+        if (StringUtils.isEmpty(appendQuery)) {
+            return uri;
+        }
+        return new URI(scheme + "://" + uri.getRawAuthority() + StringUtils.defaultString(path) + "?" + mergeQuery(appendQuery));
+    }
+
+    /**
+     * Returns the scheme of this endpoint, such as <tt>https</tt>.
+     *
+     * @return {@code String} which is the scheme.
+     */
+    public String getScheme() {
+        return scheme;
+    }
+
+    /**
+     * Returns the user information of this endpoint.
+     *
+     * @return {@code String} which is the raw user information, or
+     * {@code null} if there is none.
+     */
+    public String getUserInfo() {
+        return userInfo;
+    }
+
+    /**
+     * Returns the host of this endpoint.
+     *
+     * @return {@code String} which is the host.
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * Returns the port of this endpoint.
+     *
+     * @return the port, or {@code -1} if the URL has none.
+     */
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * Returns the path of the base URL.
+     *
+     * @return {@code String} which is the raw path of the base URL.
+     */
+    public String getBasePath() {
+        return basePath;
+    }
+
+    /**
+     * Returns the path appended to the base path for the resource.
+     *
+     * @return {@code String} which is the raw path of the resource, empty if
+     * the resource is the base URL itself.
+     */
+    public String getResourcePath() {
+        return resourcePath;
+    }
+
+    /**
+     * Returns the complete path of this endpoint.
+     *
+     * @return {@code String} which is the raw path.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the query of the base URL merged with the query of the
+     * resource.
+     *
+     * @return {@code String} which is the raw query, or {@code null} if
+     * there is none.
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Returns the origin of this endpoint, such as
+     * <tt>https://example.com:8443</tt>.
+     *
+     * @return {@code String} which is the scheme, host and port.
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Returns this endpoint as a URI.
+     *
+     * @return {@link URI} object.
+     */
+    public URI toUri() {
+        return uri;
+    }
+
+    /**
+     * Returns this endpoint as a URL.
+     *
+     * @return {@code String} which is the URL.
+     */
+    @Override
+    public String toString() {
+        return uri.toString();
+    }
+}
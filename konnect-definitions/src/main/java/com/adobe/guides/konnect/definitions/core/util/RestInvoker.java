@@ -11,10 +11,26 @@ governing permissions and limitations under the License.
 */
 package com.adobe.guides.konnect.definitions.core.util;
 
+import com.adobe.guides.konnect.definitions.core.cache.HttpCache;
+import com.adobe.guides.konnect.definitions.core.cache.HttpCacheEntry;
+import com.adobe.guides.konnect.definitions.core.cache.HttpCachePolicy;
+import com.adobe.guides.konnect.definitions.core.cache.HttpCacheProvider;
+import com.adobe.guides.konnect.definitions.core.circuitbreaker.CircuitBreaker;
+import com.adobe.guides.konnect.definitions.core.circuitbreaker.CircuitBreakers;
 import com.adobe.guides.konnect.definitions.core.config.AuthenticationDetails;
+import com.adobe.guides.konnect.definitions.core.exception.KonnectConnectionException;
 import com.adobe.guides.konnect.definitions.core.exception.KonnectQueryException;
+import com.adobe.guides.konnect.definitions.core.metrics.KonnectMetrics;
+import com.adobe.guides.konnect.definitions.core.metrics.KonnectMetricsProvider;
+import com.adobe.guides.konnect.definitions.core.metrics.RequestPhase;
+import com.adobe.guides.konnect.definitions.core.metrics.RequestTimings;
+import com.adobe.guides.konnect.definitions.core.transport.HttpTransport;
+import com.adobe.guides.konnect.definitions.core.transport.HttpTransportProvider;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpGet;
@@ -28,11 +44,17 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.CONTENT_ENCODING_GZIP;
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.METRICS_STATUS_IO_ERROR;
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.REQUEST_COMPRESSION_MIN_SIZE;
+import static org.apache.http.HttpStatus.SC_INTERNAL_SERVER_ERROR;
+import static org.apache.http.HttpStatus.SC_NOT_MODIFIED;
 import static org.apache.http.HttpStatus.SC_OK;
 
 /**
@@ -43,11 +65,29 @@ import static org.apache.http.HttpStatus.SC_OK;
  * <tt>buildUri</tt> is used to create a {@link URIBuilder} with a query param.
  * <tt>buildUriRequest</tt> is used to create an {@link HttpUriRequest} using the
  * {@code URIBuilder} object. <tt>addHeaders</tt> adds custom headers in
- * the HTTP request.
+ * the HTTP request. <tt>compressBody</tt> compresses the body of requests
+ * sent with a <tt>Content-Encoding: gzip</tt> header.
  *
  * <p>There are more utility methods like <tt>buildQuery</tt> to create a query
  * and <tt>getPlainHttpClient</tt> to create an HTTP client.
  *
+ * <p>Every request sent by <tt>invokeRequest</tt> is recorded in the
+ * {@link KonnectMetrics} of the connector and resource this invoker is
+ * created for, together with the {@link RequestTimings} of its phases.
+ *
+ * <p>Requests are sent by the {@link HttpTransport} of the connector, which
+ * is the {@link HttpClient} passed to <tt>invokeRequest</tt> unless another
+ * transport, such as an HTTP/2 one, is registered.
+ *
+ * <p>The requests to a server go through the {@link CircuitBreaker} of the
+ * connector to that server, so that they fail fast while it is down.
+ *
+ * <p>When an {@link HttpCache} is registered, the responses to <tt>GET</tt>
+ * requests are stored with their validators. A stored response is returned
+ * without a request while it is fresh, and is revalidated with the data source
+ * afterwards, so that an unchanged response is answered with
+ * <tt>304 Not Modified</tt> and not downloaded again.
+ *
  * @author Adobe
  * @since 1.0.0
  */
@@ -55,6 +95,30 @@ public class RestInvoker {
 
     private static final Logger log = LoggerFactory.getLogger(RestInvoker.class);
 
+    private final String connectorName;
+    private final String resourceName;
+
+    /**
+     * Creates an invoker whose requests are recorded under the default
+     * connector and resource.
+     */
+    public RestInvoker() {
+        this(null, null);
+    }
+
+    /**
+     * Creates an invoker whose requests are recorded under a connector and
+     * resource.
+     *
+     * @param connectorName {@code String} which is the name of the connector
+     * @param resourceName  {@code String} which is the name of the resource,
+     *                      may be {@code null}
+     */
+    public RestInvoker(String connectorName, String resourceName) {
+        this.connectorName = connectorName;
+        this.resourceName = resourceName;
+    }
+
     /**
      * Returns a {@link HttpUriRequest} object which is the connector of the HTTP
      * request
@@ -75,8 +139,38 @@ public class RestInvoker {
     public HttpUriRequest prepareConnection(AuthenticationDetails authDetails, String url, String requestType, String body, String query, Map<String, String> headers) throws URISyntaxException, UnsupportedEncodingException {
         query = buildQuery(query, authDetails.getQuery());
         URIBuilder uriBuilder = buildUri(url, query);
-        HttpUriRequest uriRequest = buildUriRequest(uriBuilder, requestType, body);
+        HttpUriRequest uriRequest = buildUriRequest(uriBuilder, requestType, body, getIdentity(authDetails));
+        addHeaders(uriRequest, authDetails.getHeader(), headers);
+        compressBody(uriRequest);
+
+        return uriRequest;
+    }
+
+    /**
+     * Returns a {@link HttpUriRequest} object which is the connector of the HTTP
+     * request. The URL of the request is built from an already resolved
+     * endpoint, without parsing it again.
+     *
+     * @param authDetails {@link AuthenticationDetails} object which contains
+     *                    the authentication details
+     * @param endpoint    {@link ResolvedEndpoint} which is the endpoint of the
+     *                    HTTP request
+     * @param requestType {@code String} which is the type of the HTTP request
+     * @param body        {@code String} which is the body of the HTTP request
+     * @param query       {@code String} which is the query of the HTTP request
+     * @param headers     {@code Map<String, String>} which contains the headers
+     *                    of the HTTP request
+     * @return {@link HttpUriRequest} object which is the connector of the HTTP
+     * request.
+     * @throws URISyntaxException           if the URI is invalid or malformed
+     * @throws UnsupportedEncodingException if the encoding is not supported
+     */
+    public HttpUriRequest prepareConnection(AuthenticationDetails authDetails, ResolvedEndpoint endpoint, String requestType, String body, String query, Map<String, String> headers) throws URISyntaxException, UnsupportedEncodingException {
+        query = buildQuery(query, authDetails.getQuery());
+        URIBuilder uriBuilder = buildUri(endpoint, query);
+        HttpUriRequest uriRequest = buildUriRequest(uriBuilder, requestType, body, getIdentity(authDetails));
         addHeaders(uriRequest, authDetails.getHeader(), headers);
+        compressBody(uriRequest);
 
         return uriRequest;
     }
@@ -102,8 +196,9 @@ public class RestInvoker {
     public HttpUriRequest prepareConnection(AuthenticationDetails authDetails, String url, String requestType, String body, String query, Map<String, String> headers, List<String> pathSegs) throws URISyntaxException, UnsupportedEncodingException {
         query = buildQuery(query, authDetails.getQuery());
         URIBuilder uriBuilder = buildUri(url, query, pathSegs);
-        HttpUriRequest uriRequest = buildUriRequest(uriBuilder, requestType, body);
+        HttpUriRequest uriRequest = buildUriRequest(uriBuilder, requestType, body, getIdentity(authDetails));
         addHeaders(uriRequest, authDetails.getHeader(), headers);
+        compressBody(uriRequest);
 
         return uriRequest;
     }
@@ -116,17 +211,107 @@ public class RestInvoker {
      * @param httpClient {@link HttpClient} object which is the client to execute the
      *                   HTTP request with.
      * @return a {@code String} which is the response of an HTTP request
-     * @throws IOException           if an I/O error occurs while sending the request
-     * @throws KonnectQueryException if an error is received from the remote service
+     * @throws IOException                if an I/O error occurs while sending the request
+     * @throws KonnectQueryException      if an error is received from the remote service
+     * @throws KonnectConnectionException if the circuit to the remote service is open
+     */
+    public String invokeRequest(HttpUriRequest uriRequest, HttpClient httpClient) throws IOException, KonnectQueryException, KonnectConnectionException {
+        HttpCache cache = HttpCacheProvider.getCache();
+        String cacheKey = null;
+        HttpCacheEntry cached = null;
+        if (cache != null && HttpCachePolicy.isCacheable(uriRequest)) {
+            String identity = uriRequest instanceof IdentifiedHttpGet ? ((IdentifiedHttpGet) uriRequest).getIdentity() : HttpCachePolicy.getIdentity(uriRequest);
+            cacheKey = cache.getKey(uriRequest.getURI().toString(), identity);
+            cached = cache.get(cacheKey);
+            if (cached != null && cached.isFresh(System.currentTimeMillis())) {
+                log.debug("Response from cache for request {} ", uriRequest.getURI());
+                return cached.getBody();
+            }
+            if (cached != null && cached.hasValidators()) {
+                HttpCachePolicy.addValidators(uriRequest, cached);
+            }
+        }
+        CircuitBreaker breaker = CircuitBreakers.getBreaker(connectorName, getOrigin(uriRequest.getURI()));
+        long permit = breaker.acquire();
+        RequestTimings timings = RequestTimings.start(connectorName, resourceName, uriRequest.getMethod(), uriRequest.getURI());
+        long start = System.nanoTime();
+        int status = METRICS_STATUS_IO_ERROR;
+        boolean read = false;
+        CountingHttpEntity entity = null;
+        try {
+            recordRequestBytes(timings, uriRequest);
+            HttpResponse response = HttpTransportProvider.getTransport(connectorName).execute(uriRequest, httpClient);
+            log.debug("Response from request {} ", response);
+            status = response.getStatusLine() != null ? response.getStatusLine().getStatusCode() : SC_OK;
+            if (status == SC_NOT_MODIFIED && cached != null) {
+                EntityUtils.consume(response.getEntity());
+                read = true;
+                cache.put(cacheKey, HttpCachePolicy.update(cached, response, System.currentTimeMillis()));
+                return cached.getBody();
+            }
+            if (status != SC_OK) {
+                EntityUtils.consumeQuietly(response.getEntity());
+                Header retryAfter = response.getFirstHeader(HttpHeaders.RETRY_AFTER);
+                throw new KonnectQueryException("Error received from remote service", status, retryAfter != null ? retryAfter.getValue() : null);
+            }
+            HttpEntity responseEntity = response.getEntity();
+            entity = responseEntity != null ? new CountingHttpEntity(responseEntity) : null;
+            long downloadStart = System.nanoTime();
+            String result = EntityUtils.toString(entity, StandardCharsets.UTF_8);
+            timings.add(RequestPhase.DOWNLOAD, System.nanoTime() - downloadStart);
+            read = true;
+            if (cacheKey != null) {
+                storeResponse(cache, cacheKey, uriRequest, response, result);
+            }
+            return result;
+        } finally {
+            long duration = System.nanoTime() - start;
+            int recordedStatus = read || status != SC_OK ? status : METRICS_STATUS_IO_ERROR;
+            if (recordedStatus == METRICS_STATUS_IO_ERROR || recordedStatus >= SC_INTERNAL_SERVER_ERROR) {
+                breaker.onFailure(permit, duration);
+            } else {
+                breaker.onSuccess(permit, duration);
+            }
+            KonnectMetrics metrics = KonnectMetricsProvider.getMetrics();
+            metrics.recordRequest(connectorName, resourceName, recordedStatus, duration, entity != null ? entity.getBytesRead() : 0);
+            metrics.recordTimings(timings.setStatus(recordedStatus).setTotalNanos(duration));
+            RequestTimings.end();
+        }
+    }
+
+    /**
+     * Returns the origin of a URI, such as <tt>https://host:443</tt>, which
+     * identifies the circuit of the requests to the same server.
+     *
+     * @param uri {@link URI} of the request.
+     * @return {@code String} origin of the URI.
+     */
+    private static String getOrigin(URI uri) {
+        int port = uri.getPort();
+        if (port < 0) {
+            port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        }
+        return uri.getScheme() + "://" + uri.getHost() + ":" + port;
+    }
+
+    /**
+     * Stores the response to a request in the cache, or removes the response
+     * stored before if the new one cannot be stored or revalidated.
+     *
+     * @param cache      {@link HttpCache} in use.
+     * @param cacheKey   {@code String} key of the response.
+     * @param uriRequest {@link HttpUriRequest} object which was sent.
+     * @param response   {@link HttpResponse} object which was received.
+     * @param body       {@code String} which is the body of the response.
      */
-    public String invokeRequest(HttpUriRequest uriRequest, HttpClient httpClient) throws IOException, KonnectQueryException {
-        HttpResponse response = httpClient.execute(uriRequest);
-        log.debug("Response from request {} ", response);
-        if (response.getStatusLine() != null && response.getStatusLine().getStatusCode() != SC_OK) {
-            throw new KonnectQueryException("Error received from remote service");
+    private void storeResponse(HttpCache cache, String cacheKey, HttpUriRequest uriRequest, HttpResponse response, String body) {
+        HttpCacheEntry entry = new HttpCacheEntry().setUrl(uriRequest.getURI().toString()).setBody(body);
+        HttpCachePolicy.update(entry, response, System.currentTimeMillis());
+        if (HttpCachePolicy.isStorable(response) && (entry.hasValidators() || entry.isFresh(entry.getStoredAt()))) {
+            cache.put(cacheKey, entry);
+        } else {
+            cache.remove(cacheKey);
         }
-        HttpEntity entity = response.getEntity();
-        return EntityUtils.toString(entity, StandardCharsets.UTF_8);
     }
 
     /**
@@ -144,6 +329,21 @@ public class RestInvoker {
         return uriBuilder;
     }
 
+    /**
+     * Returns a {@link URIBuilder} object which is the URL of an endpoint with
+     * a query. Only the query of the HTTP request is encoded, the raw components
+     * of the endpoint are kept as they are.
+     *
+     * @param endpoint {@link ResolvedEndpoint} which is the endpoint of the HTTP request
+     * @param query    {@code String} which is the query of the HTTP request
+     * @return {@link URIBuilder} object which is a URL with a query
+     * @throws URISyntaxException if the URI is invalid or malformed
+     */
+    private URIBuilder buildUri(ResolvedEndpoint endpoint, String query) throws URISyntaxException {
+        String encodedQuery = StringUtils.isEmpty(query) ? null : new URIBuilder().setCustomQuery(query).build().getRawQuery();
+        return new URIBuilder(endpoint.toUri(encodedQuery));
+    }
+
     /**
      * Returns a {@link URIBuilder} object which is a URL with path segments.
      *
@@ -170,11 +370,13 @@ public class RestInvoker {
      * @param uriBuilder  {@link URIBuilder} object which is the URL of the HTTP request
      * @param requestType {@code String} which is the type of the HTTP request
      * @param body        {@code String} which is the body of the HTTP request
+     * @param identity    {@code String} which is the identity of the credentials
+     *                    of the HTTP request, used to cache its response
      * @return {@link HttpUriRequest} object which is an HTTP request
      * @throws URISyntaxException           if the URI is invalid or malformed
      * @throws UnsupportedEncodingException if the encoding is not supported
      */
-    private HttpUriRequest buildUriRequest(URIBuilder uriBuilder, String requestType, String body) throws URISyntaxException, UnsupportedEncodingException {
+    private HttpUriRequest buildUriRequest(URIBuilder uriBuilder, String requestType, String body, String identity) throws URISyntaxException, UnsupportedEncodingException {
         HttpUriRequest uriRequest = null;
         if ("POST".equals(requestType)) {
             HttpPost postRequest = new HttpPost(uriBuilder.build());
@@ -183,11 +385,27 @@ public class RestInvoker {
             }
             uriRequest = postRequest;
         } else {
-            uriRequest = new HttpGet(uriBuilder.build());
+            uriRequest = new IdentifiedHttpGet(uriBuilder.build(), identity);
         }
         return uriRequest;
     }
 
+    /**
+     * Returns the identity of the credentials of a request, which is the one
+     * set by the config, or else a hash of the authentication headers and query
+     * parameters. Other headers do not change the identity.
+     *
+     * @param authDetails {@link AuthenticationDetails} object which contains
+     *                    the authentication details
+     * @return {@code String} which is the identity of the credentials
+     */
+    private static String getIdentity(AuthenticationDetails authDetails) {
+        if (authDetails.getIdentity() != null) {
+            return authDetails.getIdentity();
+        }
+        return HttpCachePolicy.getIdentity(authDetails.getHeader(), authDetails.getQuery());
+    }
+
     /**
      * Adds headers to a <tt>HttpUriRequest</tt> request
      *
@@ -207,6 +425,58 @@ public class RestInvoker {
         }
     }
 
+    /**
+     * Compresses the body of a request with gzip if the request is sent with
+     * a <tt>Content-Encoding: gzip</tt> header, which is set in the headers
+     * of a config for the data sources accepting compressed requests. Bodies
+     * smaller than {@code REQUEST_COMPRESSION_MIN_SIZE} bytes are not worth
+     * compressing, so they are sent as they are, without the header.
+     *
+     * @param uriRequest {@link HttpUriRequest} object which is the connector of
+     *                   the HTTP request
+     */
+    public void compressBody(HttpUriRequest uriRequest) {
+        Header contentEncoding = uriRequest.getFirstHeader(HttpHeaders.CONTENT_ENCODING);
+        if (contentEncoding == null || !CONTENT_ENCODING_GZIP.equalsIgnoreCase(contentEncoding.getValue().trim())
+                || !(uriRequest instanceof HttpEntityEnclosingRequest)) {
+            return;
+        }
+        HttpEntityEnclosingRequest request = (HttpEntityEnclosingRequest) uriRequest;
+        HttpEntity entity = request.getEntity();
+        if (entity == null || entity instanceof CompressedHttpEntity) {
+            return;
+        }
+        if (entity.getContentLength() >= 0 && entity.getContentLength() < REQUEST_COMPRESSION_MIN_SIZE) {
+            uriRequest.removeHeaders(HttpHeaders.CONTENT_ENCODING);
+            return;
+        }
+        try {
+            request.setEntity(CompressedHttpEntity.gzip(entity));
+        } catch (IOException e) {
+            log.warn("Failed to compress request body, sending it uncompressed", e);
+            uriRequest.removeHeaders(HttpHeaders.CONTENT_ENCODING);
+        }
+    }
+
+    /**
+     * Records the size of the body of a request, before and after compression.
+     *
+     * @param timings    {@link RequestTimings} of the request.
+     * @param uriRequest {@link HttpUriRequest} object which is the connector of
+     *                   the HTTP request
+     */
+    private void recordRequestBytes(RequestTimings timings, HttpUriRequest uriRequest) {
+        if (!(uriRequest instanceof HttpEntityEnclosingRequest)) {
+            return;
+        }
+        HttpEntity entity = ((HttpEntityEnclosingRequest) uriRequest).getEntity();
+        if (entity == null || entity.getContentLength() < 0) {
+            return;
+        }
+        long requestBytes = entity instanceof CompressedHttpEntity ? ((CompressedHttpEntity) entity).getUncompressedLength() : entity.getContentLength();
+        timings.setRequestBytes(requestBytes, entity.getContentLength());
+    }
+
     /**
      * Returns a {@code String} which is the query appended with other
      * custom query parameters received in <tt>AuthenticationDetails</tt>
@@ -227,4 +497,33 @@ public class RestInvoker {
         }
         return StringUtils.strip(query, "&");
     }
+
+    /**
+     * <tt>GET</tt> request which keeps the identity of its credentials, so that
+     * its cached response is found again when the credentials are refreshed.
+     */
+    private static final class IdentifiedHttpGet extends HttpGet {
+
+        private final String identity;
+
+        /**
+         * Creates a request for a URI.
+         *
+         * @param uri      {@link URI} of the request.
+         * @param identity {@code String} identity of the credentials of the request.
+         */
+        IdentifiedHttpGet(URI uri, String identity) {
+            super(uri);
+            this.identity = identity;
+        }
+
+        /**
+         * Returns the identity of the credentials of this request.
+         *
+         * @return {@code String} identity of the credentials.
+         */
+        String getIdentity() {
+            return identity;
+        }
+    }
 }
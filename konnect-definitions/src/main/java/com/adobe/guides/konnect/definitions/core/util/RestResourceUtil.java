@@ -11,6 +11,7 @@ governing permissions and limitations under the License.
 */
 package com.adobe.guides.konnect.definitions.core.util;
 
+import com.adobe.guides.konnect.definitions.core.config.RestWrapperConfig;
 import com.adobe.guides.konnect.definitions.core.urlResource.RestResourceDao;
 import com.google.gson.JsonParseException;
 import org.apache.commons.lang3.StringUtils;
@@ -105,4 +106,17 @@ public class RestResourceUtil {
         checkIfAllResourceNamesAreUnique(restResourceDaoList);
         return restResourceDaoList;
     }
+
+    /**
+     * Returns the name of the resource a config is currently set to.
+     *
+     * @param restConfig the REST config, may be {@code null}
+     * @return the name of the current resource, or an empty string if no resource is set
+     */
+    public static String getResourceName(RestWrapperConfig restConfig) {
+        if (restConfig == null || restConfig.getCurrentResource() == null) {
+            return StringUtils.EMPTY;
+        }
+        return StringUtils.defaultString(restConfig.getCurrentResource().getName());
+    }
 }
@@ -0,0 +1,278 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.util;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.KONNECT_DATA;
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.TEMPLATE_PROJECTION_CACHE_SIZE;
+
+/**
+ * Utility class to find the fields of a query result used by a Velocity template.
+ *
+ * <p>The template is scanned for references to {@code $konnect_data} and to
+ * the variables assigned from it with {@code #set} and {@code #foreach}.
+ * Property access, map keys and {@code get}/{@code containsKey} calls extend
+ * the referenced path; list indexes and loop variables stand for the
+ * elements of a list. A reference which is used as a whole, for example to
+ * print it, to iterate its {@code entrySet()} or to pass it to a macro, keeps
+ * its value as a whole.
+ *
+ * <p>The analysis is conservative: whenever a path cannot be resolved, the
+ * value it starts from is kept as a whole. A template which does not reference
+ * {@code $konnect_data} at all keeps the whole result.
+ *
+ * @author Adobe
+ * @see FieldProjection
+ * @since 1.0.0
+ */
+public class TemplateFieldAnalyzer {
+
+    private static final Pattern COMMENTS = Pattern.compile("(?s)#\\*.*?\\*#|##[^\\n]*");
+    private static final Pattern ASSIGNMENT = Pattern.compile("#\\{?(set|foreach)\\}?\\s*\\(\\s*\\$!?\\{?(\\w+)\\}?\\s*(=|\\bin\\b)\\s*");
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][\\w-]*");
+    private static final Pattern STRING_KEY = Pattern.compile("\\s*(\"([^\"]*)\"|'([^']*)')\\s*");
+    private static final Pattern INTEGER = Pattern.compile("\\s*-?\\d+\\s*");
+    private static final Map<String, FieldProjection> projections = Collections.synchronizedMap(new LinkedHashMap<String, FieldProjection>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, FieldProjection> eldest) {
+            return size() > TEMPLATE_PROJECTION_CACHE_SIZE;
+        }
+    });
+
+    private TemplateFieldAnalyzer() {
+    }
+
+    /**
+     * Returns the projection of the fields used by the template. The result is
+     * cached under a hash of the template, for the last
+     * {@code TEMPLATE_PROJECTION_CACHE_SIZE} templates used, and is frozen so
+     * that it can be shared.
+     *
+     * @param template {@code String} which is the Velocity template
+     * @return {@link FieldProjection} of the fields used by the template
+     */
+    public static FieldProjection getProjection(String template) {
+        if (StringUtils.isBlank(template)) {
+            return FieldProjection.all();
+        }
+        String key = UUID.nameUUIDFromBytes(template.getBytes(StandardCharsets.UTF_8)).toString();
+        FieldProjection projection = projections.get(key);
+        if (projection == null) {
+            projection = analyze(template);
+            projections.put(key, projection);
+        }
+        return projection;
+    }
+
+    /**
+     * Returns the frozen projection of the fields used by the template.
+     *
+     * @param template {@code String} which is the Velocity template
+     * @return {@link FieldProjection} of the fields used by the template
+     */
+    public static FieldProjection analyze(String template) {
+        String source = COMMENTS.matcher(template).replaceAll("");
+        Map<Integer, Integer> targets = new HashMap<>();
+        Map<Integer, String[]> assignments = new HashMap<>();
+        Matcher assignment = ASSIGNMENT.matcher(source);
+        while (assignment.find()) {
+            targets.put(source.lastIndexOf('$', assignment.start(2)), assignment.end());
+            assignments.put(assignment.end(), new String[]{assignment.group(1), assignment.group(2)});
+        }
+
+        FieldProjection root = new FieldProjection();
+        Map<String, FieldProjection> variables = new HashMap<>();
+        variables.put(KONNECT_DATA, root);
+        for (String[] directive : assignments.values()) {
+            if (KONNECT_DATA.equals(directive[1])) {
+                return FieldProjection.all();
+            }
+        }
+        int i = 0;
+        while ((i = source.indexOf('$', i)) >= 0) {
+            if (targets.containsKey(i)) {
+                i = targets.get(i);
+                String[] directive = assignments.get(i);
+                if (i >= source.length() || source.charAt(i) != '$') {
+                    variables.remove(directive[1]);
+                }
+                continue;
+            }
+            if (i > 0 && source.charAt(i - 1) == '\\') {
+                i++;
+                continue;
+            }
+            i = resolve(source, i, variables, assignments.get(i));
+        }
+        return root.freeze();
+    }
+
+    /**
+     * Resolves the reference starting at the index and records the fields it uses.
+     *
+     * @param source    {@code String} which is the template without comments
+     * @param start     index of the {@code $} of the reference
+     * @param variables {@code Map} of variable name to the projection it refers to
+     * @param directive the directive ({@code set} or {@code foreach}) and the name of
+     *                  the variable the reference is assigned to, or {@code null} if
+     *                  the reference is used as a value
+     * @return the index after the reference
+     */
+    private static int resolve(String source, int start, Map<String, FieldProjection> variables, String[] directive) {
+        int i = start + 1;
+        if (i < source.length() && source.charAt(i) == '!') {
+            i++;
+        }
+        boolean braced = i < source.length() && source.charAt(i) == '{';
+        if (braced) {
+            i++;
+        }
+        Matcher identifier = IDENTIFIER.matcher(source).region(i, source.length());
+        if (!identifier.lookingAt()) {
+            return start + 1;
+        }
+        FieldProjection current = variables.get(identifier.group());
+        i = identifier.end();
+        boolean resolved = true;
+        boolean whole = true;
+        while (current != null && i < source.length()) {
+            char c = source.charAt(i);
+            if (c == '.') {
+                Matcher name = IDENTIFIER.matcher(source).region(i + 1, source.length());
+                if (!name.lookingAt()) {
+                    break;
+                }
+                i = name.end();
+                if (i < source.length() && source.charAt(i) == '(') {
+                    int end = findClosing(source, i, '(', ')');
+                    String argument = source.substring(i + 1, Math.max(i + 1, end));
+                    i = end < 0 ? source.length() : end + 1;
+                    String key = getKey(argument);
+                    if ("get".equals(name.group()) && key != null) {
+                        current = current.field(key);
+                    } else if ("containsKey".equals(name.group()) && key != null) {
+                        current.field(key);
+                        resolved = false;
+                        whole = false;
+                        break;
+                    } else {
+                        resolved = false;
+                        break;
+                    }
+                } else {
+                    current = current.field(name.group());
+                }
+            } else if (c == '[') {
+                int end = findClosing(source, i, '[', ']');
+                String argument = source.substring(i + 1, Math.max(i + 1, end));
+                i = end < 0 ? source.length() : end + 1;
+                String key = getKey(argument);
+                if (key == null) {
+                    resolved = false;
+                    break;
+                }
+                current = current.field(key);
+            } else {
+                break;
+            }
+        }
+        if (braced && i < source.length() && source.charAt(i) == '}') {
+            i++;
+        }
+        if (directive != null && current != null && resolved && isFullyResolved(source, i)) {
+            variables.put(directive[1], "foreach".equals(directive[0]) ? current.field(FieldProjection.ANY_ELEMENT) : current);
+        } else {
+            if (directive != null) {
+                variables.remove(directive[1]);
+            }
+            if (current != null && whole) {
+                current.keepAll();
+            }
+        }
+        return Math.max(i, start + 1);
+    }
+
+    /**
+     * Returns {@code true} if the assignment ends after the reference, that is
+     * if the reference is not part of a larger expression.
+     *
+     * @param source {@code String} which is the template without comments
+     * @param index  index after the reference
+     * @return {@code true} if only whitespace and {@code )} follow
+     */
+    private static boolean isFullyResolved(String source, int index) {
+        int i = index;
+        while (i < source.length() && Character.isWhitespace(source.charAt(i))) {
+            i++;
+        }
+        return i < source.length() && source.charAt(i) == ')';
+    }
+
+    /**
+     * Returns the key of a map access or {@code get} call, {@value FieldProjection#ANY_ELEMENT}
+     * for a list index, or {@code null} if the key cannot be resolved.
+     *
+     * @param argument {@code String} which is the argument of the access
+     * @return {@code String} which is the key
+     */
+    private static String getKey(String argument) {
+        Matcher stringKey = STRING_KEY.matcher(argument);
+        if (stringKey.matches()) {
+            return stringKey.group(2) != null ? stringKey.group(2) : stringKey.group(3);
+        }
+        if (INTEGER.matcher(argument).matches()) {
+            return FieldProjection.ANY_ELEMENT;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the index of the bracket closing the one at the index.
+     *
+     * @param source {@code String} which is the template without comments
+     * @param index  index of the opening bracket
+     * @param open   the opening bracket
+     * @param close  the closing bracket
+     * @return the index of the closing bracket, or {@code -1} if there is none
+     */
+    private static int findClosing(String source, int index, char open, char close) {
+        int depth = 0;
+        char quote = 0;
+        for (int i = index; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == open) {
+                depth++;
+            } else if (c == close && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
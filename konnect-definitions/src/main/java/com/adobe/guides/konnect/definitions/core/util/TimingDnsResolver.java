@@ -0,0 +1,46 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.util;
+
+import com.adobe.guides.konnect.definitions.core.metrics.RequestPhase;
+import com.adobe.guides.konnect.definitions.core.metrics.RequestTimings;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * {@link DnsResolver} which adds the time taken to resolve a host to the
+ * {@link RequestTimings} of the current request.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class TimingDnsResolver implements DnsResolver {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InetAddress[] resolve(String host) throws UnknownHostException {
+        long start = System.nanoTime();
+        try {
+            return SystemDefaultDnsResolver.INSTANCE.resolve(host);
+        } finally {
+            RequestTimings timings = RequestTimings.current();
+            if (timings != null) {
+                timings.add(RequestPhase.DNS, System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.util;
+
+import com.adobe.guides.konnect.definitions.core.metrics.RequestTimings;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+import java.io.IOException;
+
+/**
+ * {@link HttpRequestExecutor} which marks in the {@link RequestTimings} of
+ * the current request when the request is sent on an open connection and
+ * when the headers of the response are received.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class TimingRequestExecutor extends HttpRequestExecutor {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected HttpResponse doSendRequest(HttpRequest request, HttpClientConnection conn, HttpContext context) throws IOException, HttpException {
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null) {
+            timings.markSent();
+        }
+        return super.doSendRequest(request, conn, context);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected HttpResponse doReceiveResponse(HttpRequest request, HttpClientConnection conn, HttpContext context) throws HttpException, IOException {
+        try {
+            return super.doReceiveResponse(request, conn, context);
+        } finally {
+            RequestTimings timings = RequestTimings.current();
+            if (timings != null) {
+                timings.markReceived();
+            }
+        }
+    }
+}
@@ -21,13 +21,14 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Paths;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.adobe.guides.konnect.definitions.core.constants.Constants.BACKWARD_SLASH;
 import static com.adobe.guides.konnect.definitions.core.constants.Constants.BACKWARD_SLASH_CHAR;
 import static com.adobe.guides.konnect.definitions.core.constants.Constants.DEFAULT_PROTOCOL;
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.ENDPOINT_CACHE_SIZE;
 import static com.adobe.guides.konnect.definitions.core.constants.Constants.FORWARD_SLASH_CHAR;
 
 /**
@@ -39,6 +40,7 @@ import static com.adobe.guides.konnect.definitions.core.constants.Constants.FORW
 public class UrlUtils {
 
     private static final Logger log = LoggerFactory.getLogger(UrlUtils.class);
+    private static final Map<String, Map<String, ResolvedEndpoint>> endpoints = new ConcurrentHashMap<>();
 
     /**
      * Returns the hostname from the URL.
@@ -224,42 +226,40 @@ public class UrlUtils {
      */
     public static String getAbsoluteURLFromBaseAndRelativeUrl(String baseUrl, String relUrl, String defaultURL) {
         try {
-
-            if (StringUtils.isNotEmpty(relUrl)) {
-                String pathSegmentBaseUrl = getCompletePathSegment(baseUrl);
-                URI basePath = URI.create(pathSegmentBaseUrl);
-                URI relativeUrlSegment = URI.create(relUrl);
-                String relativePath = basePath.relativize(relativeUrlSegment).toString();
-                if (StringUtils.isEmpty(relativePath)) { // no difference between base and relative URL
-                    URL base = new URL(baseUrl);
-                    log.debug("Creating new URL as {} ", base);
-                    return base.toString();
-                } else {
-                    //is Base URL a substring?
-                    if (relUrl.indexOf(pathSegmentBaseUrl) >= 0) {
-                        relativePath = relUrl.substring(relUrl.indexOf(pathSegmentBaseUrl) + pathSegmentBaseUrl.length());
-                        String url = UrlUtils.appendPathSegments(baseUrl, Arrays.asList(relativePath));
-                        URL changedUrl = new URL(url);
-                        log.debug("Creating new URL as {} ", changedUrl);
-                        return changedUrl.toString();
-                    } else {
-                        // not a substring , relative is different simple append
-                        String url = UrlUtils.appendPathSegments(baseUrl, Arrays.asList(relativePath));
-                        URL changedUrl = new URL(url);
-                        log.debug("Creating new URL as {} ", changedUrl);
-                        return changedUrl.toString();
-                    }
-
-                }
-            } else {
-                return new URL(baseUrl).toString();
-            }
+            ResolvedEndpoint endpoint = resolveEndpoint(baseUrl, relUrl);
+            log.debug("Creating new URL as {} ", endpoint);
+            return endpoint.toString();
         } catch (Exception e) {
             log.debug("Failed to get URL from base and relative URL, using defalt ", e);
         }
         return defaultURL;
     }
 
+    /**
+     * Returns the endpoint resolved from the base and relative URL. Endpoints
+     * are cached per base and relative URL.
+     *
+     * @param baseUrl the base URL.
+     * @param relUrl  the relative URL, may be {@code null}.
+     * @return {@link ResolvedEndpoint} which is the resolved endpoint.
+     * @throws URISyntaxException if the URLs are invalid.
+     */
+    public static ResolvedEndpoint resolveEndpoint(String baseUrl, String relUrl) throws URISyntaxException {
+        String relativeUrl = StringUtils.defaultString(relUrl);
+        Map<String, ResolvedEndpoint> resolved = baseUrl != null ? endpoints.get(baseUrl) : null;
+        ResolvedEndpoint endpoint = resolved != null ? resolved.get(relativeUrl) : null;
+        if (endpoint == null) {
+            endpoint = ResolvedEndpoint.resolve(baseUrl, relativeUrl);
+            if (resolved == null && endpoints.size() < ENDPOINT_CACHE_SIZE) {
+                resolved = endpoints.computeIfAbsent(baseUrl, key -> new ConcurrentHashMap<>());
+            }
+            if (resolved != null && resolved.size() < ENDPOINT_CACHE_SIZE) {
+                resolved.put(relativeUrl, endpoint);
+            }
+        }
+        return endpoint;
+    }
+
     /**
      * Returns the complete path segment from the URL.
      *
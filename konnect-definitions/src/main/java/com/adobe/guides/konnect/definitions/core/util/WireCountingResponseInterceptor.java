@@ -0,0 +1,53 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.core.util;
+
+import com.adobe.guides.konnect.definitions.core.metrics.RequestTimings;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * {@link HttpResponseInterceptor} which counts the bytes of the response
+ * body received on the wire, and adds them to the {@link RequestTimings} of
+ * the current request.
+ *
+ * <p>It must run before the response is decompressed by the HTTP client, so
+ * that the bytes are counted before decompression, while {@link RestInvoker}
+ * counts the bytes after decompression.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class WireCountingResponseInterceptor implements HttpResponseInterceptor {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void process(HttpResponse response, HttpContext context) {
+        RequestTimings timings = RequestTimings.current();
+        HttpEntity entity = response.getEntity();
+        if (timings == null || timings.isComplete() || entity == null) {
+            return;
+        }
+        response.setEntity(new CountingHttpEntity(entity) {
+
+            @Override
+            protected void count(long bytes) {
+                super.count(bytes);
+                timings.addResponseWireBytes(bytes);
+            }
+        });
+    }
+}
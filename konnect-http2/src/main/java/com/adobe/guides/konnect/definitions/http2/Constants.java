@@ -0,0 +1,34 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.http2;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Constants to be used throughout the code.<p>
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class Constants {
+    public static final String HTTP2_TRANSPORT_NAME = "HTTP/2";
+    public static final String HTTP2_CONNECTORS_PROPERTY = "connectors";
+    public static final int HTTP2_CONNECT_TIMEOUT_SECONDS = 20;
+    public static final int HTTP2_REQUEST_TIMEOUT_SECONDS = 120;
+    public static final String HTTP2_ACCEPT_ENCODING = "gzip,deflate";
+    /* Headers set by the Java HTTP client itself, which it refuses in a request */
+    public static final Set<String> HTTP2_RESTRICTED_HEADERS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "connection", "content-length", "expect", "host", "upgrade", "keep-alive", "transfer-encoding")));
+}
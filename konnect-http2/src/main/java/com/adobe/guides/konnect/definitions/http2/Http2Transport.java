@@ -0,0 +1,266 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.http2;
+
+import com.adobe.guides.konnect.definitions.core.metrics.RequestTimings;
+import com.adobe.guides.konnect.definitions.core.transport.HttpTransport;
+import com.adobe.guides.konnect.definitions.core.transport.HttpTransportProvider;
+import com.adobe.guides.konnect.definitions.core.util.WireCountingResponseInterceptor;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.client.protocol.ResponseContentEncoding;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.util.EntityUtils;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.ProxySelector;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static com.adobe.guides.konnect.definitions.http2.Constants.HTTP2_ACCEPT_ENCODING;
+import static com.adobe.guides.konnect.definitions.http2.Constants.HTTP2_CONNECTORS_PROPERTY;
+import static com.adobe.guides.konnect.definitions.http2.Constants.HTTP2_CONNECT_TIMEOUT_SECONDS;
+import static com.adobe.guides.konnect.definitions.http2.Constants.HTTP2_REQUEST_TIMEOUT_SECONDS;
+import static com.adobe.guides.konnect.definitions.http2.Constants.HTTP2_RESTRICTED_HEADERS;
+import static com.adobe.guides.konnect.definitions.http2.Constants.HTTP2_TRANSPORT_NAME;
+
+/**
+ * {@link HttpTransport} which sends the requests of the connectors with the
+ * HTTP client of Java 11, over HTTP/2 when the data source supports it.
+ *
+ * <p>Requests to the same host share one connection, on which they are
+ * multiplexed, and their headers are compressed with HPACK. The protocol is
+ * negotiated with ALPN, so data sources which only speak HTTP/1.1 are still
+ * reached. Plain <tt>http</tt> URLs are sent with the Apache HttpClient of the
+ * connector, since few servers accept an upgrade to cleartext HTTP/2.
+ *
+ * <p>The transport is only used for the connectors listed in the
+ * <tt>connectors</tt> property, and for none of them if it is empty. The Java
+ * client uses the proxy selector and the SSL context of the JVM: the proxy
+ * and TLS settings of the Apache HttpClient are not applied to it, so
+ * connectors which depend on them should not be listed. The responses are
+ * decompressed and their bytes counted the same way as with the default
+ * transport. The DNS, connect and TLS phases are not exposed by the Java
+ * client, so they are counted in the time to first byte.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+@Component(service = HttpTransport.class, immediate = true,
+        property = {HTTP2_CONNECTORS_PROPERTY + "="})
+public class Http2Transport implements HttpTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(Http2Transport.class);
+    private static final ProtocolVersion HTTP_2 = new ProtocolVersion("HTTP", 2, 0);
+    private static final String HTTPS = "https";
+
+    private final java.net.http.HttpClient client = newClient();
+    private final WireCountingResponseInterceptor wireCounter = new WireCountingResponseInterceptor();
+    private final ResponseContentEncoding contentDecoder = new ResponseContentEncoding();
+    private volatile Set<String> connectors = Collections.emptySet();
+
+    /**
+     * Starts sending the requests of the connectors.
+     *
+     * @param properties the properties of this component.
+     */
+    @Activate
+    protected void activate(Map<String, Object> properties) {
+        configure(properties);
+        HttpTransportProvider.register(this);
+    }
+
+    /**
+     * Applies a new list of connectors.
+     *
+     * @param properties the properties of this component.
+     */
+    @Modified
+    protected void modified(Map<String, Object> properties) {
+        configure(properties);
+    }
+
+    /**
+     * Stops sending the requests of the connectors, which go back to the
+     * default transport.
+     */
+    @Deactivate
+    protected void deactivate() {
+        HttpTransportProvider.unregister(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getName() {
+        return HTTP2_TRANSPORT_NAME;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean supports(String connectorName) {
+        return connectorName != null && connectors.contains(connectorName.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public HttpResponse execute(HttpUriRequest uriRequest, HttpClient httpClient) throws IOException {
+        if (!HTTPS.equalsIgnoreCase(uriRequest.getURI().getScheme())) {
+            return httpClient.execute(uriRequest);
+        }
+        HttpRequest request = buildRequest(uriRequest);
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null) {
+            timings.markSent();
+        }
+        java.net.http.HttpResponse<InputStream> response;
+        try {
+            response = client.send(request, java.net.http.HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Request interrupted: " + uriRequest.getURI());
+        }
+        if (timings != null) {
+            timings.markReceived();
+        }
+        return toHttpResponse(response);
+    }
+
+    /**
+     * Returns the Java client sending the requests, which uses the proxy
+     * settings of the JVM.
+     *
+     * @return {@link java.net.http.HttpClient} object.
+     */
+    private static java.net.http.HttpClient newClient() {
+        java.net.http.HttpClient.Builder builder = java.net.http.HttpClient.newBuilder()
+                .version(java.net.http.HttpClient.Version.HTTP_2)
+                .followRedirects(java.net.http.HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofSeconds(HTTP2_CONNECT_TIMEOUT_SECONDS));
+        ProxySelector proxySelector = ProxySelector.getDefault();
+        if (proxySelector != null) {
+            builder.proxy(proxySelector);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the request of the Java client for a request of Apache
+     * HttpClient, with its method, headers and body.
+     *
+     * @param uriRequest {@link HttpUriRequest} to be sent.
+     * @return {@link HttpRequest} object.
+     * @throws IOException if the body of the request cannot be read.
+     */
+    private HttpRequest buildRequest(HttpUriRequest uriRequest) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uriRequest.getURI())
+                .timeout(Duration.ofSeconds(HTTP2_REQUEST_TIMEOUT_SECONDS));
+        for (Header header : uriRequest.getAllHeaders()) {
+            if (!HTTP2_RESTRICTED_HEADERS.contains(header.getName().toLowerCase(Locale.ROOT))) {
+                builder.header(header.getName(), header.getValue());
+            }
+        }
+        if (!uriRequest.containsHeader(HttpHeaders.ACCEPT_ENCODING)) {
+            builder.header(HttpHeaders.ACCEPT_ENCODING, HTTP2_ACCEPT_ENCODING);
+        }
+        HttpEntity entity = uriRequest instanceof HttpEntityEnclosingRequest ? ((HttpEntityEnclosingRequest) uriRequest).getEntity() : null;
+        if (entity == null) {
+            return builder.method(uriRequest.getMethod(), HttpRequest.BodyPublishers.noBody()).build();
+        }
+        if (entity.getContentType() != null && !uriRequest.containsHeader(HttpHeaders.CONTENT_TYPE)) {
+            builder.header(HttpHeaders.CONTENT_TYPE, entity.getContentType().getValue());
+        }
+        if (entity.getContentEncoding() != null && !uriRequest.containsHeader(HttpHeaders.CONTENT_ENCODING)) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, entity.getContentEncoding().getValue());
+        }
+        return builder.method(uriRequest.getMethod(), HttpRequest.BodyPublishers.ofByteArray(EntityUtils.toByteArray(entity))).build();
+    }
+
+    /**
+     * Returns the response of Apache HttpClient for a response of the Java
+     * client. Its body is counted and then decompressed while it is read.
+     *
+     * @param response {@link java.net.http.HttpResponse} received.
+     * @return {@link HttpResponse} object.
+     * @throws IOException if the response cannot be decompressed.
+     */
+    private HttpResponse toHttpResponse(java.net.http.HttpResponse<InputStream> response) throws IOException {
+        ProtocolVersion version = response.version() == java.net.http.HttpClient.Version.HTTP_2 ? HTTP_2 : HttpVersion.HTTP_1_1;
+        BasicHttpResponse httpResponse = new BasicHttpResponse(version, response.statusCode(), null);
+        for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+            if (header.getKey().startsWith(":")) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                httpResponse.addHeader(header.getKey(), value);
+            }
+        }
+        long contentLength = response.headers().firstValueAsLong(HttpHeaders.CONTENT_LENGTH).orElse(-1L);
+        InputStreamEntity entity = new InputStreamEntity(response.body(), contentLength);
+        response.headers().firstValue(HttpHeaders.CONTENT_TYPE).ifPresent(entity::setContentType);
+        response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).ifPresent(entity::setContentEncoding);
+        httpResponse.setEntity(entity);
+        wireCounter.process(httpResponse, null);
+        try {
+            contentDecoder.process(httpResponse, HttpClientContext.create());
+        } catch (Exception e) {
+            EntityUtils.consumeQuietly(entity);
+            log.warn("Failed to decode response from {}", response.uri(), e);
+            throw new IOException("Unsupported content encoding of response from " + response.uri(), e);
+        }
+        return httpResponse;
+    }
+
+    /**
+     * Reads the connectors which use this transport from the properties of
+     * this component.
+     *
+     * @param properties the properties of this component.
+     */
+    private void configure(Map<String, Object> properties) {
+        Object value = properties != null ? properties.get(HTTP2_CONNECTORS_PROPERTY) : null;
+        String[] names = value instanceof String[] ? (String[]) value : value != null ? value.toString().split(",") : new String[0];
+        Set<String> enabled = new HashSet<>();
+        Arrays.stream(names).map(String::trim).filter(name -> !name.isEmpty())
+                .map(name -> name.toLowerCase(Locale.ROOT)).forEach(enabled::add);
+        connectors = Collections.unmodifiableSet(enabled);
+    }
+}
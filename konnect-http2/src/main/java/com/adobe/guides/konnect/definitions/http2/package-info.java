@@ -0,0 +1,5 @@
+/**
+ * This is the group of files for storing the HTTP/2 transport of the
+ * connectors, built on the HTTP client of Java 11.
+ */
+package com.adobe.guides.konnect.definitions.http2;
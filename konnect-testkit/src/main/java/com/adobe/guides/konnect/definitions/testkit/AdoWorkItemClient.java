@@ -0,0 +1,110 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.testkit;
+
+import com.adobe.guides.konnect.definitions.core.exception.KonnectException;
+import com.adobe.guides.konnect.definitions.core.util.HttpClient;
+import com.adobe.guides.konnect.definitions.core.util.RestInvoker;
+import com.adobe.guides.konnect.definitions.testkit.stub.AdoStub;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.apache.http.client.methods.HttpUriRequest;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fetches the work items of a WIQL query from the Azure DevOps stub.<p>
+ * The Azure DevOps connector talks to <tt>dev.azure.com</tt> through its
+ * client library, which cannot be pointed at another host. This class
+ * reproduces the requests of the connector with {@link RestInvoker}
+ * instead: one WIQL request for the ids of the work items, then one
+ * work items batch request for every 200 ids.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class AdoWorkItemClient {
+
+    private static final int MAX_WORK_ITEMS_PER_REQUEST = 200;
+    private static final String API_VERSION = "api-version=7.0";
+    private static final String ORGANIZATION = "stub-org";
+    private static final String PROJECT = "stub-project";
+
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final StubRestConfig config;
+
+    /**
+     * Sole constructor.
+     *
+     * @param baseUrl    the base URL of the stub server.
+     * @param httpClient {@link HttpClient} which provides the HTTP clients of the requests.
+     */
+    public AdoWorkItemClient(String baseUrl, HttpClient httpClient) {
+        this.baseUrl = baseUrl + AdoStub.CONTEXT + "/" + ORGANIZATION;
+        this.httpClient = httpClient;
+        this.config = new StubRestConfig(this.baseUrl, "POST");
+    }
+
+    /**
+     * Returns the work items matching a WIQL query.
+     *
+     * @param wiql the WIQL query.
+     * @return {@link JsonArray} of the work items.
+     * @throws IOException           if the stub cannot be reached.
+     * @throws URISyntaxException    if an URL of the stub is invalid.
+     * @throws KonnectException     if the stub answers with an error or its circuit is open.
+     */
+    public JsonArray getWorkItems(String wiql) throws IOException, URISyntaxException, KonnectException {
+        JsonObject wiqlBody = new JsonObject();
+        wiqlBody.addProperty("query", wiql);
+        JsonObject wiqlResult = post(baseUrl + "/" + PROJECT + "/_apis/wit/wiql", wiqlBody);
+
+        JsonArray references = wiqlResult.getAsJsonArray("workItems");
+        JsonArray fields = new JsonArray();
+        for (JsonElement column : wiqlResult.getAsJsonArray("columns")) {
+            fields.add(column.getAsJsonObject().get("referenceName"));
+        }
+        JsonArray workItems = new JsonArray();
+        for (int from = 0; from < references.size(); from += MAX_WORK_ITEMS_PER_REQUEST) {
+            JsonArray ids = new JsonArray();
+            for (int i = from; i < Math.min(from + MAX_WORK_ITEMS_PER_REQUEST, references.size()); i++) {
+                ids.add(references.get(i).getAsJsonObject().get("id"));
+            }
+            JsonObject batchBody = new JsonObject();
+            batchBody.add("ids", ids);
+            batchBody.add("fields", fields);
+            workItems.addAll(post(baseUrl + "/_apis/wit/workitemsbatch", batchBody).getAsJsonArray("value"));
+        }
+        return workItems;
+    }
+
+    /**
+     * Helper function to post a JSON body and parse the JSON response.
+     *
+     * @param url  the URL of the request.
+     * @param body the body of the request.
+     * @return {@link JsonObject} which is the response.
+     */
+    private JsonObject post(String url, JsonObject body) throws IOException, URISyntaxException, KonnectException {
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Content-Type", "application/json");
+        RestInvoker invoker = new RestInvoker();
+        HttpUriRequest uriRequest = invoker.prepareConnection(config.getAuthenticationDetails(), url, "POST", body.toString(), API_VERSION, headers);
+        return new JsonParser().parse(invoker.invokeRequest(uriRequest, httpClient.getCloseableHttpClient())).getAsJsonObject();
+    }
+}
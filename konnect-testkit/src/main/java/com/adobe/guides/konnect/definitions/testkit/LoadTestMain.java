@@ -0,0 +1,146 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.testkit;
+
+import com.adobe.guides.konnect.definitions.akeneo.AkeneoConnector;
+import com.adobe.guides.konnect.definitions.core.connector.Connector;
+import com.adobe.guides.konnect.definitions.core.util.HttpClient;
+import com.adobe.guides.konnect.definitions.salsify.SalsifyConnector;
+import com.adobe.guides.konnect.definitions.testkit.scenario.LoadScenario;
+import com.adobe.guides.konnect.definitions.testkit.scenario.ScenarioResult;
+import com.adobe.guides.konnect.definitions.testkit.scenario.ScenarioRunner;
+import com.adobe.guides.konnect.definitions.testkit.stub.AdoStub;
+import com.adobe.guides.konnect.definitions.testkit.stub.AkeneoStub;
+import com.adobe.guides.konnect.definitions.testkit.stub.GraphqlStub;
+import com.adobe.guides.konnect.definitions.testkit.stub.SalsifyStub;
+import com.adobe.guides.konnect.definitions.testkit.stub.StubHandler;
+import com.adobe.guides.konnect.definitions.testkit.stub.StubServer;
+import com.adobe.guides.konnect.definitions.testkit.stub.StubSettings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entry point of the load test kit.<p>
+ * Starts the stub server with the Akeneo, Salsify, Azure DevOps and GraphQL
+ * stubs, runs one scenario per data source and prints a table of the
+ * throughput and latency percentiles, followed by the requests seen by each
+ * stub. The arguments are the names of the scenarios to run, all of them by
+ * default. The load and the behaviour of the stubs are set with the
+ * following system properties:
+ * <ul>
+ * <li><tt>konnect.testkit.threads</tt> - concurrent executions, 4 by default.</li>
+ * <li><tt>konnect.testkit.iterations</tt> - executions per scenario, 200 by default.</li>
+ * <li><tt>konnect.testkit.latency</tt> - latency of the stubs in milliseconds, 20 by default.</li>
+ * <li><tt>konnect.testkit.jitter</tt> - random extra latency in milliseconds, 10 by default.</li>
+ * <li><tt>konnect.testkit.records</tt> - records served by each stub, 100 by default.</li>
+ * <li><tt>konnect.testkit.pageSize</tt> - default page size of the stubs, 100 by default.</li>
+ * <li><tt>konnect.testkit.errorRate</tt> - share of requests failing with 500, 0 by default.</li>
+ * <li><tt>konnect.testkit.rps</tt> - requests per second before a stub answers 429, unlimited by default.</li>
+ * </ul>
+ * The Akeneo connector pauses 15 seconds between two pages of results, so
+ * the records of the Akeneo stub should fit in one page of 100.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public final class LoadTestMain {
+
+    private static final String PROPERTY_PREFIX = "konnect.testkit.";
+    private static final String AKENEO = "akeneo";
+    private static final String SALSIFY = "salsify";
+    private static final String ADO = "ado";
+    private static final String GRAPHQL = "graphql";
+
+    private LoadTestMain() {
+    }
+
+    /**
+     * Runs the load scenarios.
+     *
+     * @param args the names of the scenarios to run.
+     * @throws Exception if the stub server cannot be started or a scenario is interrupted.
+     */
+    public static void main(String[] args) throws Exception {
+        List<String> selected = args.length > 0 ? Arrays.asList(args) : Arrays.asList(AKENEO, SALSIFY, ADO, GRAPHQL);
+        int threads = Integer.getInteger(PROPERTY_PREFIX + "threads", 4);
+        int iterations = Integer.getInteger(PROPERTY_PREFIX + "iterations", 200);
+        int records = Integer.getInteger(PROPERTY_PREFIX + "records", 100);
+        int pageSize = Integer.getInteger(PROPERTY_PREFIX + "pageSize", 100);
+
+        try (StubServer server = new StubServer(Math.max(threads * 2, 8))) {
+            server.addStub(AkeneoStub.CONTEXT, new AkeneoStub(newSettings()))
+                    .addStub(SalsifyStub.CONTEXT, new SalsifyStub(newSettings()))
+                    .addStub(AdoStub.CONTEXT, new AdoStub(newSettings()))
+                    .addStub(GraphqlStub.CONTEXT, new GraphqlStub(newSettings()))
+                    .start();
+            String baseUrl = server.getBaseUrl();
+            HttpClient httpClient = StubConnectors.newHttpClient();
+            AkeneoConnector akeneoConnector = StubConnectors.newAkeneoConnector(httpClient);
+            SalsifyConnector salsifyConnector = StubConnectors.newSalsifyConnector(httpClient);
+            Connector graphqlConnector = new StubGraphqlConnector(httpClient);
+            AdoWorkItemClient adoClient = new AdoWorkItemClient(baseUrl, httpClient);
+
+            List<LoadScenario> scenarios = new ArrayList<>();
+            if (selected.contains(AKENEO)) {
+                scenarios.add(new LoadScenario("akeneo products", () -> akeneoConnector.execute(StubConnectors.newAkeneoConfig(baseUrl), StubConnectors.newAkeneoQuery())));
+            }
+            if (selected.contains(SALSIFY)) {
+                scenarios.add(new LoadScenario("salsify products", () -> salsifyConnector.execute(StubConnectors.newSalsifyConfig(baseUrl), StubConnectors.newSalsifyQuery(pageSize))));
+            }
+            if (selected.contains(ADO)) {
+                scenarios.add(new LoadScenario("ado work items", () -> adoClient.getWorkItems("SELECT [System.Id] FROM WorkItems")));
+            }
+            if (selected.contains(GRAPHQL)) {
+                scenarios.add(new LoadScenario("graphql products", () -> graphqlConnector.execute(StubConnectors.newGraphqlConfig(baseUrl), StubConnectors.newGraphqlQuery())));
+            }
+
+            System.out.printf("Stub server on %s, %d records, page size %d%n%n", baseUrl, records, pageSize);
+            System.out.println(ScenarioResult.getHeader());
+            ScenarioRunner runner = new ScenarioRunner();
+            List<ScenarioResult> results = new ArrayList<>();
+            for (LoadScenario scenario : scenarios) {
+                ScenarioResult result = runner.run(scenario.setThreads(threads).setIterations(iterations).setWarmupIterations(Math.min(iterations, 10)));
+                results.add(result);
+                System.out.println(result);
+            }
+            for (ScenarioResult result : results) {
+                if (result.getFirstError() != null) {
+                    System.out.printf("%nFirst error of %s: %s", result.getName(), result.getFirstError());
+                }
+            }
+
+            System.out.printf("%n%n%-28s %10s %10s %10s%n", "stub", "requests", "429", "500");
+            for (Map.Entry<String, StubHandler> stub : server.getStubs().entrySet()) {
+                StubHandler handler = stub.getValue();
+                System.out.printf("%-28s %10d %10d %10d%n", stub.getKey(), handler.getRequests(), handler.getRateLimited(), handler.getFailed());
+            }
+        }
+    }
+
+    /**
+     * Helper function to read the behaviour of a stub from the system properties.
+     *
+     * @return {@link StubSettings} object.
+     */
+    private static StubSettings newSettings() {
+        return new StubSettings()
+                .setLatencyMillis(Long.getLong(PROPERTY_PREFIX + "latency", 20L))
+                .setLatencyJitterMillis(Long.getLong(PROPERTY_PREFIX + "jitter", 10L))
+                .setTotalRecords(Integer.getInteger(PROPERTY_PREFIX + "records", 100))
+                .setPageSize(Integer.getInteger(PROPERTY_PREFIX + "pageSize", 100))
+                .setErrorRate(Double.parseDouble(System.getProperty(PROPERTY_PREFIX + "errorRate", "0")))
+                .setRequestsPerSecond(Integer.getInteger(PROPERTY_PREFIX + "rps", 0));
+    }
+}
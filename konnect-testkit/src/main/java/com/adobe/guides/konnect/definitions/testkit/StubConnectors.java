@@ -0,0 +1,227 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.testkit;
+
+import com.adobe.guides.konnect.definitions.akeneo.AkeneoConnector;
+import com.adobe.guides.konnect.definitions.akeneo.AppAccessTokenConfig;
+import com.adobe.guides.konnect.definitions.akeneo.cache.ReferenceDataCache;
+import com.adobe.guides.konnect.definitions.akeneo.utils.AkeneoUtils;
+import com.adobe.guides.konnect.definitions.akeneo.utils.URLUtility;
+import com.adobe.guides.konnect.definitions.core.config.Config;
+import com.adobe.guides.konnect.definitions.core.config.ConfigDto;
+import com.adobe.guides.konnect.definitions.core.exception.KonnectException;
+import com.adobe.guides.konnect.definitions.core.query.QueryInfoDto;
+import com.adobe.guides.konnect.definitions.core.urlResource.AdditionalResourceInfoImpl;
+import com.adobe.guides.konnect.definitions.core.urlResource.RestResourceDao;
+import com.adobe.guides.konnect.definitions.core.util.HttpClient;
+import com.adobe.guides.konnect.definitions.salsify.SalsifyConnector;
+import com.adobe.guides.konnect.definitions.salsify.config.BearerTokenRestConfig;
+import com.adobe.guides.konnect.definitions.salsify.config.RestConfigFactory;
+import com.adobe.guides.konnect.definitions.testkit.stub.GraphqlStub;
+import com.adobe.guides.konnect.definitions.testkit.stub.SalsifyStub;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.osgi.services.HttpClientBuilderFactory;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import static com.adobe.guides.konnect.definitions.core.constants.Constants.RESOURCE_ID;
+
+/**
+ * Creates the connectors, their configs and their queries for the stub
+ * endpoints.<p>
+ * Outside of an OSGi container nobody satisfies the {@code @Reference}
+ * fields of the connectors, so this class sets them the way the service
+ * component runtime would. A new config is created for every execution,
+ * since connectors select the current resource on the config itself.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public final class StubConnectors {
+
+    /**
+     * Id of the resource queried by the scenarios.
+     */
+    public static final String PRODUCTS_RESOURCE = "products";
+
+    private StubConnectors() {
+    }
+
+    /**
+     * Returns a {@link HttpClient} which builds its clients with the default
+     * {@link HttpClientBuilder}.
+     *
+     * @return {@link HttpClient} object.
+     */
+    public static HttpClient newHttpClient() {
+        HttpClient httpClient = new HttpClient();
+        inject(httpClient, "httpClientBuilderFactory", (HttpClientBuilderFactory) HttpClientBuilder::create);
+        return httpClient;
+    }
+
+    /**
+     * Returns an {@link AkeneoConnector} with its references set.
+     *
+     * @param httpClient {@link HttpClient} used by the connector.
+     * @return {@link AkeneoConnector} object.
+     */
+    public static AkeneoConnector newAkeneoConnector(HttpClient httpClient) {
+        AkeneoUtils akeneoUtils = new AkeneoUtils();
+        inject(akeneoUtils, "urlUtilityClass", new URLUtility());
+        AkeneoConnector connector = new AkeneoConnector();
+        inject(connector, "akeneoUtils", akeneoUtils);
+        inject(connector, "httpClient", httpClient);
+        inject(connector, "referenceDataCache", new ReferenceDataCache());
+        return connector;
+    }
+
+    /**
+     * Returns a {@link SalsifyConnector} with its references set.
+     *
+     * @param httpClient {@link HttpClient} used by the connector.
+     * @return {@link SalsifyConnector} object.
+     */
+    public static SalsifyConnector newSalsifyConnector(HttpClient httpClient) {
+        SalsifyConnector connector = new SalsifyConnector();
+        inject(connector, "httpClient", httpClient);
+        inject(connector, "restConfigFactory", new RestConfigFactory());
+        return connector;
+    }
+
+    /**
+     * Returns an Akeneo config which authenticates with OAuth against the stub.
+     *
+     * @param baseUrl the base URL of the stub server.
+     * @return {@link ConfigDto} object.
+     */
+    public static ConfigDto newAkeneoConfig(String baseUrl) {
+        List<RestResourceDao> resources = new ArrayList<>();
+        resources.add(new RestResourceDao().setId(PRODUCTS_RESOURCE).setName("Get list of products").setUrl("/api/rest/v1/products").setEnabled(true));
+        AppAccessTokenConfig config = new AppAccessTokenConfig(baseUrl, "GET", "", new HashMap<>(), null, "stub", "stub", "stub", "stub", resources);
+        return newConfigDto(config);
+    }
+
+    /**
+     * Returns a Salsify config for the organization of the stub.
+     *
+     * @param baseUrl the base URL of the stub server.
+     * @return {@link ConfigDto} object.
+     */
+    public static ConfigDto newSalsifyConfig(String baseUrl) {
+        BearerTokenRestConfig config = new BearerTokenRestConfig(baseUrl + SalsifyStub.ORGANIZATION_PATH, "GET", "", new HashMap<>(), "stub", null);
+        List<RestResourceDao> resources = new ArrayList<>();
+        resources.add(new RestResourceDao().setId(PRODUCTS_RESOURCE).setName("Get list of products").setUrl("/products").setEnabled(true));
+        try {
+            config.setResourceList(resources);
+        } catch (KonnectException e) {
+            throw new IllegalStateException("Invalid Salsify resources", e);
+        }
+        return newConfigDto(config);
+    }
+
+    /**
+     * Returns a config for the GraphQL endpoint of the stub.
+     *
+     * @param baseUrl the base URL of the stub server.
+     * @return {@link ConfigDto} object.
+     */
+    public static ConfigDto newGraphqlConfig(String baseUrl) {
+        return newConfigDto(new StubRestConfig(baseUrl + GraphqlStub.PATH, "POST"));
+    }
+
+    /**
+     * Returns the query listing the products of Akeneo.
+     *
+     * @return {@link QueryInfoDto} object.
+     */
+    public static QueryInfoDto newAkeneoQuery() {
+        return newQuery("products", "search={\"enabled\":[{\"operator\":\"=\",\"value\":true}]}&limit=100", PRODUCTS_RESOURCE);
+    }
+
+    /**
+     * Returns the query listing the products of Salsify.
+     *
+     * @param perPage the number of products per page.
+     * @return {@link QueryInfoDto} object.
+     */
+    public static QueryInfoDto newSalsifyQuery(int perPage) {
+        return newQuery("products", "{\"per_page\": " + perPage + "}", PRODUCTS_RESOURCE);
+    }
+
+    /**
+     * Returns the query listing the products of the GraphQL endpoint.
+     *
+     * @return {@link QueryInfoDto} object.
+     */
+    public static QueryInfoDto newGraphqlQuery() {
+        return newQuery("products", "{ products { total_count items { sku name price } } }", null);
+    }
+
+    /**
+     * Helper function to create a query.
+     *
+     * @param name       the name of the query.
+     * @param query      the query string.
+     * @param resourceId the id of the resource queried, or {@code null}.
+     * @return {@link QueryInfoDto} object.
+     */
+    private static QueryInfoDto newQuery(String name, String query, String resourceId) {
+        QueryInfoDto queryInfo = new QueryInfoDto();
+        queryInfo.setQueryName(name);
+        queryInfo.setQuery(query);
+        if (resourceId != null) {
+            queryInfo.setAdditionalResourceInfo(new AdditionalResourceInfoImpl(Collections.singletonMap(RESOURCE_ID, resourceId)));
+        }
+        return queryInfo;
+    }
+
+    /**
+     * Helper function to wrap a config in a {@link ConfigDto}.
+     *
+     * @param config the config to be wrapped.
+     * @return {@link ConfigDto} object.
+     */
+    private static ConfigDto newConfigDto(Config config) {
+        ConfigDto configDto = new ConfigDto();
+        configDto.setConfig(config);
+        configDto.setConfigClazz(config.getClass().getName());
+        return configDto;
+    }
+
+    /**
+     * Helper function to set a field of an object, such as a field annotated
+     * with {@code @Reference}, looking it up in the class hierarchy.
+     *
+     * @param target    the object whose field is set.
+     * @param fieldName the name of the field.
+     * @param value     the value of the field.
+     */
+    private static void inject(Object target, String fieldName, Object value) {
+        for (Class<?> clazz = target.getClass(); clazz != null; clazz = clazz.getSuperclass()) {
+            try {
+                Field field = clazz.getDeclaredField(fieldName);
+                field.setAccessible(true);
+                field.set(target, value);
+                return;
+            } catch (NoSuchFieldException e) {
+                // look up the field in the superclass
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot set " + fieldName + " of " + target.getClass().getName(), e);
+            }
+        }
+        throw new IllegalStateException("No field " + fieldName + " in " + target.getClass().getName());
+    }
+}
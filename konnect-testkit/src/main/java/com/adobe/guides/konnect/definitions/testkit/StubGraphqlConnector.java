@@ -0,0 +1,79 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.testkit;
+
+import com.adobe.guides.konnect.definitions.core.config.Config;
+import com.adobe.guides.konnect.definitions.core.config.RestConfig;
+import com.adobe.guides.konnect.definitions.core.connector.GraphqlConnector;
+import com.adobe.guides.konnect.definitions.core.util.HttpClient;
+import org.apache.http.impl.client.CloseableHttpClient;
+
+/**
+ * A minimal {@link GraphqlConnector}, so that the GraphQL execution path of
+ * the core can be driven against the GraphQL stub.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class StubGraphqlConnector extends GraphqlConnector {
+
+    private final HttpClient httpClient;
+
+    /**
+     * Sole constructor.
+     *
+     * @param httpClient {@link HttpClient} which provides the HTTP clients of the requests.
+     */
+    public StubGraphqlConnector(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RestConfig getRestConfig(Config config) {
+        return (RestConfig) config;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getQueryWithLimit(String query) {
+        return query;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CloseableHttpClient getHttpClient() {
+        return httpClient.getCloseableHttpClient();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getName() {
+        return "GraphQL Stub";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Class[] getConfigClass() {
+        return new Class[]{StubRestConfig.class};
+    }
+}
@@ -0,0 +1,63 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.testkit;
+
+import com.adobe.guides.konnect.definitions.core.config.AuthenticationDetails;
+import com.adobe.guides.konnect.definitions.core.config.RestConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link RestConfig} without authentication, used to reach the stub
+ * endpoints directly.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class StubRestConfig extends RestConfig {
+
+    /**
+     * Sole constructor.
+     *
+     * @param url         {@code String} URL used to send the request
+     * @param requestType {@code String} which is the type of request like GET or POST
+     */
+    public StubRestConfig(String url, String requestType) {
+        super(url, requestType, "", new HashMap<>());
+    }
+
+    /**
+     * Returns a {@link AuthenticationDetails} object without any header or
+     * query parameter.
+     *
+     * @return {@link AuthenticationDetails} object to be used to execute a query.
+     */
+    @Override
+    public AuthenticationDetails getAuthenticationDetails() {
+        AuthenticationDetails authDetails = new AuthenticationDetails();
+        Map<String, String> header = new HashMap<>();
+        authDetails.setHeader(header);
+        authDetails.setQuery(new HashMap<>());
+        return authDetails;
+    }
+
+    /**
+     * Returns the unique name for this config.
+     *
+     * @return a {@code String} which is the name of this config.
+     */
+    @Override
+    public String getName() {
+        return "Stub";
+    }
+}
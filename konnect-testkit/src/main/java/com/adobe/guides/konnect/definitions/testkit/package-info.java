@@ -0,0 +1,5 @@
+/**
+ * This is the group of files for storing the load test kit, which runs the
+ * connectors against local stubs of their data sources.
+ */
+package com.adobe.guides.konnect.definitions.testkit;
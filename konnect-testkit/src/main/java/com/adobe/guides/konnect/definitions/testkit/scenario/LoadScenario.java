@@ -0,0 +1,121 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.testkit.scenario;
+
+import java.util.concurrent.Callable;
+
+/**
+ * A load scenario, which is an operation run a number of times by a
+ * number of threads.<p>
+ * The operation is typically a connector execution against a stub
+ * endpoint. An operation which throws counts as an error.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class LoadScenario {
+
+    private final String name;
+    private final Callable<?> operation;
+    private int threads = 1;
+    private int iterations = 100;
+    private int warmupIterations = 0;
+
+    /**
+     * Sole constructor.
+     *
+     * @param name      the name of the scenario, used in the report.
+     * @param operation the operation to be run.
+     */
+    public LoadScenario(String name, Callable<?> operation) {
+        this.name = name;
+        this.operation = operation;
+    }
+
+    /**
+     * Returns the name of the scenario.
+     *
+     * @return a {@code String} which is the name of the scenario.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the operation of the scenario.
+     *
+     * @return a {@code Callable} which is the operation.
+     */
+    public Callable<?> getOperation() {
+        return operation;
+    }
+
+    /**
+     * Returns the number of threads running the operation.
+     *
+     * @return the number of threads.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Sets the number of threads running the operation.
+     *
+     * @param threads the number of threads.
+     * @return {@link LoadScenario} object.
+     */
+    public LoadScenario setThreads(int threads) {
+        this.threads = Math.max(threads, 1);
+        return this;
+    }
+
+    /**
+     * Returns the number of measured runs of the operation, across all threads.
+     *
+     * @return the number of runs.
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Sets the number of measured runs of the operation, across all threads.
+     *
+     * @param iterations the number of runs.
+     * @return {@link LoadScenario} object.
+     */
+    public LoadScenario setIterations(int iterations) {
+        this.iterations = Math.max(iterations, 1);
+        return this;
+    }
+
+    /**
+     * Returns the number of runs of the operation before measuring starts.
+     *
+     * @return the number of warmup runs.
+     */
+    public int getWarmupIterations() {
+        return warmupIterations;
+    }
+
+    /**
+     * Sets the number of runs of the operation before measuring starts.
+     *
+     * @param warmupIterations the number of warmup runs.
+     * @return {@link LoadScenario} object.
+     */
+    public LoadScenario setWarmupIterations(int warmupIterations) {
+        this.warmupIterations = Math.max(warmupIterations, 0);
+        return this;
+    }
+}
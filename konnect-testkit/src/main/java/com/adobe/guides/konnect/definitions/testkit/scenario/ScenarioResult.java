@@ -0,0 +1,142 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.testkit.scenario;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The result of a {@link LoadScenario}: its throughput, error count and
+ * latency percentiles.<p>
+ * Percentiles are computed with the nearest-rank method on the latencies
+ * of the successful runs.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class ScenarioResult {
+
+    private static final String ROW_FORMAT = "%-28s %8s %8s %12s %10s %10s %10s %10s";
+
+    private final String name;
+    private final int threads;
+    private final long[] latencies;
+    private final int errors;
+    private final long elapsedNanos;
+    private final String firstError;
+
+    /**
+     * Sole constructor.
+     *
+     * @param name         the name of the scenario.
+     * @param threads      the number of threads which ran the scenario.
+     * @param latencies    the latencies of the successful runs in nanoseconds.
+     * @param errors       the number of failed runs.
+     * @param elapsedNanos the wall clock time of the scenario in nanoseconds.
+     * @param firstError   the message of the first failure, or {@code null}.
+     */
+    public ScenarioResult(String name, int threads, long[] latencies, int errors, long elapsedNanos, String firstError) {
+        this.name = name;
+        this.threads = threads;
+        this.latencies = latencies.clone();
+        Arrays.sort(this.latencies);
+        this.errors = errors;
+        this.elapsedNanos = elapsedNanos;
+        this.firstError = firstError;
+    }
+
+    /**
+     * Returns the header of the table printed by {@link #toString()}.
+     *
+     * @return a {@code String} which is the header row.
+     */
+    public static String getHeader() {
+        return String.format(ROW_FORMAT, "scenario", "threads", "runs", "errors", "ops/s", "p50 ms", "p95 ms", "p99 ms");
+    }
+
+    /**
+     * Returns the name of the scenario.
+     *
+     * @return a {@code String} which is the name of the scenario.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of successful runs.
+     *
+     * @return the number of successful runs.
+     */
+    public int getSuccesses() {
+        return latencies.length;
+    }
+
+    /**
+     * Returns the number of failed runs.
+     *
+     * @return the number of failed runs.
+     */
+    public int getErrors() {
+        return errors;
+    }
+
+    /**
+     * Returns the message of the first failed run.
+     *
+     * @return a {@code String} which is the message, or {@code null} if no run failed.
+     */
+    public String getFirstError() {
+        return firstError;
+    }
+
+    /**
+     * Returns the number of runs, successful or not, completed per second.
+     *
+     * @return the throughput in operations per second.
+     */
+    public double getThroughput() {
+        if (elapsedNanos <= 0) {
+            return 0;
+        }
+        return (latencies.length + errors) * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    /**
+     * Returns a percentile of the latencies of the successful runs.
+     *
+     * @param percentile the percentile, between 0 and 100.
+     * @return the latency in milliseconds, or 0 if no run succeeded.
+     */
+    public double getPercentileMillis(double percentile) {
+        if (latencies.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * latencies.length);
+        int index = Math.min(Math.max(rank - 1, 0), latencies.length - 1);
+        return latencies[index] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Returns this result as a row of the table whose header is {@link #getHeader()}.
+     *
+     * @return a {@code String} which is the row.
+     */
+    @Override
+    public String toString() {
+        return String.format(ROW_FORMAT, name, threads, latencies.length + errors, errors,
+                String.format("%.1f", getThroughput()),
+                String.format("%.2f", getPercentileMillis(50)),
+                String.format("%.2f", getPercentileMillis(95)),
+                String.format("%.2f", getPercentileMillis(99)));
+    }
+}
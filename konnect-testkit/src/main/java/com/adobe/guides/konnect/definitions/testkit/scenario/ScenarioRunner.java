@@ -0,0 +1,111 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.testkit.scenario;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs {@link LoadScenario}s and measures them.<p>
+ * The warmup runs are done on a single thread. The measured runs are then
+ * split between the threads of the scenario, which all start at the same
+ * time, and the latency of every run is recorded.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class ScenarioRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ScenarioRunner.class);
+
+    /**
+     * Runs a scenario and returns its measurements.
+     *
+     * @param scenario {@link LoadScenario} to be run.
+     * @return {@link ScenarioResult} of the scenario.
+     * @throws InterruptedException if the calling thread is interrupted.
+     */
+    public ScenarioResult run(LoadScenario scenario) throws InterruptedException {
+        Callable<?> operation = scenario.getOperation();
+        for (int i = 0; i < scenario.getWarmupIterations(); i++) {
+            try {
+                operation.call();
+            } catch (Exception e) {
+                log.debug("[ScenarioRunner] Warmup run of {} failed", scenario.getName(), e);
+            }
+        }
+
+        int threads = scenario.getThreads();
+        AtomicInteger errors = new AtomicInteger();
+        AtomicReference<String> firstError = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<long[]>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int runs = scenario.getIterations() / threads + (t < scenario.getIterations() % threads ? 1 : 0);
+                futures.add(executor.submit(() -> {
+                    long[] latencies = new long[runs];
+                    int successes = 0;
+                    start.await();
+                    for (int i = 0; i < runs; i++) {
+                        long begin = System.nanoTime();
+                        try {
+                            operation.call();
+                            latencies[successes++] = System.nanoTime() - begin;
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            firstError.compareAndSet(null, e.toString());
+                            log.debug("[ScenarioRunner] Run of {} failed", scenario.getName(), e);
+                        }
+                    }
+                    long[] result = new long[successes];
+                    System.arraycopy(latencies, 0, result, 0, successes);
+                    return result;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            List<long[]> perThread = new ArrayList<>();
+            int total = 0;
+            for (Future<long[]> future : futures) {
+                long[] latencies = future.get();
+                perThread.add(latencies);
+                total += latencies.length;
+            }
+            long elapsed = System.nanoTime() - begin;
+
+            long[] latencies = new long[total];
+            int offset = 0;
+            for (long[] threadLatencies : perThread) {
+                System.arraycopy(threadLatencies, 0, latencies, offset, threadLatencies.length);
+                offset += threadLatencies.length;
+            }
+            return new ScenarioResult(scenario.getName(), threads, latencies, errors.get(), elapsed, firstError.get());
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Scenario " + scenario.getName() + " could not be run", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
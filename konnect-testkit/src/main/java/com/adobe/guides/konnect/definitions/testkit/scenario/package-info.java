@@ -0,0 +1,5 @@
+/**
+ * This is the group of files for storing the load scenarios, their runner
+ * and their results.
+ */
+package com.adobe.guides.konnect.definitions.testkit.scenario;
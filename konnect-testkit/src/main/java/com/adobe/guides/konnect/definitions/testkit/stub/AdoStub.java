@@ -0,0 +1,155 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.testkit.stub;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Stub of the Azure DevOps work item tracking REST API.<p>
+ * It serves the WIQL endpoint of a project, the work items batch endpoint
+ * and the project list of an organization. Like Azure DevOps, a WIQL query
+ * whose result exceeds 20,000 work items fails with <tt>VS402337</tt>, and
+ * a batch request is limited to 200 work items.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class AdoStub extends StubHandler {
+
+    /**
+     * Context path of the stub.
+     */
+    public static final String CONTEXT = "/ado";
+
+    private static final int MAX_WIQL_RESULTS = 20000;
+    private static final int MAX_BATCH_SIZE = 200;
+    private static final String[] FIELDS = {"System.Id", "System.Title", "System.State", "System.WorkItemType", "System.AssignedTo"};
+
+    /**
+     * Sole constructor.
+     *
+     * @param settings {@link StubSettings} which is the behaviour of this endpoint.
+     */
+    public AdoStub(StubSettings settings) {
+        super(settings);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void respond(HttpExchange exchange, Map<String, String> queryParams, String body) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (path.endsWith("/_apis/wit/wiql")) {
+            respondWiql(exchange, queryParams);
+        } else if (path.endsWith("/_apis/wit/workitemsbatch")) {
+            respondBatch(exchange, body);
+        } else if (path.endsWith("/_apis/projects")) {
+            JsonArray projects = new JsonArray();
+            for (int i = 0; i < 3; i++) {
+                JsonObject project = new JsonObject();
+                project.addProperty("id", "project-" + i);
+                project.addProperty("name", "Project " + i);
+                projects.add(project);
+            }
+            JsonObject response = new JsonObject();
+            response.addProperty("count", projects.size());
+            response.add("value", projects);
+            send(exchange, 200, response.toString());
+        } else {
+            send(exchange, 404, "{\"message\":\"The resource cannot be found.\"}");
+        }
+    }
+
+    /**
+     * Answers a WIQL query with the references of the matching work items.
+     *
+     * @param exchange    {@link HttpExchange} of the request.
+     * @param queryParams the query parameters of the request.
+     * @throws IOException if the response cannot be written.
+     */
+    private void respondWiql(HttpExchange exchange, Map<String, String> queryParams) throws IOException {
+        int total = Math.min(getSettings().getTotalRecords(), getInt(queryParams, "$top", Integer.MAX_VALUE));
+        if (total > MAX_WIQL_RESULTS) {
+            send(exchange, 400, "{\"message\":\"VS402337: The number of work items returned exceeds the size limit of "
+                    + MAX_WIQL_RESULTS + ". Change the query to return fewer items.\",\"typeKey\":\"WorkItemTrackingQueryResultSizeLimitExceededException\"}");
+            return;
+        }
+        String baseUrl = getBaseUrl(exchange) + CONTEXT;
+        JsonArray columns = new JsonArray();
+        for (String field : FIELDS) {
+            JsonObject column = new JsonObject();
+            column.addProperty("referenceName", field);
+            column.addProperty("name", field.substring(field.indexOf('.') + 1));
+            column.addProperty("url", baseUrl + "/_apis/wit/fields/" + field);
+            columns.add(column);
+        }
+        JsonArray workItems = new JsonArray();
+        for (int i = 1; i <= total; i++) {
+            JsonObject workItem = new JsonObject();
+            workItem.addProperty("id", i);
+            workItem.addProperty("url", baseUrl + "/_apis/wit/workItems/" + i);
+            workItems.add(workItem);
+        }
+        JsonObject response = new JsonObject();
+        response.addProperty("queryType", "flat");
+        response.addProperty("queryResultType", "workItem");
+        response.addProperty("asOf", "2024-06-01T00:00:00.000Z");
+        response.add("columns", columns);
+        response.add("workItems", workItems);
+        send(exchange, 200, response.toString());
+    }
+
+    /**
+     * Answers a work items batch request with the requested work items.
+     *
+     * @param exchange {@link HttpExchange} of the request.
+     * @param body     the body of the request.
+     * @throws IOException if the response cannot be written.
+     */
+    private void respondBatch(HttpExchange exchange, String body) throws IOException {
+        JsonObject request = new JsonParser().parse(body).getAsJsonObject();
+        JsonArray ids = request.getAsJsonArray("ids");
+        if (ids == null || ids.size() > MAX_BATCH_SIZE) {
+            send(exchange, 400, "{\"message\":\"VS403474: The number of work items requested must be between 1 and " + MAX_BATCH_SIZE + ".\"}");
+            return;
+        }
+        String baseUrl = getBaseUrl(exchange) + CONTEXT;
+        JsonArray value = new JsonArray();
+        for (JsonElement id : ids) {
+            int workItemId = id.getAsInt();
+            JsonObject fields = new JsonObject();
+            fields.addProperty("System.Id", workItemId);
+            fields.addProperty("System.Title", "Work item " + workItemId);
+            fields.addProperty("System.State", workItemId % 3 == 0 ? "Closed" : "Active");
+            fields.addProperty("System.WorkItemType", workItemId % 2 == 0 ? "Bug" : "User Story");
+            fields.addProperty("System.AssignedTo", "user" + workItemId % 10 + "@example.com");
+            JsonObject workItem = new JsonObject();
+            workItem.addProperty("id", workItemId);
+            workItem.addProperty("rev", 1);
+            workItem.add("fields", fields);
+            workItem.addProperty("url", baseUrl + "/_apis/wit/workItems/" + workItemId);
+            value.add(workItem);
+        }
+        JsonObject response = new JsonObject();
+        response.addProperty("count", value.size());
+        response.add("value", value);
+        send(exchange, 200, response.toString());
+    }
+}
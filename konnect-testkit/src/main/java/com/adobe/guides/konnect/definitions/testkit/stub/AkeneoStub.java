@@ -0,0 +1,283 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.testkit.stub;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Stub of the Akeneo REST API.<p>
+ * It serves the OAuth token endpoint, the system information used to
+ * validate connections, and the list endpoints of products, families,
+ * attributes, categories and locales. Lists are paged with <tt>page</tt>
+ * and <tt>limit</tt>, or with a <tt>search_after</tt> token when requested
+ * with <tt>pagination_type=search_after</tt>, and link to the next page
+ * through <tt>_links.next.href</tt>, as Akeneo does. A search with an
+ * <tt>IN</tt> filter on the <tt>identifier</tt> or <tt>uuid</tt> of products
+ * is answered with the matching products in a single page.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class AkeneoStub extends StubHandler {
+
+    /**
+     * Context path of the stub.
+     */
+    public static final String CONTEXT = "/api";
+
+    private static final String TOKEN_PATH = "/api/oauth/v1/token";
+    private static final String SYSTEM_INFO_PATH = "/api/rest/v1/system-information";
+    private static final String REST_PATH = "/api/rest/v1/";
+    private static final String SEARCH_AFTER = "search_after";
+    private static final String SEARCH_AFTER_PREFIX = "sku-";
+
+    /**
+     * Sole constructor.
+     *
+     * @param settings {@link StubSettings} which is the behaviour of this endpoint.
+     */
+    public AkeneoStub(StubSettings settings) {
+        super(settings);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void respond(HttpExchange exchange, Map<String, String> queryParams, String body) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (TOKEN_PATH.equals(path)) {
+            JsonObject token = new JsonObject();
+            token.addProperty("access_token", UUID.randomUUID().toString());
+            token.addProperty("expires_in", 3600);
+            token.addProperty("token_type", "bearer");
+            token.add("scope", JsonNull.INSTANCE);
+            token.addProperty("refresh_token", UUID.randomUUID().toString());
+            send(exchange, 200, token.toString());
+        } else if (SYSTEM_INFO_PATH.equals(path)) {
+            send(exchange, 200, "{\"version\":\"7.0\",\"edition\":\"Serenity\"}");
+        } else if (path.startsWith(REST_PATH)) {
+            String[] segments = path.substring(REST_PATH.length()).split("/");
+            if (segments.length > 1) {
+                send(exchange, 200, getItem(segments[0], Math.abs(segments[1].hashCode()) % Math.max(getSettings().getTotalRecords(), 1)).toString());
+            } else {
+                send(exchange, 200, getPage(exchange, segments[0], queryParams).toString());
+            }
+        } else {
+            send(exchange, 404, "{\"code\":404,\"message\":\"Resource not found\"}");
+        }
+    }
+
+    /**
+     * Returns a page of a list endpoint.
+     *
+     * @param exchange    {@link HttpExchange} of the request.
+     * @param resource    the name of the resource, such as <tt>products</tt>.
+     * @param queryParams the query parameters of the request.
+     * @return {@link JsonObject} which is the page.
+     * @throws UnsupportedEncodingException if a link cannot be encoded.
+     */
+    private JsonObject getPage(HttpExchange exchange, String resource, Map<String, String> queryParams) throws UnsupportedEncodingException {
+        int limit = getInt(queryParams, "limit", getSettings().getPageSize());
+        JsonArray matches = getSearchInMatches(resource, queryParams.get("search"));
+        if (matches != null) {
+            JsonObject links = new JsonObject();
+            links.add("self", getLink(getBaseUrl(exchange) + REST_PATH + resource));
+            JsonObject embedded = new JsonObject();
+            embedded.add("items", matches);
+            JsonObject response = new JsonObject();
+            response.add("_links", links);
+            response.add("_embedded", embedded);
+            return response;
+        }
+        if (SEARCH_AFTER.equals(queryParams.get("pagination_type"))) {
+            return getSearchAfterPage(exchange, resource, queryParams, limit);
+        }
+        int page = Math.max(getInt(queryParams, "page", 1), 1);
+        int from = (page - 1) * limit;
+        int to = Math.min(from + limit, getSettings().getTotalRecords());
+        String href = getBaseUrl(exchange) + REST_PATH + resource + "?limit=" + limit + "&page=";
+        JsonObject links = new JsonObject();
+        links.add("self", getLink(href + page));
+        links.add("first", getLink(href + 1));
+        if (to < getSettings().getTotalRecords()) {
+            links.add("next", getLink(href + (page + 1)));
+        }
+        JsonArray items = new JsonArray();
+        for (int i = from; i < to; i++) {
+            items.add(getItem(resource, i));
+        }
+        JsonObject embedded = new JsonObject();
+        embedded.add("items", items);
+        JsonObject response = new JsonObject();
+        response.add("_links", links);
+        response.addProperty("current_page", page);
+        response.add("_embedded", embedded);
+        return response;
+    }
+
+    /**
+     * Returns a page of a list endpoint paged with <tt>search_after</tt>. The
+     * token is the identifier of the last record of the previous page.
+     *
+     * @param exchange    {@link HttpExchange} of the request.
+     * @param resource    the name of the resource, such as <tt>products</tt>.
+     * @param queryParams the query parameters of the request.
+     * @param limit       the number of records of a page.
+     * @return {@link JsonObject} which is the page.
+     * @throws UnsupportedEncodingException if the link cannot be encoded.
+     */
+    private JsonObject getSearchAfterPage(HttpExchange exchange, String resource, Map<String, String> queryParams, int limit) throws UnsupportedEncodingException {
+        String token = queryParams.get(SEARCH_AFTER);
+        int from = 0;
+        if (token != null && token.startsWith(SEARCH_AFTER_PREFIX)) {
+            try {
+                from = Integer.parseInt(token.substring(SEARCH_AFTER_PREFIX.length())) + 1;
+            } catch (NumberFormatException e) {
+                from = 0;
+            }
+        }
+        int to = Math.min(from + limit, getSettings().getTotalRecords());
+        String href = getBaseUrl(exchange) + REST_PATH + resource + "?pagination_type=" + SEARCH_AFTER + "&limit=" + limit;
+        if (queryParams.containsKey("search")) {
+            href += "&search=" + URLEncoder.encode(queryParams.get("search"), "UTF-8");
+        }
+        JsonObject links = new JsonObject();
+        links.add("self", getLink(href + (token != null ? "&" + SEARCH_AFTER + "=" + URLEncoder.encode(token, "UTF-8") : "")));
+        links.add("first", getLink(href));
+        if (to < getSettings().getTotalRecords()) {
+            links.add("next", getLink(href + "&" + SEARCH_AFTER + "=" + URLEncoder.encode(SEARCH_AFTER_PREFIX + (to - 1), "UTF-8")));
+        }
+        JsonArray items = new JsonArray();
+        for (int i = from; i < to; i++) {
+            items.add(getItem(resource, i));
+        }
+        JsonObject embedded = new JsonObject();
+        embedded.add("items", items);
+        JsonObject response = new JsonObject();
+        response.add("_links", links);
+        response.add("_embedded", embedded);
+        return response;
+    }
+
+    /**
+     * Returns the products matching a search with an <tt>IN</tt> filter on
+     * their <tt>identifier</tt> or <tt>uuid</tt>.
+     *
+     * @param resource the name of the resource, such as <tt>products</tt>.
+     * @param search   the <tt>search</tt> parameter of the request, or {@code null}.
+     * @return {@link JsonArray} of the matching products, or {@code null} if
+     * the request does not search products by identifier or UUID.
+     */
+    private JsonArray getSearchInMatches(String resource, String search) {
+        if (search == null || !resource.startsWith("products")) {
+            return null;
+        }
+        JsonObject filters = new Gson().fromJson(search, JsonObject.class);
+        String field = filters.has("identifier") ? "identifier" : filters.has("uuid") ? "uuid" : null;
+        if (field == null) {
+            return null;
+        }
+        JsonObject filter = filters.getAsJsonArray(field).get(0).getAsJsonObject();
+        if (!"IN".equals(filter.get("operator").getAsString())) {
+            return null;
+        }
+        Set<String> values = new HashSet<>();
+        for (JsonElement value : filter.getAsJsonArray("value")) {
+            values.add(value.getAsString());
+        }
+        JsonArray matches = new JsonArray();
+        for (int i = 0; i < getSettings().getTotalRecords(); i++) {
+            JsonObject item = getItem(resource, i);
+            if (values.contains(item.get(field).getAsString())) {
+                matches.add(item);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns a link object of a page.
+     *
+     * @param href the URL of the page.
+     * @return {@link JsonObject} which is the link.
+     */
+    private static JsonObject getLink(String href) {
+        JsonObject link = new JsonObject();
+        link.addProperty("href", href);
+        return link;
+    }
+
+    /**
+     * Returns a record of a resource.
+     *
+     * @param resource the name of the resource, such as <tt>products</tt>.
+     * @param index    the index of the record.
+     * @return {@link JsonObject} which is the record.
+     */
+    private static JsonObject getItem(String resource, int index) {
+        JsonObject item = new JsonObject();
+        if (resource.startsWith("products")) {
+            item.addProperty("uuid", UUID.nameUUIDFromBytes(String.valueOf(index).getBytes()).toString());
+            item.addProperty("identifier", "sku-" + index);
+            item.addProperty("enabled", index % 7 != 0);
+            item.addProperty("family", "family_" + index % 5);
+            JsonArray categories = new JsonArray();
+            categories.add("category_" + index % 3);
+            item.add("categories", categories);
+            JsonObject values = new JsonObject();
+            values.add("ProductName", getValue("Product " + index));
+            values.add("sku", getValue("sku-" + index));
+            values.add("description", getValue("Description of product " + index + " with enough text to resemble a real catalog entry."));
+            item.add("values", values);
+        } else {
+            item.addProperty("code", resource + "_" + index);
+            JsonObject labels = new JsonObject();
+            labels.addProperty("en_US", resource + " " + index);
+            labels.addProperty("fr_FR", resource + " " + index);
+            item.add("labels", labels);
+            if ("locales".equals(resource)) {
+                item.addProperty("enabled", true);
+            }
+        }
+        return item;
+    }
+
+    /**
+     * Returns an attribute value in the format of Akeneo.
+     *
+     * @param data the data of the value.
+     * @return {@link JsonArray} which is the value.
+     */
+    private static JsonArray getValue(String data) {
+        JsonObject value = new JsonObject();
+        value.add("locale", JsonNull.INSTANCE);
+        value.add("scope", JsonNull.INSTANCE);
+        value.addProperty("data", data);
+        JsonArray values = new JsonArray();
+        values.add(value);
+        return values;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.testkit.stub;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Stub of a GraphQL endpoint.<p>
+ * Every query on {@link #PATH} is answered with a list of
+ * {@link StubSettings#getTotalRecords()} products under
+ * <tt>data.products.items</tt>. Any other path answers with an empty
+ * object, which is what the GraphQL connector expects when it validates a
+ * connection against the root of the host.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class GraphqlStub extends StubHandler {
+
+    /**
+     * Context path of the stub. The root context also answers connection
+     * validation requests.
+     */
+    public static final String CONTEXT = "/";
+
+    /**
+     * Path of the GraphQL endpoint.
+     */
+    public static final String PATH = "/graphql";
+
+    /**
+     * Sole constructor.
+     *
+     * @param settings {@link StubSettings} which is the behaviour of this endpoint.
+     */
+    public GraphqlStub(StubSettings settings) {
+        super(settings);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void respond(HttpExchange exchange, Map<String, String> queryParams, String body) throws IOException {
+        if (!PATH.equals(exchange.getRequestURI().getPath())) {
+            send(exchange, 200, "{}");
+            return;
+        }
+        JsonArray items = new JsonArray();
+        for (int i = 0; i < getSettings().getTotalRecords(); i++) {
+            JsonObject item = new JsonObject();
+            item.addProperty("sku", "sku-" + i);
+            item.addProperty("name", "Product " + i);
+            item.addProperty("price", i * 1.5);
+            items.add(item);
+        }
+        JsonObject products = new JsonObject();
+        products.addProperty("total_count", items.size());
+        products.add("items", items);
+        JsonObject data = new JsonObject();
+        data.add("products", products);
+        JsonObject response = new JsonObject();
+        response.add("data", data);
+        send(exchange, 200, response.toString());
+    }
+}
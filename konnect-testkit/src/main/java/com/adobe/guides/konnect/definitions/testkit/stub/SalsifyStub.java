@@ -0,0 +1,112 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.testkit.stub;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Stub of the Salsify REST API of an organization.<p>
+ * It serves <tt>products</tt>, <tt>records</tt> and <tt>digital_assets</tt>.
+ * A request with a <tt>page</tt> parameter is paged by page number and its
+ * <tt>meta</tt> holds <tt>current_page</tt>, <tt>per_page</tt> and
+ * <tt>total_entries</tt>. Any other request is paged by cursor, with the
+ * cursor of the next page in <tt>meta.cursor</tt>.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class SalsifyStub extends StubHandler {
+
+    /**
+     * Context path of the stub.
+     */
+    public static final String CONTEXT = "/salsify";
+
+    /**
+     * Path of the organization, to be used as the URL of the connector config.
+     */
+    public static final String ORGANIZATION_PATH = CONTEXT + "/v1/orgs/s-stub";
+
+    /**
+     * Sole constructor.
+     *
+     * @param settings {@link StubSettings} which is the behaviour of this endpoint.
+     */
+    public SalsifyStub(StubSettings settings) {
+        super(settings);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void respond(HttpExchange exchange, Map<String, String> queryParams, String body) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (!path.startsWith(ORGANIZATION_PATH + "/")) {
+            send(exchange, 404, "{\"errors\":[\"Not found\"]}");
+            return;
+        }
+        String resource = path.substring(ORGANIZATION_PATH.length() + 1);
+        int perPage = getInt(queryParams, "per_page", getSettings().getPageSize());
+        int total = getSettings().getTotalRecords();
+        JsonObject meta = new JsonObject();
+        int from;
+        if (queryParams.containsKey("page")) {
+            int page = Math.max(getInt(queryParams, "page", 1), 1);
+            from = (page - 1) * perPage;
+            meta.addProperty("current_page", page);
+        } else {
+            from = getInt(queryParams, "cursor", 0);
+        }
+        int to = Math.min(from + perPage, total);
+        meta.addProperty("total_entries", total);
+        meta.addProperty("per_page", perPage);
+        if (queryParams.containsKey("page") || to >= total) {
+            meta.add("cursor", JsonNull.INSTANCE);
+        } else {
+            meta.addProperty("cursor", String.valueOf(to));
+        }
+        JsonArray data = new JsonArray();
+        for (int i = from; i < to; i++) {
+            data.add(getRecord(resource, i));
+        }
+        JsonObject response = new JsonObject();
+        response.add("meta", meta);
+        response.add("data", data);
+        send(exchange, 200, response.toString());
+    }
+
+    /**
+     * Returns a record of a resource.
+     *
+     * @param resource the name of the resource, such as <tt>products</tt>.
+     * @param index    the index of the record.
+     * @return {@link JsonObject} which is the record.
+     */
+    private static JsonObject getRecord(String resource, int index) {
+        JsonObject record = new JsonObject();
+        record.addProperty("salsify:id", resource + "-" + index);
+        record.addProperty("salsify:created_at", "2024-01-01T00:00:00.000Z");
+        record.addProperty("salsify:updated_at", "2024-06-01T00:00:00.000Z");
+        record.addProperty("Product Name", "Product " + index);
+        record.addProperty("Brand", "Brand " + index % 10);
+        record.addProperty("Price", index * 1.5);
+        record.addProperty("Description", "Description of product " + index + " with enough text to resemble a real catalog entry.");
+        return record;
+    }
+}
@@ -0,0 +1,281 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.testkit.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Base class of the stub endpoints.<p>
+ * Every request first goes through the behaviour set in its
+ * {@link StubSettings}: the rate limit, the error injection and the
+ * latency. Requests which pass are answered by {@link #respond}.
+ * <p>
+ * The rate limit is a fixed window of one second shared by all the paths
+ * of the handler, like the per-tenant limits of the real services.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public abstract class StubHandler implements HttpHandler {
+
+    private static final String APPLICATION_JSON = "application/json";
+    private static final String GZIP = "gzip";
+
+    private final StubSettings settings;
+    private final AtomicLong window = new AtomicLong();
+    private final AtomicLong requestsInWindow = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    /**
+     * Sole constructor.
+     *
+     * @param settings {@link StubSettings} which is the behaviour of this endpoint.
+     */
+    protected StubHandler(StubSettings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Returns the behaviour of this endpoint.
+     *
+     * @return {@link StubSettings} of this endpoint.
+     */
+    public StubSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Returns the number of requests received.
+     *
+     * @return the number of requests.
+     */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * Returns the number of requests answered with <tt>429 Too Many Requests</tt>.
+     *
+     * @return the number of rate limited requests.
+     */
+    public long getRateLimited() {
+        return rateLimited.get();
+    }
+
+    /**
+     * Returns the number of requests answered with an injected server error.
+     *
+     * @return the number of failed requests.
+     */
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            requests.incrementAndGet();
+            if (isRateLimited()) {
+                rateLimited.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf(settings.getRetryAfterSeconds()));
+                send(exchange, 429, "{\"code\":429,\"message\":\"Too many requests\"}");
+                return;
+            }
+            sleep();
+            if (settings.getErrorRate() > 0 && ThreadLocalRandom.current().nextDouble() < settings.getErrorRate()) {
+                failed.incrementAndGet();
+                send(exchange, 500, "{\"code\":500,\"message\":\"Injected error\"}");
+                return;
+            }
+            respond(exchange, getQueryParams(exchange), readBody(exchange));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Answers a request which passed the rate limit and error injection.
+     *
+     * @param exchange    {@link HttpExchange} of the request.
+     * @param queryParams the decoded query parameters of the request.
+     * @param body        the body of the request, or an empty string.
+     * @throws IOException if the response cannot be written.
+     */
+    protected abstract void respond(HttpExchange exchange, Map<String, String> queryParams, String body) throws IOException;
+
+    /**
+     * Returns {@code true} if the request exceeds the requests allowed in the
+     * current one second window.
+     *
+     * @return {@code true} if the request is rate limited.
+     */
+    private boolean isRateLimited() {
+        if (settings.getRequestsPerSecond() <= 0) {
+            return false;
+        }
+        long currentWindow = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+        long previousWindow = window.get();
+        if (previousWindow != currentWindow && window.compareAndSet(previousWindow, currentWindow)) {
+            requestsInWindow.set(0);
+        }
+        return requestsInWindow.incrementAndGet() > settings.getRequestsPerSecond();
+    }
+
+    /**
+     * Waits for the latency of this endpoint.
+     */
+    private void sleep() {
+        long latency = settings.getLatencyMillis();
+        if (settings.getLatencyJitterMillis() > 0) {
+            latency += ThreadLocalRandom.current().nextLong(settings.getLatencyJitterMillis() + 1);
+        }
+        if (latency <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes a JSON response, gzip compressed if the request accepts it.
+     *
+     * @param exchange {@link HttpExchange} of the request.
+     * @param status   the HTTP status of the response.
+     * @param json     the JSON body of the response.
+     * @throws IOException if the response cannot be written.
+     */
+    protected void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", APPLICATION_JSON);
+        if (settings.isCompressResponses() && acceptsGzip(exchange)) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (OutputStream outStream = new GZIPOutputStream(compressed)) {
+                outStream.write(bytes);
+            }
+            bytes = compressed.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", GZIP);
+        }
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream outStream = exchange.getResponseBody()) {
+            outStream.write(bytes);
+        }
+    }
+
+    /**
+     * Returns {@code true} if a request accepts gzip compressed responses.
+     *
+     * @param exchange {@link HttpExchange} of the request.
+     * @return {@code true} if the request accepts gzip.
+     */
+    private static boolean acceptsGzip(HttpExchange exchange) {
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        return acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains(GZIP);
+    }
+
+    /**
+     * Returns the base URL of the server of a request, such as
+     * <tt>http://127.0.0.1:8080</tt>.
+     *
+     * @param exchange {@link HttpExchange} of the request.
+     * @return a {@code String} which is the base URL.
+     */
+    protected String getBaseUrl(HttpExchange exchange) {
+        return "http://" + exchange.getLocalAddress().getHostString() + ":" + exchange.getLocalAddress().getPort();
+    }
+
+    /**
+     * Returns the integer value of a query parameter.
+     *
+     * @param queryParams  the query parameters of the request.
+     * @param name         the name of the parameter.
+     * @param defaultValue the value returned if the parameter is missing or invalid.
+     * @return the value of the parameter.
+     */
+    protected static int getInt(Map<String, String> queryParams, String name, int defaultValue) {
+        try {
+            return queryParams.containsKey(name) ? Integer.parseInt(queryParams.get(name)) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Returns the decoded query parameters of a request. If a parameter is
+     * repeated, the first value is kept.
+     *
+     * @param exchange {@link HttpExchange} of the request.
+     * @return a {@code Map} of parameter name to value.
+     * @throws UnsupportedEncodingException if UTF-8 is not supported.
+     */
+    private static Map<String, String> getQueryParams(HttpExchange exchange) throws UnsupportedEncodingException {
+        Map<String, String> queryParams = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return queryParams;
+        }
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = URLDecoder.decode(separator < 0 ? pair : pair.substring(0, separator), "UTF-8");
+            String value = separator < 0 ? "" : URLDecoder.decode(pair.substring(separator + 1), "UTF-8");
+            queryParams.putIfAbsent(name, value);
+        }
+        return queryParams;
+    }
+
+    /**
+     * Reads the body of a request.
+     *
+     * @param exchange {@link HttpExchange} of the request.
+     * @return a {@code String} which is the body of the request.
+     * @throws IOException if the body cannot be read.
+     */
+    private static String readBody(HttpExchange exchange) throws IOException {
+        InputStream body = exchange.getRequestBody();
+        if (GZIP.equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+            body = new GZIPInputStream(body);
+        }
+        try (InputStream inStream = body) {
+            ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inStream.read(buffer)) != -1) {
+                outStream.write(buffer, 0, read);
+            }
+            return new String(outStream.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
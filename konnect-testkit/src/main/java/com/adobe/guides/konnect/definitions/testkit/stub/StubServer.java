@@ -0,0 +1,109 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.testkit.stub;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * An embedded HTTP server which serves stub endpoints on the loopback
+ * interface.<p>
+ * Stubs are mounted on context paths with {@link #addStub}, before or after
+ * the server is started. The server listens on a free port, available
+ * through {@link #getBaseUrl()} once started.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class StubServer implements AutoCloseable {
+
+    private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, StubHandler> stubs = new LinkedHashMap<>();
+
+    /**
+     * Creates a server on a free port of the loopback interface.
+     *
+     * @param threads the number of threads serving requests.
+     * @throws IOException if the server cannot be bound.
+     */
+    public StubServer(int threads) throws IOException {
+        // Real services disable Nagle's algorithm; without it, the headers and body written
+        // separately by the server stall on delayed acknowledgements of some clients
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        executor = Executors.newFixedThreadPool(threads);
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Mounts a stub on a context path.
+     *
+     * @param context the context path, such as {@link AkeneoStub#CONTEXT}.
+     * @param stub    the {@link StubHandler} to be mounted.
+     * @return {@link StubServer} object.
+     */
+    public StubServer addStub(String context, StubHandler stub) {
+        server.createContext(context, stub);
+        stubs.put(context, stub);
+        return this;
+    }
+
+    /**
+     * Returns the stubs mounted on this server.
+     *
+     * @return a {@code Map} of context path to {@link StubHandler}.
+     */
+    public Map<String, StubHandler> getStubs() {
+        return stubs;
+    }
+
+    /**
+     * Starts the server.
+     *
+     * @return {@link StubServer} object.
+     */
+    public StubServer start() {
+        server.start();
+        return this;
+    }
+
+    /**
+     * Returns the base URL of this server, such as <tt>http://127.0.0.1:54321</tt>.
+     *
+     * @return a {@code String} which is the base URL.
+     */
+    public String getBaseUrl() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort();
+    }
+
+    /**
+     * Stops the server and its threads.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,199 @@
+/*
+Copyright 2024 Adobe. All rights reserved.
+This file is licensed to you under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License. You may obtain a copy
+of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software distributed under
+the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+OF ANY KIND, either express or implied. See the License for the specific language
+governing permissions and limitations under the License.
+*/
+package com.adobe.guides.konnect.definitions.testkit.stub;
+
+/**
+ * This class holds the behaviour of a stub endpoint.<p>
+ * It controls the latency added to every response, the size of the data set
+ * and of its pages, the share of requests answered with a server error, and
+ * the rate above which requests are answered with <tt>429 Too Many Requests</tt>.
+ *
+ * @author Adobe
+ * @since 1.0.0
+ */
+public class StubSettings {
+
+    private long latencyMillis;
+    private long latencyJitterMillis;
+    private int totalRecords = 100;
+    private int pageSize = 100;
+    private double errorRate;
+    private int requestsPerSecond;
+    private int retryAfterSeconds = 1;
+    private boolean compressResponses = true;
+
+    /**
+     * Returns the latency added to every response.
+     *
+     * @return the latency in milliseconds.
+     */
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    /**
+     * Sets the latency added to every response.
+     *
+     * @param latencyMillis the latency in milliseconds.
+     * @return {@link StubSettings} object.
+     */
+    public StubSettings setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+        return this;
+    }
+
+    /**
+     * Returns the maximum random latency added on top of the fixed latency.
+     *
+     * @return the jitter in milliseconds.
+     */
+    public long getLatencyJitterMillis() {
+        return latencyJitterMillis;
+    }
+
+    /**
+     * Sets the maximum random latency added on top of the fixed latency.
+     *
+     * @param latencyJitterMillis the jitter in milliseconds.
+     * @return {@link StubSettings} object.
+     */
+    public StubSettings setLatencyJitterMillis(long latencyJitterMillis) {
+        this.latencyJitterMillis = latencyJitterMillis;
+        return this;
+    }
+
+    /**
+     * Returns the number of records served by a list endpoint.
+     *
+     * @return the number of records.
+     */
+    public int getTotalRecords() {
+        return totalRecords;
+    }
+
+    /**
+     * Sets the number of records served by a list endpoint.
+     *
+     * @param totalRecords the number of records.
+     * @return {@link StubSettings} object.
+     */
+    public StubSettings setTotalRecords(int totalRecords) {
+        this.totalRecords = totalRecords;
+        return this;
+    }
+
+    /**
+     * Returns the number of records in a page when the request does not ask
+     * for a page size.
+     *
+     * @return the page size.
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Sets the number of records in a page when the request does not ask
+     * for a page size.
+     *
+     * @param pageSize the page size.
+     * @return {@link StubSettings} object.
+     */
+    public StubSettings setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * Returns the share of requests answered with <tt>500 Internal Server Error</tt>.
+     *
+     * @return the error rate, between {@code 0} and {@code 1}.
+     */
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    /**
+     * Sets the share of requests answered with <tt>500 Internal Server Error</tt>.
+     *
+     * @param errorRate the error rate, between {@code 0} and {@code 1}.
+     * @return {@link StubSettings} object.
+     */
+    public StubSettings setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    /**
+     * Returns the number of requests served per second before requests are
+     * rate limited.
+     *
+     * @return the number of requests per second, or {@code 0} if requests are not rate limited.
+     */
+    public int getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    /**
+     * Sets the number of requests served per second before requests are
+     * rate limited.
+     *
+     * @param requestsPerSecond the number of requests per second, or {@code 0} to disable rate limiting.
+     * @return {@link StubSettings} object.
+     */
+    public StubSettings setRequestsPerSecond(int requestsPerSecond) {
+        this.requestsPerSecond = requestsPerSecond;
+        return this;
+    }
+
+    /**
+     * Returns the value of the <tt>Retry-After</tt> header of rate limited responses.
+     *
+     * @return the delay in seconds.
+     */
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    /**
+     * Sets the value of the <tt>Retry-After</tt> header of rate limited responses.
+     *
+     * @param retryAfterSeconds the delay in seconds.
+     * @return {@link StubSettings} object.
+     */
+    public StubSettings setRetryAfterSeconds(int retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+        return this;
+    }
+
+    /**
+     * Returns whether responses are gzip compressed for the requests which
+     * accept it, like the real services do.
+     *
+     * @return {@code true} if responses are compressed.
+     */
+    public boolean isCompressResponses() {
+        return compressResponses;
+    }
+
+    /**
+     * Sets whether responses are gzip compressed for the requests which
+     * accept it.
+     *
+     * @param compressResponses {@code true} to compress responses.
+     * @return {@link StubSettings} object.
+     */
+    public StubSettings setCompressResponses(boolean compressResponses) {
+        this.compressResponses = compressResponses;
+        return this;
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * This is the group of files for storing the stub endpoints of the
+ * external data sources, served from an embedded HTTP server.
+ */
+package com.adobe.guides.konnect.definitions.testkit.stub;
@@ -14,20 +14,27 @@ package com.adobe.guides.konnect.definitions.salsify;
 import com.adobe.guides.konnect.definitions.core.config.Config;
 import com.adobe.guides.konnect.definitions.core.config.ConfigDto;
 import com.adobe.guides.konnect.definitions.core.config.RestConfig;
+import com.adobe.guides.konnect.definitions.core.config.RestRequestContext;
 import com.adobe.guides.konnect.definitions.core.connector.Connector;
 import com.adobe.guides.konnect.definitions.core.connector.RestConnector;
 import com.adobe.guides.konnect.definitions.core.exception.KonnectConnectionException;
 import com.adobe.guides.konnect.definitions.core.exception.KonnectException;
 import com.adobe.guides.konnect.definitions.core.exception.KonnectQueryException;
+import com.adobe.guides.konnect.definitions.core.metrics.KonnectMetricsProvider;
+import com.adobe.guides.konnect.definitions.core.metrics.RequestPhase;
+import com.adobe.guides.konnect.definitions.core.models.metadata.ConfigDescriptor;
+import com.adobe.guides.konnect.definitions.core.models.metadata.ConnectorMetadata;
 import com.adobe.guides.konnect.definitions.core.models.template.TemplateDto;
 import com.adobe.guides.konnect.definitions.core.query.QueryInfoDto;
 import com.adobe.guides.konnect.definitions.core.query.QueryResultDto;
 import com.adobe.guides.konnect.definitions.core.urlResource.RestResourceDao;
+import com.adobe.guides.konnect.definitions.core.util.FieldProjection;
 import com.adobe.guides.konnect.definitions.core.util.HttpClient;
 import com.adobe.guides.konnect.definitions.core.util.RestInvoker;
 import com.adobe.guides.konnect.definitions.core.util.UrlUtils;
 import com.adobe.guides.konnect.definitions.salsify.config.BearerTokenRestConfig;
 import com.adobe.guides.konnect.definitions.salsify.config.RestConfigFactory;
+import com.adobe.guides.konnect.definitions.salsify.dto.SalsifyMetadataDao;
 import com.adobe.guides.konnect.definitions.salsify.dto.SalsifyRequestDao;
 import com.adobe.guides.konnect.definitions.salsify.dto.SalsifyResponseDao;
 import com.adobe.guides.konnect.definitions.salsify.dto.SalsifyTotalResponseDao;
@@ -35,25 +42,34 @@ import com.adobe.guides.konnect.definitions.salsify.utils.GsonUtils;
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URISyntaxException;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.adobe.guides.konnect.definitions.core.constants.Constants.RESOURCE_ID;
 import static com.adobe.guides.konnect.definitions.salsify.ResourceEnum.GET_ALL_ATTRIBUTES;
@@ -62,14 +78,25 @@ import static com.adobe.guides.konnect.definitions.salsify.ResourceEnum.GET_ALL_
 import static com.adobe.guides.konnect.definitions.salsify.constants.Constants.DEFAULT_TEMPLATE_PATH;
 import static com.adobe.guides.konnect.definitions.salsify.constants.Constants.PRODUCT_INFORMATION_MANAGEMENT;
 import static com.adobe.guides.konnect.definitions.salsify.constants.Constants.SALSIFY;
+import static com.adobe.guides.konnect.definitions.salsify.constants.Constants.SALSIFY_DATA_KEY;
 import static com.adobe.guides.konnect.definitions.salsify.constants.Constants.SALSIFY_CURSOR_QUERY_PARAM;
 import static com.adobe.guides.konnect.definitions.salsify.constants.Constants.SALSIFY_DEFAULT_QUERY;
+import static com.adobe.guides.konnect.definitions.salsify.constants.Constants.SALSIFY_DEFAULT_RETRY_DELAY;
 import static com.adobe.guides.konnect.definitions.salsify.constants.Constants.SALSIFY_DESC;
 import static com.adobe.guides.konnect.definitions.salsify.constants.Constants.SALSIFY_FILTER_QUERY_PARAM;
 import static com.adobe.guides.konnect.definitions.salsify.constants.Constants.SALSIFY_LOGO_SVG_PATH;
+import static com.adobe.guides.konnect.definitions.salsify.constants.Constants.SALSIFY_MAX_CONCURRENT_PAGES;
+import static com.adobe.guides.konnect.definitions.salsify.constants.Constants.SALSIFY_MAX_PAGE_TENANTS;
+import static com.adobe.guides.konnect.definitions.salsify.constants.Constants.SALSIFY_MAX_RETRIES;
+import static com.adobe.guides.konnect.definitions.salsify.constants.Constants.SALSIFY_MAX_RETRY_DELAY;
+import static com.adobe.guides.konnect.definitions.salsify.constants.Constants.SALSIFY_MAX_VALIDATED_CONNECTIONS;
+import static com.adobe.guides.konnect.definitions.salsify.constants.Constants.SALSIFY_META_KEY;
 import static com.adobe.guides.konnect.definitions.salsify.constants.Constants.SALSIFY_PAGE_QUERY_PARAM;
+import static com.adobe.guides.konnect.definitions.salsify.constants.Constants.SALSIFY_PAGE_THREADS;
 import static com.adobe.guides.konnect.definitions.salsify.constants.Constants.SALSIFY_PER_PAGE_QUERY_PARAM;
 import static com.adobe.guides.konnect.definitions.salsify.constants.Constants.SALSIFY_TEMPLATE_PATH;
+import static com.adobe.guides.konnect.definitions.salsify.constants.Constants.SALSIFY_TOO_MANY_REQUESTS_STATUS;
+import static com.adobe.guides.konnect.definitions.salsify.constants.Constants.SALSIFY_VALIDATION_CACHE_TTL;
 
 /**
  * Salsify connector.<p>
@@ -85,9 +112,27 @@ public class SalsifyConnector extends RestConnector {
 
     private static final Logger log = LoggerFactory.getLogger(SalsifyConnector.class);
 
+    private volatile ConnectorMetadata metadata;
+
     @Reference
     private HttpClient httpClient;
 
+    private final Map<String, Long> validatedConnections = Collections.synchronizedMap(new LinkedHashMap<String, Long>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > SALSIFY_MAX_VALIDATED_CONNECTIONS || System.currentTimeMillis() - eldest.getValue() >= SALSIFY_VALIDATION_CACHE_TTL;
+        }
+    });
+
+    private final Map<String, Semaphore> pagePermits = Collections.synchronizedMap(new LinkedHashMap<String, Semaphore>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Semaphore> eldest) {
+            return size() > SALSIFY_MAX_PAGE_TENANTS;
+        }
+    });
+
+    private ExecutorService pageExecutor;
+
     /**
      * Returns a {@link CloseableHttpClient} object to be used to execute the HTTP request.
      * <p>
@@ -134,6 +179,87 @@ public class SalsifyConnector extends RestConnector {
     @Reference
     private RestConfigFactory restConfigFactory;
 
+    /**
+     * Loads the templates, logo and config descriptors of this connector.
+     * <p>
+     * The component is activated on first use, so the metadata is not read
+     * during startup unless the connector is needed.
+     */
+    @Activate
+    protected void activate() {
+        metadata = loadMetadata();
+    }
+
+    /**
+     * Drops the metadata of this connector, so that it is loaded again from
+     * the bundle when the component is reactivated.
+     */
+    @Deactivate
+    protected void deactivate() {
+        metadata = null;
+        synchronized (this) {
+            if (pageExecutor != null) {
+                pageExecutor.shutdownNow();
+                pageExecutor = null;
+            }
+        }
+    }
+
+    /**
+     * Returns the executor which fetches the pages of all the queries of this
+     * connector, creating it if the component has not been activated.
+     *
+     * @return the {@link ExecutorService} which fetches the pages.
+     */
+    private synchronized ExecutorService getPageExecutor() {
+        if (pageExecutor == null) {
+            AtomicInteger count = new AtomicInteger();
+            pageExecutor = Executors.newFixedThreadPool(SALSIFY_PAGE_THREADS, runnable -> {
+                Thread thread = new Thread(runnable, "salsify-page-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return pageExecutor;
+    }
+
+    /**
+     * Returns the permits of the pages fetched at the same time for a Salsify
+     * organization and token, shared by all the queries of that tenant.
+     *
+     * @param context Context of the request on the config.
+     * @return the {@link Semaphore} of the tenant of the request.
+     * @throws URISyntaxException if the URL of the request is invalid.
+     */
+    private Semaphore getPagePermits(RestRequestContext context) throws URISyntaxException {
+        String tenant = context.getConfig() instanceof BearerTokenRestConfig ? ((BearerTokenRestConfig) context.getConfig()).getConnectionKey() : context.getEndpoint().getHost();
+        return pagePermits.computeIfAbsent(tenant, key -> new Semaphore(SALSIFY_MAX_CONCURRENT_PAGES));
+    }
+
+    /**
+     * Returns the metadata of this connector, loading it if the component
+     * has not been activated.
+     *
+     * @return the {@link ConnectorMetadata} of this connector.
+     */
+    private ConnectorMetadata getMetadata() {
+        ConnectorMetadata current = metadata;
+        if (current == null) {
+            current = loadMetadata();
+            metadata = current;
+        }
+        return current;
+    }
+
+    /**
+     * Reads the metadata of this connector from its bundle.
+     *
+     * @return the {@link ConnectorMetadata} of this connector.
+     */
+    private ConnectorMetadata loadMetadata() {
+        return ConnectorMetadata.load(getClass(), SALSIFY_LOGO_SVG_PATH, SALSIFY_TEMPLATE_PATH, getConfigClass());
+    }
+
     /**
      * Returns the SVG of the logo of the connector as a string.
      *
@@ -141,14 +267,7 @@ public class SalsifyConnector extends RestConnector {
      */
     @Override
     public String getLogoSvg() {
-        String logoSvg = "";
-        try {
-            InputStream inStream = this.getClass().getClassLoader().getResourceAsStream(SALSIFY_LOGO_SVG_PATH);
-            logoSvg = new String(IOUtils.toByteArray(inStream), StandardCharsets.UTF_8);
-        } catch (Exception e) {
-            log.error("[SalsifyConnector] Error in reading logo svg file", e);
-        }
-        return logoSvg;
+        return getMetadata().getLogoSvg();
     }
 
     /**
@@ -252,6 +371,12 @@ public class SalsifyConnector extends RestConnector {
      * Returns {@code true} if this connector can connect to
      * its data source. More formally, returns {@code true} if this
      * connector can execute the validation query successfully.
+     * <p>
+     * The validation requests a single product and only checks the status of
+     * the response. A successful validation is cached per connection for five
+     * minutes, so that queries do not validate the connection every time. At
+     * most {@code SALSIFY_MAX_VALIDATED_CONNECTIONS} connections are kept, and
+     * expired ones are dropped as new connections are validated.
      *
      * @param configDto - Connector config whose validity has to be tested.
      * @return {@code true} if this connector can connect to its external
@@ -260,6 +385,14 @@ public class SalsifyConnector extends RestConnector {
     @Override
     public boolean validateConnection(ConfigDto configDto) {
         RestConfig restConfig = getRestConfig(configDto.getConfig());
+        String connectionKey = restConfig instanceof BearerTokenRestConfig ? ((BearerTokenRestConfig) restConfig).getConnectionKey() : null;
+        Long validatedAt = connectionKey == null ? null : validatedConnections.get(connectionKey);
+        if (validatedAt != null && System.currentTimeMillis() - validatedAt < SALSIFY_VALIDATION_CACHE_TTL) {
+            return true;
+        }
+        if (validatedAt != null) {
+            validatedConnections.remove(connectionKey, validatedAt);
+        }
         Map<String, String> headers = new HashMap<>();
         if (restConfig.getHeaders() != null) {
             headers.putAll(restConfig.getHeaders(true));
@@ -267,22 +400,28 @@ public class SalsifyConnector extends RestConnector {
         } else {
             headers.put("Host", getHostname(restConfig.getUrl(true)));
         }
+        long start = System.nanoTime();
+        boolean valid = false;
         try {
-            RestInvoker invoker = new RestInvoker();
-            String url = UrlUtils.getAbsoluteURLFromBaseAndRelativeUrl(restConfig.getUrl(), GET_ALL_PRODUCTS.getUrl(), restConfig.getUrl());
+            RestInvoker invoker = new RestInvoker(getName(), null);
+            Map<String, String> requestQueryParams = new HashMap<>();
+            requestQueryParams.put(SALSIFY_PER_PAGE_QUERY_PARAM, "1");
+            String url = UrlUtils.appendUri(UrlUtils.getAbsoluteURLFromBaseAndRelativeUrl(restConfig.getUrl(), GET_ALL_PRODUCTS.getUrl(), restConfig.getUrl()), requestQueryParams);
             log.debug("[SalsifyConnector] Executing connection with url {}", url);
-            log.debug("[SalsifyConnector] Executing connection with headers {}", headers);
-            log.debug("[SalsifyConnector] Executing connection with authentication details {}", restConfig.getAuthenticationDetails());
             HttpUriRequest uriRequest = invoker.prepareConnection(restConfig.getAuthenticationDetails(), url, restConfig.getRequestType(true), restConfig.getBody(true), "", headers);
-            String result = invoker.invokeRequest(uriRequest, getHttpClient());
-            log.debug("[SalsifyConnector] Execute query result {}", result);
-            return true;
+            invoker.invokeRequest(uriRequest, getHttpClient());
+            if (connectionKey != null) {
+                validatedConnections.put(connectionKey, System.currentTimeMillis());
+            }
+            valid = true;
         } catch (IOException | URISyntaxException | KonnectException e) {
             log.error("[SalsifyConnector] Error in connecting to client", e);
         } catch (Exception e) {
             log.error("[SalsifyConnector] Error in sending request", e);
+        } finally {
+            KonnectMetricsProvider.getMetrics().recordValidation(getName(), System.nanoTime() - start, valid);
         }
-        return false;
+        return valid;
     }
 
     /**
@@ -303,7 +442,9 @@ public class SalsifyConnector extends RestConnector {
      * Executes a single query for this connector and returns response after
      * parsing it to {@code JSON}.
      *
-     * <p>A query is an object of type {@link QueryInfoDto}.
+     * <p>A query is an object of type {@link QueryInfoDto}. If the query names
+     * the template it is rendered with, only the fields used by the template
+     * are kept from each page of results.
      *
      * @param configDto Connector config which needs to be executed.
      * @param queryInfo The query which will be executed.
@@ -313,14 +454,26 @@ public class SalsifyConnector extends RestConnector {
      */
     @Override
     public String execute(ConfigDto configDto, QueryInfoDto queryInfo) throws KonnectException {
+        return executeInFlight(configDto, queryInfo, () -> executeQuery(configDto, queryInfo));
+    }
+
+    /**
+     * Executes a query which is not in flight.
+     *
+     * @param configDto Connector config which needs to be executed.
+     * @param queryInfo The query which will be executed.
+     * @return A <tt>String</tt> which is the JSON response of query execution.
+     * @throws KonnectException if any exception or error occurs while connecting to
+     *                          the external data source.
+     */
+    private String executeQuery(ConfigDto configDto, QueryInfoDto queryInfo) throws KonnectException {
         boolean isValidConnection = validateConnection(configDto);
         if (!isValidConnection) {
             throw new KonnectConnectionException("[SalsifyConnector] Error in connecting to client");
         }
         try {
             log.debug("Executing query for to get data");
-            RestInvoker invoker = new RestInvoker();
-            String result = executeAQuery(configDto, queryInfo, invoker, false, false);
+            String result = executeAQuery(configDto, queryInfo, false, false, getPageProjection(getFieldProjection(queryInfo)));
             return result;
         } catch (KonnectQueryException e) {
             throw new KonnectQueryException("[SalsifyConnector] Error in executing query", e);
@@ -350,8 +503,7 @@ public class SalsifyConnector extends RestConnector {
         queryInfo.setQuery(query);
         QueryResultDto queryResultDto = new QueryResultDto();
         queryResultDto.setQuery(query);
-        RestInvoker invoker = new RestInvoker();
-        queryResultDto.setResponse(executeAQuery(configDto, queryInfo, invoker, true, true));
+        queryResultDto.setResponse(executeAQuery(configDto, queryInfo, true, true, null));
         return queryResultDto;
     }
 
@@ -361,13 +513,13 @@ public class SalsifyConnector extends RestConnector {
      *
      * @param configDto          Connector config which needs to be executed.
      * @param queryInfo          The query which will be executed.
-     * @param invoker            RestInvoker object to execute the query.
      * @param getLimitedResults  boolean to get limited results.
      * @param validateConnection boolean to validate connection.
+     * @param projection         {@link FieldProjection} applied to each page, or {@code null}.
      * @return A {@code String} which is the JSON response of query execution.
      * @throws KonnectException if any exception or error occurs while connecting to
      */
-    private String executeAQuery(ConfigDto configDto, QueryInfoDto queryInfo, RestInvoker invoker, boolean getLimitedResults, boolean validateConnection) throws KonnectException {
+    private String executeAQuery(ConfigDto configDto, QueryInfoDto queryInfo, boolean getLimitedResults, boolean validateConnection, FieldProjection projection) throws KonnectException {
 
         if (validateConnection) {
             boolean isValidConnection = validateConnection(configDto);
@@ -378,8 +530,7 @@ public class SalsifyConnector extends RestConnector {
 
         try {
             log.debug("Executing query for to get data");
-            SalsifyTotalResponseDao allResultsForAQuery = getAllResultsForAQuery(configDto, queryInfo, invoker, getLimitedResults);
-            return GsonUtils.getInstance().getStringFromObject(allResultsForAQuery);
+            return getAllResultsForAQuery(configDto, queryInfo, getLimitedResults, projection);
         } catch (IOException | URISyntaxException e) {
             throw new KonnectQueryException("[SalsifyConnector] Error in executing query", e);
         } catch (KonnectException e) {
@@ -404,21 +555,48 @@ public class SalsifyConnector extends RestConnector {
      */
     @Override
     public String execute(ConfigDto configDto, List<QueryInfoDto> queryInfoList) throws KonnectException {
+        return executeInFlight(configDto, queryInfoList, () -> executeQueries(configDto, queryInfoList));
+    }
+
+    /**
+     * Executes a list of queries which is not in flight.
+     *
+     * @param configDto     Connector config which needs to be executed.
+     * @param queryInfoList The {@code List} of queries which will be executed.
+     * @return A <tt>String</tt> which is a single JSON response of all query executions.
+     * @throws KonnectException if any exception or error occurs while connecting to
+     *                          the external data source.
+     */
+    private String executeQueries(ConfigDto configDto, List<QueryInfoDto> queryInfoList) throws KonnectException {
         boolean isValidConnection = validateConnection(configDto);
         if (!isValidConnection) {
             throw new KonnectConnectionException("[SalsifyConnector] Error in connecting to client");
         }
-        RestInvoker invoker = new RestInvoker();
         JsonObject queryResult = new JsonObject();
 
         for (QueryInfoDto queryInfo : queryInfoList) {
-            String result = executeAQuery(configDto, queryInfo, invoker, false, false);
+            String result = executeAQuery(configDto, queryInfo, false, false, getPageProjection(getFieldProjectionInList(queryInfo)));
             JsonElement jsonElement = GsonUtils.getInstance().getObjectFromString(result, JsonElement.class);
             queryResult.add(queryInfo.getQueryName(), jsonElement);
         }
         return queryResult.toString();
     }
 
+    /**
+     * Helper function to get the projection applied to each page of results,
+     * which also keeps the paging metadata. A template which does not use the
+     * records of the pages keeps the pages as they are.
+     *
+     * @param projection {@link FieldProjection} of the fields used by the template, or {@code null}.
+     * @return {@link FieldProjection} to be applied to each page, or {@code null}.
+     */
+    private FieldProjection getPageProjection(FieldProjection projection) {
+        if (projection == null || !projection.includes(SALSIFY_DATA_KEY)) {
+            return null;
+        }
+        return projection.withFields(SALSIFY_META_KEY);
+    }
+
     /**
      * Gets the filter and page query parameters for the given Salsify request.
      *
@@ -440,26 +618,33 @@ public class SalsifyConnector extends RestConnector {
     }
 
     /**
-     * Gets all the results for a query.
+     * Gets all the results for a query, serialized as a {@link SalsifyTotalResponseDao}.
      *
      * @param configDto         Config object which needs to be executed.
      * @param queryInfo         The query which will be executed.
-     * @param invoker           RestInvoker object to execute the query.
      * @param getLimitedResults boolean to get limited results.
-     * @return {@link SalsifyTotalResponseDao} which is the total response of the query.
+     * @param projection        {@link FieldProjection} applied to each page, or {@code null}.
+     * @return a {@code String} which is the JSON of the total response of the query.
      * @throws Exception if any exception or error occurs while connecting to
      *                   the external data source.
      */
-    private SalsifyTotalResponseDao getAllResultsForAQuery(ConfigDto configDto, QueryInfoDto queryInfo, RestInvoker invoker, boolean getLimitedResults) throws Exception {
-        RestConfig restConfig = getRestConfig(configDto.getConfig(), queryInfo);
+    private String getAllResultsForAQuery(ConfigDto configDto, QueryInfoDto queryInfo, boolean getLimitedResults, FieldProjection projection) throws Exception {
+        RestRequestContext context = getRequestContext(configDto.getConfig(), queryInfo);
         SalsifyTotalResponseDao salsifyTotalResponseDao = new SalsifyTotalResponseDao();
-
+        String resource = context.getResourceName();
+        long start = System.nanoTime();
+        boolean success = false;
         try {
+            RestInvoker invoker = new RestInvoker(getName(), resource);
 
             SalsifyRequestDao salsifyRequestDao = GsonUtils.getInstance().getObjectFromString(queryInfo.getQuery(), SalsifyRequestDao.class);
             Map<String, String> requestQueryParams = getFilterAndPageQueryParams(salsifyRequestDao);
-            salsifyTotalResponseDao = getAllResultsForRequest(restConfig, queryInfo, invoker, getLimitedResults, salsifyRequestDao, requestQueryParams, GsonUtils.getInstance().getGson(), getHttpClient());
-            return salsifyTotalResponseDao;
+            salsifyTotalResponseDao = getAllResultsForRequest(context, queryInfo, invoker, getLimitedResults, salsifyRequestDao, requestQueryParams, GsonUtils.getInstance().getGson(), getHttpClient(), projection);
+            long serializeStart = System.nanoTime();
+            String result = GsonUtils.getInstance().getStringFromObject(salsifyTotalResponseDao);
+            KonnectMetricsProvider.recordPhase(getName(), resource, RequestPhase.SERIALIZE, System.nanoTime() - serializeStart);
+            success = true;
+            return result;
         } catch (IOException e) {
             throw new KonnectQueryException("[SalsifyConnector] Error in connecting to client", e);
         } catch (KonnectException e) {
@@ -467,7 +652,7 @@ public class SalsifyConnector extends RestConnector {
         } catch (Exception e) {
             throw new KonnectException("[SalsifyConnector] Error in sending request", e);
         } finally {
-            clearRestConfigOfResourceUrl(restConfig);
+            KonnectMetricsProvider.getMetrics().recordQuery(getName(), resource, System.nanoTime() - start, success);
         }
     }
 
@@ -478,17 +663,17 @@ public class SalsifyConnector extends RestConnector {
      */
     @Override
     public List<TemplateDto> getTemplates() {
-        List<TemplateDto> templates = new ArrayList<>();
-        ClassLoader classLoader = this.getClass().getClassLoader();
-        for (int i = 0; i < SALSIFY_TEMPLATE_PATH.length; i++) {
-            try {
-                InputStream inStream = classLoader.getResourceAsStream("templates/" + SALSIFY_TEMPLATE_PATH[i]);
-                templates.add(new TemplateDto(SALSIFY_TEMPLATE_PATH[i], new String(IOUtils.toByteArray(inStream), StandardCharsets.UTF_8)));
-            } catch (Exception e) {
-                log.error("[SalsifyConnector] error in reading template file", e);
-            }
-        }
-        return templates;
+        return getMetadata().getTemplates();
+    }
+
+    /**
+     * Returns the descriptors of the config classes supported by this connector.
+     *
+     * @return a {@code List} of {@link ConfigDescriptor} of the supported config classes.
+     */
+    @Override
+    public List<ConfigDescriptor> getConfigDescriptors() {
+        return getMetadata().getConfigDescriptors();
     }
 
     /**
@@ -498,7 +683,10 @@ public class SalsifyConnector extends RestConnector {
      * @param config       Config object which needs to be executed.
      * @param queryInfoDto The query which will be executed.
      * @return {@link RestConfig} which is the Config to be used to execute a query.
+     * @deprecated the current resource is shared by all the queries on the
+     * config, use {@link #getRequestContext(Config, QueryInfoDto)} instead.
      */
+    @Deprecated
     public RestConfig getRestConfig(Config config, QueryInfoDto queryInfoDto) throws KonnectException {
         log.debug("Setting resource {} for connector ", queryInfoDto.getAdditionalResourceInfo());
         RestConfig restConfig = getRestConfig(config);
@@ -512,7 +700,9 @@ public class SalsifyConnector extends RestConnector {
      * Function to clear the resource URL from the {@link RestConfig} object.
      *
      * @param restConfig - {@link RestConfig} object which needs to be cleared.
+     * @deprecated queries no longer set the current resource of the config.
      */
+    @Deprecated
     public void clearRestConfigOfResourceUrl(RestConfig restConfig) throws KonnectException {
         if (restConfig != null) {
             restConfig.setCurrentResource(StringUtils.EMPTY);
@@ -522,7 +712,7 @@ public class SalsifyConnector extends RestConnector {
     /**
      * Gets all the results for a request.
      *
-     * @param restConfig         Config object which needs to be executed.
+     * @param context            Context of the request on the config.
      * @param queryInfo          The query which will be executed.
      * @param invoker            RestInvoker object to execute the query.
      * @param getLimitedResults  boolean to get limited results.
@@ -530,41 +720,45 @@ public class SalsifyConnector extends RestConnector {
      * @param requestQueryParams {@code Map} of query parameters.
      * @param gson               Gson object to convert object to string.
      * @param httpClient         {@link CloseableHttpClient} object to execute the query.
+     * @param projection         {@link FieldProjection} applied to each page, or {@code null}.
      * @return {@link SalsifyTotalResponseDao} which is the total response of the query.
      * @throws Exception if any exception or error occurs while connecting to
      *                   the external data source.
      */
-    private SalsifyTotalResponseDao getAllResultsForRequest(RestConfig restConfig, QueryInfoDto queryInfo, RestInvoker invoker, boolean getLimitedResults, SalsifyRequestDao salsifyRequestDao, Map<String, String> requestQueryParams, Gson gson, org.apache.http.client.HttpClient httpClient) throws KonnectException {
+    private SalsifyTotalResponseDao getAllResultsForRequest(RestRequestContext context, QueryInfoDto queryInfo, RestInvoker invoker, boolean getLimitedResults, SalsifyRequestDao salsifyRequestDao, Map<String, String> requestQueryParams, Gson gson, org.apache.http.client.HttpClient httpClient, FieldProjection projection) throws KonnectException {
 
         SalsifyTotalResponseDao salsifyTotalResponseDao = new SalsifyTotalResponseDao();
+        String resource = context.getResourceName();
         try {
             Map<String, String> headers = new HashMap<>();
-            if (restConfig.getHeaders() != null) {
-                headers.putAll(restConfig.getHeaders());
-                headers.put("Host", UrlUtils.getHostname(restConfig.getUrl()));
-            } else {
-                headers.put("Host", UrlUtils.getHostname(restConfig.getUrl()));
+            if (context.getHeaders() != null) {
+                headers.putAll(context.getHeaders());
             }
-            String urlWithResource = restConfig.getUrl();
+            headers.put("Host", context.getEndpoint().getHost());
+            String urlWithResource = context.getUrl();
             String urlWithQueryParams = "";
             urlWithQueryParams = UrlUtils.appendUri(urlWithResource, requestQueryParams);
             log.debug("[SalsifyConnector] Executing connection with url {}", urlWithQueryParams);
             log.debug("[SalsifyConnector] Executing connection with headers {}", headers);
-            log.debug("[SalsifyConnector] Executing connection with authentication details {}", restConfig.getAuthenticationDetails());
-            HttpUriRequest uriRequest = invoker.prepareConnection(restConfig.getAuthenticationDetails(), urlWithQueryParams, restConfig.getRequestType(), restConfig.getBody(), "", headers);
-            String subQueryResult = invoker.invokeRequest(uriRequest, httpClient);
+            log.debug("[SalsifyConnector] Executing connection with authentication details {}", context.getAuthenticationDetails());
+            HttpUriRequest uriRequest = invoker.prepareConnection(context.getAuthenticationDetails(), urlWithQueryParams, context.getRequestType(), context.getBody(), "", headers);
+            String subQueryResult = invokeWithRetry(invoker, uriRequest, httpClient, resource);
+            KonnectMetricsProvider.getMetrics().recordPage(getName(), resource);
             log.debug("[SalsifyConnector] query result {}", subQueryResult);
-            SalsifyResponseDao salsifyResponseDao = gson.fromJson(subQueryResult, SalsifyResponseDao.class);
+            SalsifyResponseDao salsifyResponseDao = parsePage(subQueryResult, projection, gson, resource);
             if (salsifyResponseDao.getMetadata() != null) {
                 salsifyTotalResponseDao.setTotalRecords(salsifyResponseDao.getMetadata().getTotalEntries());
                 salsifyTotalResponseDao.getData().addAll(salsifyResponseDao.getData());
-                if (getLimitedResults != true) {
+                if (getLimitedResults != true && isPaged(salsifyRequestDao, salsifyResponseDao.getMetadata())) {
+                    salsifyTotalResponseDao.getData().addAll(getRemainingPages(context, invoker, salsifyRequestDao, salsifyResponseDao.getMetadata(), headers, gson, httpClient, projection));
+                } else if (getLimitedResults != true) {
                     while (salsifyResponseDao.getMetadata().getCursor() != null) {
                         requestQueryParams = getFilterAndCursorQueryParams(salsifyRequestDao, salsifyResponseDao.getMetadata().getCursor());
                         urlWithQueryParams = UrlUtils.appendUri(urlWithResource, requestQueryParams);
-                        uriRequest = invoker.prepareConnection(restConfig.getAuthenticationDetails(), urlWithQueryParams, restConfig.getRequestType(), restConfig.getBody(), queryInfo.getQuery(), restConfig.getHeaders());
-                        subQueryResult = invoker.invokeRequest(uriRequest, httpClient);
-                        salsifyResponseDao = gson.fromJson(subQueryResult, SalsifyResponseDao.class);
+                        uriRequest = invoker.prepareConnection(context.getAuthenticationDetails(), urlWithQueryParams, context.getRequestType(), context.getBody(), queryInfo.getQuery(), context.getHeaders());
+                        subQueryResult = invokeWithRetry(invoker, uriRequest, httpClient, resource);
+                        KonnectMetricsProvider.getMetrics().recordPage(getName(), resource);
+                        salsifyResponseDao = parsePage(subQueryResult, projection, gson, resource);
                         salsifyTotalResponseDao.getData().addAll(salsifyResponseDao.getData());
                     }
                 }
@@ -574,11 +768,190 @@ public class SalsifyConnector extends RestConnector {
             throw new KonnectQueryException("[SalsifyConnector] Error in connecting to client", e);
         } catch (KonnectException e) {
             throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KonnectException("[SalsifyConnector] Interrupted while sending request", e);
         } catch (Exception e) {
             throw new KonnectException("[SalsifyConnector] Error in sending request", e);
         }
     }
 
+    /**
+     * Returns {@code true} if the request uses <tt>page</tt>/<tt>per_page</tt> and the
+     * metadata of the first response is complete enough to compute the remaining pages.
+     *
+     * @param salsifyRequestDao Salsify request object.
+     * @param metadata          Metadata of the first response.
+     * @return {@code true} if the remaining pages can be fetched by page number.
+     */
+    private boolean isPaged(SalsifyRequestDao salsifyRequestDao, SalsifyMetadataDao metadata) {
+        return salsifyRequestDao.getPerPage() > 0 && metadata.getCurrentPage() > 0 && metadata.getPerPage() > 0;
+    }
+
+    /**
+     * Gets the data of all the pages after the first one.
+     * <p>
+     * The number of pages is computed from <tt>total_entries</tt> of the first
+     * response. The pages are fetched on the shared page executor, with at most
+     * four requests at the same time for a tenant across all its queries, and
+     * returned in page order. A permit is taken before a page is submitted, so
+     * a busy tenant does not hold the threads of the executor.
+     *
+     * @param context           Context of the request on the config.
+     * @param invoker           RestInvoker object to execute the query.
+     * @param salsifyRequestDao Salsify request object.
+     * @param metadata          Metadata of the first response.
+     * @param headers           Headers of the request.
+     * @param gson              Gson object to convert string to object.
+     * @param httpClient        {@link org.apache.http.client.HttpClient} object to execute the query.
+     * @param projection        {@link FieldProjection} applied to each page, or {@code null}.
+     * @return {@code List} of the data of the remaining pages.
+     * @throws Exception if any exception or error occurs while connecting to
+     *                   the external data source.
+     */
+    private List<Object> getRemainingPages(RestRequestContext context, RestInvoker invoker, SalsifyRequestDao salsifyRequestDao, SalsifyMetadataDao metadata, Map<String, String> headers, Gson gson, org.apache.http.client.HttpClient httpClient, FieldProjection projection) throws Exception {
+        int lastPage = (metadata.getTotalEntries() + metadata.getPerPage() - 1) / metadata.getPerPage();
+        String resource = context.getResourceName();
+        List<Object> data = new ArrayList<>();
+        if (lastPage <= metadata.getCurrentPage()) {
+            return data;
+        }
+        log.debug("[SalsifyConnector] Fetching {} remaining pages", lastPage - metadata.getCurrentPage());
+        Semaphore permits = getPagePermits(context);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Future<List<Object>>> futures = new ArrayList<>();
+        try {
+            for (int page = metadata.getCurrentPage() + 1; page <= lastPage && !failed.get(); page++) {
+                Map<String, String> requestQueryParams = getFilterAndPageQueryParams(salsifyRequestDao);
+                requestQueryParams.put(SALSIFY_PAGE_QUERY_PARAM, String.valueOf(page));
+                requestQueryParams.put(SALSIFY_PER_PAGE_QUERY_PARAM, String.valueOf(metadata.getPerPage()));
+                String urlWithQueryParams = UrlUtils.appendUri(context.getUrl(), requestQueryParams);
+                HttpUriRequest uriRequest = invoker.prepareConnection(context.getAuthenticationDetails(), urlWithQueryParams, context.getRequestType(), context.getBody(), "", headers);
+                permits.acquire();
+                try {
+                    futures.add(getPageExecutor().submit(() -> {
+                        try {
+                            if (failed.get()) {
+                                return new ArrayList<>();
+                            }
+                            String subQueryResult = invokeWithRetry(invoker, uriRequest, httpClient, resource);
+                            KonnectMetricsProvider.getMetrics().recordPage(getName(), resource);
+                            SalsifyResponseDao salsifyResponseDao = parsePage(subQueryResult, projection, gson, resource);
+                            return salsifyResponseDao.getData() == null ? new ArrayList<>() : salsifyResponseDao.getData();
+                        } catch (Exception e) {
+                            failed.set(true);
+                            throw e;
+                        } finally {
+                            permits.release();
+                        }
+                    }));
+                } catch (RejectedExecutionException e) {
+                    permits.release();
+                    throw new KonnectException("[SalsifyConnector] Page executor is shut down", e);
+                }
+            }
+            for (Future<List<Object>> future : futures) {
+                try {
+                    data.addAll(future.get());
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KonnectException("[SalsifyConnector] Interrupted while fetching pages", e);
+        } finally {
+            failed.set(true);
+        }
+        return data;
+    }
+
+    /**
+     * Parses a page of results, after applying the projection, and records
+     * the time taken as the parse phase of the request of the page.
+     *
+     * @param subQueryResult {@code String} which is the page of results.
+     * @param projection     {@link FieldProjection} to be applied, or {@code null}.
+     * @param gson           Gson object to convert string to object.
+     * @param resource       {@code String} which is the name of the resource requested.
+     * @return {@link SalsifyResponseDao} which is the page of results.
+     * @throws IOException if the page could not be read.
+     */
+    private SalsifyResponseDao parsePage(String subQueryResult, FieldProjection projection, Gson gson, String resource) throws IOException {
+        long start = System.nanoTime();
+        SalsifyResponseDao salsifyResponseDao = gson.fromJson(project(subQueryResult, projection), SalsifyResponseDao.class);
+        KonnectMetricsProvider.recordPhase(getName(), resource, RequestPhase.PARSE, System.nanoTime() - start);
+        return salsifyResponseDao;
+    }
+
+    /**
+     * Returns a page of results with the projection applied, so that only the
+     * fields needed by the template are parsed and kept.
+     *
+     * @param subQueryResult {@code String} which is the page of results.
+     * @param projection     {@link FieldProjection} to be applied, or {@code null}.
+     * @return a {@code String} which is the projected page of results.
+     * @throws IOException if the page could not be read.
+     */
+    private String project(String subQueryResult, FieldProjection projection) throws IOException {
+        return projection == null ? subQueryResult : projection.project(subQueryResult);
+    }
+
+    /**
+     * Returns a {@code String} which is the response of an HTTP request.
+     * <p>
+     * A request which is rate limited by Salsify is retried up to three times,
+     * after the delay given in the <tt>Retry-After</tt> header or an increasing
+     * default delay, at most thirty seconds. Every retry is recorded in the
+     * metrics of the resource.
+     *
+     * @param invoker    RestInvoker object to execute the request.
+     * @param uriRequest {@link HttpUriRequest} object which is the HTTP request to be executed.
+     * @param httpClient {@link org.apache.http.client.HttpClient} object to execute the request with.
+     * @param resource   {@code String} which is the name of the resource requested.
+     * @return a {@code String} which is the response of the HTTP request.
+     * @throws IOException                if an I/O error occurs while sending the request
+     * @throws InterruptedException       if the thread is interrupted while waiting to retry
+     * @throws KonnectQueryException      if an error is received from the remote service
+     * @throws KonnectConnectionException if the remote service is not available
+     */
+    private String invokeWithRetry(RestInvoker invoker, HttpUriRequest uriRequest, org.apache.http.client.HttpClient httpClient, String resource) throws IOException, InterruptedException, KonnectQueryException, KonnectConnectionException {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return invoker.invokeRequest(uriRequest, httpClient);
+            } catch (KonnectQueryException e) {
+                if (e.getStatus() != SALSIFY_TOO_MANY_REQUESTS_STATUS || attempt >= SALSIFY_MAX_RETRIES) {
+                    throw e;
+                }
+                KonnectMetricsProvider.getMetrics().recordRetry(getName(), resource);
+                long delay = getRetryDelay(e.getRetryAfter(), attempt);
+                log.debug("[SalsifyConnector] Rate limited, retrying {} in {} ms", uriRequest.getURI(), delay);
+                Thread.sleep(delay);
+            }
+        }
+    }
+
+    /**
+     * Returns the delay before a rate limited request is retried, which is the
+     * number of seconds of the <tt>Retry-After</tt> header, or a default delay
+     * doubled on every attempt, and at most thirty seconds.
+     *
+     * @param retryAfter {@code String} which is the value of the <tt>Retry-After</tt> header, or {@code null}.
+     * @param attempt    the number of the attempt which was rate limited, from zero.
+     * @return the delay in milliseconds.
+     */
+    private long getRetryDelay(String retryAfter, int attempt) {
+        long delay = SALSIFY_DEFAULT_RETRY_DELAY << attempt;
+        if (StringUtils.isNumeric(retryAfter)) {
+            try {
+                delay = Math.min(Long.parseLong(retryAfter), SALSIFY_MAX_RETRY_DELAY / 1000L) * 1000L;
+            } catch (NumberFormatException e) {
+                delay = SALSIFY_MAX_RETRY_DELAY;
+            }
+        }
+        return Math.min(delay, SALSIFY_MAX_RETRY_DELAY);
+    }
+
     /**
      * Gets the filter and cursor query parameters for the given Salsify request.
      *
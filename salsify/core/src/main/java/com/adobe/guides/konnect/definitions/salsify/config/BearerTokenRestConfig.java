@@ -6,8 +6,10 @@ import com.adobe.guides.konnect.definitions.core.config.AuthenticationDetails;
 import com.adobe.guides.konnect.definitions.core.config.RestConfig;
 import org.apache.commons.lang3.StringUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 import static com.adobe.guides.konnect.definitions.core.constants.Constants.ANNOTATION_DEFAULT;
 import static com.adobe.guides.konnect.definitions.core.constants.Constants.ANNOTATION_DEFAULT_AUTH_HEADER;
@@ -94,5 +96,16 @@ public class BearerTokenRestConfig extends RestConfig {
         authDetails.setHeader(authHeader);
         return authDetails;
     }
-}
 
+    /**
+     * Returns a key which identifies the connection of this config, that is
+     * its base URL, authentication header name and token. The token only
+     * goes into a hash, so the key can be kept in memory.
+     *
+     * @return a {@code String} which is the connection key of this config.
+     */
+    public String getConnectionKey() {
+        String key = getUrl(true) + "\n" + this.authHeaderName + "\n" + this.token;
+        return UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+}
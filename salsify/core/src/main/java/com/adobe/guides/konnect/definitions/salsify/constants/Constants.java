@@ -37,6 +37,19 @@ public class Constants {
     public static final String SALSIFY_PER_PAGE_QUERY_PARAM = "per_page";
     public static final String SALSIFY_TOTAL_ENTRIES_QUERY_PARAM = "total_entries";
     public static final String SALSIFY_CURRENT_PAGE_QUERY_PARAM = "current_page";
+    public static final String SALSIFY_DATA_KEY = "data";
+    public static final String SALSIFY_META_KEY = "meta";
+
+    /*Salsify parallel page fetching*/
+    public static final int SALSIFY_MAX_CONCURRENT_PAGES = 4;
+    public static final int SALSIFY_MAX_RETRIES = 3;
+    public static final int SALSIFY_TOO_MANY_REQUESTS_STATUS = 429;
+    public static final long SALSIFY_DEFAULT_RETRY_DELAY = 1000L;
+    public static final long SALSIFY_MAX_RETRY_DELAY = 30 * 1000L;
+    public static final int SALSIFY_PAGE_THREADS = 16;
+    public static final int SALSIFY_MAX_PAGE_TENANTS = 256;
+    public static final long SALSIFY_VALIDATION_CACHE_TTL = 5 * 60 * 1000L;
+    public static final int SALSIFY_MAX_VALIDATED_CONNECTIONS = 1000;
     public static final String BEARER_TOKEN = "Bearer token authentication";
     public static String BEARER_TOKEN_AUTH_KEY = "Bearer ";
     public static String DEFAULT_AUTH_HEADER = "Authorization";